@@ -0,0 +1,67 @@
+package org.example.sitracker.repository;
+
+import com.google.api.services.sheets.v4.Sheets;
+import org.example.sitracker.domain.Status;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic Issues sheets for the benchmarks. The same row count always yields the same rows:
+ * ids {@code AD-1..AD-n} in order, roughly 50% OPEN, 30% IN_PROGRESS and 20% CLOSED, every tenth
+ * issue a top-level epic with the following nine as its children, and timestamps one minute apart.
+ */
+public final class BenchmarkSheets {
+
+    static final String ISSUES = "Issues";
+    private static final List<String> HEADER = List.of("ID", "Description", "Parent ID", "Status", "Created at", "Updated at");
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private BenchmarkSheets() {
+    }
+
+    /**
+     * @param rows number of issue rows below the header
+     * @return spreadsheet holding the header and {@code rows} issues
+     */
+    public static InMemorySheets withIssues(int rows) {
+        InMemorySheets sheets = new InMemorySheets(ISSUES);
+        List<List<String>> data = new ArrayList<>(rows + 1);
+        data.add(HEADER);
+        data.addAll(issueRows(rows));
+        sheets.addRows(ISSUES, data);
+        return sheets;
+    }
+
+    /**
+     * @param rows number of rows
+     * @return raw issue rows as the Sheets API returns them, without header
+     */
+    public static List<List<String>> issueRows(int rows) {
+        Random random = new Random(42);
+        DateTimeFormatter dtf = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+        List<List<String>> data = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            int roll = random.nextInt(10);
+            Status status = roll < 5 ? Status.OPEN : roll < 8 ? Status.IN_PROGRESS : Status.CLOSED;
+            String parent = i % 10 == 1 ? "" : "AD-" + (i - (i - 1) % 10);
+            LocalDateTime created = START.plusMinutes(i);
+            String updated = status == Status.OPEN ? "" : created.plusHours(1 + random.nextInt(48)).format(dtf);
+            data.add(List.of("AD-" + i, "Issue " + i + " description text", parent, status.name(),
+                    created.format(dtf), updated));
+        }
+        return data;
+    }
+
+    /**
+     * @param sheets spreadsheet to read and write
+     * @return repository on a fresh client for the spreadsheet, with ids seeded from the sheet
+     */
+    public static GoogleSheetsIssueRepositoryImpl repository(InMemorySheets sheets) {
+        Sheets client = sheets.client();
+        return new GoogleSheetsIssueRepositoryImpl(client, sheets.spreadsheetId(),
+                new IssueIdAllocator(client, sheets.spreadsheetId(), 0));
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.sitracker.repository;
+
+import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.Status;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of decoding sheet rows into {@link Issue}s with {@link IssueRowDecoder}, compared with the
+ * row parser the repository used before it ({@code legacy*}: {@code toString()} per cell,
+ * {@code Status.valueOf} in a try/catch and {@code LocalDateTime.parse}). Rows cycle
+ * through a fixed set, so every invocation parses different cell contents. With the default
+ * {@code -prof gc}, {@code gc.alloc.rate.norm} shows the bytes allocated per row.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RowParsingBenchmark {
+
+    private static final int ROWS = 1024;
+    private static final DateTimeFormatter DTF = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private List<List<Object>> rows;
+    private String[] timestamps;
+    private String[] statuses;
+    private IssueRowDecoder decoder;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        rows = new ArrayList<>(ROWS);
+        for (List<String> row : BenchmarkSheets.issueRows(ROWS)) rows.add(new ArrayList<>(row));
+        timestamps = new String[ROWS];
+        statuses = new String[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            timestamps[i] = (String) rows.get(i).get(4);
+            statuses[i] = (String) rows.get(i).get(3);
+        }
+        decoder = new IssueRowDecoder();
+    }
+
+    @Benchmark
+    public Issue decode() {
+        return decoder.decode(rows.get(next++ & (ROWS - 1)));
+    }
+
+    @Benchmark
+    public Issue legacyParseRow() {
+        return legacyParseRow(rows.get(next++ & (ROWS - 1)));
+    }
+
+    /**
+     * A whole read of {@value #ROWS} rows with a fresh decoder, as {@code findAll} does, so the
+     * parent id pool is built from scratch.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void decodeRead(Blackhole bh) {
+        IssueRowDecoder read = new IssueRowDecoder();
+        for (int i = 0; i < ROWS; i++) bh.consume(read.decode(rows.get(i)));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void legacyRead(Blackhole bh) {
+        for (int i = 0; i < ROWS; i++) bh.consume(legacyParseRow(rows.get(i)));
+    }
+
+    @Benchmark
+    public LocalDateTime timestamp() {
+        return IssueRowDecoder.timestamp(timestamps[next++ & (ROWS - 1)]);
+    }
+
+    @Benchmark
+    public LocalDateTime legacyTimestamp() {
+        return legacyParseDate(timestamps[next++ & (ROWS - 1)]);
+    }
+
+    @Benchmark
+    public Status status() {
+        return IssueRowDecoder.status(statuses[next++ & (ROWS - 1)]);
+    }
+
+    @Benchmark
+    public Status legacyStatus() {
+        return legacyParseStatus(statuses[next++ & (ROWS - 1)]);
+    }
+
+    // ------------- helpers --------------
+
+    private static Issue legacyParseRow(List<Object> row) {
+        String parent = legacyCell(row, 2);
+        return new Issue(legacyCell(row, 0), legacyCell(row, 1), parent == null || parent.isBlank() ? null : parent,
+                legacyParseStatus(legacyCell(row, 3)), legacyParseDate(legacyCell(row, 4)), legacyParseDate(legacyCell(row, 5)));
+    }
+
+    private static Status legacyParseStatus(String s) {
+        if (s == null || s.isBlank()) return Status.OPEN;
+        try {
+            return Status.valueOf(s.trim());
+        } catch (IllegalArgumentException e) {
+            return Status.OPEN;
+        }
+    }
+
+    private static String legacyCell(List<Object> row, int idx) {
+        if (row == null || row.size() <= idx) return "";
+        Object v = row.get(idx);
+        return v == null ? "" : v.toString();
+    }
+
+    private static LocalDateTime legacyParseDate(String s) {
+        if (s == null || s.isBlank()) return null;
+        try { return LocalDateTime.parse(s, DTF); } catch (Exception ex) { return null; }
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.sitracker.repository;
+
+import org.example.sitracker.config.SheetsRequestInitializer;
+import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.Status;
+import org.openjdk.jmh.annotations.*;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link GoogleSheetsIssueRepositoryImpl} over real HTTP against a {@link FakeSheetsServer} of 10k
+ * issues, with the production request policy and a simulated round trip of 0 or 50 ms. Run with
+ * {@code -t} to see how concurrent callers share the latency. After each iteration the server's
+ * request counts and payload sizes per benchmark operation are printed, which is the quota the
+ * operation would use against Google.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SheetsHttpBenchmark {
+
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"0", "50"})
+    public int latencyMillis;
+
+    private FakeSheetsServer server;
+    private GoogleSheetsIssueRepositoryImpl repository;
+    private final LongAdder operations = new LongAdder();
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new FakeSheetsServer(BenchmarkSheets.withIssues(rows));
+        server.setLatency(Duration.ofMillis(latencyMillis), Duration.ofMillis(latencyMillis / 5));
+        var client = server.client(new SheetsRequestInitializer(null, 0, 1,
+                Duration.ofSeconds(10), Duration.ofSeconds(30), Duration.ofSeconds(60)));
+        repository = new GoogleSheetsIssueRepositoryImpl(client, server.spreadsheetId(),
+                new IssueIdAllocator(client, server.spreadsheetId(), 0));
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounts() {
+        server.resetCounts();
+        operations.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        long ops = operations.sum();
+        if (ops == 0) return;
+        System.out.printf("%n%d ops: %.2f requests/op, %.0f bytes sent/op, %.0f bytes received/op, %s%n",
+                ops, server.requestCount() / (double) ops, server.bytesReceived() / (double) ops,
+                server.bytesSent() / (double) ops, server.sheets().requestCounts());
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public List<Issue> findAll() throws IOException {
+        operations.increment();
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public List<Issue> findByStatus() throws IOException {
+        operations.increment();
+        return repository.findByStatus(Status.CLOSED);
+    }
+
+    @Benchmark
+    public Issue save() throws IOException {
+        operations.increment();
+        return repository.save(new Issue("benchmark issue", null));
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.sitracker.repository;
+
+import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.Status;
+import org.openjdk.jmh.annotations.*;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths and id allocation of {@link GoogleSheetsIssueRepositoryImpl} against an
+ * {@link InMemorySheets} of 1k, 10k and 100k issues. Requests go through the real Sheets client
+ * and JSON parsing, so the results include (de)serialization but no network.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SheetsRepositoryBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private GoogleSheetsIssueRepositoryImpl repository;
+    private IssueIdAllocator allocator;
+
+    @Setup
+    public void setUp() {
+        InMemorySheets sheets = BenchmarkSheets.withIssues(rows);
+        repository = BenchmarkSheets.repository(sheets);
+        allocator = new IssueIdAllocator(sheets.client(), sheets.spreadsheetId(), 0);
+    }
+
+    @Benchmark
+    public List<Issue> findAll() throws IOException {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public List<Issue> findByStatus() throws IOException {
+        return repository.findByStatus(Status.CLOSED);
+    }
+
+    @Benchmark
+    public List<SheetRow> readRows() throws IOException {
+        return repository.readRows();
+    }
+
+    /**
+     * Replaces the former full-scan {@code generateNextId}: after the first call seeds the sequence
+     * from the sheet, ids come from memory.
+     */
+    @Benchmark
+    public String nextId() throws IOException {
+        return allocator.nextId();
+    }
+}
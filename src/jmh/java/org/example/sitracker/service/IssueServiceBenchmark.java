@@ -0,0 +1,66 @@
+package org.example.sitracker.service;
+
+import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.IssueQuery;
+import org.example.sitracker.domain.Status;
+import org.example.sitracker.repository.BenchmarkSheets;
+import org.example.sitracker.repository.InMemorySheets;
+import org.openjdk.jmh.annotations.*;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Service operations as the CLI runs them, on a Sheets-backed {@link IssueServiceImpl} with an
+ * {@link InMemorySheets} of 1k, 10k and 100k issues. The sheet is rebuilt for every iteration, so
+ * created issues do not accumulate across iterations.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IssueServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private IssueService service;
+    private IssueQuery query;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        service = new IssueServiceImpl(BenchmarkSheets.repository(BenchmarkSheets.withIssues(rows)));
+        query = IssueQuery.builder()
+                .status(Status.OPEN, Status.IN_PROGRESS)
+                .descriptionContains("description")
+                .orderBy(IssueQuery.SortField.CREATED, true)
+                .limit(50)
+                .build();
+    }
+
+    @Benchmark
+    public List<Issue> listIssuesByStatus() {
+        return service.listIssuesByStatus(Status.IN_PROGRESS);
+    }
+
+    @Benchmark
+    public List<Issue> queryIssues() {
+        try (Stream<Issue> issues = service.queryIssues(query)) {
+            return issues.toList();
+        }
+    }
+
+    @Benchmark
+    public Issue createIssue() {
+        return service.createIssue("benchmark issue", null);
+    }
+
+    @Benchmark
+    public Issue updateIssueStatus() {
+        int n = 1 + (next++ % rows);
+        return service.updateIssueStatus("AD-" + n, (n & 1) == 0 ? Status.CLOSED : Status.IN_PROGRESS);
+    }
+}
@@ -1,25 +1,55 @@
 package org.example.sitracker;
 
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
 import org.example.sitracker.cli.CreateCommand;
+import org.example.sitracker.cli.DaemonCommand;
+import org.example.sitracker.cli.FlushCommand;
+import org.example.sitracker.cli.ImportCommand;
 import org.example.sitracker.cli.ListCommand;
+import org.example.sitracker.cli.MetricsSummary;
 import org.example.sitracker.cli.RootCommand;
+import org.example.sitracker.cli.StatusCommand;
+import org.example.sitracker.cli.TreeCommand;
 import org.example.sitracker.cli.UpdateCommand;
 import org.example.sitracker.service.IssueService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 import picocli.CommandLine;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.ParseResult;
+import java.nio.file.Path;
+import java.util.OptionalInt;
 
 /**
  * CLI entry point that integrates Spring Boot with Picocli commands.
  *
  * <p>This class is automatically run at application startup by Spring Boot
  * (due to implementing {@link CommandLineRunner}). It registers the available
- * subcommands (create, update, list) under a {@code sitracker} root command
+ * subcommands (create, import, update, list, flush, status, daemon) under a {@code sitracker} root command
  * and delegates execution to Picocli.
  *
+ * <p>The {@code daemon} subcommand keeps the application running and executes commands
+ * forwarded by other invocations on fresh command trees from {@link #newCommandLine()}.
+ * Supported properties: {@code sitracker.daemon.port} (default {@code 0}, any free port),
+ * {@code sitracker.daemon.file} (default {@code ~/.sitracker/daemon.properties}) and
+ * {@code sitracker.daemon.threads} (default {@code 4}). The daemon also serves the application metrics
+ * in the Prometheus text format on {@code GET /metrics}.
+ *
+ * <p>With {@code --metrics} any command prints the metrics after it finished, see {@link MetricsSummary}.
+ *
+ * <p>The {@link IssueService} is injected as a lazy proxy, so the repository and the Sheets client
+ * behind it are only created when a command actually calls the service; printing help or
+ * rejecting invalid arguments does not need credentials. {@link #runWithoutContext(String[])} goes
+ * one step further and handles those invocations before the application context is started.
+ *
  * <p>Example usage from the command line:
  * <pre>
  *   java -jar sitracker.jar create -d "New issue"
+ *   java -jar sitracker.jar import issues.csv
  *   java -jar sitracker.jar update AD-1 -s IN_PROGRESS
  *   java -jar sitracker.jar list -s OPEN
  * </pre>
@@ -28,11 +58,43 @@ import picocli.CommandLine;
 public class CliRunner implements CommandLineRunner {
 
     private final IssueService issueService;
+    private PrometheusMeterRegistry meterRegistry;
+    private Environment environment;
+
+    @Value("${sitracker.daemon.port:0}")
+    private int daemonPort;
+
+    @Value("${sitracker.daemon.file:${user.home}/.sitracker/daemon.properties}")
+    private Path daemonFile;
 
-    public CliRunner(IssueService issueService) {
+    @Value("${sitracker.daemon.threads:4}")
+    private int daemonThreads;
+
+    public CliRunner(@Lazy IssueService issueService) {
         this.issueService = issueService;
     }
 
+    /**
+     * Sets the registry printed by {@code --metrics} and served by the daemon.
+     *
+     * @param meterRegistry application meter registry
+     */
+    @Autowired(required = false)
+    public void setMeterRegistry(PrometheusMeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Sets the environment whose values the daemon compares with the configuration of the
+     * invocations forwarded to it.
+     *
+     * @param environment application environment
+     */
+    @Autowired(required = false)
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
     /**
      * Executes the CLI if command-line arguments are provided.
      *
@@ -44,12 +106,73 @@ public class CliRunner implements CommandLineRunner {
             return;
         }
 
-        RootCommand rootCmd = new RootCommand();
-        CommandLine root = new CommandLine(rootCmd);
+        CommandLine root = newCommandLine();
+        PrometheusMeterRegistry registry = meterRegistry;
+        Environment env = environment;
+        root.addSubcommand("daemon", new DaemonCommand(this::newCommandLine, daemonPort, daemonFile, daemonThreads,
+                registry == null ? null : registry::scrape, env == null ? null : env::getProperty));
+        root.execute(args);
+    }
+
+    /**
+     * Builds a new command tree with all issue commands. Command objects keep parsed options,
+     * so every invocation needs its own tree.
+     *
+     * @return root command line with create, import, update, list, tree, flush and status subcommands
+     */
+    public CommandLine newCommandLine() {
+        return commandLine(issueService, meterRegistry);
+    }
+
+    /**
+     * Handles invocations that do not need the application: help and version requests, the root
+     * command without a subcommand (which prints help), and arguments that fail to parse. These
+     * are executed on a command tree without a service, exactly as {@link #run(String...)} would
+     * execute them, so they finish before Spring, credentials or the Sheets client are loaded.
+     *
+     * @param args raw command-line arguments
+     * @return exit code if the invocation was handled, or empty if the command must run inside
+     *         the application (also for no arguments at all)
+     */
+    public static OptionalInt runWithoutContext(String... args) {
+        if (args == null || args.length == 0) {
+            return OptionalInt.empty();
+        }
+        try {
+            ParseResult parsed = withDaemon(commandLine(null, null)).parseArgs(args);
+            if (parsed.hasSubcommand() && !helpRequested(parsed)) {
+                return OptionalInt.empty();
+            }
+        } catch (ParameterException e) {
+            // reported by execute() below, with the same message and exit code as in the application
+        }
+        return OptionalInt.of(withDaemon(commandLine(null, null)).execute(args));
+    }
+
+    // ------------- helpers --------------
 
+    private static CommandLine commandLine(IssueService issueService, PrometheusMeterRegistry meterRegistry) {
+        CommandLine root = new CommandLine(new RootCommand());
+        root.setExecutionStrategy(new MetricsSummary(meterRegistry));
         root.addSubcommand("create", new CreateCommand(issueService));
+        root.addSubcommand("import", new ImportCommand(issueService));
         root.addSubcommand("update", new UpdateCommand(issueService));
         root.addSubcommand("list",   new ListCommand(issueService));
-        root.execute(args);
+        root.addSubcommand("tree",   new TreeCommand(issueService));
+        root.addSubcommand("flush",  new FlushCommand(issueService));
+        root.addSubcommand("status", new StatusCommand(issueService));
+        return root;
+    }
+
+    /** Adds a daemon subcommand that can be parsed, but not started. */
+    private static CommandLine withDaemon(CommandLine root) {
+        return root.addSubcommand("daemon", new DaemonCommand(null, 0, null, 0));
+    }
+
+    private static boolean helpRequested(ParseResult parsed) {
+        for (ParseResult p = parsed; p != null; p = p.subcommand()) {
+            if (p.isUsageHelpRequested() || p.isVersionHelpRequested()) return true;
+        }
+        return false;
     }
 }
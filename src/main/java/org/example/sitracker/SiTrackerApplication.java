@@ -1,7 +1,15 @@
 package org.example.sitracker;
 
+import org.example.sitracker.config.NativeHints;
+import org.example.sitracker.daemon.DaemonClient;
 import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import java.nio.file.Path;
+import java.util.OptionalInt;
 
 /**
  * Main entry point for the SiTracker application.
@@ -10,20 +18,44 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * context, configures beans (such as the Google Sheets client), and then
  * invokes {@link CliRunner} if command-line arguments are present.
  *
+ * <p>Startup is kept lean for a short-lived CLI: instead of enabling every auto-configuration on
+ * the classpath (task executors, caching, Gson, Jackson, picocli's factory, ...), only property
+ * placeholder support is imported, and all beans are initialized lazily
+ * ({@code spring.main.lazy-initialization=true} in {@code application.properties}). The Google
+ * credentials and the Sheets client are therefore only created when a command first uses the
+ * repository. Help requests and invalid arguments are even handled before the context is started
+ * ({@link CliRunner#runWithoutContext(String...)}).
+ *
+ * <p>If a daemon started with {@code sitracker daemon} is running, the command is forwarded to
+ * it by {@link DaemonClient} and the application is not started at all, unless the daemon was
+ * started with a different configuration (system properties and environment) than this invocation.
+ *
  * <p>Run this class to start the CLI application:
  * <pre>
  *   mvn spring-boot:run -Dspring-boot.run.arguments="create -d 'Test issue'"
  * </pre>
  */
-@SpringBootApplication
+@SpringBootConfiguration
+@ComponentScan
+@ImportAutoConfiguration(PropertyPlaceholderAutoConfiguration.class)
+@ImportRuntimeHints(NativeHints.class)
 public class SiTrackerApplication {
 
     /**
-     * Starts the Spring Boot application and delegates to {@link CliRunner}.
+     * Handles help and invalid arguments directly, forwards the command to a running daemon, or
+     * starts the Spring Boot application and delegates to {@link CliRunner}.
      *
      * @param args command-line arguments
      */
     public static void main(String[] args) {
+        OptionalInt exitCode = CliRunner.runWithoutContext(args);
+        if (exitCode.isEmpty() && args.length > 0 && !"daemon".equals(args[0])) {
+            exitCode = DaemonClient.fromEnvironment()
+                    .tryRun(args, Path.of("").toAbsolutePath(), System.out, System.err);
+        }
+        if (exitCode.isPresent()) {
+            System.exit(exitCode.getAsInt());
+        }
         SpringApplication.run(SiTrackerApplication.class, args);
     }
 }
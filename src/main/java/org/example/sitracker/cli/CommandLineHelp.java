@@ -1,6 +1,7 @@
 package org.example.sitracker.cli;
 
 import picocli.CommandLine;
+import picocli.CommandLine.Model.CommandSpec;
 
 /**
  * Utility for printing PicoCLI usage/help information for a command object.
@@ -31,4 +32,13 @@ public class CommandLineHelp {
     public static void printHelp(Object cmd) {
         new CommandLine(cmd).usage(System.out);
     }
+
+    /**
+     * Prints the usage message of a command, including its subcommands, to the command's output.
+     *
+     * @param spec spec of a command that is being executed
+     */
+    public static void printHelp(CommandSpec spec) {
+        spec.commandLine().usage(spec.commandLine().getOut());
+    }
 }
@@ -2,8 +2,14 @@ package org.example.sitracker.cli;
 
 import org.example.sitracker.domain.Issue;
 import org.example.sitracker.service.IssueService;
+import picocli.CommandLine.ArgGroup;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Spec;
+import java.io.PrintWriter;
+import java.nio.file.Path;
 
 /**
  * PicoCLI command that creates a new {@link Issue}.
@@ -11,29 +17,52 @@ import picocli.CommandLine.Option;
  * <p>Usage example (CLI):
  * <pre>{@code
  * sitracker create -d "My issue description" [-p parentId]
+ * sitracker create --from-file issues.csv
  * }</pre>
  *
  * <p>The command delegates creation to an {@link IssueService} and prints the created
- * issue id and the issue object to {@code System.out}. Any exception thrown during
- * creation is printed to {@code System.err} together with a stacktrace.
+ * issue id and the issue object to the command output ({@code System.out} by default). With
+ * {@code --from-file} it behaves like {@link ImportCommand} with default settings. Any exception
+ * thrown during creation is printed to the command error output together with a stacktrace.
  */
 @Command(name = "create", description = "Create a new issue")
 public class CreateCommand implements Runnable {
 
     /**
-     * Issue description provided by the user.
-     * Required CLI option: {@code -d} or {@code --description}.
+     * What to create: either a single issue from {@code -d} or many issues from {@code --from-file}.
+     * Exactly one of the two options is required.
      */
-    @Option(names = {"-d", "--description"}, required = true, description = "Issue description")
-    private String description;
+    @ArgGroup(exclusive = true, multiplicity = "1")
+    private Source source;
+
+    static class Source {
+        /**
+         * Issue description provided by the user.
+         * CLI option: {@code -d} or {@code --description}.
+         */
+        @Option(names = {"-d", "--description"}, required = true, description = "Issue description")
+        private String description;
+
+        /**
+         * CSV or JSONL file with issues to create in bulk.
+         * CLI option: {@code --from-file}.
+         */
+        @Option(names = "--from-file", required = true, paramLabel = "<file>",
+                description = "Create issues in bulk from a CSV or JSONL file")
+        private Path fromFile;
+    }
 
     /**
      * Optional parent issue id. If set, the created issue will reference this parent id.
+     * Not allowed with {@code --from-file}, whose records carry their own parent ids.
      * CLI option: {@code -p} or {@code --parentId}.
      */
     @Option(names = {"-p", "--parentId"}, description = "Parent issue ID (optional)")
     private String parentId;
 
+    @Spec
+    private CommandSpec spec;
+
     /**
      * Service responsible for issue creation and persistence.
      * Must not be {@code null}.
@@ -51,20 +80,32 @@ public class CreateCommand implements Runnable {
     }
 
     /**
-     * Executes the command: creates a new issue using {@link #description} and {@link #parentId},
-     * then prints the created issue id and the issue object to {@code System.out}.
+     * Executes the command: creates a new issue using the description and {@link #parentId},
+     * then prints the created issue id and the issue object to the command output. When a file
+     * was given, its issues are imported instead.
      *
-     * <p>Any exceptions are reported to {@code System.err} and include a stacktrace for debugging.
+     * <p>Any exceptions are reported to the command error output and include a stacktrace for debugging.
      */
     @Override
     public void run() {
+        if (source.fromFile != null && parentId != null) {
+            throw new ParameterException(spec.commandLine(), "--parentId cannot be combined with --from-file; set parentId in the file instead");
+        }
+        PrintWriter out = spec.commandLine().getOut();
+        PrintWriter err = spec.commandLine().getErr();
         try {
-            Issue created = issueService.createIssue(description, parentId);
-            System.out.println("Created issue: " + created.getId());
-            System.out.println(created);
+            if (source.fromFile != null) {
+                int created = new ImportCommand(issueService)
+                        .importFile(source.fromFile, null, ImportCommand.DEFAULT_BATCH_SIZE, out);
+                out.println("Imported " + created + " issues");
+                return;
+            }
+            Issue created = issueService.createIssue(source.description, parentId);
+            out.println("Created issue: " + created.getId());
+            out.println(created);
         } catch (Exception e) {
-            System.err.println("Failed to create issue: " + e.getMessage());
-            e.printStackTrace(System.err);
+            err.println("Failed to create issue: " + e.getMessage());
+            e.printStackTrace(err);
         }
     }
 }
@@ -0,0 +1,107 @@
+package org.example.sitracker.cli;
+
+import org.example.sitracker.daemon.DaemonServer;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Spec;
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * PicoCLI command that keeps the application running and serves commands from other processes.
+ *
+ * <p>Usage example:
+ * <pre>{@code
+ * sitracker daemon &
+ * sitracker list -s OPEN     # runs inside the daemon
+ * }</pre>
+ *
+ * <p>While the daemon runs, {@code create}, {@code import}, {@code update} and {@code list}
+ * invocations are forwarded to it by {@link org.example.sitracker.daemon.DaemonClient} and reuse its
+ * Spring context, authenticated Sheets client and issue cache instead of starting the application
+ * for every command. Invocations whose {@code sitracker.*}/{@code spring.*} system properties or
+ * {@code SITRACKER_*}/{@code SPRING_*}/{@code GOOGLE_APPLICATION_CREDENTIALS} environment variables
+ * differ from the daemon's configuration are not forwarded and run in-process. The daemon runs in the foreground until the process is terminated
+ * (e.g. Ctrl-C or {@code kill}). Its metrics can be scraped by Prometheus from
+ * {@code http://127.0.0.1:<port>/metrics}.
+ */
+@Command(name = "daemon", description = "Keep running and execute commands sent by other sitracker invocations")
+public class DaemonCommand implements Runnable {
+
+    /**
+     * Loopback port to listen on; overrides {@code sitracker.daemon.port}.
+     * CLI option: {@code --port}.
+     */
+    @Option(names = "--port", description = "Loopback port to listen on (default: sitracker.daemon.port, 0 = any free port)")
+    private Integer port;
+
+    @Spec
+    private CommandSpec spec;
+
+    private final Supplier<CommandLine> commands;
+    private final int defaultPort;
+    private final Path endpointFile;
+    private final int threads;
+    private final Supplier<String> metrics;
+    private final Function<String, String> properties;
+
+    /**
+     * Constructs the command without a metrics endpoint.
+     *
+     * @param commands     creates the command tree executed for each forwarded invocation
+     * @param defaultPort  port used when {@code --port} is not given
+     * @param endpointFile where the daemon publishes its port and access token
+     * @param threads      number of invocations executed concurrently
+     */
+    public DaemonCommand(Supplier<CommandLine> commands, int defaultPort, Path endpointFile, int threads) {
+        this(commands, defaultPort, endpointFile, threads, null, null);
+    }
+
+    /**
+     * Constructs the command.
+     *
+     * @param commands     creates the command tree executed for each forwarded invocation
+     * @param defaultPort  port used when {@code --port} is not given
+     * @param endpointFile where the daemon publishes its port and access token
+     * @param threads      number of invocations executed concurrently
+     * @param metrics      renders the metrics in the Prometheus text format; {@code null} for none
+     * @param properties   resolves the daemon's configuration values compared with those of the
+     *                     invocations; {@code null} for this process's system properties and environment
+     */
+    public DaemonCommand(Supplier<CommandLine> commands, int defaultPort, Path endpointFile, int threads,
+                         Supplier<String> metrics, Function<String, String> properties) {
+        this.commands = commands;
+        this.defaultPort = defaultPort;
+        this.endpointFile = endpointFile;
+        this.threads = threads;
+        this.metrics = metrics;
+        this.properties = properties;
+    }
+
+    /**
+     * Executes the command: starts the daemon and blocks until the process is terminated.
+     */
+    @Override
+    public void run() {
+        PrintWriter out = spec.commandLine().getOut();
+        PrintWriter err = spec.commandLine().getErr();
+        DaemonServer server = new DaemonServer(commands, port != null ? port : defaultPort, endpointFile, threads, metrics, properties);
+        try {
+            server.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "sitracker-daemon-stop"));
+            out.println("SiTracker daemon listening on 127.0.0.1:" + server.port() + " (endpoint file " + endpointFile + ")");
+            out.flush();
+            server.awaitStop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            server.stop();
+        } catch (Exception e) {
+            err.println("Failed to start daemon: " + e.getMessage());
+            e.printStackTrace(err);
+        }
+    }
+}
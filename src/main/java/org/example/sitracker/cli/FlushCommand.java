@@ -0,0 +1,58 @@
+package org.example.sitracker.cli;
+
+import org.example.sitracker.service.IssueService;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Spec;
+import java.io.PrintWriter;
+
+/**
+ * PicoCLI command that writes the changes queued by write-behind mode to storage.
+ *
+ * <p>Usage example:
+ * <pre>{@code
+ * sitracker flush
+ * }</pre>
+ *
+ * <p>The command delegates to {@link IssueService#flushPendingWrites()} and prints how many queued
+ * writes were sent. Without write-behind mode there is nothing to flush and a message says so. Any
+ * exception is printed to the command error output together with a stacktrace; the writes stay
+ * queued and can be flushed again.
+ */
+@Command(name = "flush", description = "Write queued changes to storage now")
+public class FlushCommand implements Runnable {
+
+    @Spec
+    private CommandSpec spec;
+
+    private final IssueService issueService;
+
+    /**
+     * Constructs the command with the provided {@link IssueService}.
+     *
+     * @param issueService service that owns the write-behind queue; must not be {@code null}
+     */
+    public FlushCommand(IssueService issueService) {
+        this.issueService = issueService;
+    }
+
+    /**
+     * Executes the command: flushes the queue and prints the number of written operations.
+     */
+    @Override
+    public void run() {
+        PrintWriter out = spec.commandLine().getOut();
+        PrintWriter err = spec.commandLine().getErr();
+        try {
+            if (issueService.pendingWrites().isEmpty()) {
+                out.println("Write-behind is disabled; writes go straight to storage");
+                return;
+            }
+            int written = issueService.flushPendingWrites();
+            out.println("Flushed " + written + " queued writes");
+        } catch (Exception e) {
+            err.println("Failed to flush queued writes: " + e.getMessage());
+            e.printStackTrace(err);
+        }
+    }
+}
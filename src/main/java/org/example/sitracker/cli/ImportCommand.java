@@ -0,0 +1,178 @@
+package org.example.sitracker.cli;
+
+import org.example.sitracker.domain.Issue;
+import org.example.sitracker.service.IssueService;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Spec;
+import java.io.PrintWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * PicoCLI command that bulk-creates issues from a CSV or JSONL file.
+ *
+ * <p>Usage example:
+ * <pre>{@code
+ * sitracker import old-tracker.csv
+ * sitracker import issues.jsonl --batch-size 1000
+ * }</pre>
+ *
+ * <p>The file is read in a streaming way with {@link IssueFileReader}; every {@code --batch-size}
+ * records are handed to {@link IssueService#createIssues(List)}, which allocates their ids in bulk
+ * and appends them with as few Sheets calls as possible. Progress is printed per batch to the
+ * command's output; errors are printed to its error output together with a stacktrace.
+ * Batches created before an error stay saved.
+ *
+ * <p>Ids in the file are not kept, as they could clash with ids already handed out by the tracker:
+ * every record is created with a new id, and parent ids that refer to a record earlier in the file
+ * are changed to that record's new id. A record whose parent is in the batch being collected
+ * starts a new batch, so that the parent's id is known. Parents must come before their children;
+ * other parent ids are kept as they are.
+ */
+@Command(name = "import", description = "Create issues in bulk from a CSV or JSONL file")
+public class ImportCommand implements Runnable {
+
+    /** Default number of records handed to the service at once. */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * File to import. Required positional parameter.
+     */
+    @Parameters(paramLabel = "<file>", description = "CSV (with header row) or JSONL file")
+    private Path file;
+
+    /**
+     * Input format; detected from the file extension when omitted.
+     * CLI option: {@code -f} or {@code --format}.
+     */
+    @Option(names = {"-f", "--format"}, description = "File format: ${COMPLETION-CANDIDATES} (default: from file extension)")
+    private IssueFileReader.Format format;
+
+    /**
+     * Number of records created per batch.
+     * CLI option: {@code -b} or {@code --batch-size}.
+     */
+    @Option(names = {"-b", "--batch-size"}, defaultValue = "" + DEFAULT_BATCH_SIZE,
+            description = "Issues created per batch (default: ${DEFAULT-VALUE})")
+    private int batchSize;
+
+    @Spec
+    private CommandSpec spec;
+
+    /**
+     * Service responsible for issue creation and persistence.
+     * Must not be {@code null}.
+     */
+    private final IssueService issueService;
+
+    /**
+     * Constructs the command with the provided {@link IssueService}.
+     *
+     * @param issueService service used to create issues; must not be {@code null}
+     */
+    public ImportCommand(IssueService issueService) {
+        this.issueService = issueService;
+    }
+
+    /**
+     * Executes the command: imports {@link #file} and prints the number of created issues.
+     */
+    @Override
+    public void run() {
+        PrintWriter out = spec.commandLine().getOut();
+        PrintWriter err = spec.commandLine().getErr();
+        try {
+            int created = importFile(file, format, batchSize, out);
+            out.println("Imported " + created + " issues");
+        } catch (Exception e) {
+            err.println("Failed to import issues: " + e.getMessage());
+            e.printStackTrace(err);
+        }
+    }
+
+    /**
+     * Streams the given file into the issue service in batches.
+     *
+     * @param file      file to import
+     * @param format    file format, or {@code null} to detect it from the extension
+     * @param batchSize number of records created per batch; must be positive
+     * @param out       receives one progress line per batch
+     * @return number of created issues
+     * @throws IOException if the file cannot be read
+     */
+    public int importFile(Path file, IssueFileReader.Format format, int batchSize, PrintWriter out) throws IOException {
+        if (batchSize <= 0) throw new IllegalArgumentException("batch size must be positive");
+        Map<String, String> newIds = new HashMap<>();
+        Set<String> otherParents = new HashSet<>();
+        Set<String> batchIds = new HashSet<>();
+        List<Issue> batch = new ArrayList<>(batchSize);
+        int created = 0;
+        try (IssueFileReader reader = IssueFileReader.open(file, format)) {
+            while (reader.hasNext()) {
+                Issue record = reader.next();
+                String id = record.getId();
+                String parentId = record.getParentId();
+                if (id != null && otherParents.contains(id)) {
+                    throw new IllegalArgumentException("Issue " + id + " must come before the issues that have it as parent");
+                }
+                if (parentId != null && batchIds.contains(parentId)) {
+                    created += createBatch(batch, newIds, out);
+                    batchIds.clear();
+                }
+                if (parentId != null) {
+                    String newParentId = newIds.get(parentId);
+                    if (newParentId == null) {
+                        otherParents.add(parentId);
+                    } else {
+                        record = new Issue(id, record.getDescription(), newParentId, record.getStatus(),
+                                record.getCreatedAt(), record.getUpdatedAt());
+                    }
+                }
+                batch.add(record);
+                if (id != null) batchIds.add(id);
+                if (batch.size() == batchSize) {
+                    created += createBatch(batch, newIds, out);
+                    batchIds.clear();
+                }
+            }
+            created += createBatch(batch, newIds, out);
+        }
+        return created;
+    }
+
+    // ------------- helpers --------------
+
+    /**
+     * Creates the collected records under new ids and empties the batch.
+     *
+     * @param batch  records read from the file, with their ids from the file
+     * @param newIds receives the new id of every record that had an id in the file
+     * @param out    receives the progress line
+     * @return number of created issues
+     */
+    private int createBatch(List<Issue> batch, Map<String, String> newIds, PrintWriter out) {
+        if (batch.isEmpty()) return 0;
+        List<Issue> drafts = new ArrayList<>(batch.size());
+        for (Issue record : batch) drafts.add(record.withId(null));
+        List<Issue> saved = issueService.createIssues(drafts);
+        for (int i = 0; i < batch.size(); i++) {
+            String id = batch.get(i).getId();
+            if (id != null) newIds.put(id, saved.get(i).getId());
+        }
+        batch.clear();
+        if (!saved.isEmpty()) {
+            out.println("Created " + saved.size() + " issues: "
+                    + saved.get(0).getId() + " .. " + saved.get(saved.size() - 1).getId());
+        }
+        return saved.size();
+    }
+}
@@ -0,0 +1,248 @@
+package org.example.sitracker.cli;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.Status;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Streaming reader that turns a CSV or JSONL file into {@link Issue} drafts, one record at a time.
+ *
+ * <p>Supported formats:
+ * <ul>
+ *     <li>{@link Format#CSV} — a header row followed by one issue per record. Columns are matched by
+ *     name, ignoring case, spaces and underscores, so a CSV export of the {@code Issues} sheet can be
+ *     read as is. Quoted fields may contain commas, doubled quotes and line breaks.</li>
+ *     <li>{@link Format#JSONL} — one JSON object per line; blank lines are skipped.</li>
+ * </ul>
+ * Recognised fields are {@code id}, {@code description} (required), {@code parentId},
+ * {@code status}, {@code createdAt} and {@code updatedAt}. Timestamps use ISO-8601 local date-time.
+ * Ids are optional but must be unique within the file; {@link ImportCommand} only uses them to
+ * resolve parent references between records and gives every issue a new id.
+ *
+ * <p>Only the current record and the ids read so far are held in memory, so files of any size can
+ * be imported. Malformed records fail with an {@link IllegalArgumentException} naming the
+ * offending line.
+ */
+public class IssueFileReader implements Iterator<Issue>, Closeable {
+
+    /**
+     * Supported input formats.
+     */
+    public enum Format {
+        CSV,
+        JSONL;
+
+        /**
+         * Picks a format from the file extension ({@code .csv}, {@code .jsonl}, {@code .ndjson}).
+         *
+         * @param file input file
+         * @return detected format
+         * @throws IllegalArgumentException if the extension is not recognised
+         */
+        public static Format detect(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) return CSV;
+            if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) return JSONL;
+            throw new IllegalArgumentException("Cannot detect format of " + file + ", use --format");
+        }
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final BufferedReader in;
+    private final Format format;
+    private Map<String, Integer> csvColumns;
+    private final Set<String> ids = new HashSet<>();
+    private long line;
+    private Issue next;
+
+    private IssueFileReader(BufferedReader in, Format format) {
+        this.in = in;
+        this.format = format;
+    }
+
+    /**
+     * Opens a file for reading.
+     *
+     * @param file   file to read
+     * @param format file format, or {@code null} to detect it from the extension
+     * @return reader positioned before the first issue; caller is responsible for closing it
+     * @throws IOException if the file cannot be opened
+     */
+    public static IssueFileReader open(Path file, Format format) throws IOException {
+        Format f = format != null ? format : Format.detect(file);
+        return new IssueFileReader(Files.newBufferedReader(file, StandardCharsets.UTF_8), f);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = format == Format.CSV ? readCsvIssue() : readJsonIssue();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public Issue next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        Issue issue = next;
+        next = null;
+        return issue;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // ------------- helpers --------------
+
+    private Issue readJsonIssue() throws IOException {
+        String text;
+        do {
+            text = in.readLine();
+            if (text == null) return null;
+            line++;
+        } while (text.isBlank());
+
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(text);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Line " + line + ": invalid JSON: " + e.getOriginalMessage(), e);
+        }
+        if (!node.isObject()) throw new IllegalArgumentException("Line " + line + ": expected a JSON object");
+        return toIssue(name -> node.hasNonNull(name) ? node.get(name).asText() : null);
+    }
+
+    private Issue readCsvIssue() throws IOException {
+        if (csvColumns == null) {
+            List<String> header = readCsvRecord();
+            if (header == null) return null;
+            csvColumns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) csvColumns.put(normalize(header.get(i)), i);
+            if (csvColumns.containsKey("parent")) csvColumns.putIfAbsent("parentid", csvColumns.get("parent"));
+            if (!csvColumns.containsKey("description")) {
+                throw new IllegalArgumentException("CSV header must contain a 'description' column");
+            }
+        }
+        List<String> record;
+        do {
+            record = readCsvRecord();
+            if (record == null) return null;
+        } while (record.size() == 1 && record.get(0).isBlank());
+
+        List<String> fields = record;
+        return toIssue(name -> {
+            Integer idx = csvColumns.get(normalize(name));
+            return idx == null || idx >= fields.size() ? null : fields.get(idx);
+        });
+    }
+
+    /**
+     * Reads one RFC 4180 record.
+     *
+     * @return fields of the record, or {@code null} at end of input
+     * @throws IOException if reading fails
+     */
+    private List<String> readCsvRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        int c;
+        line++;
+        while ((c = in.read()) != -1) {
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    in.mark(1);
+                    int n = in.read();
+                    if (n == '"') {
+                        cur.append('"');
+                    } else {
+                        quoted = false;
+                        if (n != -1) in.reset();
+                    }
+                } else {
+                    if (c == '\n') line++;
+                    cur.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(cur.toString());
+                cur.setLength(0);
+            } else if (c == '\n') {
+                fields.add(cur.toString());
+                return fields;
+            } else if (c != '\r') {
+                cur.append((char) c);
+            }
+        }
+        if (!any) return null;
+        if (quoted) throw new IllegalArgumentException("Line " + line + ": unterminated quoted field");
+        fields.add(cur.toString());
+        return fields;
+    }
+
+    /**
+     * Builds an issue draft from a record.
+     *
+     * @param field looks up a field value by its canonical name; returns {@code null} if absent
+     * @return issue draft
+     * @throws IllegalArgumentException if the record is invalid
+     */
+    private Issue toIssue(Function<String, String> field) {
+        String description = blankToNull(field.apply("description"));
+        if (description == null) throw new IllegalArgumentException("Line " + line + ": description is required");
+
+        String status = blankToNull(field.apply("status"));
+        Status parsedStatus = null;
+        if (status != null) {
+            try {
+                parsedStatus = Status.valueOf(status.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + line + ": unknown status " + status, e);
+            }
+        }
+        String id = blankToNull(field.apply("id"));
+        if (id != null && !ids.add(id)) throw new IllegalArgumentException("Line " + line + ": duplicate id " + id);
+        return new Issue(id, description, blankToNull(field.apply("parentId")),
+                parsedStatus, parseDate(field.apply("createdAt")), parseDate(field.apply("updatedAt")));
+    }
+
+    private LocalDateTime parseDate(String s) {
+        if (s == null || s.isBlank()) return null;
+        try {
+            return LocalDateTime.parse(s.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Line " + line + ": invalid timestamp " + s, e);
+        }
+    }
+
+    private static String blankToNull(String s) {
+        return s == null || s.isBlank() ? null : s.trim();
+    }
+
+    private static String normalize(String column) {
+        return column.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+    }
+}
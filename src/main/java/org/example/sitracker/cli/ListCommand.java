@@ -1,32 +1,85 @@
 package org.example.sitracker.cli;
 
 import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.IssueQuery;
 import org.example.sitracker.domain.Status;
 import org.example.sitracker.service.IssueService;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.Spec;
+import java.io.PrintWriter;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
- * PicoCLI command that lists issues filtered by {@link Status}.
+ * PicoCLI command that lists issues matching a query.
  *
  * <p>Usage example:
  * <pre>{@code
  * sitracker list -s OPEN
+ * sitracker list -s OPEN -s IN_PROGRESS --contains login --sort updated:desc --limit 20
+ * sitracker list --where 'parent=AD-1 created>=2024-01-01 description~/time-?out/'
  * }</pre>
  *
- * <p>The command delegates to {@link IssueService#listIssuesByStatus(Status)} and prints each
- * matching {@link Issue} to {@code System.out}. If no issues are found, a friendly message is printed.
+ * <p>The options and the {@code --where} expression (see {@link IssueQuery}) are combined into one
+ * {@link IssueQuery} and delegated to {@link IssueService#queryIssues(IssueQuery)}, so all filters are
+ * applied in a single pass over storage. Each matching {@link Issue} is printed to the command's output
+ * as soon as it is read, so large unsorted result sets are never held in memory. If no issues are found,
+ * a friendly message is printed.
  */
-@Command(name = "list", description = "List issues by status")
+@Command(name = "list", description = "List issues matching filters")
 public class ListCommand implements Runnable {
 
     /**
-     * Status to filter by. PicoCLI will offer completion candidates from {@link Status}.
-     * Required CLI option: {@code -s} or {@code --status}.
+     * Statuses to filter by; an issue matches any of them. PicoCLI will offer completion candidates
+     * from {@link Status}. CLI option: {@code -s} or {@code --status}, repeatable.
      */
-    @Option(names = {"-s", "--status"}, required = true, description = "Status: ${COMPLETION-CANDIDATES}")
-    private Status status;
+    @Option(names = {"-s", "--status"}, description = "Status: ${COMPLETION-CANDIDATES} (repeatable)")
+    private List<Status> statuses;
+
+    /**
+     * Parent issue id to filter by. CLI option: {@code -p} or {@code --parent}.
+     */
+    @Option(names = {"-p", "--parent"}, description = "Parent issue ID")
+    private String parentId;
+
+    /**
+     * Case-insensitive text the description must contain. CLI option: {@code --contains}.
+     */
+    @Option(names = "--contains", paramLabel = "<text>", description = "Description contains text (case-insensitive)")
+    private String contains;
+
+    /**
+     * Regular expression the description must match. CLI option: {@code --matches}.
+     */
+    @Option(names = "--matches", paramLabel = "<regex>", description = "Description matches regular expression")
+    private String matches;
+
+    /**
+     * Query-language filter, see {@link IssueQuery}. CLI option: {@code --where}.
+     */
+    @Option(names = "--where", paramLabel = "<query>",
+            description = "Query, e.g. 'status=OPEN,CLOSED parent=AD-1 description~text created>=2024-01-01 updated<2024-02-01'")
+    private String where;
+
+    /**
+     * Ordering keys, most significant first. CLI option: {@code --sort}, repeatable.
+     */
+    @Option(names = "--sort", paramLabel = "<field[:asc|desc]>",
+            description = "Sort by id, status, parent, description, created or updated (repeatable)")
+    private List<String> sort;
+
+    /**
+     * Maximum number of issues to print. CLI option: {@code -n} or {@code --limit}.
+     */
+    @Option(names = {"-n", "--limit"}, description = "Print at most this many issues")
+    private int limit;
+
+    @Spec
+    private CommandSpec spec;
 
     /**
      * Service used to retrieve issues. Must not be {@code null}.
@@ -44,21 +97,51 @@ public class ListCommand implements Runnable {
     }
 
     /**
-     * Executes the command: lists issues by {@link #status} and prints results to {@code System.out}.
-     * Errors are printed to {@code System.err} with a stacktrace for debugging.
+     * Executes the command: lists issues matching the options and prints results to the command output
+     * ({@code System.out} by default). Errors are printed to the command error output with a stacktrace
+     * for debugging.
      */
     @Override
     public void run() {
+        IssueQuery query = buildQuery();
+        PrintWriter out = spec.commandLine().getOut();
+        PrintWriter err = spec.commandLine().getErr();
         try {
-            List<Issue> issues = issueService.listIssuesByStatus(status);
-            if (issues.isEmpty()) {
-                System.out.println("No issues with status " + status);
-            } else {
-                issues.forEach(System.out::println);
+            long printed = 0;
+            try (Stream<Issue> issues = issueService.queryIssues(query)) {
+                Iterator<Issue> it = issues.iterator();
+                while (it.hasNext()) {
+                    out.println(it.next());
+                    printed++;
+                }
+            }
+            if (printed == 0) {
+                out.println("No matching issues");
             }
         } catch (Exception e) {
-            System.err.println("Failed to list issues: " + e.getMessage());
-            e.printStackTrace(System.err);
+            err.println("Failed to list issues: " + e.getMessage());
+            e.printStackTrace(err);
+        }
+    }
+
+    /**
+     * Combines the options into a query.
+     *
+     * @return query to run
+     * @throws ParameterException if an option value is invalid
+     */
+    private IssueQuery buildQuery() {
+        try {
+            IssueQuery.Builder builder = IssueQuery.builder();
+            if (statuses != null) builder.status(statuses);
+            if (where != null) builder.where(where);
+            if (parentId != null) builder.parentId(parentId);
+            if (contains != null) builder.descriptionContains(contains);
+            if (matches != null) builder.descriptionMatches(matches);
+            if (sort != null) sort.forEach(s -> builder.orderBy(IssueQuery.Order.parse(s)));
+            return builder.limit(limit).build();
+        } catch (IllegalArgumentException e) {
+            throw new ParameterException(spec.commandLine(), e.getMessage(), e);
         }
     }
 }
@@ -0,0 +1,115 @@
+package org.example.sitracker.cli;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import picocli.CommandLine;
+import picocli.CommandLine.IExecutionStrategy;
+import picocli.CommandLine.ParseResult;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Execution strategy that runs the invoked command and then, if {@code --metrics} was given,
+ * prints the application metrics to the command's error output, so the command's own output can
+ * still be piped.
+ *
+ * <p>One line is printed per meter and tag combination, sorted by name:
+ * <pre>
+ * sitracker.sheets.requests{operation=values.get,status=200}  count=2  total=812.4ms  mean=406.2ms  max=590.1ms
+ * sitracker.sheets.rows{read=window}                          count=10000
+ * </pre>
+ * Timers report milliseconds; sizes report the meter's base unit. Inside the daemon the registry
+ * lives as long as the daemon, so the figures cover every command it has run.
+ */
+public class MetricsSummary implements IExecutionStrategy {
+    private static final String PREFIX = "sitracker.";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param meterRegistry registry to print; {@code null} prints nothing
+     */
+    public MetricsSummary(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public int execute(ParseResult parseResult) {
+        int exitCode = new CommandLine.RunLast().execute(parseResult);
+        if (meterRegistry != null && requested(parseResult)) {
+            PrintWriter err = parseResult.commandSpec().commandLine().getErr();
+            print(meterRegistry, err);
+            err.flush();
+        }
+        return exitCode;
+    }
+
+    /**
+     * Prints one line per application meter.
+     *
+     * @param meterRegistry registry to print
+     * @param out           where to print
+     */
+    static void print(MeterRegistry meterRegistry, PrintWriter out) {
+        List<String[]> lines = new ArrayList<>();
+        for (Meter meter : meterRegistry.getMeters()) {
+            if (!meter.getId().getName().startsWith(PREFIX)) continue;
+            String values = values(meter);
+            if (values != null) lines.add(new String[]{name(meter), values});
+        }
+        if (lines.isEmpty()) {
+            out.println("No metrics recorded");
+            return;
+        }
+        lines.sort(Comparator.comparing(line -> line[0]));
+        int width = lines.stream().mapToInt(line -> line[0].length()).max().orElse(0);
+        out.println("Metrics:");
+        for (String[] line : lines) {
+            out.println("  " + line[0] + " ".repeat(width - line[0].length() + 2) + line[1]);
+        }
+    }
+
+    // ------------- helpers --------------
+
+    private static boolean requested(ParseResult parseResult) {
+        for (ParseResult p = parseResult; p != null; p = p.subcommand()) {
+            if (p.hasMatchedOption("--metrics")) return true;
+        }
+        return false;
+    }
+
+    private static String name(Meter meter) {
+        List<Tag> tags = meter.getId().getTags();
+        if (tags.isEmpty()) return meter.getId().getName();
+        return meter.getId().getName() + tags.stream()
+                .map(tag -> tag.getKey() + "=" + tag.getValue())
+                .collect(Collectors.joining(",", "{", "}"));
+    }
+
+    private static String values(Meter meter) {
+        if (meter instanceof Timer timer) {
+            if (timer.count() == 0) return null;
+            return String.format(Locale.ROOT, "count=%d  total=%.1fms  mean=%.1fms  max=%.1fms", timer.count(),
+                    timer.totalTime(TimeUnit.MILLISECONDS), timer.mean(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS));
+        }
+        if (meter instanceof DistributionSummary summary) {
+            if (summary.count() == 0) return null;
+            String unit = meter.getId().getBaseUnit() == null ? "" : " " + meter.getId().getBaseUnit();
+            return String.format(Locale.ROOT, "count=%d  total=%.0f%s  mean=%.0f%s  max=%.0f%s", summary.count(),
+                    summary.totalAmount(), unit, summary.mean(), unit, summary.max(), unit);
+        }
+        if (meter instanceof Counter counter) {
+            return String.format(Locale.ROOT, "count=%.0f", counter.count());
+        }
+        return null;
+    }
+}
@@ -1,6 +1,10 @@
 package org.example.sitracker.cli;
 
 import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ScopeType;
+import picocli.CommandLine.Spec;
 
 /**
  * Root (top-level) PicoCLI command for the SiTracker application.
@@ -13,19 +17,33 @@ import picocli.CommandLine.Command;
  * <pre>{@code
  * sitracker             # prints help / usage for the top-level command
  * sitracker --help
+ * sitracker list -s OPEN --metrics   # prints Sheets and service timings after the list
  * }</pre>
  */
 @Command(
     name = "sitracker",
     mixinStandardHelpOptions = true,
-    description = "SiTracker CLI - manage issues (create, update, list)"
+    description = "SiTracker CLI - manage issues (create, import, update, list, tree, flush, status, daemon)"
 )
 public class RootCommand implements Runnable {
+
+    /**
+     * Print the application metrics to the error output after the command; accepted by every
+     * subcommand and evaluated by {@link MetricsSummary}.
+     * CLI option: {@code --metrics}.
+     */
+    @Option(names = "--metrics", scope = ScopeType.INHERIT,
+            description = "Print Sheets request and service timings to the error output when the command finishes")
+    private boolean metrics;
+
+    @Spec
+    private CommandSpec spec;
+
     /**
      * When the root command is invoked without subcommands, print the usage/help text.
      */
     @Override
     public void run() {
-        CommandLineHelp.printHelp(this);
+        CommandLineHelp.printHelp(spec);
     }
 }
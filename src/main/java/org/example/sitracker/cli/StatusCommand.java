@@ -0,0 +1,69 @@
+package org.example.sitracker.cli;
+
+import org.example.sitracker.repository.WriteBehindStatus;
+import org.example.sitracker.service.IssueService;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Spec;
+import java.io.PrintWriter;
+import java.util.Optional;
+
+/**
+ * PicoCLI command that shows the backlog of write-behind mode.
+ *
+ * <p>Usage example:
+ * <pre>{@code
+ * sitracker status
+ * }</pre>
+ *
+ * <p>The command delegates to {@link IssueService#pendingWrites()} and prints the number of queued
+ * writes and the age of the oldest one, the last flush error and when the flush is retried, and the
+ * number of writes that were set aside because they can never succeed. Without write-behind mode a
+ * message says that writes go straight to storage.
+ */
+@Command(name = "status", description = "Show changes queued for storage")
+public class StatusCommand implements Runnable {
+
+    @Spec
+    private CommandSpec spec;
+
+    private final IssueService issueService;
+
+    /**
+     * Constructs the command with the provided {@link IssueService}.
+     *
+     * @param issueService service that owns the write-behind queue; must not be {@code null}
+     */
+    public StatusCommand(IssueService issueService) {
+        this.issueService = issueService;
+    }
+
+    /**
+     * Executes the command: prints the state of the write-behind queue.
+     */
+    @Override
+    public void run() {
+        PrintWriter out = spec.commandLine().getOut();
+        PrintWriter err = spec.commandLine().getErr();
+        try {
+            Optional<WriteBehindStatus> pending = issueService.pendingWrites();
+            if (pending.isEmpty()) {
+                out.println("Write-behind is disabled; writes go straight to storage");
+                return;
+            }
+            WriteBehindStatus status = pending.get();
+            out.println("Queued writes: " + status.pending()
+                    + (status.oldestQueuedAt() != null ? " (oldest queued at " + status.oldestQueuedAt() + ")" : ""));
+            if (status.lastError() != null) {
+                out.println("Failed flush attempts: " + status.failedAttempts() + ", last error: " + status.lastError());
+                out.println("Next attempt at: " + status.nextAttemptAt());
+            }
+            if (status.failed() > 0) {
+                out.println("Set aside: " + status.failed() + " (see " + status.failedFile() + ")");
+            }
+        } catch (Exception e) {
+            err.println("Failed to read write-behind status: " + e.getMessage());
+            e.printStackTrace(err);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.sitracker.cli;
+
+import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.IssueHierarchy;
+import org.example.sitracker.domain.Status;
+import org.example.sitracker.service.IssueService;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+import picocli.CommandLine.Spec;
+import java.io.PrintWriter;
+import java.util.*;
+
+/**
+ * PicoCLI command that prints the parent/child hierarchy of issues.
+ *
+ * <p>Usage example:
+ * <pre>{@code
+ * sitracker tree            # every top-level issue with its subtree
+ * sitracker tree AD-1       # AD-1 and everything below it
+ * sitracker tree AD-7 -a    # also the chain of parents above AD-7
+ * }</pre>
+ *
+ * <p>The command reads the {@link IssueHierarchy} once through {@link IssueService#hierarchy()} and
+ * prints one indented line per issue. Issues with children are followed by the status counts of their
+ * whole subtree. Issues on a parent cycle are listed separately, since no top-level issue leads to them.
+ */
+@Command(name = "tree", description = "Show issues with their sub-issues and status roll-ups")
+public class TreeCommand implements Runnable {
+
+    /**
+     * Issue to start from; all top-level issues if omitted.
+     */
+    @Parameters(paramLabel = "<issueId>", arity = "0..1", description = "Issue ID to show the subtree of (default: all)")
+    private String issueId;
+
+    /**
+     * Whether to print the parents of {@link #issueId} above the subtree.
+     * CLI option: {@code -a} or {@code --ancestors}.
+     */
+    @Option(names = {"-a", "--ancestors"}, description = "Also show the parents of the issue")
+    private boolean ancestors;
+
+    /**
+     * Maximum number of levels printed below the starting issues. CLI option: {@code --depth}.
+     */
+    @Option(names = "--depth", description = "Levels to show below each starting issue (default: all)")
+    private int depth = Integer.MAX_VALUE;
+
+    @Spec
+    private CommandSpec spec;
+
+    private final IssueService issueService;
+
+    /**
+     * Constructs the command with the provided {@link IssueService}.
+     *
+     * @param issueService service used to read the hierarchy; must not be {@code null}
+     */
+    public TreeCommand(IssueService issueService) {
+        this.issueService = issueService;
+    }
+
+    /**
+     * Executes the command: prints the subtree of {@link #issueId}, or of every top-level issue.
+     * Errors are printed to the command error output with a stacktrace.
+     */
+    @Override
+    public void run() {
+        PrintWriter out = spec.commandLine().getOut();
+        PrintWriter err = spec.commandLine().getErr();
+        try {
+            IssueHierarchy hierarchy = issueService.hierarchy();
+            if (issueId != null) {
+                Issue start = hierarchy.get(issueId)
+                        .orElseThrow(() -> new IllegalArgumentException("Issue not found: " + issueId));
+                int level = 0;
+                if (ancestors) {
+                    List<Issue> chain = new ArrayList<>(hierarchy.ancestors(issueId));
+                    Collections.reverse(chain);
+                    for (Issue parent : chain) {
+                        print(out, hierarchy, parent, level++);
+                    }
+                }
+                printSubtree(out, hierarchy, start, level);
+                return;
+            }
+            if (hierarchy.size() == 0) {
+                out.println("No issues");
+                return;
+            }
+            for (Issue root : hierarchy.roots()) {
+                printSubtree(out, hierarchy, root, 0);
+            }
+            if (!hierarchy.cyclic().isEmpty()) {
+                out.println("Issues with cyclic parents: " + String.join(", ", hierarchy.cyclic()));
+            }
+        } catch (Exception e) {
+            err.println("Failed to show issue tree: " + e.getMessage());
+            e.printStackTrace(err);
+        }
+    }
+
+    /**
+     * Prints an issue and its descendants down to {@link #depth} levels, without recursion so deep
+     * hierarchies cannot overflow the stack.
+     */
+    private void printSubtree(PrintWriter out, IssueHierarchy hierarchy, Issue top, int level) {
+        Set<String> printed = new HashSet<>();
+        Deque<Map.Entry<Issue, Integer>> stack = new ArrayDeque<>();
+        stack.push(Map.entry(top, 0));
+        while (!stack.isEmpty()) {
+            Map.Entry<Issue, Integer> next = stack.pop();
+            Issue issue = next.getKey();
+            if (!printed.add(issue.getId())) continue;
+            print(out, hierarchy, issue, level + next.getValue());
+            if (next.getValue() >= depth) continue;
+            List<Issue> children = hierarchy.children(issue.getId());
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(Map.entry(children.get(i), next.getValue() + 1));
+            }
+        }
+    }
+
+    private static void print(PrintWriter out, IssueHierarchy hierarchy, Issue issue, int level) {
+        StringBuilder line = new StringBuilder();
+        line.append("  ".repeat(level))
+                .append(issue.getId()).append(" [").append(issue.getStatus()).append("] ")
+                .append(issue.getDescription() == null ? "" : issue.getDescription());
+        if (!hierarchy.children(issue.getId()).isEmpty()) {
+            StringJoiner counts = new StringJoiner(", ", " (", ")");
+            for (Map.Entry<Status, Integer> count : hierarchy.rollup(issue.getId()).entrySet()) {
+                counts.add(count.getKey() + " " + count.getValue());
+            }
+            line.append(counts);
+        }
+        out.println(line);
+    }
+}
@@ -4,38 +4,58 @@ import org.example.sitracker.domain.Issue;
 import org.example.sitracker.domain.Status;
 import org.example.sitracker.service.IssueService;
 import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
 import picocli.CommandLine.Parameters;
+import picocli.CommandLine.Spec;
+import java.io.PrintWriter;
+import java.util.*;
 
 /**
- * PicoCLI command that updates the status of an existing {@link Issue}.
+ * PicoCLI command that updates the status of one or more existing {@link Issue}s.
  *
  * <p>Usage example:
  * <pre>{@code
- * sitracker update AD-1 -s DONE
+ * sitracker update AD-1 -s CLOSED
+ * sitracker update AD-1 AD-2 AD-7 --set CLOSED
+ * sitracker update --where status=IN_PROGRESS --set CLOSED
  * }</pre>
  *
- * <p>The command delegates to {@link IssueService#updateIssueStatus(String, Status)} and prints
- * the updated issue id and new status to {@code System.out}. Any exceptions are printed to
- * {@code System.err} together with a stacktrace.
+ * <p>A single id is delegated to {@link IssueService#updateIssueStatus(String, Status)}; several ids
+ * go to {@link IssueService#updateIssueStatusBulk(Map)} and a {@code --where} filter to
+ * {@link IssueService#updateIssueStatusWhere(Status, Status)}, so all touched rows are written
+ * in batched requests. The updated issue ids and new status are printed to the command's output.
+ * In write-behind mode the changes are only queued when the command finishes, and the output says
+ * {@code Queued update} instead of {@code Updated issue}. Any exceptions are printed to its error output together with a stacktrace.
  */
 @Command(name = "update", description = "Update issue status")
 public class UpdateCommand implements Runnable {
 
     /**
-     * The ID of the issue to update (e.g., AD-1).
-     * This is a required positional parameter.
+     * The IDs of the issues to update (e.g., AD-1). Either ids or {@link #where} must be given.
      */
-    @Parameters(paramLabel = "<issueId>", description = "Issue ID to update (e.g., AD-1)")
-    private String issueId;
+    @Parameters(paramLabel = "<issueId>", arity = "0..*", description = "Issue IDs to update (e.g., AD-1 AD-2)")
+    private List<String> issueIds;
 
     /**
-     * New status for the issue. PicoCLI will offer completion candidates from {@link Status}.
-     * Required CLI option: {@code -s} or {@code --status}.
+     * New status for the issues. PicoCLI will offer completion candidates from {@link Status}.
+     * Required CLI option: {@code -s}, {@code --status} or {@code --set}.
      */
-    @Option(names = {"-s", "--status"}, required = true, description = "Status: ${COMPLETION-CANDIDATES}")
+    @Option(names = {"-s", "--status", "--set"}, required = true, description = "Status: ${COMPLETION-CANDIDATES}")
     private Status status;
 
+    /**
+     * Filter selecting the issues to update instead of listing their ids.
+     * CLI option: {@code --where}, e.g. {@code --where status=IN_PROGRESS}.
+     */
+    @Option(names = "--where", paramLabel = "<field=value>",
+            description = "Update all issues matching the filter instead of listed IDs (supported: status=<STATUS>)")
+    private String where;
+
+    @Spec
+    private CommandSpec spec;
+
     /**
      * Service responsible for updating issue status. Must not be {@code null}.
      */
@@ -52,19 +72,61 @@ public class UpdateCommand implements Runnable {
     }
 
     /**
-     * Executes the command: updates the status of the issue identified by {@link #issueId}.
-     * Prints the updated issue id and status to {@code System.out}. Errors are logged to
-     * {@code System.err} with a stacktrace.
+     * Executes the command: updates the status of the issues identified by {@link #issueIds}
+     * or matched by {@link #where}. Prints the updated issue ids and status to the command output
+     * ({@code System.out} by default). Errors are logged to the command error output with a stacktrace.
      */
     @Override
     public void run() {
+        boolean hasIds = issueIds != null && !issueIds.isEmpty();
+        if (hasIds == (where != null)) {
+            throw new ParameterException(spec.commandLine(), "Specify either issue IDs or --where, but not both");
+        }
+        Status whereStatus = where != null ? parseWhere(where) : null;
+        PrintWriter out = spec.commandLine().getOut();
+        PrintWriter err = spec.commandLine().getErr();
         try {
-            Issue updated = issueService.updateIssueStatus(issueId, status);
-            System.out.println("Updated issue: " + updated.getId() + " -> " + updated.getStatus());
-            System.out.println(updated);
+            boolean queued = issueService.pendingWrites().isPresent();
+            String done = queued ? "Queued update: " : "Updated issue: ";
+            if (hasIds && issueIds.size() == 1) {
+                Issue updated = issueService.updateIssueStatus(issueIds.get(0), status);
+                out.println(done + updated.getId() + " -> " + updated.getStatus());
+                out.println(updated);
+                return;
+            }
+            List<Issue> updated;
+            if (hasIds) {
+                Map<String, Status> changes = new LinkedHashMap<>();
+                issueIds.forEach(id -> changes.put(id, status));
+                updated = issueService.updateIssueStatusBulk(changes);
+            } else {
+                updated = issueService.updateIssueStatusWhere(whereStatus, status);
+            }
+            updated.forEach(i -> out.println(done + i.getId() + " -> " + i.getStatus()));
+            out.println(queued ? "Queued " + updated.size() + " updates" : "Updated " + updated.size() + " issues");
         } catch (Exception e) {
-            System.err.println("Failed to update issue: " + e.getMessage());
-            e.printStackTrace(System.err);
+            err.println("Failed to update issue: " + e.getMessage());
+            e.printStackTrace(err);
+        }
+    }
+
+    /**
+     * Parses a {@code --where} filter of the form {@code status=<STATUS>}.
+     *
+     * @param filter filter text
+     * @return status to match
+     * @throws ParameterException if the filter is not supported
+     */
+    private Status parseWhere(String filter) {
+        int eq = filter.indexOf('=');
+        if (eq > 0 && filter.substring(0, eq).trim().equalsIgnoreCase("status")) {
+            try {
+                return Status.valueOf(filter.substring(eq + 1).trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ignored) {
+                // reported below
+            }
         }
+        throw new ParameterException(spec.commandLine(),
+                "Unsupported --where filter '" + filter + "', expected status=" + Arrays.toString(Status.values()));
     }
 }
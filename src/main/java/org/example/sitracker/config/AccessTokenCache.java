@@ -0,0 +1,142 @@
+package org.example.sitracker.config;
+
+import com.google.auth.oauth2.AccessToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Encrypted file holding the last OAuth access token, shared by all SiTracker processes of a user.
+ *
+ * <p>The token is encrypted with AES-256-GCM. The key is derived from the service account's
+ * private key, so only someone who can read the credentials file, and could mint tokens anyway,
+ * can read the cache. The account identity is bound to the ciphertext as associated data.
+ * File layout: {@code "STC1"}, 12-byte IV, ciphertext of {@code <expiry epoch millis>\n<token>}.
+ *
+ * <p>The cache is best effort: a missing, foreign or damaged file reads as empty, and a failed
+ * write is only logged.
+ */
+final class AccessTokenCache {
+    private static final Logger log = LoggerFactory.getLogger(AccessTokenCache.class);
+    private static final byte[] MAGIC = "STC1".getBytes(StandardCharsets.US_ASCII);
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+
+    private final Path file;
+    private final SecretKeySpec key;
+    private final byte[] identity;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Creates the cache for one account.
+     *
+     * @param dir         directory of the cache file; created on first write
+     * @param keyMaterial secret the encryption key is derived from, e.g. the encoded private key
+     * @param identity    account and scopes the token was issued for; also names the file
+     */
+    AccessTokenCache(Path dir, byte[] keyMaterial, String identity) {
+        this.identity = identity.getBytes(StandardCharsets.UTF_8);
+        this.key = new SecretKeySpec(sha256("SiTracker token cache".getBytes(StandardCharsets.UTF_8), keyMaterial), "AES");
+        String name = HexFormat.of().formatHex(sha256(this.identity), 0, 6);
+        this.file = dir.resolve("token-" + name + ".cache");
+    }
+
+    /**
+     * Returns the cached token.
+     *
+     * @return the token with its expiry, or empty if there is none that this cache can decrypt
+     */
+    Optional<AccessToken> read() {
+        if (!Files.isRegularFile(file)) return Optional.empty();
+        try {
+            byte[] data = Files.readAllBytes(file);
+            if (data.length <= MAGIC.length + IV_LENGTH || !Arrays.equals(data, 0, MAGIC.length, MAGIC, 0, MAGIC.length)) {
+                return Optional.empty();
+            }
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, data, MAGIC.length, IV_LENGTH));
+            cipher.updateAAD(identity);
+            int offset = MAGIC.length + IV_LENGTH;
+            String plain = new String(cipher.doFinal(data, offset, data.length - offset), StandardCharsets.UTF_8);
+            int newline = plain.indexOf('\n');
+            if (newline < 0) return Optional.empty();
+            long expiresAt = Long.parseLong(plain.substring(0, newline));
+            return Optional.of(new AccessToken(plain.substring(newline + 1), new Date(expiresAt)));
+        } catch (IOException | GeneralSecurityException | NumberFormatException e) {
+            log.debug("Ignoring unreadable token cache {}: {}", file, e.toString());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Replaces the cached token. The file is written to a temporary file first and moved into
+     * place, so concurrent readers see either the old or the new token; on POSIX file systems
+     * it is only readable by its owner.
+     *
+     * @param token token to cache; tokens without expiry are not cached
+     */
+    void write(AccessToken token) {
+        if (token.getExpirationTime() == null) return;
+        try {
+            byte[] iv = new byte[IV_LENGTH];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(identity);
+            byte[] plain = (token.getExpirationTime().getTime() + "\n" + token.getTokenValue()).getBytes(StandardCharsets.UTF_8);
+            byte[] sealed = cipher.doFinal(plain);
+
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), "token-", ".tmp");
+            try {
+                if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+                    Files.setPosixFilePermissions(tmp, PosixFilePermissions.fromString("rw-------"));
+                }
+                Files.write(tmp, ByteBuffer.allocate(MAGIC.length + iv.length + sealed.length)
+                        .put(MAGIC).put(iv).put(sealed).array());
+                try {
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException | GeneralSecurityException e) {
+            log.warn("Could not write token cache {}: {}", file, e.getMessage());
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    private static byte[] sha256(byte[]... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (byte[] part : parts) digest.update(part);
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
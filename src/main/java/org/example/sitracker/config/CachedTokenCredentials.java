@@ -0,0 +1,115 @@
+package org.example.sitracker.config;
+
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Credentials that take their access token from an {@link AccessTokenCache} shared between
+ * processes, and only ask the wrapped credentials for a new one when the cached token is close
+ * to expiry. A short CLI command therefore usually starts with a valid token and skips the
+ * token exchange.
+ *
+ * <p>After every refresh the next one is scheduled on a background daemon thread shortly before
+ * the token enters its refresh margin, so a long-running process (the daemon) never has a request
+ * wait for a token exchange. A short-lived command simply exits before the refresh is due.
+ */
+final class CachedTokenCredentials extends GoogleCredentials {
+    private static final Logger log = LoggerFactory.getLogger(CachedTokenCredentials.class);
+
+    /** Tokens with less validity than this are refreshed; cached ones are not reused. */
+    static final Duration REFRESH_MARGIN = Duration.ofMinutes(6);
+    /** Tokens with less validity than this are not sent at all. */
+    static final Duration EXPIRATION_MARGIN = Duration.ofMinutes(4);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+
+    private final transient GoogleCredentials source;
+    private final transient AccessTokenCache cache;
+    private final transient Clock clock;
+    private transient ScheduledExecutorService refresher;
+
+    /**
+     * Creates the credentials, starting with the cached token if it is still fresh.
+     *
+     * @param source credentials that issue new tokens, e.g. {@code ServiceAccountCredentials}
+     * @param cache  token cache shared with other processes
+     * @param clock  clock used to judge token expiry
+     */
+    CachedTokenCredentials(GoogleCredentials source, AccessTokenCache cache, Clock clock) {
+        this(source, cache, clock, fresh(cache.read(), clock).orElse(null));
+    }
+
+    private CachedTokenCredentials(GoogleCredentials source, AccessTokenCache cache, Clock clock, AccessToken initial) {
+        super(initial, REFRESH_MARGIN, EXPIRATION_MARGIN);
+        this.source = source;
+        this.cache = cache;
+        this.clock = clock;
+        addChangeListener(credentials -> scheduleRefresh(nextRefreshDelay()));
+        if (initial != null) scheduleRefresh(nextRefreshDelay());
+    }
+
+    /**
+     * Returns the cached token if another process refreshed it meanwhile, otherwise a new token from
+     * the wrapped credentials, which is written to the cache.
+     *
+     * @return fresh access token
+     * @throws IOException if the token exchange fails
+     */
+    @Override
+    public AccessToken refreshAccessToken() throws IOException {
+        Optional<AccessToken> cached = fresh(cache.read(), clock);
+        if (cached.isPresent()) return cached.get();
+        AccessToken token = source.refreshAccessToken();
+        cache.write(token);
+        return token;
+    }
+
+    /**
+     * Time until the current token enters its refresh margin, plus a second so the refresh does
+     * not pick the same token from the cache again.
+     *
+     * @return delay of the next background refresh, or {@code null} if the token has no expiry
+     */
+    Duration nextRefreshDelay() {
+        AccessToken token = getAccessToken();
+        if (token == null || token.getExpirationTime() == null) return null;
+        Duration left = Duration.ofMillis(token.getExpirationTime().getTime() - clock.millis()).minus(REFRESH_MARGIN);
+        return (left.isNegative() ? Duration.ZERO : left).plusSeconds(1);
+    }
+
+    // ------------- helpers --------------
+
+    private synchronized void scheduleRefresh(Duration delay) {
+        if (delay == null) return;
+        if (refresher == null) {
+            refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "sitracker-token-refresh");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        refresher.schedule(this::refreshInBackground, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void refreshInBackground() {
+        try {
+            refresh(); // notifies the change listener, which schedules the next refresh
+        } catch (IOException | RuntimeException e) {
+            log.warn("Background token refresh failed, retrying in {}s: {}", RETRY_DELAY.toSeconds(), e.getMessage());
+            scheduleRefresh(RETRY_DELAY);
+        }
+    }
+
+    private static Optional<AccessToken> fresh(Optional<AccessToken> token, Clock clock) {
+        return token.filter(t -> t.getExpirationTime() != null
+                && t.getExpirationTime().getTime() - clock.millis() > REFRESH_MARGIN.toMillis());
+    }
+}
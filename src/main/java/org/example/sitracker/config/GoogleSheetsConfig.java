@@ -1,15 +1,22 @@
 package org.example.sitracker.config;
 
 import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.http.HttpTransport;
 import com.google.api.client.json.jackson2.JacksonFactory;
 import com.google.api.services.sheets.v4.Sheets;
 import com.google.auth.http.HttpCredentialsAdapter;
+import com.google.auth.oauth2.GoogleCredentials;
 import com.google.auth.oauth2.ServiceAccountCredentials;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import java.io.FileInputStream;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -29,10 +36,18 @@ import java.util.List;
  *     <li>If neither is present the configuration fails with an {@link IllegalStateException}.</li>
  * </ol>
  *
+ * <p>The beans are only created for {@code sitracker.storage.type=sheets} (the default), so the local
+ * storage backend runs without credentials or a spreadsheet id.
+ *
+ * <p>With the default lazy initialization the credentials are only read, and the client only
+ * built, when the repository is first used; set {@code spring.main.lazy-initialization=false}
+ * to create them, and fail on missing credentials, while the application starts.
+ *
  * <p>In Docker / runtime, prefer mounting the credentials file into the container and set the
  * environment variable or the Spring property (see README examples).
  */
 @Configuration
+@ConditionalOnProperty(name = "sitracker.storage.type", havingValue = "sheets", matchIfMissing = true)
 public class GoogleSheetsConfig {
 
     /**
@@ -48,25 +63,72 @@ public class GoogleSheetsConfig {
     @Value("${sitracker.spreadsheet.id}")
     private String spreadsheetId;
 
+    @Value("${sitracker.sheets.requests-per-minute:60}")
+    private int requestsPerMinute;
+
+    @Value("${sitracker.sheets.request-burst:10}")
+    private int requestBurst;
+
+    @Value("${sitracker.sheets.connect-timeout:10s}")
+    private Duration connectTimeout;
+
+    @Value("${sitracker.sheets.read-timeout:30s}")
+    private Duration readTimeout;
+
+    @Value("${sitracker.sheets.max-retry-time:60s}")
+    private Duration maxRetryTime;
+
+    @Value("${sitracker.google.token-cache.enabled:true}")
+    private boolean tokenCacheEnabled;
+
+    @Value("${sitracker.google.token-cache.dir:${user.home}/.sitracker}")
+    private Path tokenCacheDir;
+
+    @Value("${sitracker.http.transport:jdk}")
+    private String httpTransport;
+
+    @Value("${sitracker.http.http2:true}")
+    private boolean http2;
+
     private static final JacksonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
+    private static final List<String> SCOPES = List.of("https://www.googleapis.com/auth/spreadsheets");
 
     /**
      * Creates and returns a configured {@link Sheets} client using a service account.
      *
+     * <p>Every request of the client goes through a {@link SheetsRequestInitializer}, which applies
+     * the rate limit ({@code sitracker.sheets.requests-per-minute}, {@code sitracker.sheets.request-burst}),
+     * retries with backoff ({@code sitracker.sheets.max-retry-time}) and timeouts
+     * ({@code sitracker.sheets.connect-timeout}, {@code sitracker.sheets.read-timeout}).
+     * The HTTP transport is chosen by {@code sitracker.http.transport}, see {@link #newTransport()}.
+     * Request metrics are recorded in the application's {@link MeterRegistry}.
+     *
+     * <p>Access tokens are kept in an encrypted cache in {@code sitracker.google.token-cache.dir}
+     * (see {@link AccessTokenCache}), so consecutive commands reuse one token instead of each
+     * exchanging the service account key for a new one. {@code sitracker.google.token-cache.enabled=false}
+     * turns the cache off.
+     *
+     * @param meterRegistry registry for the request metrics
      * @return configured Sheets client
      * @throws Exception if credentials cannot be read or the Sheets client cannot be created
      */
     @Bean
-    public Sheets sheetsService() throws Exception {
+    public Sheets sheetsService(MeterRegistry meterRegistry) throws Exception {
         InputStream credentialsStream = resolveCredentialsStream();
         ServiceAccountCredentials creds = (ServiceAccountCredentials) ServiceAccountCredentials.fromStream(credentialsStream)
-                .createScoped(List.of("https://www.googleapis.com/auth/spreadsheets"));
+                .createScoped(SCOPES);
+        GoogleCredentials credentials = creds;
+        if (tokenCacheEnabled) {
+            AccessTokenCache cache = new AccessTokenCache(tokenCacheDir, creds.getPrivateKey().getEncoded(),
+                    creds.getClientEmail() + " " + String.join(" ", SCOPES));
+            credentials = new CachedTokenCredentials(creds, cache, Clock.systemUTC());
+        }
 
-        return new Sheets.Builder(
-                GoogleNetHttpTransport.newTrustedTransport(),
-                JSON_FACTORY,
-                new HttpCredentialsAdapter(creds)
-        ).setApplicationName("SiTracker").build();
+        SheetsRequestInitializer requestInitializer = new SheetsRequestInitializer(new HttpCredentialsAdapter(credentials),
+                requestsPerMinute, requestBurst, connectTimeout, readTimeout, maxRetryTime);
+        requestInitializer.setMeterRegistry(meterRegistry);
+        return new Sheets.Builder(newTransport(), JSON_FACTORY, requestInitializer)
+                .setApplicationName("SiTracker").build();
     }
 
     /**
@@ -79,6 +141,26 @@ public class GoogleSheetsConfig {
         return spreadsheetId;
     }
 
+    /**
+     * Creates the HTTP transport selected by {@code sitracker.http.transport}:
+     * <ul>
+     *     <li>{@code jdk} (default) — {@link JdkHttpTransport}: pooled keep-alive connections and,
+     *     unless {@code sitracker.http.http2=false}, HTTP/2</li>
+     *     <li>{@code net} — the Google client's {@code HttpURLConnection} transport with Google's
+     *     trusted certificates</li>
+     * </ul>
+     *
+     * @return new transport
+     * @throws Exception if the transport cannot be created
+     */
+    HttpTransport newTransport() throws Exception {
+        return switch (httpTransport.trim().toLowerCase()) {
+            case "jdk" -> JdkHttpTransport.create(connectTimeout, http2);
+            case "net" -> GoogleNetHttpTransport.newTrustedTransport();
+            default -> throw new IllegalStateException("Unknown sitracker.http.transport: " + httpTransport + " (expected jdk or net)");
+        };
+    }
+
     /**
      * Resolves the credentials JSON input stream.
      *
@@ -0,0 +1,273 @@
+package org.example.sitracker.config;
+
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.util.StreamingContent;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HttpTransport} for the Google API client backed by the JDK {@link HttpClient}.
+ *
+ * <p>Unlike the {@code HttpURLConnection} based transport, one client instance keeps its
+ * connections alive in a pool and reuses them for later requests, so TLS is negotiated once per
+ * connection rather than per request. With HTTP/2 (negotiated via ALPN, falling back to HTTP/1.1)
+ * concurrent requests share a single connection.
+ *
+ * <p>Compression is left to the Google client: it asks for gzip responses and unpacks them, and
+ * gzips request bodies, so bodies pass through this transport unchanged.
+ *
+ * <p>The read timeout limits the wait for the response headers and, like a socket read timeout,
+ * every single read of the response body. A body read that receives nothing for that long closes
+ * the body and fails with an {@link HttpTimeoutException}.
+ */
+final class JdkHttpTransport extends HttpTransport {
+    /** Headers the JDK client sets itself and rejects from callers. */
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private final HttpClient client;
+    /** Closes response bodies whose reads exceed the read timeout. */
+    private final ScheduledThreadPoolExecutor timeouts;
+
+    /**
+     * Creates a transport with its own client.
+     *
+     * @param connectTimeout timeout for establishing a connection
+     * @param http2          whether to offer HTTP/2; otherwise HTTP/1.1 is used
+     * @return new transport
+     */
+    static JdkHttpTransport create(Duration connectTimeout, boolean http2) {
+        return new JdkHttpTransport(HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build());
+    }
+
+    JdkHttpTransport(HttpClient client) {
+        this.client = client;
+        this.timeouts = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "sheets-read-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timeouts.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    protected LowLevelHttpRequest buildRequest(String method, String url) {
+        return new JdkRequest(method, url);
+    }
+
+    @Override
+    public boolean supportsMethod(String method) {
+        return true;
+    }
+
+    /**
+     * One request, buffered until {@link #execute()} sends it.
+     */
+    private final class JdkRequest extends LowLevelHttpRequest {
+        private final String method;
+        private final String url;
+        private final List<String[]> headers = new ArrayList<>();
+        private int readTimeoutMillis;
+
+        JdkRequest(String method, String url) {
+            this.method = method;
+            this.url = url;
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            headers.add(new String[]{name, value});
+        }
+
+        /**
+         * Applies the read timeout to the response headers and to each read of the response body;
+         * the connect timeout belongs to the shared client.
+         */
+        @Override
+        public void setTimeout(int connectTimeout, int readTimeout) {
+            this.readTimeoutMillis = readTimeout;
+        }
+
+        @Override
+        public LowLevelHttpResponse execute() throws IOException {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url));
+            if (readTimeoutMillis > 0) builder.timeout(Duration.ofMillis(readTimeoutMillis));
+            for (String[] header : headers) {
+                if (!RESTRICTED_HEADERS.contains(header[0].toLowerCase())) builder.header(header[0], header[1]);
+            }
+            HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.noBody();
+            StreamingContent content = getStreamingContent();
+            if (content != null) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                content.writeTo(buffer);
+                body = HttpRequest.BodyPublishers.ofByteArray(buffer.toByteArray());
+                if (getContentType() != null) builder.header("Content-Type", getContentType());
+                if (getContentEncoding() != null) builder.header("Content-Encoding", getContentEncoding());
+            }
+            builder.method(method, body);
+            try {
+                HttpResponse<InputStream> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+                InputStream responseBody = readTimeoutMillis > 0 ? new TimedInputStream(response.body(), readTimeoutMillis) : response.body();
+                return new JdkResponse(response, responseBody);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for " + method + " " + url);
+            }
+        }
+    }
+
+    /**
+     * Response body that fails reads which receive nothing within the read timeout. The JDK
+     * client's body stream wakes a blocked reader when it is closed, so a timed-out read is ended
+     * by closing the stream from the timeout thread.
+     */
+    private final class TimedInputStream extends FilterInputStream {
+        private final long timeoutMillis;
+        private volatile boolean timedOut;
+
+        TimedInputStream(InputStream in, long timeoutMillis) {
+            super(in);
+            this.timeoutMillis = timeoutMillis;
+        }
+
+        @Override
+        public int read() throws IOException {
+            ScheduledFuture<?> timeout = schedule();
+            int result = -1;
+            try {
+                result = super.read();
+            } catch (IOException e) {
+                if (!timedOut) throw e;
+            } finally {
+                timeout.cancel(false);
+            }
+            if (timedOut) throw timeoutException();
+            return result;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            ScheduledFuture<?> timeout = schedule();
+            int result = -1;
+            try {
+                result = super.read(b, off, len);
+            } catch (IOException e) {
+                if (!timedOut) throw e;
+            } finally {
+                timeout.cancel(false);
+            }
+            if (timedOut) throw timeoutException();
+            return result;
+        }
+
+        private ScheduledFuture<?> schedule() throws IOException {
+            if (timedOut) throw timeoutException();
+            return timeouts.schedule(() -> {
+                timedOut = true;
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    // the waiting read fails with the timeout either way
+                }
+            }, timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+
+        private HttpTimeoutException timeoutException() {
+            return new HttpTimeoutException("Response body not received within " + timeoutMillis + " ms");
+        }
+    }
+
+    /**
+     * Response whose body is streamed from the connection.
+     */
+    private static final class JdkResponse extends LowLevelHttpResponse {
+        private final HttpResponse<InputStream> response;
+        private final InputStream content;
+        private final List<String[]> headers = new ArrayList<>();
+
+        JdkResponse(HttpResponse<InputStream> response, InputStream content) {
+            this.response = response;
+            this.content = content;
+            for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+                if (header.getKey().startsWith(":")) continue; // HTTP/2 pseudo headers
+                for (String value : header.getValue()) headers.add(new String[]{header.getKey(), value});
+            }
+        }
+
+        @Override
+        public InputStream getContent() {
+            return content;
+        }
+
+        @Override
+        public String getContentEncoding() {
+            return response.headers().firstValue("Content-Encoding").orElse(null);
+        }
+
+        @Override
+        public long getContentLength() {
+            return response.headers().firstValueAsLong("Content-Length").orElse(-1);
+        }
+
+        @Override
+        public String getContentType() {
+            return response.headers().firstValue("Content-Type").orElse(null);
+        }
+
+        @Override
+        public String getStatusLine() {
+            return (response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2 " : "HTTP/1.1 ") + response.statusCode();
+        }
+
+        @Override
+        public int getStatusCode() {
+            return response.statusCode();
+        }
+
+        @Override
+        public String getReasonPhrase() {
+            return null;
+        }
+
+        @Override
+        public int getHeaderCount() {
+            return headers.size();
+        }
+
+        @Override
+        public String getHeaderName(int index) {
+            return headers.get(index)[0];
+        }
+
+        @Override
+        public String getHeaderValue(int index) {
+            return headers.get(index)[1];
+        }
+
+        @Override
+        public void disconnect() throws IOException {
+            content.close();
+        }
+    }
+}
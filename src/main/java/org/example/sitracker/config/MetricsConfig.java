@@ -0,0 +1,38 @@
+package org.example.sitracker.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring configuration that creates the {@link MeterRegistry} the application records its metrics in.
+ *
+ * <p>Recorded metrics:
+ * <ul>
+ *     <li>{@code sitracker.sheets.requests}, {@code sitracker.sheets.request.size},
+ *     {@code sitracker.sheets.response.size}, {@code sitracker.sheets.retries},
+ *     {@code sitracker.sheets.auth}, {@code sitracker.sheets.throttle} — every HTTP attempt of the
+ *     Sheets client, see {@link SheetsRequestInitializer}</li>
+ *     <li>{@code sitracker.sheets.calls}, {@code sitracker.sheets.rows} — Sheets API calls of the
+ *     repository as a whole and the rows they returned</li>
+ *     <li>{@code sitracker.service.operations} — issue service operations</li>
+ * </ul>
+ *
+ * <p>A Prometheus registry is used, so the daemon can serve the metrics in the Prometheus text
+ * format on {@code GET /metrics}; a single CLI run prints them with {@code --metrics}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Creates the registry shared by the Sheets client, the repository and the service.
+     *
+     * @return Prometheus meter registry
+     */
+    @Bean
+    public PrometheusMeterRegistry meterRegistry() {
+        return new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.sitracker.config;
+
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.util.GenericData;
+import com.google.api.services.sheets.v4.Sheets;
+import com.google.api.services.sheets.v4.model.AddSheetRequest;
+import com.google.api.services.sheets.v4.model.AppendValuesResponse;
+import com.google.api.services.sheets.v4.model.BatchGetValuesResponse;
+import com.google.api.services.sheets.v4.model.BatchUpdateSpreadsheetRequest;
+import com.google.api.services.sheets.v4.model.BatchUpdateSpreadsheetResponse;
+import com.google.api.services.sheets.v4.model.BatchUpdateValuesRequest;
+import com.google.api.services.sheets.v4.model.BatchUpdateValuesResponse;
+import com.google.api.services.sheets.v4.model.Request;
+import com.google.api.services.sheets.v4.model.SheetProperties;
+import com.google.api.services.sheets.v4.model.UpdateValuesResponse;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import org.example.sitracker.cli.CreateCommand;
+import org.example.sitracker.cli.DaemonCommand;
+import org.example.sitracker.cli.FlushCommand;
+import org.example.sitracker.cli.ImportCommand;
+import org.example.sitracker.cli.IssueFileReader;
+import org.example.sitracker.cli.ListCommand;
+import org.example.sitracker.cli.RootCommand;
+import org.example.sitracker.cli.StatusCommand;
+import org.example.sitracker.cli.TreeCommand;
+import org.example.sitracker.cli.UpdateCommand;
+import org.example.sitracker.domain.Status;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the {@code native} build profile.
+ *
+ * <p>Spring AOT derives hints for the beans it manages, but not for code that is reflected on
+ * by libraries:
+ * <ul>
+ *     <li>picocli reads the option and parameter annotations of the command classes and injects
+ *     their fields;</li>
+ *     <li>the Google API client maps JSON to the {@code @Key} fields of the Sheets request and model
+ *     classes, including error responses and the OAuth token response ({@link GenericJson});</li>
+ *     <li>the Google HTTP and API client libraries read their bundled version properties.</li>
+ * </ul>
+ * The Google auth library ships its own native-image metadata.
+ * Jackson is only used through its tree model and streaming parser, which need no hints.
+ *
+ * <p>These hints only matter for native images; on the JVM they are ignored.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    /** Command classes, including nested argument groups, that picocli reflects on. */
+    static final List<Class<?>> COMMAND_TYPES = List.of(
+            RootCommand.class, CreateCommand.class, ImportCommand.class, UpdateCommand.class,
+            ListCommand.class, TreeCommand.class, FlushCommand.class, StatusCommand.class, DaemonCommand.class);
+
+    /** Google API classes mapped to and from JSON through their {@code @Key} fields. */
+    static final List<Class<?>> GOOGLE_JSON_TYPES = List.of(
+            GenericData.class, GenericJson.class, GoogleJsonError.class, GoogleJsonError.ErrorInfo.class,
+            GoogleJsonError.Details.class,
+            ValueRange.class, AppendValuesResponse.class, UpdateValuesResponse.class, BatchGetValuesResponse.class,
+            BatchUpdateValuesRequest.class, BatchUpdateValuesResponse.class, BatchUpdateSpreadsheetRequest.class,
+            BatchUpdateSpreadsheetResponse.class, Request.class, AddSheetRequest.class, SheetProperties.class,
+            Sheets.Spreadsheets.Values.Get.class, Sheets.Spreadsheets.Values.Append.class,
+            Sheets.Spreadsheets.Values.Update.class, Sheets.Spreadsheets.Values.BatchGet.class,
+            Sheets.Spreadsheets.Values.BatchUpdate.class, Sheets.Spreadsheets.BatchUpdate.class);
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> type : COMMAND_TYPES) {
+            registerWithNested(hints, type);
+        }
+        hints.reflection().registerType(TypeReference.of("picocli.CommandLine$AutoHelpMixin"), MemberCategory.values());
+        hints.reflection().registerType(Status.class, MemberCategory.values());
+        hints.reflection().registerType(IssueFileReader.Format.class, MemberCategory.values());
+
+        for (Class<?> type : GOOGLE_JSON_TYPES) {
+            hints.reflection().registerType(type, MemberCategory.values());
+        }
+        hints.resources().registerPattern("com/google/api/client/http/google-http-client.properties");
+        hints.resources().registerPattern("com/google/api/client/googleapis/google-api-client.properties");
+    }
+
+    private static void registerWithNested(RuntimeHints hints, Class<?> type) {
+        hints.reflection().registerType(type, MemberCategory.values());
+        for (Class<?> nested : type.getDeclaredClasses()) {
+            registerWithNested(hints, nested);
+        }
+    }
+}
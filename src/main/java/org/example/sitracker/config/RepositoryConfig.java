@@ -0,0 +1,139 @@
+package org.example.sitracker.config;
+
+import com.google.api.services.sheets.v4.Sheets;
+import org.example.sitracker.repository.CachingIssueRepository;
+import org.example.sitracker.repository.GoogleSheetsIssueRepositoryImpl;
+import org.example.sitracker.repository.IssueIdAllocator;
+import org.example.sitracker.repository.IssueRepository;
+import org.example.sitracker.repository.LocalIssueRepository;
+import org.example.sitracker.repository.WriteBehindIssueRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Spring configuration that assembles the {@link IssueRepository} used by the services.
+ *
+ * <p>The storage backend is chosen with {@code sitracker.storage.type}: {@code sheets} (default)
+ * uses the Google Sheets repository, wrapped in a {@link CachingIssueRepository} unless caching is
+ * switched off; {@code local} uses a {@link LocalIssueRepository} in {@code sitracker.storage.local.dir}
+ * (default {@code ~/.sitracker}) and needs no Google credentials. Supported properties:
+ * <ul>
+ *     <li>{@code sitracker.storage.type} — {@code sheets} or {@code local} (default {@code sheets})</li>
+ *     <li>{@code sitracker.storage.local.dir} — directory of the local store (default {@code ~/.sitracker})</li>
+ *     <li>{@code sitracker.cache.enabled} — enable the in-memory issue cache (default {@code true})</li>
+ *     <li>{@code sitracker.cache.ttl} — how long cached data is served before re-syncing
+ *     from the sheet (default {@code 5m})</li>
+ *     <li>{@code sitracker.ids.block-size} — ids per reserved block when the {@code IdBlocks}
+ *     sheet is first created; {@code 0} disables cross-process reservation (default {@code 32})</li>
+ *     <li>{@code sitracker.write-behind.enabled} — acknowledge writes once they are journaled locally
+ *     and send them to the sheet in the background, see {@link WriteBehindIssueRepository}
+ *     (default {@code false})</li>
+ *     <li>{@code sitracker.write-behind.dir} — directory of the write-behind journal (default {@code ~/.sitracker})</li>
+ *     <li>{@code sitracker.write-behind.flush-interval} — delay between background flushes (default {@code 1s})</li>
+ *     <li>{@code sitracker.write-behind.batch-size} — new issues per append during a flush (default {@code 500})</li>
+ *     <li>{@code sitracker.sheets.verify-schema-on-startup} — verify the Issues header while the
+ *     application starts instead of on the first save (default {@code false})</li>
+ * </ul>
+ */
+@Configuration
+public class RepositoryConfig {
+
+    @Value("${sitracker.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${sitracker.cache.ttl:5m}")
+    private Duration cacheTtl;
+
+    @Value("${sitracker.ids.block-size:32}")
+    private int idBlockSize;
+
+    @Value("${sitracker.write-behind.enabled:false}")
+    private boolean writeBehindEnabled;
+
+    @Value("${sitracker.write-behind.dir:${user.home}/.sitracker}")
+    private Path writeBehindDir;
+
+    @Value("${sitracker.write-behind.flush-interval:1s}")
+    private Duration writeBehindFlushInterval;
+
+    @Value("${sitracker.write-behind.batch-size:500}")
+    private int writeBehindBatchSize;
+
+    @Value("${sitracker.sheets.verify-schema-on-startup:false}")
+    private boolean verifySchemaOnStartup;
+
+    /**
+     * Creates the allocator that hands out ids for new issues.
+     *
+     * @param sheets        authenticated Google Sheets client
+     * @param spreadsheetId id of the spreadsheet where issues are stored
+     * @return id allocator shared by all repositories
+     */
+    @Bean
+    @ConditionalOnProperty(name = "sitracker.storage.type", havingValue = "sheets", matchIfMissing = true)
+    public IssueIdAllocator issueIdAllocator(Sheets sheets, String spreadsheetId) {
+        return new IssueIdAllocator(sheets, spreadsheetId, idBlockSize);
+    }
+
+    /**
+     * Creates the primary {@link IssueRepository} bean. A write-behind repository is closed, and its
+     * queue flushed, when the application context shuts down.
+     *
+     * @param sheetsRepository repository backed by Google Sheets
+     * @param idAllocator      id allocator used by the write-behind repository
+     * @return caching decorator around {@code sheetsRepository}, or the repository itself if caching is disabled,
+     *         behind a write-behind repository if that is enabled
+     * @throws IOException if the write-behind journal cannot be opened
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "sitracker.storage.type", havingValue = "sheets", matchIfMissing = true)
+    public IssueRepository issueRepository(GoogleSheetsIssueRepositoryImpl sheetsRepository,
+                                           IssueIdAllocator idAllocator) throws IOException {
+        IssueRepository repository = cacheEnabled ? new CachingIssueRepository(sheetsRepository, cacheTtl) : sheetsRepository;
+        if (!writeBehindEnabled) {
+            return repository;
+        }
+        return new WriteBehindIssueRepository(repository, idAllocator, writeBehindDir,
+                writeBehindFlushInterval, writeBehindBatchSize);
+    }
+
+    /**
+     * Creates the primary {@link IssueRepository} bean for local storage. The store is closed, and its
+     * index checkpointed, when the application context shuts down.
+     *
+     * @param dir store directory
+     * @return repository backed by the local store
+     * @throws IOException if the store cannot be opened
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "sitracker.storage.type", havingValue = "local")
+    public LocalIssueRepository localIssueRepository(
+            @Value("${sitracker.storage.local.dir:${user.home}/.sitracker}") Path dir) throws IOException {
+        return new LocalIssueRepository(dir);
+    }
+
+    /**
+     * Verifies the sheet header before any command runs, if enabled.
+     *
+     * @param event startup event carrying the application context
+     * @throws IOException if Sheets API call fails
+     */
+    @EventListener
+    public void verifySchemaOnStartup(ApplicationStartedEvent event) throws IOException {
+        if (verifySchemaOnStartup) {
+            GoogleSheetsIssueRepositoryImpl repo = event.getApplicationContext()
+                    .getBeanProvider(GoogleSheetsIssueRepositoryImpl.class).getIfAvailable();
+            if (repo != null) repo.verifySchema();
+        }
+    }
+}
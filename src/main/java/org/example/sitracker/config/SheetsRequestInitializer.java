@@ -0,0 +1,375 @@
+package org.example.sitracker.config;
+
+import com.google.api.client.http.HttpBackOffIOExceptionHandler;
+import com.google.api.client.http.HttpContent;
+import com.google.api.client.http.HttpExecuteInterceptor;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpRequestInitializer;
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.http.HttpResponseInterceptor;
+import com.google.api.client.http.HttpUnsuccessfulResponseHandler;
+import com.google.api.client.util.BackOff;
+import com.google.api.client.util.ExponentialBackOff;
+import com.google.api.client.util.NanoClock;
+import com.google.api.client.util.Sleeper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Policy applied to every HTTP request sent by the {@link com.google.api.services.sheets.v4.Sheets}
+ * client, so all Sheets calls of the application share it without changes at the call sites.
+ *
+ * <ul>
+ *     <li><b>Rate limiting:</b> a token bucket refilled at {@code requestsPerMinute} with room for
+ *     {@code burst} requests. Every attempt, retries included, takes a token and waits when none is
+ *     left, so bulk jobs run at the quota instead of running into it. Threads share the bucket.</li>
+ *     <li><b>Retries:</b> HTTP 429 and, for idempotent requests, 500/502/503/504 and I/O errors
+ *     are retried with exponential backoff (0.5 s doubling up to 32 s, randomized by ±50% so
+ *     concurrent clients do not retry in lockstep) within {@code maxRetryTime}, counted from the
+ *     first failed attempt, so waiting for the rate limit or credentials before it does not use up
+ *     the retry time: the last wait is cut short so that it ends at the limit. A {@code Retry-After} header lengthens the wait,
+ *     and a request is not retried if the header asks for a wait beyond the limit. Appends and
+ *     spreadsheet-level {@code batchUpdate}s are not idempotent and are only retried on 429,
+ *     which the API sends before doing any work.</li>
+ *     <li><b>Timeouts:</b> connect and read timeouts for every attempt.</li>
+ *     <li><b>Metrics:</b> every attempt is timed from sending until its response headers arrive
+ *     ({@code sitracker.sheets.requests}, tagged with the operation, e.g. {@code values.get}, and the
+ *     HTTP status), with request and response body sizes; retries, the time spent obtaining
+ *     credentials and waiting for the rate limit are recorded too. See {@link #setMeterRegistry}.</li>
+ * </ul>
+ *
+ * <p>The wrapped initializer (the credentials) runs first; its own handlers, such as the token
+ * refresh on HTTP 401, keep precedence.
+ */
+public class SheetsRequestInitializer implements HttpRequestInitializer {
+    private static final int INITIAL_BACKOFF_MILLIS = 500;
+    private static final int MAX_BACKOFF_MILLIS = 32_000;
+    static final String REQUESTS = "sitracker.sheets.requests";
+    static final String REQUEST_SIZE = "sitracker.sheets.request.size";
+    static final String RESPONSE_SIZE = "sitracker.sheets.response.size";
+    static final String RETRIES = "sitracker.sheets.retries";
+    static final String AUTH = "sitracker.sheets.auth";
+    static final String THROTTLE = "sitracker.sheets.throttle";
+
+    private final HttpRequestInitializer delegate;
+    private final TokenBucket bucket;
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+    private final int maxRetryMillis;
+    private final Sleeper sleeper;
+    private final NanoClock clock;
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    /**
+     * Creates the policy.
+     *
+     * @param delegate          initializer applied first, usually the credentials adapter
+     * @param requestsPerMinute sustained request rate; {@code 0} disables rate limiting
+     * @param burst             requests that may be sent at once before the rate applies; must be positive
+     * @param connectTimeout    connect timeout per attempt
+     * @param readTimeout       read timeout per attempt
+     * @param maxRetryTime      time after which a failing request is no longer retried
+     */
+    public SheetsRequestInitializer(HttpRequestInitializer delegate, int requestsPerMinute, int burst,
+                                    Duration connectTimeout, Duration readTimeout, Duration maxRetryTime) {
+        this(delegate, requestsPerMinute, burst, connectTimeout, readTimeout, maxRetryTime, Sleeper.DEFAULT, NanoClock.SYSTEM);
+    }
+
+    SheetsRequestInitializer(HttpRequestInitializer delegate, int requestsPerMinute, int burst,
+                             Duration connectTimeout, Duration readTimeout, Duration maxRetryTime,
+                             Sleeper sleeper, NanoClock clock) {
+        if (requestsPerMinute < 0) throw new IllegalArgumentException("requestsPerMinute must not be negative");
+        if (burst <= 0) throw new IllegalArgumentException("burst must be positive");
+        this.delegate = delegate;
+        this.bucket = requestsPerMinute == 0 ? null : new TokenBucket(requestsPerMinute, burst, sleeper, clock);
+        this.connectTimeoutMillis = Math.toIntExact(connectTimeout.toMillis());
+        this.readTimeoutMillis = Math.toIntExact(readTimeout.toMillis());
+        this.maxRetryMillis = Math.toIntExact(maxRetryTime.toMillis());
+        this.sleeper = sleeper;
+        this.clock = clock;
+    }
+
+    /**
+     * Sets the registry request metrics are recorded in; by default they go to the global
+     * registry, which discards them unless a registry has been added to it.
+     *
+     * @param meterRegistry registry for the request metrics
+     */
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void initialize(HttpRequest request) throws IOException {
+        if (delegate != null) delegate.initialize(request);
+        request.setConnectTimeout(connectTimeoutMillis);
+        request.setReadTimeout(readTimeoutMillis);
+
+        RequestMeters meters = new RequestMeters(operation(request.getRequestMethod(), request.getUrl().getRawPath()));
+        HttpExecuteInterceptor credentials = request.getInterceptor();
+        request.setInterceptor(r -> {
+            if (bucket != null) {
+                long start = clock.nanoTime();
+                bucket.acquire();
+                record(Timer.builder(THROTTLE), start);
+            }
+            if (credentials != null) {
+                long start = clock.nanoTime();
+                credentials.intercept(r);
+                record(Timer.builder(AUTH), start);
+            }
+            meters.sending(r);
+        });
+        // only sees the last response; retried ones are recorded by the RetryHandler
+        HttpResponseInterceptor responses = request.getResponseInterceptor();
+        request.setResponseInterceptor(response -> {
+            meters.received(response, meters.elapsed(), false);
+            if (responses != null) responses.interceptResponse(response);
+        });
+
+        DeadlineBackOff backOff = new DeadlineBackOff();
+        boolean idempotent = isIdempotent(request);
+        HttpUnsuccessfulResponseHandler previous = request.getUnsuccessfulResponseHandler();
+        request.setUnsuccessfulResponseHandler(new RetryHandler(previous, backOff, idempotent, meters));
+        if (idempotent) {
+            request.setIOExceptionHandler(new HttpBackOffIOExceptionHandler(backOff).setSleeper(sleeper));
+        }
+    }
+
+    // ------------- helpers --------------
+
+    /**
+     * Names the Sheets API method a request calls, as used in the metric tags.
+     *
+     * @param method HTTP method
+     * @param path   raw URL path
+     * @return API method such as {@code values.get}, {@code values.append} or
+     *         {@code spreadsheets.batchUpdate}, or {@code other} for requests outside the Sheets API
+     */
+    static String operation(String method, String path) {
+        int marker = path == null ? -1 : path.indexOf("/spreadsheets/");
+        if (marker < 0) return "other";
+        String rest = path.substring(marker + "/spreadsheets/".length());
+        int slash = rest.indexOf('/');
+        if (slash < 0) return rest.endsWith(":batchUpdate") ? "spreadsheets.batchUpdate" : "spreadsheets.get";
+        String values = rest.substring(slash + 1);
+        if (values.equals("values:batchGet")) return "values.batchGet";
+        if (values.equals("values:batchUpdate")) return "values.batchUpdate";
+        if (values.endsWith(":append")) return "values.append";
+        if (values.endsWith(":clear")) return "values.clear";
+        return "PUT".equals(method) ? "values.update" : "values.get";
+    }
+
+    /**
+     * Tells whether sending the request twice has the same effect as sending it once.
+     * Appends add rows and spreadsheet-level batch updates add sheets, everything else reads
+     * or overwrites fixed ranges.
+     *
+     * @param request request to classify
+     * @return whether the request may be retried after a server or I/O error
+     */
+    static boolean isIdempotent(HttpRequest request) {
+        String path = request.getUrl().getRawPath();
+        if (path == null) return true;
+        if (path.endsWith(":append")) return false;
+        return !path.endsWith(":batchUpdate") || path.endsWith("/values:batchUpdate");
+    }
+
+    /**
+     * Retries rate-limited and, for idempotent requests, failed responses with backoff.
+     */
+    private final class RetryHandler implements HttpUnsuccessfulResponseHandler {
+        private final HttpUnsuccessfulResponseHandler previous;
+        private final DeadlineBackOff backOff;
+        private final boolean idempotent;
+        private final RequestMeters meters;
+
+        RetryHandler(HttpUnsuccessfulResponseHandler previous, DeadlineBackOff backOff, boolean idempotent, RequestMeters meters) {
+            this.previous = previous;
+            this.backOff = backOff;
+            this.idempotent = idempotent;
+            this.meters = meters;
+        }
+
+        @Override
+        public boolean handleResponse(HttpRequest request, HttpResponse response, boolean supportsRetry) throws IOException {
+            long elapsed = meters.elapsed();
+            boolean retry = retry(request, response, supportsRetry);
+            // a response that is not retried is the last one and reaches the response interceptor
+            if (retry) meters.received(response, elapsed, true);
+            return retry;
+        }
+
+        private boolean retry(HttpRequest request, HttpResponse response, boolean supportsRetry) throws IOException {
+            if (previous != null && previous.handleResponse(request, response, supportsRetry)) return true;
+            if (!supportsRetry || !isRetryable(response.getStatusCode())) return false;
+            long waitMillis = backOff.nextBackOffMillis();
+            if (waitMillis == BackOff.STOP) return false;
+            long retryAfterMillis = retryAfterMillis(response);
+            if (retryAfterMillis > backOff.remainingMillis()) return false;
+            waitMillis = Math.max(waitMillis, retryAfterMillis);
+            try {
+                sleeper.sleep(waitMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            return true;
+        }
+
+        private boolean isRetryable(int statusCode) {
+            if (statusCode == 429) return true;
+            return idempotent && (statusCode == 500 || statusCode == 502 || statusCode == 503 || statusCode == 504);
+        }
+
+        private long retryAfterMillis(HttpResponse response) {
+            String retryAfter = response.getHeaders().getFirstHeaderStringValue("Retry-After");
+            if (retryAfter == null) return 0;
+            try {
+                return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException e) {
+                return 0; // HTTP-date form, fall back to the backoff
+            }
+        }
+    }
+
+    /**
+     * Exponential backoff of one request whose waits never run past {@code maxRetryTime}, counted
+     * from the first failed attempt: the wait that would cross the limit is shortened to end at it.
+     * The clock starts with the first {@link #nextBackOffMillis()} call, not when the request is
+     * built, so time spent before the first response does not count.
+     */
+    private final class DeadlineBackOff implements BackOff {
+        private final ExponentialBackOff backOff = new ExponentialBackOff.Builder()
+                .setInitialIntervalMillis(INITIAL_BACKOFF_MILLIS)
+                .setMultiplier(2)
+                .setRandomizationFactor(0.5)
+                .setMaxIntervalMillis(MAX_BACKOFF_MILLIS)
+                .setMaxElapsedTimeMillis(maxRetryMillis)
+                .setNanoClock(clock)
+                .build();
+        private boolean started;
+
+        @Override
+        public void reset() {
+            started = false;
+        }
+
+        @Override
+        public long nextBackOffMillis() throws IOException {
+            if (!started) {
+                backOff.reset();
+                started = true;
+            }
+            long next = backOff.nextBackOffMillis();
+            if (next == STOP) return STOP;
+            long remaining = remainingMillis();
+            return remaining <= 0 ? STOP : Math.min(next, remaining);
+        }
+
+        /**
+         * @return time left until {@code maxRetryTime} has elapsed
+         */
+        long remainingMillis() {
+            return started ? maxRetryMillis - backOff.getElapsedTimeMillis() : maxRetryMillis;
+        }
+    }
+
+    private void record(Timer.Builder timer, long startNanos) {
+        timer.register(meterRegistry).record(clock.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Meters of one request, shared by its attempts.
+     */
+    private final class RequestMeters {
+        private final String operation;
+        private long sentAt;
+
+        RequestMeters(String operation) {
+            this.operation = operation;
+        }
+
+        void sending(HttpRequest request) throws IOException {
+            HttpContent content = request.getContent();
+            long length = content == null ? -1 : content.getLength();
+            if (length >= 0) {
+                DistributionSummary.builder(REQUEST_SIZE).baseUnit("bytes").tag("operation", operation)
+                        .register(meterRegistry).record(length);
+            }
+            sentAt = clock.nanoTime();
+        }
+
+        long elapsed() {
+            return clock.nanoTime() - sentAt;
+        }
+
+        void received(HttpResponse response, long elapsedNanos, boolean retried) {
+            String status = Integer.toString(response.getStatusCode());
+            Timer.builder(REQUESTS).tag("operation", operation).tag("status", status)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry).record(elapsedNanos, TimeUnit.NANOSECONDS);
+            Long length = response.getHeaders().getContentLength();
+            if (length != null) {
+                DistributionSummary.builder(RESPONSE_SIZE).baseUnit("bytes").tag("operation", operation)
+                        .register(meterRegistry).record(length);
+            }
+            if (retried) {
+                Counter.builder(RETRIES).tag("operation", operation).tag("status", status)
+                        .register(meterRegistry).increment();
+            }
+        }
+    }
+
+    /**
+     * Token bucket shared by all requests. Tokens are reserved ahead, so a caller that finds the
+     * bucket empty sleeps exactly until its token is due and waiting callers are served in order.
+     */
+    static final class TokenBucket {
+        private final double tokensPerNano;
+        private final double capacity;
+        private final Sleeper sleeper;
+        private final NanoClock clock;
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(int requestsPerMinute, int burst, Sleeper sleeper, NanoClock clock) {
+            this.tokensPerNano = requestsPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+            this.capacity = burst;
+            this.sleeper = sleeper;
+            this.clock = clock;
+            this.tokens = burst;
+            this.refilledAt = clock.nanoTime();
+        }
+
+        /**
+         * Takes one token, waiting until it is available.
+         *
+         * @throws InterruptedIOException if interrupted while waiting
+         */
+        void acquire() throws InterruptedIOException {
+            long waitNanos;
+            synchronized (this) {
+                long now = clock.nanoTime();
+                tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+                refilledAt = now;
+                tokens -= 1;
+                waitNanos = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+            }
+            if (waitNanos == 0) return;
+            try {
+                sleeper.sleep(TimeUnit.NANOSECONDS.toMillis(waitNanos) + 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the Sheets request rate limit");
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.sitracker.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.TreeMap;
+
+/**
+ * Sends a CLI invocation to a running {@link DaemonServer} instead of starting the application.
+ *
+ * <p>The client is deliberately free of Spring and of the Sheets client so it adds almost nothing
+ * to the start-up time of a command. It only talks to a daemon if the endpoint file exists and
+ * the daemon accepts the connection; in every other case {@link #tryRun} reports that the command
+ * was not run, and the caller executes it in-process.
+ *
+ * <p>The endpoint file is {@code ~/.sitracker/daemon.properties} unless the system property
+ * {@code sitracker.daemon.file} or the environment variable {@code SITRACKER_DAEMON_FILE} names
+ * another one.
+ *
+ * <p>The caller's configuration is sent along with the command: every {@code sitracker.*} and
+ * {@code spring.*} system property and every {@code SITRACKER_*} and {@code SPRING_*} environment
+ * variable, plus {@code GOOGLE_APPLICATION_CREDENTIALS}. The daemon refuses the command if any of
+ * them differs from its own configuration, so a command never runs against another spreadsheet,
+ * backend or account than the caller asked for; it then runs in-process instead. The settings
+ * that only locate the daemon ({@code sitracker.daemon.*}) are not compared.
+ */
+public class DaemonClient {
+    private static final int CONNECT_TIMEOUT_MILLIS = 500;
+
+    private final Path endpointFile;
+    private final Map<String, String> properties;
+
+    /**
+     * Creates a client for the daemon publishing the given endpoint file.
+     *
+     * @param endpointFile endpoint file written by {@link DaemonServer}
+     */
+    public DaemonClient(Path endpointFile) {
+        this(endpointFile, Map.of());
+    }
+
+    /**
+     * Creates a client for the daemon publishing the given endpoint file that only runs commands
+     * in a daemon configured with the given property values.
+     *
+     * @param endpointFile endpoint file written by {@link DaemonServer}
+     * @param properties   property or environment variable names and the values the caller uses
+     */
+    public DaemonClient(Path endpointFile, Map<String, String> properties) {
+        this.endpointFile = endpointFile;
+        this.properties = Map.copyOf(properties);
+    }
+
+    /**
+     * Creates a client for the endpoint file configured through the system property
+     * {@code sitracker.daemon.file}, the environment variable {@code SITRACKER_DAEMON_FILE},
+     * or the default location.
+     *
+     * @return the client
+     */
+    public static DaemonClient fromEnvironment() {
+        String file = System.getProperty("sitracker.daemon.file");
+        if (file == null || file.isBlank()) file = System.getenv("SITRACKER_DAEMON_FILE");
+        if (file == null || file.isBlank()) file = Path.of(System.getProperty("user.home"), ".sitracker", "daemon.properties").toString();
+        return new DaemonClient(Path.of(file), overridingProperties(System.getProperties(), System.getenv()));
+    }
+
+    /**
+     * Selects the system properties and environment variables that configure the application and
+     * must therefore match between a caller and the daemon running its command.
+     *
+     * @param systemProperties system properties of the caller
+     * @param environment      environment variables of the caller
+     * @return names and values to compare, sorted by name
+     */
+    static Map<String, String> overridingProperties(Map<?, ?> systemProperties, Map<String, String> environment) {
+        Map<String, String> properties = new TreeMap<>();
+        systemProperties.forEach((key, value) -> {
+            String name = String.valueOf(key);
+            if ((name.startsWith("sitracker.") || name.startsWith("spring.")) && !name.startsWith("sitracker.daemon.")) {
+                properties.put(name, String.valueOf(value));
+            }
+        });
+        environment.forEach((name, value) -> {
+            if ((name.startsWith("SITRACKER_") || name.startsWith("SPRING_")) && !name.startsWith("SITRACKER_DAEMON_")
+                    || name.equals("GOOGLE_APPLICATION_CREDENTIALS")) {
+                properties.put(name, value);
+            }
+        });
+        return properties;
+    }
+
+    /**
+     * Runs the command in the daemon, streaming its output while it runs.
+     *
+     * @param args command-line arguments
+     * @param cwd  working directory relative paths in {@code args} refer to
+     * @param out  receives the command output
+     * @param err  receives the command error output
+     * @return exit code of the command, or empty if no daemon accepted it and nothing was run, also
+     *         when the daemon is configured differently from the caller
+     */
+    public OptionalInt tryRun(String[] args, Path cwd, PrintStream out, PrintStream err) {
+        if (!Files.isRegularFile(endpointFile)) return OptionalInt.empty();
+        HttpURLConnection conn;
+        try {
+            DaemonEndpoint endpoint = DaemonEndpoint.read(endpointFile);
+            conn = (HttpURLConnection) new URL("http", "127.0.0.1", endpoint.port(), DaemonServer.RUN_PATH).openConnection();
+            conn.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+            conn.setRequestMethod("POST");
+            conn.setRequestProperty("Authorization", "Bearer " + endpoint.token());
+            conn.setDoOutput(true);
+            conn.connect();
+            try (DataOutputStream body = new DataOutputStream(conn.getOutputStream())) {
+                body.writeUTF(cwd.toAbsolutePath().toString());
+                body.writeInt(args.length);
+                for (String arg : args) body.writeUTF(arg);
+                body.writeInt(properties.size());
+                for (Map.Entry<String, String> property : properties.entrySet()) {
+                    body.writeUTF(property.getKey());
+                    body.writeUTF(property.getValue());
+                }
+            }
+            if (conn.getResponseCode() != HttpURLConnection.HTTP_OK) return OptionalInt.empty();
+        } catch (IOException e) {
+            // no daemon listening (stale endpoint file), or it refused the request before running it
+            return OptionalInt.empty();
+        }
+
+        // from here on the command is running in the daemon and must not be repeated in-process
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(conn.getInputStream()))) {
+            while (true) {
+                byte type = in.readByte();
+                byte[] payload = new byte[in.readInt()];
+                in.readFully(payload);
+                if (type == DaemonServer.FRAME_EXIT) {
+                    out.flush();
+                    err.flush();
+                    return OptionalInt.of(ByteBuffer.wrap(payload).getInt());
+                }
+                (type == DaemonServer.FRAME_ERR ? err : out).print(new String(payload, StandardCharsets.UTF_8));
+            }
+        } catch (EOFException e) {
+            err.println("Connection to SiTracker daemon closed before the command finished");
+        } catch (IOException e) {
+            err.println("Lost connection to SiTracker daemon: " + e.getMessage());
+        }
+        out.flush();
+        err.flush();
+        return OptionalInt.of(1);
+    }
+}
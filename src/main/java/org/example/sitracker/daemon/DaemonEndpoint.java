@@ -0,0 +1,72 @@
+package org.example.sitracker.daemon;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Properties;
+
+/**
+ * Where a running daemon can be reached: its loopback port and the token clients must present.
+ *
+ * <p>The daemon publishes its endpoint in a small properties file that is readable by the current
+ * user only; a client that cannot read the file cannot talk to the daemon.
+ *
+ * @param port  loopback port the daemon listens on
+ * @param token shared secret sent by clients as a bearer token
+ */
+record DaemonEndpoint(int port, String token) {
+
+    /**
+     * Reads an endpoint file.
+     *
+     * @param file endpoint file
+     * @return the endpoint
+     * @throws IOException if the file is missing or malformed
+     */
+    static DaemonEndpoint read(Path file) throws IOException {
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            props.load(in);
+        }
+        String port = props.getProperty("port");
+        String token = props.getProperty("token");
+        if (port == null || token == null) throw new IOException("Malformed daemon endpoint file " + file);
+        try {
+            return new DaemonEndpoint(Integer.parseInt(port.trim()), token.trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed daemon endpoint file " + file, e);
+        }
+    }
+
+    /**
+     * Writes this endpoint atomically, readable by the current user only where the file system
+     * supports POSIX permissions.
+     *
+     * @param file endpoint file; parent directories are created
+     * @throws IOException if the file cannot be written
+     */
+    void write(Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+                Files.setPosixFilePermissions(tmp, PosixFilePermissions.fromString("rw-------"));
+            }
+            Properties props = new Properties();
+            props.setProperty("port", Integer.toString(port));
+            props.setProperty("token", token);
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                props.store(out, "SiTracker daemon");
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
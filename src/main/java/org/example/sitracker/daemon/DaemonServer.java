@@ -0,0 +1,288 @@
+package org.example.sitracker.daemon;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import picocli.CommandLine;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Serves CLI commands from other processes so they run inside an already started application,
+ * with a warm Sheets client and issue cache.
+ *
+ * <p>The server listens on the loopback interface only and accepts {@code POST /run} requests from
+ * {@link DaemonClient}. Every request must carry the bearer token the server publishes, together
+ * with its port, in the endpoint file (see {@link DaemonEndpoint}); the file is deleted when the
+ * server stops.
+ *
+ * <p>Each request is executed on a fresh {@link CommandLine} from the supplied factory. Relative
+ * {@link Path} arguments are resolved against the client's working directory. Output and error
+ * output are streamed back while the command runs, as frames of {@code type (1 byte) | length
+ * (4 bytes) | UTF-8 text}, where the type is {@code 'o'} or {@code 'e'}; the last frame has type
+ * {@code 'x'} and carries the exit code as its 4-byte payload.
+ *
+ * <p>The request also carries the caller's configuration (see {@link DaemonClient}). If a value
+ * differs from the daemon's own value for that name, the request is answered with {@code 409} and
+ * the command is not run, so the caller runs it in-process with its own configuration.
+ *
+ * <p>If a metrics source is given, {@code GET /metrics} returns the application metrics in the
+ * Prometheus text format. It needs no token: it is read-only and, like {@code /run}, only
+ * reachable from the local machine.
+ */
+public class DaemonServer {
+    static final String RUN_PATH = "/run";
+    static final String METRICS_PATH = "/metrics";
+    private static final String METRICS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    static final byte FRAME_OUT = 'o';
+    static final byte FRAME_ERR = 'e';
+    static final byte FRAME_EXIT = 'x';
+
+    private final Supplier<CommandLine> commands;
+    private final int requestedPort;
+    private final Path endpointFile;
+    private final int threads;
+    private final Supplier<String> metrics;
+    private final Function<String, String> properties;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private HttpServer server;
+    private ExecutorService executor;
+    private String token;
+
+    /**
+     * Creates a server; call {@link #start()} to accept requests.
+     *
+     * @param commands     creates the command tree for one request
+     * @param port         loopback port to listen on; {@code 0} picks a free port
+     * @param endpointFile where the port and token are published for clients
+     * @param threads      number of requests executed concurrently
+     */
+    public DaemonServer(Supplier<CommandLine> commands, int port, Path endpointFile, int threads) {
+        this(commands, port, endpointFile, threads, null);
+    }
+
+    /**
+     * Creates a server that also serves metrics; call {@link #start()} to accept requests.
+     *
+     * @param commands     creates the command tree for one request
+     * @param port         loopback port to listen on; {@code 0} picks a free port
+     * @param endpointFile where the port and token are published for clients
+     * @param threads      number of requests executed concurrently
+     * @param metrics      renders the metrics in the Prometheus text format; {@code null} for none
+     */
+    public DaemonServer(Supplier<CommandLine> commands, int port, Path endpointFile, int threads, Supplier<String> metrics) {
+        this(commands, port, endpointFile, threads, metrics, null);
+    }
+
+    /**
+     * Creates a server that compares the callers' configuration with the given one; call
+     * {@link #start()} to accept requests.
+     *
+     * @param commands     creates the command tree for one request
+     * @param port         loopback port to listen on; {@code 0} picks a free port
+     * @param endpointFile where the port and token are published for clients
+     * @param threads      number of requests executed concurrently
+     * @param metrics      renders the metrics in the Prometheus text format; {@code null} for none
+     * @param properties   resolves a property or environment variable name to the daemon's value,
+     *                     or {@code null} if unset; {@code null} to look up this process's system
+     *                     properties and environment variables
+     */
+    public DaemonServer(Supplier<CommandLine> commands, int port, Path endpointFile, int threads, Supplier<String> metrics,
+                        Function<String, String> properties) {
+        this.commands = commands;
+        this.requestedPort = port;
+        this.endpointFile = endpointFile;
+        this.threads = threads;
+        this.metrics = metrics;
+        this.properties = properties != null ? properties : DaemonServer::systemValue;
+    }
+
+    /**
+     * Binds the socket and publishes the endpoint file.
+     *
+     * @throws IOException if the port cannot be bound or the endpoint file cannot be written
+     */
+    public synchronized void start() throws IOException {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        token = HexFormat.of().formatHex(secret);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), requestedPort), 0);
+        executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+        server.createContext(RUN_PATH, this::handleRun);
+        if (metrics != null) server.createContext(METRICS_PATH, this::handleMetrics);
+        server.start();
+        try {
+            new DaemonEndpoint(port(), token).write(endpointFile);
+        } catch (IOException e) {
+            stop();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return bound port
+     */
+    public synchronized int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests, waits briefly for running ones and deletes the endpoint file.
+     * Safe to call more than once.
+     */
+    public synchronized void stop() {
+        if (server == null || stopped.getCount() == 0) return;
+        try {
+            Files.deleteIfExists(endpointFile);
+        } catch (IOException ignored) {
+            // a stale file only makes clients fall back to in-process execution
+        }
+        server.stop(1);
+        executor.shutdown();
+        stopped.countDown();
+    }
+
+    /**
+     * Blocks until {@link #stop()} has been called.
+     *
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public void awaitStop() throws InterruptedException {
+        stopped.await();
+    }
+
+    // ------------- helpers --------------
+
+    private void handleRun(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            String auth = exchange.getRequestHeaders().getFirst("Authorization");
+            if (auth == null || !MessageDigest.isEqual(("Bearer " + token).getBytes(StandardCharsets.UTF_8),
+                    auth.getBytes(StandardCharsets.UTF_8))) {
+                exchange.sendResponseHeaders(401, -1);
+                return;
+            }
+            Path cwd;
+            String[] args;
+            boolean sameConfiguration = true;
+            try {
+                DataInputStream in = new DataInputStream(exchange.getRequestBody());
+                cwd = Path.of(in.readUTF());
+                args = new String[in.readInt()];
+                for (int i = 0; i < args.length; i++) args[i] = in.readUTF();
+                for (int i = in.readInt(); i > 0; i--) {
+                    String name = in.readUTF();
+                    sameConfiguration &= Objects.equals(in.readUTF(), properties.apply(name));
+                }
+            } catch (IOException | RuntimeException e) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            if (!sameConfiguration) {
+                exchange.sendResponseHeaders(409, -1);
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+            exchange.sendResponseHeaders(200, 0);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(exchange.getResponseBody()));
+            CommandLine cmd = commands.get();
+            cmd.setOut(new PrintWriter(new FrameWriter(out, FRAME_OUT), true));
+            cmd.setErr(new PrintWriter(new FrameWriter(out, FRAME_ERR), true));
+            cmd.registerConverter(Path.class, cwd::resolve);
+            int exitCode;
+            try {
+                exitCode = cmd.execute(args);
+            } catch (RuntimeException e) {
+                cmd.getErr().println("Daemon failed to run command: " + e);
+                exitCode = 1;
+            }
+            cmd.getOut().flush();
+            cmd.getErr().flush();
+            synchronized (out) {
+                out.writeByte(FRAME_EXIT);
+                out.writeInt(4);
+                out.writeInt(exitCode);
+                out.flush();
+            }
+        }
+    }
+
+    private static String systemValue(String name) {
+        String value = System.getProperty(name);
+        return value != null ? value : System.getenv(name);
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = metrics.get().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", METRICS_CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    /**
+     * Writer that sends everything written to it as frames of one type.
+     */
+    private static final class FrameWriter extends Writer {
+        private final DataOutputStream out;
+        private final byte type;
+
+        FrameWriter(DataOutputStream out, byte type) {
+            super(out);
+            this.out = out;
+            this.type = type;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            if (len == 0) return;
+            byte[] bytes = new String(cbuf, off, len).getBytes(StandardCharsets.UTF_8);
+            synchronized (out) {
+                out.writeByte(type);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (out) {
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -8,16 +8,49 @@ import java.util.Objects;
  *
  * <p>Each issue has an id (e.g., {@code AD-1}), a description, optional parent id,
  * status, and timestamps for creation and last update.
+ *
+ * <p>Issues are immutable values: saving or updating one returns a new instance with the changed
+ * fields, so issues can be cached and shared between threads without copying. Two issues are equal
+ * if all their fields are; the hash code only covers the id, which tells issues apart in practice.
  */
-public class Issue {
-    private String id;
-    private String description;
-    private String parentId;
-    private Status status;
-    private LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
-
-    public Issue() {
+public final class Issue {
+    private final String id;
+    private final String description;
+    private final String parentId;
+    private final Status status;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    /**
+     * Creates a draft of a new issue, without id, status or timestamps; these are filled in when
+     * the issue is saved.
+     *
+     * @param description issue description
+     * @param parentId    id of the parent issue, or {@code null}
+     */
+    public Issue(String description, String parentId) {
+        this(null, description, parentId, null, null, null);
+    }
+
+    /**
+     * Creates an issue with all fields given, as stored or read back from storage. Any field may be
+     * {@code null} if it is not known, e.g. the update time of an issue that was never updated.
+     *
+     * @param id          issue id, e.g. {@code AD-1}
+     * @param description issue description
+     * @param parentId    id of the parent issue, or {@code null}
+     * @param status      current status
+     * @param createdAt   creation time
+     * @param updatedAt   time of the last status change, or {@code null}
+     */
+    public Issue(String id, String description, String parentId, Status status,
+                 LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.description = description;
+        this.parentId = parentId;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
     }
 
     public String getId() {
@@ -44,39 +77,43 @@ public class Issue {
         return updatedAt;
     }
 
-    public void setId(String id) {
-        this.id = id;
+    /**
+     * @param id new id
+     * @return this issue with the given id
+     */
+    public Issue withId(String id) {
+        return new Issue(id, description, parentId, status, createdAt, updatedAt);
     }
 
-    public void setDescription(String description) {
-        this.description = description;
+    /**
+     * @param createdAt new creation time
+     * @return this issue with the given creation time
+     */
+    public Issue withCreatedAt(LocalDateTime createdAt) {
+        return new Issue(id, description, parentId, status, createdAt, updatedAt);
     }
 
-    public void setParentId(String parentId) {
-        this.parentId = parentId;
-    }
-
-    public void setStatus(Status status) {
-        this.status = status;
-    }
-
-    public void setCreatedAt(LocalDateTime createdAt) {
-        this.createdAt = createdAt;
-    }
-
-    public void setUpdatedAt(LocalDateTime updatedAt) {
-        this.updatedAt = updatedAt;
+    /**
+     * @param status    new status
+     * @param updatedAt time of the change
+     * @return this issue with the given status and update time
+     */
+    public Issue withStatus(Status status, LocalDateTime updatedAt) {
+        return new Issue(id, description, parentId, status, createdAt, updatedAt);
     }
 
     @Override
     public boolean equals(Object o) {
+        if (this == o) return true;
         if (!(o instanceof Issue issue)) return false;
-        return Objects.equals(id, issue.id) && Objects.equals(description, issue.description) && Objects.equals(parentId, issue.parentId) && status == issue.status && Objects.equals(createdAt, issue.createdAt) && Objects.equals(updatedAt, issue.updatedAt);
+        return Objects.equals(id, issue.id) && status == issue.status && Objects.equals(updatedAt, issue.updatedAt)
+                && Objects.equals(description, issue.description) && Objects.equals(parentId, issue.parentId)
+                && Objects.equals(createdAt, issue.createdAt);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, description, parentId, status, createdAt, updatedAt);
+        return Objects.hashCode(id);
     }
 
     @Override
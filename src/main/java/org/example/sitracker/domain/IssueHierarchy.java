@@ -0,0 +1,261 @@
+package org.example.sitracker.domain;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Immutable parent/child index over a set of {@link Issue}s.
+ *
+ * <p>The index is built in a single pass over the issues: every issue is keyed by id and added to the
+ * child list of its parent. Afterwards issues whose parent chain loops back to itself are marked as
+ * cyclic, and status counts are rolled up from the leaves to the roots, each in time linear in the
+ * number of issues. Lookups of {@link #children(String)}, {@link #ancestors(String)} and
+ * {@link #rollup(String)} are then proportional to their result, and {@link #descendants(String)} to
+ * the size of the subtree.
+ *
+ * <p>Roots are issues without a parent id or whose parent is not in the index. Issues on a parent
+ * cycle have no root; they can be found through {@link #cyclic()} and are walked only once by every
+ * traversal. Child and root lists keep the order in which the issues were given.
+ *
+ * <p>Issues are held as given and returned as is; they must not be modified while the index is in use.
+ */
+public final class IssueHierarchy {
+
+    private static final Status[] STATUSES = Status.values();
+
+    private final Map<String, Issue> byId;
+    private final Map<String, List<Issue>> children;
+    private final List<Issue> roots;
+    private final Set<String> cyclic;
+    private final Map<String, int[]> rollups;
+
+    private IssueHierarchy(Map<String, Issue> byId, Map<String, List<Issue>> children, List<Issue> roots,
+                           Set<String> cyclic, Map<String, int[]> rollups) {
+        this.byId = byId;
+        this.children = children;
+        this.roots = roots;
+        this.cyclic = cyclic;
+        this.rollups = rollups;
+    }
+
+    /**
+     * Builds the index from the given issues. Issues without an id are skipped; if an id occurs
+     * more than once, the last issue wins.
+     *
+     * @param issues issues to index, consumed once
+     * @return the index
+     */
+    public static IssueHierarchy of(Stream<Issue> issues) {
+        Map<String, Issue> byId = new LinkedHashMap<>();
+        issues.forEach(issue -> {
+            String id = issue.getId();
+            if (id != null && !id.isBlank()) byId.put(id, issue);
+        });
+
+        Map<String, List<Issue>> children = new HashMap<>();
+        List<Issue> roots = new ArrayList<>();
+        for (Issue issue : byId.values()) {
+            String parent = issue.getParentId();
+            if (parent == null || parent.isBlank() || !byId.containsKey(parent)) {
+                roots.add(issue);
+            } else {
+                children.computeIfAbsent(parent, p -> new ArrayList<>()).add(issue);
+            }
+        }
+        Set<String> cyclic = findCycles(byId);
+        Map<String, int[]> rollups = rollUp(byId, children, roots);
+        children.replaceAll((parent, list) -> List.copyOf(list));
+        return new IssueHierarchy(Collections.unmodifiableMap(byId), children, List.copyOf(roots),
+                Collections.unmodifiableSet(cyclic), rollups);
+    }
+
+    /**
+     * @return number of indexed issues
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * @param id issue id
+     * @return whether the issue is in the index
+     */
+    public boolean contains(String id) {
+        return byId.containsKey(id);
+    }
+
+    /**
+     * @param id issue id
+     * @return the issue, or empty if it is not in the index
+     */
+    public Optional<Issue> get(String id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    /**
+     * @return issues without a (known) parent, in index order
+     */
+    public List<Issue> roots() {
+        return roots;
+    }
+
+    /**
+     * @return ids of the issues whose parent chain forms a cycle
+     */
+    public Set<String> cyclic() {
+        return cyclic;
+    }
+
+    /**
+     * @param id issue id
+     * @return direct children of the issue, in index order; empty for leaves
+     * @throws NoSuchElementException if the issue is not in the index
+     */
+    public List<Issue> children(String id) {
+        require(id);
+        return children.getOrDefault(id, List.of());
+    }
+
+    /**
+     * Returns the subtree below an issue in depth-first pre-order, so each issue is directly
+     * followed by its own descendants.
+     *
+     * @param id issue id
+     * @return all descendants, excluding the issue itself
+     * @throws NoSuchElementException if the issue is not in the index
+     */
+    public List<Issue> descendants(String id) {
+        require(id);
+        List<Issue> result = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        seen.add(id);
+        Deque<Iterator<Issue>> stack = new ArrayDeque<>();
+        stack.push(children.getOrDefault(id, List.of()).iterator());
+        while (!stack.isEmpty()) {
+            Iterator<Issue> it = stack.peek();
+            if (!it.hasNext()) {
+                stack.pop();
+                continue;
+            }
+            Issue child = it.next();
+            if (!seen.add(child.getId())) continue;
+            result.add(child);
+            List<Issue> grandChildren = children.get(child.getId());
+            if (grandChildren != null) stack.push(grandChildren.iterator());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the parent chain of an issue, nearest first. The walk stops at a root, or before it
+     * would repeat an issue on a cycle.
+     *
+     * @param id issue id
+     * @return ancestors, excluding the issue itself
+     * @throws NoSuchElementException if the issue is not in the index
+     */
+    public List<Issue> ancestors(String id) {
+        Issue current = require(id);
+        List<Issue> result = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        seen.add(id);
+        while (true) {
+            Issue parent = byId.get(current.getParentId());
+            if (parent == null || !seen.add(parent.getId())) return result;
+            result.add(parent);
+            current = parent;
+        }
+    }
+
+    /**
+     * Counts the statuses of all descendants of an issue. Issues with an unknown status are not
+     * counted.
+     *
+     * @param id issue id
+     * @return number of descendants per status, with every status present
+     * @throws NoSuchElementException if the issue is not in the index
+     */
+    public Map<Status, Integer> rollup(String id) {
+        require(id);
+        int[] counts = rollups.get(id);
+        if (counts == null) counts = count(descendants(id));
+        Map<Status, Integer> result = new EnumMap<>(Status.class);
+        for (Status s : STATUSES) {
+            result.put(s, counts[s.ordinal()]);
+        }
+        return result;
+    }
+
+    private Issue require(String id) {
+        Issue issue = id == null ? null : byId.get(id);
+        if (issue == null) throw new NoSuchElementException("Issue not found: " + id);
+        return issue;
+    }
+
+    /**
+     * Marks every issue that lies on a parent cycle. Each issue has at most one parent, so walking
+     * parent links from every unvisited issue visits each issue once; a walk that reaches an issue
+     * of the current walk has closed a cycle.
+     */
+    private static Set<String> findCycles(Map<String, Issue> byId) {
+        Set<String> cyclic = new LinkedHashSet<>();
+        Map<String, Integer> walkOf = new HashMap<>();
+        int walk = 0;
+        for (String start : byId.keySet()) {
+            if (walkOf.containsKey(start)) continue;
+            walk++;
+            String current = start;
+            while (current != null && byId.containsKey(current) && !walkOf.containsKey(current)) {
+                walkOf.put(current, walk);
+                current = byId.get(current).getParentId();
+            }
+            if (current != null && walkOf.get(current) != null && walkOf.get(current) == walk) {
+                String onCycle = current;
+                do {
+                    cyclic.add(onCycle);
+                    onCycle = byId.get(onCycle).getParentId();
+                } while (!onCycle.equals(current));
+            }
+        }
+        return cyclic;
+    }
+
+    /**
+     * Computes descendant status counts for every issue reachable from a root with one iterative
+     * post-order walk. Issues on or below a cycle are not reachable and are counted on demand.
+     */
+    private static Map<String, int[]> rollUp(Map<String, Issue> byId, Map<String, List<Issue>> children,
+                                             List<Issue> roots) {
+        Map<String, int[]> rollups = new HashMap<>(byId.size() * 4 / 3 + 1);
+        Deque<Issue> stack = new ArrayDeque<>(roots);
+        List<Issue> order = new ArrayList<>(byId.size());
+        while (!stack.isEmpty()) {
+            Issue issue = stack.pop();
+            order.add(issue);
+            List<Issue> kids = children.get(issue.getId());
+            if (kids != null) kids.forEach(stack::push);
+        }
+        for (int i = order.size() - 1; i >= 0; i--) {
+            Issue issue = order.get(i);
+            int[] counts = new int[STATUSES.length];
+            List<Issue> kids = children.get(issue.getId());
+            if (kids != null) {
+                for (Issue kid : kids) {
+                    int[] below = rollups.get(kid.getId());
+                    for (int s = 0; s < counts.length; s++) counts[s] += below[s];
+                    if (kid.getStatus() != null) counts[kid.getStatus().ordinal()]++;
+                }
+            }
+            rollups.put(issue.getId(), counts);
+        }
+        return rollups;
+    }
+
+    private static int[] count(List<Issue> issues) {
+        int[] counts = new int[STATUSES.length];
+        for (Issue issue : issues) {
+            if (issue.getStatus() != null) counts[issue.getStatus().ordinal()]++;
+        }
+        return counts;
+    }
+}
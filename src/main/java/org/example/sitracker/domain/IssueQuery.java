@@ -0,0 +1,635 @@
+package org.example.sitracker.domain;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Stream;
+
+/**
+ * Immutable query over {@link Issue}s: filters on status, parent id, description and timestamp
+ * ranges, an optional ordering and an optional limit.
+ *
+ * <p>All filters are compiled once into a single {@link #predicate()}, so a query is evaluated in
+ * one pass over the data, cheapest checks first. Storage may narrow the candidates through an index
+ * first, e.g. by status (see {@link #singleStatus()}).
+ *
+ * <p>Queries are built with {@link #builder()}, either from individual criteria or from the query
+ * language accepted by {@link Builder#where(String)}:
+ * <pre>{@code
+ * status=OPEN,IN_PROGRESS parent=AD-1 description~"login page" created>=2024-01-01 updated<2024-02-01T12:00
+ * description~/time-?out/
+ * }</pre>
+ * Terms are separated by whitespace (an optional {@code and} between them is ignored) and must all
+ * match. Several statuses are alternatives. {@code description~text} matches a case-insensitive
+ * substring and {@code description~/regex/} a regular expression found anywhere in the description.
+ * Timestamps accept {@code >, >=, <, <=} with an ISO date or date-time; a date stands for the whole day,
+ * so {@code created<=2024-01-31} includes the 31st.
+ */
+public final class IssueQuery {
+
+    /**
+     * Field an {@link IssueQuery} can be ordered by.
+     */
+    public enum SortField {
+        ID, STATUS, PARENT, DESCRIPTION, CREATED, UPDATED
+    }
+
+    /**
+     * One ordering key.
+     *
+     * @param field      field to compare
+     * @param descending whether larger values come first
+     */
+    public record Order(SortField field, boolean descending) {
+
+        /**
+         * Parses {@code field[:asc|desc]}, e.g. {@code created:desc}. A leading {@code -} also
+         * means descending, e.g. {@code -updated}.
+         *
+         * @param spec ordering text
+         * @return parsed ordering
+         * @throws IllegalArgumentException if the field or direction is unknown
+         */
+        public static Order parse(String spec) {
+            String text = spec.trim();
+            boolean descending = false;
+            if (text.startsWith("-")) {
+                descending = true;
+                text = text.substring(1);
+            }
+            int colon = text.indexOf(':');
+            if (colon >= 0) {
+                String direction = text.substring(colon + 1).trim().toLowerCase(Locale.ROOT);
+                if (direction.equals("desc")) {
+                    descending = true;
+                } else if (!direction.equals("asc")) {
+                    throw new IllegalArgumentException("Unknown sort direction '" + direction + "', expected asc or desc");
+                }
+                text = text.substring(0, colon);
+            }
+            return new Order(sortField(text.trim()), descending);
+        }
+    }
+
+    private static final IssueQuery ALL = new Builder().build();
+
+    private final Set<Status> statuses;
+    private final String parentId;
+    private final String descriptionContains;
+    private final Pattern descriptionPattern;
+    private final LocalDateTime createdFrom;
+    private final LocalDateTime createdTo;
+    private final LocalDateTime updatedFrom;
+    private final LocalDateTime updatedTo;
+    private final List<Order> ordering;
+    private final int limit;
+    private final Predicate<Issue> predicate;
+
+    private IssueQuery(Builder b) {
+        this.statuses = b.statuses.isEmpty() || b.statuses.size() == Status.values().length
+                ? Collections.emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(b.statuses));
+        this.parentId = b.parentId;
+        this.descriptionContains = b.descriptionContains;
+        this.descriptionPattern = b.descriptionPattern;
+        this.createdFrom = b.createdFrom;
+        this.createdTo = b.createdTo;
+        this.updatedFrom = b.updatedFrom;
+        this.updatedTo = b.updatedTo;
+        this.ordering = List.copyOf(b.ordering);
+        this.limit = b.limit;
+        this.predicate = compile();
+    }
+
+    /**
+     * @return a query matching every issue in storage order
+     */
+    public static IssueQuery all() {
+        return ALL;
+    }
+
+    /**
+     * @return a new, empty builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return statuses to match; empty means any status
+     */
+    public Set<Status> getStatuses() {
+        return statuses;
+    }
+
+    /**
+     * @return parent id to match, or {@code null} for any parent
+     */
+    public String getParentId() {
+        return parentId;
+    }
+
+    /**
+     * @return ordering keys, most significant first; empty means storage order
+     */
+    public List<Order> getOrdering() {
+        return ordering;
+    }
+
+    /**
+     * @return maximum number of issues to return, or {@code 0} for no limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns the status every match has, if the query restricts the status to exactly one value.
+     * Storage can then read only the rows with that status instead of scanning all of them.
+     *
+     * @return the only status that can match, or empty
+     */
+    public Optional<Status> singleStatus() {
+        return statuses.size() == 1 ? Optional.of(statuses.iterator().next()) : Optional.empty();
+    }
+
+    /**
+     * @return the compiled filter; ordering and limit are not part of it
+     */
+    public Predicate<Issue> predicate() {
+        return predicate;
+    }
+
+    /**
+     * @param issue issue to test
+     * @return whether the issue passes all filters of this query
+     */
+    public boolean matches(Issue issue) {
+        return predicate.test(issue);
+    }
+
+    /**
+     * Applies the ordering and limit of this query to issues that already passed its filter.
+     *
+     * <p>Without an ordering the stream stays lazy and stops after {@link #getLimit()} issues. With an
+     * ordering the matches are consumed and closed here; a limited ordered query keeps only the best
+     * {@code limit} issues in memory while doing so.
+     *
+     * @param matches issues matching {@link #predicate()}
+     * @return issues in query order, at most {@link #getLimit()} of them if a limit is set
+     */
+    public Stream<Issue> select(Stream<Issue> matches) {
+        if (ordering.isEmpty()) {
+            return limit > 0 ? matches.limit(limit) : matches;
+        }
+        Comparator<Issue> order = comparator();
+        try (matches) {
+            if (limit == 0) {
+                return matches.sorted(order).toList().stream();
+            }
+            PriorityQueue<Issue> best = new PriorityQueue<>(limit + 1, order.reversed());
+            matches.forEach(issue -> {
+                if (best.size() < limit) {
+                    best.add(issue);
+                } else if (order.compare(issue, best.peek()) < 0) {
+                    best.poll();
+                    best.add(issue);
+                }
+            });
+            List<Issue> selected = new ArrayList<>(best);
+            selected.sort(order);
+            return selected.stream();
+        }
+    }
+
+    /**
+     * @return comparator for the ordering of this query; issues compare equal if no ordering is set
+     */
+    public Comparator<Issue> comparator() {
+        Comparator<Issue> result = (a, b) -> 0;
+        for (Order o : ordering) {
+            Comparator<Issue> key = switch (o.field()) {
+                case ID -> Comparator.comparing(Issue::getId, Comparator.nullsLast(IssueQuery::compareIds));
+                case STATUS -> nullsLast(Issue::getStatus);
+                case PARENT -> Comparator.comparing(Issue::getParentId, Comparator.nullsLast(IssueQuery::compareIds));
+                case DESCRIPTION -> Comparator.comparing(Issue::getDescription,
+                        Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+                case CREATED -> nullsLast(Issue::getCreatedAt);
+                case UPDATED -> nullsLast(Issue::getUpdatedAt);
+            };
+            result = result.thenComparing(o.descending() ? key.reversed() : key);
+        }
+        return result;
+    }
+
+    /**
+     * Combines the configured filters into one predicate, cheapest checks first, so a query needs a
+     * single pass and rejects most issues before the description is looked at.
+     */
+    private Predicate<Issue> compile() {
+        List<Predicate<Issue>> checks = new ArrayList<>();
+        if (!statuses.isEmpty()) {
+            Set<Status> wanted = statuses;
+            checks.add(i -> wanted.contains(i.getStatus()));
+        }
+        if (parentId != null) {
+            String parent = parentId;
+            checks.add(i -> parent.equals(i.getParentId()));
+        }
+        addRange(checks, Issue::getCreatedAt, createdFrom, createdTo);
+        addRange(checks, Issue::getUpdatedAt, updatedFrom, updatedTo);
+        if (descriptionContains != null) {
+            String needle = descriptionContains;
+            checks.add(i -> containsIgnoreCase(i.getDescription(), needle));
+        }
+        if (descriptionPattern != null) {
+            Pattern pattern = descriptionPattern;
+            checks.add(i -> i.getDescription() != null && pattern.matcher(i.getDescription()).find());
+        }
+        return switch (checks.size()) {
+            case 0 -> i -> true;
+            case 1 -> checks.get(0);
+            default -> {
+                @SuppressWarnings("unchecked")
+                Predicate<Issue>[] all = checks.toArray(new Predicate[0]);
+                yield i -> {
+                    for (Predicate<Issue> check : all) {
+                        if (!check.test(i)) return false;
+                    }
+                    return true;
+                };
+            }
+        };
+    }
+
+    private static void addRange(List<Predicate<Issue>> checks, Function<Issue, LocalDateTime> field,
+                                 LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) return;
+        checks.add(i -> {
+            LocalDateTime value = field.apply(i);
+            return value != null
+                    && (from == null || !value.isBefore(from))
+                    && (to == null || value.isBefore(to));
+        });
+    }
+
+    private static boolean containsIgnoreCase(String text, String needle) {
+        if (text == null) return false;
+        int last = text.length() - needle.length();
+        for (int i = 0; i <= last; i++) {
+            if (text.regionMatches(true, i, needle, 0, needle.length())) return true;
+        }
+        return false;
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<Issue> nullsLast(Function<Issue, T> field) {
+        return Comparator.comparing(field, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
+    /**
+     * Orders ids like {@code AD-2} before {@code AD-10}: by prefix, then by numeric suffix.
+     */
+    private static int compareIds(String a, String b) {
+        int da = a.lastIndexOf('-');
+        int db = b.lastIndexOf('-');
+        if (da > 0 && db > 0) {
+            int byPrefix = a.substring(0, da).compareTo(b.substring(0, db));
+            if (byPrefix != 0) return byPrefix;
+            try {
+                return Long.compare(Long.parseLong(a.substring(da + 1)), Long.parseLong(b.substring(db + 1)));
+            } catch (NumberFormatException ignored) {
+                // fall back to text order
+            }
+        }
+        return a.compareTo(b);
+    }
+
+    private static SortField sortField(String name) {
+        return switch (name.toLowerCase(Locale.ROOT)) {
+            case "id" -> SortField.ID;
+            case "status" -> SortField.STATUS;
+            case "parent", "parentid" -> SortField.PARENT;
+            case "description", "desc" -> SortField.DESCRIPTION;
+            case "created", "createdat" -> SortField.CREATED;
+            case "updated", "updatedat" -> SortField.UPDATED;
+            default -> throw new IllegalArgumentException("Unknown sort field '" + name
+                    + "', expected one of id, status, parent, description, created, updated");
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "IssueQuery{" +
+                "statuses=" + statuses +
+                ", parentId='" + parentId + '\'' +
+                ", descriptionContains='" + descriptionContains + '\'' +
+                ", descriptionPattern=" + descriptionPattern +
+                ", createdFrom=" + createdFrom +
+                ", createdTo=" + createdTo +
+                ", updatedFrom=" + updatedFrom +
+                ", updatedTo=" + updatedTo +
+                ", ordering=" + ordering +
+                ", limit=" + limit +
+                '}';
+    }
+
+    /**
+     * Mutable builder for {@link IssueQuery}. Ranges are half-open: {@code from} is inclusive and
+     * {@code to} exclusive; setting a bound twice keeps the tighter one.
+     */
+    public static final class Builder {
+        private final Set<Status> statuses = EnumSet.noneOf(Status.class);
+        private String parentId;
+        private String descriptionContains;
+        private Pattern descriptionPattern;
+        private LocalDateTime createdFrom;
+        private LocalDateTime createdTo;
+        private LocalDateTime updatedFrom;
+        private LocalDateTime updatedTo;
+        private final List<Order> ordering = new ArrayList<>();
+        private int limit;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds statuses to match; an issue matches if it has any of the added statuses.
+         *
+         * @param values statuses to add
+         * @return this builder
+         */
+        public Builder status(Status... values) {
+            return status(Arrays.asList(values));
+        }
+
+        /**
+         * @see #status(Status...)
+         */
+        public Builder status(Collection<Status> values) {
+            for (Status s : values) {
+                statuses.add(Objects.requireNonNull(s, "status"));
+            }
+            return this;
+        }
+
+        /**
+         * @param id parent id to match exactly; {@code null} for any parent
+         * @return this builder
+         */
+        public Builder parentId(String id) {
+            this.parentId = id;
+            return this;
+        }
+
+        /**
+         * @param text case-insensitive substring the description must contain; {@code null} for any
+         * @return this builder
+         */
+        public Builder descriptionContains(String text) {
+            this.descriptionContains = text == null || text.isEmpty() ? null : text;
+            return this;
+        }
+
+        /**
+         * @param regex regular expression found anywhere in the description; {@code null} for any
+         * @return this builder
+         * @throws IllegalArgumentException if the expression is invalid
+         */
+        public Builder descriptionMatches(String regex) {
+            try {
+                this.descriptionPattern = regex == null ? null : Pattern.compile(regex);
+            } catch (PatternSyntaxException e) {
+                throw new IllegalArgumentException("Invalid description regex '" + regex + "': " + e.getDescription(), e);
+            }
+            return this;
+        }
+
+        /**
+         * @param from earliest creation time, inclusive; {@code null} for no bound
+         * @param to   creation time bound, exclusive; {@code null} for no bound
+         * @return this builder
+         */
+        public Builder createdBetween(LocalDateTime from, LocalDateTime to) {
+            this.createdFrom = later(createdFrom, from);
+            this.createdTo = earlier(createdTo, to);
+            return this;
+        }
+
+        /**
+         * @param from earliest update time, inclusive; {@code null} for no bound
+         * @param to   update time bound, exclusive; {@code null} for no bound
+         * @return this builder
+         */
+        public Builder updatedBetween(LocalDateTime from, LocalDateTime to) {
+            this.updatedFrom = later(updatedFrom, from);
+            this.updatedTo = earlier(updatedTo, to);
+            return this;
+        }
+
+        /**
+         * Adds an ordering key; keys added first are most significant.
+         *
+         * @param field      field to order by
+         * @param descending whether larger values come first
+         * @return this builder
+         */
+        public Builder orderBy(SortField field, boolean descending) {
+            ordering.add(new Order(Objects.requireNonNull(field, "field"), descending));
+            return this;
+        }
+
+        /**
+         * @param order ordering key to add, see {@link Order#parse(String)}
+         * @return this builder
+         */
+        public Builder orderBy(Order order) {
+            ordering.add(Objects.requireNonNull(order, "order"));
+            return this;
+        }
+
+        /**
+         * @param max maximum number of issues to return; {@code 0} for no limit
+         * @return this builder
+         * @throws IllegalArgumentException if {@code max} is negative
+         */
+        public Builder limit(int max) {
+            if (max < 0) throw new IllegalArgumentException("Limit must not be negative: " + max);
+            this.limit = max;
+            return this;
+        }
+
+        /**
+         * Adds the filters of a query-language expression, see {@link IssueQuery}.
+         *
+         * @param expression terms such as {@code status=OPEN description~login created>=2024-01-01}
+         * @return this builder
+         * @throws IllegalArgumentException if the expression is malformed
+         */
+        public Builder where(String expression) {
+            for (String term : tokenize(expression)) {
+                if (term.equalsIgnoreCase("and")) continue;
+                applyTerm(term);
+            }
+            return this;
+        }
+
+        /**
+         * @return the query
+         */
+        public IssueQuery build() {
+            return new IssueQuery(this);
+        }
+
+        private void applyTerm(String term) {
+            int opStart = 0;
+            while (opStart < term.length() && "=~<>".indexOf(term.charAt(opStart)) < 0) opStart++;
+            int opEnd = opStart;
+            while (opEnd < term.length() && "=~<>".indexOf(term.charAt(opEnd)) >= 0) opEnd++;
+            if (opStart == 0 || opStart == term.length()) {
+                throw new IllegalArgumentException("Malformed query term '" + term + "', expected <field><op><value>");
+            }
+            String field = term.substring(0, opStart).toLowerCase(Locale.ROOT);
+            String op = term.substring(opStart, opEnd);
+            String value = unquote(term.substring(opEnd));
+            switch (field) {
+                case "status" -> {
+                    expect(term, op, "=");
+                    for (String s : value.split(",")) {
+                        try {
+                            statuses.add(Status.valueOf(s.trim().toUpperCase(Locale.ROOT)));
+                        } catch (IllegalArgumentException e) {
+                            throw new IllegalArgumentException("Unknown status '" + s.trim() + "', expected one of "
+                                    + Arrays.toString(Status.values()));
+                        }
+                    }
+                }
+                case "parent", "parentid" -> {
+                    expect(term, op, "=");
+                    parentId(value);
+                }
+                case "description", "desc" -> {
+                    expect(term, op, "~");
+                    if (value.length() >= 2 && value.startsWith("/") && value.endsWith("/")) {
+                        descriptionMatches(value.substring(1, value.length() - 1));
+                    } else {
+                        descriptionContains(value);
+                    }
+                }
+                case "created", "createdat" -> applyRange(term, op, value, true);
+                case "updated", "updatedat" -> applyRange(term, op, value, false);
+                default -> throw new IllegalArgumentException("Unknown query field '" + field
+                        + "', expected one of status, parent, description, created, updated");
+            }
+        }
+
+        private void applyRange(String term, String op, String value, boolean created) {
+            LocalDateTime from = null;
+            LocalDateTime to = null;
+            switch (op) {
+                case ">=" -> from = lowerBound(value, true);
+                case ">" -> from = lowerBound(value, false);
+                case "<" -> to = upperBound(value, false);
+                case "<=" -> to = upperBound(value, true);
+                default -> throw new IllegalArgumentException("Unsupported operator '" + op + "' in '" + term
+                        + "', expected one of >, >=, <, <=");
+            }
+            if (created) {
+                createdBetween(from, to);
+            } else {
+                updatedBetween(from, to);
+            }
+        }
+
+        private static void expect(String term, String op, String expected) {
+            if (!op.equals(expected)) {
+                throw new IllegalArgumentException("Unsupported operator '" + op + "' in '" + term
+                        + "', expected '" + expected + "'");
+            }
+        }
+
+        /**
+         * Converts {@code >=value} ({@code inclusive}) or {@code >value} into an inclusive lower bound.
+         */
+        private static LocalDateTime lowerBound(String value, boolean inclusive) {
+            LocalDate date = parseDate(value);
+            if (date != null) return (inclusive ? date : date.plusDays(1)).atStartOfDay();
+            LocalDateTime time = parseDateTime(value);
+            return inclusive ? time : time.plusNanos(1);
+        }
+
+        /**
+         * Converts {@code <=value} ({@code inclusive}) or {@code <value} into an exclusive upper bound.
+         */
+        private static LocalDateTime upperBound(String value, boolean inclusive) {
+            LocalDate date = parseDate(value);
+            if (date != null) return (inclusive ? date.plusDays(1) : date).atStartOfDay();
+            LocalDateTime time = parseDateTime(value);
+            return inclusive ? time.plusNanos(1) : time;
+        }
+
+        private static LocalDate parseDate(String value) {
+            if (value.indexOf('T') >= 0) return null;
+            try {
+                return LocalDate.parse(value);
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+
+        private static LocalDateTime parseDateTime(String value) {
+            try {
+                return LocalDateTime.parse(value);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid date '" + value
+                        + "', expected yyyy-MM-dd or yyyy-MM-ddTHH:mm[:ss]", e);
+            }
+        }
+
+        private static String unquote(String value) {
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                return value.substring(1, value.length() - 1);
+            }
+            return value;
+        }
+
+        /**
+         * Splits an expression on whitespace outside double quotes.
+         */
+        private static List<String> tokenize(String expression) {
+            List<String> terms = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < expression.length(); i++) {
+                char c = expression.charAt(i);
+                if (c == '"') {
+                    quoted = !quoted;
+                    current.append(c);
+                } else if (Character.isWhitespace(c) && !quoted) {
+                    if (!current.isEmpty()) {
+                        terms.add(current.toString());
+                        current.setLength(0);
+                    }
+                } else {
+                    current.append(c);
+                }
+            }
+            if (quoted) throw new IllegalArgumentException("Unterminated quote in query '" + expression + "'");
+            if (!current.isEmpty()) terms.add(current.toString());
+            return terms;
+        }
+
+        private static LocalDateTime later(LocalDateTime current, LocalDateTime candidate) {
+            if (current == null) return candidate;
+            return candidate == null || current.isAfter(candidate) ? current : candidate;
+        }
+
+        private static LocalDateTime earlier(LocalDateTime current, LocalDateTime candidate) {
+            if (current == null) return candidate;
+            return candidate == null || current.isBefore(candidate) ? current : candidate;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package org.example.sitracker.repository;
+
+import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.IssueHierarchy;
+import org.example.sitracker.domain.Status;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Write-through caching decorator for {@link GoogleSheetsIssueRepositoryImpl}.
+ *
+ * <p>The first full read loads the whole sheet once and keeps every issue keyed by id together
+ * with its sheet row. Subsequent reads are served from memory until the configured TTL expires, after
+ * which the next read re-syncs from the sheet. Writes always go to the sheet first and are then
+ * applied to the cache, so a status update of a cached issue needs a single API call.
+ *
+ * <p>The parent/child {@link IssueHierarchy} is built from the cached issues on first use and
+ * reused until the cache is reloaded or an issue changes.
+ *
+ * <p>While the cache is cold, writes and status-filtered reads are passed straight through to
+ * the delegate and do not trigger a load; neither do streaming reads, which keep their bounded
+ * memory use, so one-shot CLI commands pay nothing extra.
+ *
+ * <p>Concurrency: cached state is guarded by the instance monitor, which is only held across a
+ * Sheets call while the sheet is loaded. Status updates also hold a striped per-issue lock, so
+ * updates of different issues reach the sheet in parallel, while updates of one issue, and the
+ * cache entries they leave behind, stay in order.
+ *
+ * <p>Issues are immutable, so nothing is copied to protect cached state. The cache holds them in
+ * {@link IssueColumns columnar form}, a fraction of the memory of one object graph per issue, and
+ * builds issue objects only as they are read; {@link #findAll()} hands out a columnar snapshot.
+ */
+public class CachingIssueRepository implements IssueRepository {
+    private final GoogleSheetsIssueRepositoryImpl delegate;
+    private final Duration ttl;
+    private final Clock clock;
+    private final IssueColumns cached = new IssueColumns();
+    private final StripedLocks issueLocks = new StripedLocks(64);
+    private Instant loadedAt;
+    private long generation;
+    private IssueHierarchy hierarchy;
+
+    /**
+     * Creates a cache in front of the given repository.
+     *
+     * @param delegate repository that performs the actual Sheets calls
+     * @param ttl      how long loaded data is served before re-syncing from the sheet
+     */
+    public CachingIssueRepository(GoogleSheetsIssueRepositoryImpl delegate, Duration ttl) {
+        this(delegate, ttl, Clock.systemUTC());
+    }
+
+    CachingIssueRepository(GoogleSheetsIssueRepositoryImpl delegate, Duration ttl, Clock clock) {
+        this.delegate = delegate;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    @Override
+    public Issue save(Issue issue) throws IOException {
+        SheetRow row = delegate.append(issue);
+        synchronized (this) {
+            rememberAppended(row);
+        }
+        return row.issue();
+    }
+
+    @Override
+    public List<Issue> saveAll(Collection<Issue> issues) throws IOException {
+        List<SheetRow> rows = delegate.appendAll(issues);
+        List<Issue> saved = new ArrayList<>(rows.size());
+        synchronized (this) {
+            for (SheetRow row : rows) {
+                rememberAppended(row);
+                saved.add(row.issue());
+            }
+        }
+        return saved;
+    }
+
+    @Override
+    public Issue updateStatus(String id, Status newStatus) throws IOException {
+        try (StripedLocks.Held held = issueLocks.lock(id)) {
+            SheetRow row;
+            long cachedGeneration;
+            synchronized (this) {
+                row = isWarm() ? cachedRow(id) : null;
+                cachedGeneration = generation;
+            }
+            if (row == null) {
+                Issue updated = delegate.updateStatus(id, newStatus);
+                invalidate();
+                return updated;
+            }
+            SheetRow updated = delegate.updateStatusAt(row, newStatus);
+            rememberUpdated(cachedGeneration, List.of(updated));
+            return updated.issue();
+        }
+    }
+
+    @Override
+    public List<Issue> updateStatusBulk(Map<String, Status> changes) throws IOException {
+        try (StripedLocks.Held held = issueLocks.lockAll(changes.keySet())) {
+            List<SheetRow> rows = new ArrayList<>(changes.size());
+            long cachedGeneration;
+            synchronized (this) {
+                if (isWarm()) {
+                    for (String id : changes.keySet()) {
+                        SheetRow row = cachedRow(id);
+                        if (row == null) break;
+                        rows.add(row);
+                    }
+                }
+                cachedGeneration = generation;
+            }
+            if (rows.size() < changes.size()) {
+                List<Issue> updated = delegate.updateStatusBulk(changes);
+                invalidate();
+                return updated;
+            }
+            List<SheetRow> updated = delegate.updateStatusesAt(rows, changes);
+            rememberUpdated(cachedGeneration, updated);
+            return updated.stream().map(SheetRow::issue).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Serves the filter from memory while the cache is warm. A cold cache does not load the whole
+     * sheet for a filtered read; the delegate's status-filtered read is used instead.
+     */
+    @Override
+    public List<Issue> findByStatus(Status status) throws IOException {
+        synchronized (this) {
+            if (isWarm()) return cached.stream(status).collect(Collectors.toList());
+        }
+        return delegate.findByStatus(status);
+    }
+
+    @Override
+    public synchronized List<Issue> findAll() throws IOException {
+        ensureLoaded();
+        return cached.copy();
+    }
+
+    /**
+     * Streams from a snapshot of the cache while it is warm, otherwise from the delegate's
+     * lazy filtered read without loading the cache.
+     */
+    @Override
+    public Stream<Issue> streamByStatus(Status status) throws IOException {
+        synchronized (this) {
+            if (isWarm()) return cached.copy().stream(status);
+        }
+        return delegate.streamByStatus(status);
+    }
+
+    /**
+     * Streams from a snapshot of the cache while it is warm, otherwise from the delegate's
+     * windowed read without loading the cache.
+     */
+    @Override
+    public Stream<Issue> streamAll() throws IOException {
+        synchronized (this) {
+            if (isWarm()) return cached.copy().stream();
+        }
+        return delegate.streamAll();
+    }
+
+    /**
+     * Builds the hierarchy once per load from the cached issues, loading the sheet if needed.
+     */
+    @Override
+    public synchronized IssueHierarchy hierarchy() throws IOException {
+        ensureLoaded();
+        if (hierarchy == null) {
+            hierarchy = IssueHierarchy.of(cached.stream());
+        }
+        return hierarchy;
+    }
+
+    /**
+     * Drops all cached data; the next read reloads the sheet.
+     */
+    public synchronized void invalidate() {
+        cached.clear();
+        hierarchy = null;
+        loadedAt = null;
+        generation++;
+    }
+
+    // ------------- helpers --------------
+
+    private boolean isWarm() {
+        return loadedAt != null && Duration.between(loadedAt, clock.instant()).compareTo(ttl) < 0;
+    }
+
+    private SheetRow cachedRow(String id) {
+        int index = cached.positionOf(id);
+        return index < 0 ? null : new SheetRow(cached.rowNumber(index), cached.get(index));
+    }
+
+    /**
+     * Adds a freshly appended row to a warm cache, or drops the cache if the row is unknown.
+     *
+     * @param row appended issue and its sheet row
+     */
+    private void rememberAppended(SheetRow row) {
+        if (!isWarm()) return;
+        if (row.rowNumber() > 0) {
+            cached.put(row);
+            hierarchy = null;
+        } else {
+            invalidate();
+        }
+    }
+
+    /**
+     * Stores rows written by a status update, unless the cache was reloaded or dropped since the
+     * rows were taken from it; the reload may have read the rows before they were written, so the
+     * cache is dropped then.
+     *
+     * @param cachedGeneration generation of the cache the rows were taken from
+     * @param rows             updated issues and their sheet rows
+     */
+    private synchronized void rememberUpdated(long cachedGeneration, List<SheetRow> rows) {
+        if (generation != cachedGeneration) {
+            invalidate();
+            return;
+        }
+        for (SheetRow row : rows) {
+            cached.put(row);
+        }
+        hierarchy = null;
+    }
+
+    /**
+     * Loads the sheet if the cache is cold or its TTL has expired.
+     *
+     * @throws IOException if the Sheets API call fails
+     */
+    private void ensureLoaded() throws IOException {
+        if (isWarm()) return;
+        cached.clear();
+        hierarchy = null;
+        for (SheetRow row : delegate.readRows()) {
+            String id = row.issue().getId();
+            if (id != null && !id.isBlank()) cached.put(row);
+        }
+        loadedAt = clock.instant();
+        generation++;
+    }
+}
@@ -1,15 +1,35 @@
 package org.example.sitracker.repository;
 
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
 import com.google.api.services.sheets.v4.Sheets;
+import com.google.api.services.sheets.v4.SheetsRequest;
+import com.google.api.services.sheets.v4.model.AppendValuesResponse;
+import com.google.api.services.sheets.v4.model.BatchGetValuesResponse;
+import com.google.api.services.sheets.v4.model.BatchUpdateValuesRequest;
 import com.google.api.services.sheets.v4.model.ValueRange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.example.sitracker.domain.Issue;
 import org.example.sitracker.domain.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Implementation of {@link IssueRepository} backed by a Google Sheets document.
@@ -20,32 +40,82 @@ import java.util.stream.Collectors;
  * ID | Description | Parent ID | Status | Created at | Updated at
  * </pre>
  *
- * <p>Concurrency: all public write operations are synchronized to avoid concurrent updates
- * to the same sheet from within this JVM instance.
+ * <p>The header row is verified once per repository instance rather than on every save;
+ * the verification is repeated after a write is rejected by the Sheets API.
+ *
+ * <p>An id-to-row index is maintained so updates can address a row directly. It is loaded
+ * from column A when cold, refreshed by every full or status-filtered read and extended on
+ * every append.
+ *
+ * <p>Concurrency: writes to an existing issue hold a lock for its id, taken from a fixed set of
+ * {@link StripedLocks striped locks}, so read-modify-write cycles of one issue never interleave while
+ * updates of different issues run their Sheets round trips in parallel. Appends hold a separate
+ * lock, so ids are allocated and rows appended in the same order and the sheet stays sorted by
+ * creation; they do not wait for status updates. The row index is replaced as a whole when it is
+ * reloaded, so concurrent lookups never see it half built.
+ *
+ * <p>Several processes may update the same spreadsheet. Status updates never rewrite the id cell
+ * and write the Status, Created at and Updated at cells with {@code RAW} input, so they are stored
+ * exactly as sent. With optimistic locking ({@code sitracker.sheets.optimistic-locking}, off by
+ * default) the {@code Updated at} cell is the row version. The row is read right before the write
+ * and must hold the issue id and the version the update is based on; otherwise it is read and
+ * checked again. After the write the row is read back with {@code UNFORMATTED_VALUE} and must show
+ * the status and version just written. If another writer got in between, the update is repeated,
+ * up to {@code sitracker.sheets.update-attempts} attempts in all, and then fails with a conflict.
+ * Sheets has no conditional writes, so a row deleted in the short window between the check and the
+ * write can still receive the cells meant for another issue. The read-back detects that, and the
+ * update fails with an {@link IOException} naming the row whose cells were overwritten.
+ *
+ * <p>Every Sheets API call is timed as a whole ({@code sitracker.sheets.calls}, tagged with the API
+ * method and outcome), including retries, the response download and JSON parsing; together with the
+ * per-attempt HTTP metrics of {@link org.example.sitracker.config.SheetsRequestInitializer} this shows
+ * whether time goes to the network or to decoding. Rows received are counted per kind of read
+ * ({@code sitracker.sheets.rows}).
  */
 @Repository
+@ConditionalOnProperty(name = "sitracker.storage.type", havingValue = "sheets", matchIfMissing = true)
 public class GoogleSheetsIssueRepositoryImpl implements IssueRepository {
+    private static final Logger log = LoggerFactory.getLogger(GoogleSheetsIssueRepositoryImpl.class);
     private final Sheets sheets;
     private final String spreadsheetId;
+    private final IssueIdAllocator idAllocator;
     private final String sheetName = "Issues";
     private final DateTimeFormatter dtf = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
     private final List<String> HEADER = List.of("ID", "Description", "Parent ID", "Status", "Created at", "Updated at");
+    private static final int LOCK_STRIPES = 64;
+    private final StripedLocks issueLocks = new StripedLocks(LOCK_STRIPES);
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Object indexLock = new Object();
+    private final Object schemaLock = new Object();
+    private volatile Map<String, Integer> rowIndex = new ConcurrentHashMap<>();
+    private volatile boolean rowIndexLoaded;
+    private volatile boolean headerVerified;
+    private int appendChunkSize = 500;
+    private int batchChunkSize = 500;
+    private int readWindowSize = 5000;
+    private boolean optimisticLocking;
+    private int updateAttempts = 3;
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+    static final String CALLS = "sitracker.sheets.calls";
+    static final String ROWS = "sitracker.sheets.rows";
 
     /**
      * Constructs a new repository bound to the given Sheets client and spreadsheet id.
      *
      * @param sheets        authenticated Google Sheets client
      * @param spreadsheetId id of the spreadsheet where issues are stored
+     * @param idAllocator   source of ids for new issues
      */
-    public GoogleSheetsIssueRepositoryImpl(Sheets sheets, String spreadsheetId) {
+    public GoogleSheetsIssueRepositoryImpl(Sheets sheets, String spreadsheetId, IssueIdAllocator idAllocator) {
         this.sheets = sheets;
         this.spreadsheetId = spreadsheetId;
+        this.idAllocator = idAllocator;
     }
 
     /**
      * Saves a new {@link Issue} into the sheet.
      * <ul>
-     *     <li>If the issue has no id, a new one is generated with prefix {@code AD-}.</li>
+     *     <li>If the issue has no id, a new one is taken from the {@link IssueIdAllocator}.</li>
      *     <li>If {@code createdAt} is null, it is set to {@link LocalDateTime#now()}.</li>
      *     <li>If {@code status} is null, it defaults to {@link Status#OPEN}.</li>
      * </ul>
@@ -55,100 +125,465 @@ public class GoogleSheetsIssueRepositoryImpl implements IssueRepository {
      * @throws IOException if the Sheets API call fails
      */
     @Override
-    public synchronized Issue save(Issue issue) throws IOException {
-        ensureHeaderExists();
+    public Issue save(Issue issue) throws IOException {
+        return append(issue).issue();
+    }
+
+    /**
+     * Appends a new {@link Issue} to the sheet and reports the row it was written to.
+     * Applies the same defaults as {@link #save(Issue)}.
+     *
+     * @param issue issue to persist
+     * @return the saved issue together with its 1-based sheet row number, or {@code -1}
+     *         as row number if the Sheets API did not report the updated range
+     * @throws IOException if the Sheets API call fails
+     */
+    public SheetRow append(Issue issue) throws IOException {
+        appendLock.lock();
+        try {
+            ensureHeaderExists();
 
-        if (issue.getId() == null || issue.getId().isBlank()) {
-            issue.setId(generateNextId());
+            if (issue.getId() == null || issue.getId().isBlank()) {
+                issue = issue.withId(idAllocator.nextId());
+            }
+            LocalDateTime now = LocalDateTime.now();
+            if (issue.getCreatedAt() == null) issue = issue.withCreatedAt(now);
+            if (issue.getStatus() == null) issue = issue.withStatus(Status.OPEN, issue.getUpdatedAt());
+
+            ValueRange body = new ValueRange().setValues(List.of(toRow(issue)));
+            AppendValuesResponse resp;
+            try {
+                resp = execute("values.append", sheets.spreadsheets().values()
+                        .append(spreadsheetId, sheetName + "!A:F", body)
+                        .setValueInputOption("USER_ENTERED"));
+            } catch (GoogleJsonResponseException e) {
+                onWriteRejected(e);
+                throw e;
+            }
+            int rowNumber = -1;
+            if (resp != null && resp.getUpdates() != null) {
+                rowNumber = SheetRanges.firstRow(resp.getUpdates().getUpdatedRange());
+            }
+            if (rowNumber > 0) rowIndex.put(issue.getId(), rowNumber);
+            return new SheetRow(rowNumber, issue);
+        } finally {
+            appendLock.unlock();
         }
-        LocalDateTime now = LocalDateTime.now();
-        if (issue.getCreatedAt() == null) issue.setCreatedAt(now);
-        if (issue.getStatus() == null) issue.setStatus(Status.OPEN);
+    }
 
-        List<Object> row = List.of(
-                issue.getId(),
-                issue.getDescription(),
-                issue.getParentId() == null ? "" : issue.getParentId(),
-                issue.getStatus().name(),
-                issue.getCreatedAt().format(dtf)
-        );
+    /**
+     * Saves several new issues with as few Sheets calls as possible: missing ids are allocated
+     * in one go and rows are sent in {@code values().append} calls of at most
+     * {@link #setAppendChunkSize(int) appendChunkSize} rows.
+     *
+     * @param issues issues to persist
+     * @return saved issues in the same order
+     * @throws IOException if a Sheets API call fails; chunks sent before the failure stay saved
+     */
+    @Override
+    public List<Issue> saveAll(Collection<Issue> issues) throws IOException {
+        return appendAll(issues).stream().map(SheetRow::issue).collect(Collectors.toList());
+    }
+
+    /**
+     * Appends several new issues and reports the rows they were written to.
+     * Applies the same defaults as {@link #save(Issue)}.
+     *
+     * @param issues issues to persist
+     * @return saved issues with their sheet rows (row {@code -1} if unknown), in the same order
+     * @throws IOException if a Sheets API call fails
+     */
+    public List<SheetRow> appendAll(Collection<Issue> issues) throws IOException {
+        if (issues.isEmpty()) return Collections.emptyList();
+        appendLock.lock();
+        try {
+            ensureHeaderExists();
 
-        ValueRange body = new ValueRange().setValues(List.of(row));
-        sheets.spreadsheets().values()
-                .append(spreadsheetId, sheetName + "!A:F", body)
-                .setValueInputOption("USER_ENTERED")
-                .execute();
-        return issue;
+            long missingIds = issues.stream().filter(i -> i.getId() == null || i.getId().isBlank()).count();
+            Iterator<String> ids = idAllocator.nextIds((int) missingIds).iterator();
+            LocalDateTime now = LocalDateTime.now();
+            List<Issue> pending = new ArrayList<>(issues.size());
+            for (Issue issue : issues) {
+                if (issue.getId() == null || issue.getId().isBlank()) issue = issue.withId(ids.next());
+                if (issue.getCreatedAt() == null) issue = issue.withCreatedAt(now);
+                if (issue.getStatus() == null) issue = issue.withStatus(Status.OPEN, issue.getUpdatedAt());
+                pending.add(issue);
+            }
+
+            List<SheetRow> result = new ArrayList<>(pending.size());
+            for (int from = 0; from < pending.size(); from += appendChunkSize) {
+                List<Issue> chunk = pending.subList(from, Math.min(from + appendChunkSize, pending.size()));
+                List<List<Object>> rows = new ArrayList<>(chunk.size());
+                for (Issue issue : chunk) rows.add(toRow(issue));
+
+                AppendValuesResponse resp;
+                try {
+                    resp = execute("values.append", sheets.spreadsheets().values()
+                            .append(spreadsheetId, sheetName + "!A:F", new ValueRange().setValues(rows))
+                            .setValueInputOption("USER_ENTERED"));
+                } catch (GoogleJsonResponseException e) {
+                    onWriteRejected(e);
+                    throw e;
+                }
+                int firstRow = -1;
+                if (resp != null && resp.getUpdates() != null) {
+                    firstRow = SheetRanges.firstRow(resp.getUpdates().getUpdatedRange());
+                }
+                for (int i = 0; i < chunk.size(); i++) {
+                    int rowNumber = firstRow > 0 ? firstRow + i : -1;
+                    if (rowNumber > 0) rowIndex.put(chunk.get(i).getId(), rowNumber);
+                    result.add(new SheetRow(rowNumber, chunk.get(i)));
+                }
+            }
+            return result;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Sets the maximum number of rows sent in a single {@code values().append} call by
+     * {@link #saveAll(Collection)}.
+     *
+     * @param appendChunkSize rows per append call; must be positive
+     */
+    @Value("${sitracker.sheets.append-chunk-size:500}")
+    public void setAppendChunkSize(int appendChunkSize) {
+        if (appendChunkSize <= 0) throw new IllegalArgumentException("appendChunkSize must be positive");
+        this.appendChunkSize = appendChunkSize;
     }
 
     /**
      * Updates the status of an existing issue in the sheet.
      *
+     * <p>The row is located through the id-to-row index, which is loaded from column A only
+     * when cold. Only the target row is fetched before its status and timestamp cells are
+     * rewritten, so an update costs two Sheets calls. With
+     * {@link #setOptimisticLocking(boolean) optimistic locking} the row is read back afterwards,
+     * which makes three, and the update is repeated if another writer got in between.
+     *
      * @param id        issue id to update
      * @param newStatus new status
      * @return updated issue object
-     * @throws IOException             if Sheets API call fails
+     * @throws IOException             if Sheets API call fails or the update kept conflicting
+     *                                 with other writers
      * @throws NoSuchElementException  if the issue id cannot be found
      */
     @Override
-    public synchronized Issue updateStatus(String id, Status newStatus) throws IOException {
-        List<List<Object>> rows = readRawRows();
-        if (rows == null || rows.size() <= 1) throw new NoSuchElementException("No issues present");
+    public Issue updateStatus(String id, Status newStatus) throws IOException {
+        if (optimisticLocking) return updateChecked(id, null, newStatus).issue();
+        try (StripedLocks.Held held = issueLocks.lock(id)) {
+            return writeStatus(locate(id), newStatus).issue();
+        }
+    }
 
-        int foundRow = -1;
-        for (int i = 1; i < rows.size(); i++) {
-            List<Object> r = rows.get(i);
-            if (!r.isEmpty()) {
-                String curId = r.get(0).toString();
-                if (id.equals(curId)) {
-                    foundRow = i + 1;
-                    break;
+    /**
+     * Updates the status of an issue whose sheet row is already known.
+     *
+     * <p>Without optimistic locking the row is written without reading the sheet, in one Sheets
+     * call: the issue held by {@code row} is written back with the new status and {@code updatedAt}
+     * set to {@link LocalDateTime#now()}. With optimistic locking the row is read first; if it no
+     * longer holds the issue, the issue is located as in {@link #updateStatus(String, Status)}, and
+     * if its {@code Updated at} differs from the one in {@code row}, it is read and checked again
+     * before it is written. The write is then confirmed by a read-back.
+     *
+     * @param row       last known issue state and its 1-based sheet row number
+     * @param newStatus new status
+     * @return updated issue and the row it was written to
+     * @throws IOException if Sheets API call fails or the update kept conflicting with other writers
+     * @throws NoSuchElementException if optimistic locking is on and the issue no longer exists
+     */
+    public SheetRow updateStatusAt(SheetRow row, Status newStatus) throws IOException {
+        if (optimisticLocking) return updateChecked(row.issue().getId(), row, newStatus);
+        try (StripedLocks.Held held = issueLocks.lock(row.issue().getId())) {
+            return writeStatus(row, newStatus);
+        }
+    }
+
+    /**
+     * Updates the status of several issues with one {@code values().batchGet} and one
+     * {@code values().batchUpdate} request per chunk of at most
+     * {@link #setBatchChunkSize(int) batchChunkSize} rows. With optimistic locking every chunk is
+     * read back with one more {@code batchGet}, and only rows changed by another writer are retried.
+     *
+     * <p>All ids are resolved before anything is written, so an unknown id leaves the sheet untouched.
+     *
+     * @param changes new status per issue id
+     * @return updated issues in the iteration order of {@code changes}
+     * @throws IOException            if a Sheets API call fails or updates kept conflicting with other writers
+     * @throws NoSuchElementException if any of the ids cannot be found
+     */
+    @Override
+    public List<Issue> updateStatusBulk(Map<String, Status> changes) throws IOException {
+        if (changes.isEmpty()) return Collections.emptyList();
+        try (StripedLocks.Held held = issueLocks.lockAll(changes.keySet())) {
+            List<SheetRow> rows = locateAll(changes.keySet());
+            List<SheetRow> written = optimisticLocking ? writeChecked(rows, new HashMap<>(), changes) : writeStatuses(rows, changes);
+            return written.stream().map(SheetRow::issue).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Updates the status of issues whose sheet rows are already known, with one
+     * {@code values().batchUpdate} request per chunk.
+     *
+     * <p>Without optimistic locking the sheet is not read and the issues held by {@code rows} are
+     * written back with their new status, as in {@link #updateStatusAt(SheetRow, Status)}. With it, the rows are read
+     * first, issues that moved are located through the row index, and rows whose {@code Updated at}
+     * differs from the one in {@code rows} are read and checked again before they are written.
+     *
+     * @param rows    last known issue state and sheet row of every issue to update
+     * @param changes new status per issue id; must contain every id in {@code rows}
+     * @return updated issues and the rows they were written to, in the order of {@code rows}
+     * @throws IOException if a Sheets API call fails; chunks sent before the failure stay updated
+     * @throws NoSuchElementException if optimistic locking is on and any of the issues no longer exists
+     */
+    public List<SheetRow> updateStatusesAt(List<SheetRow> rows, Map<String, Status> changes) throws IOException {
+        List<String> ids = rows.stream().map(r -> r.issue().getId()).toList();
+        try (StripedLocks.Held held = issueLocks.lockAll(ids)) {
+            if (!optimisticLocking) return writeStatuses(rows, changes);
+            Map<String, SheetRow> current = new HashMap<>();
+            for (SheetRow row : readRowsAt(ids, rows.stream().map(SheetRow::rowNumber).toList())) {
+                current.put(row.issue().getId(), row);
+            }
+            if (current.size() < ids.size()) {
+                List<String> moved = ids.stream().filter(id -> !current.containsKey(id)).toList();
+                for (SheetRow row : locateAll(moved)) {
+                    current.put(row.issue().getId(), row);
                 }
             }
+            Map<String, LocalDateTime> expected = new HashMap<>();
+            rows.forEach(r -> expected.put(r.issue().getId(), r.issue().getUpdatedAt()));
+            return writeChecked(ids.stream().map(current::get).toList(), expected, changes);
         }
-        if (foundRow == -1) throw new NoSuchElementException("Issue not found: " + id);
-
-        Issue issue = parseRowToIssue(rows.get(foundRow - 1));
-        issue.setStatus(newStatus);
-        issue.setUpdatedAt(LocalDateTime.now());
+    }
 
-        List<Object> updatedRow = List.of(
-                issue.getId(),
-                issue.getDescription(),
-                issue.getParentId() == null ? "" : issue.getParentId(),
-                issue.getStatus().name(),
-                issue.getCreatedAt() == null ? "" : issue.getCreatedAt().format(dtf),
-                issue.getUpdatedAt().format(dtf)
-        );
+    /**
+     * Turns optimistic locking on or off; it is off by default. Use it when several processes
+     * write to one spreadsheet. The {@code Updated at} timestamp serves as the row version: a row
+     * is only written after a read showed the issue id and the version the update is based on,
+     * and the write is confirmed by reading the row back. A row that shows another writer's
+     * version is read again and rewritten.
+     *
+     * <p>Call cost per update: {@code updateStatus} takes two Sheets calls without locking (read,
+     * write) and three with it (read, write, read-back). {@link #updateStatusAt} takes one and three.
+     * Bulk updates take one {@code batchUpdate} per chunk, plus a {@code batchGet} before it when
+     * the rows are not known, plus another {@code batchGet} to read back with locking. Each retry
+     * after a conflict repeats the read, write and read-back.
+     *
+     * @param optimisticLocking whether rows are version-checked before and read back after writes
+     */
+    @Value("${sitracker.sheets.optimistic-locking:false}")
+    public void setOptimisticLocking(boolean optimisticLocking) {
+        this.optimisticLocking = optimisticLocking;
+    }
 
-        ValueRange body = new ValueRange().setValues(List.of(updatedRow));
-        String range = String.format("%s!A%d:F%d", sheetName, foundRow, foundRow);
-        sheets.spreadsheets().values()
-                .update(spreadsheetId, range, body)
-                .setValueInputOption("USER_ENTERED")
-                .execute();
+    /**
+     * Sets how often a status update is attempted before a conflict with other writers is reported.
+     *
+     * @param updateAttempts attempts per update; must be positive
+     */
+    @Value("${sitracker.sheets.update-attempts:3}")
+    public void setUpdateAttempts(int updateAttempts) {
+        if (updateAttempts <= 0) throw new IllegalArgumentException("updateAttempts must be positive");
+        this.updateAttempts = updateAttempts;
+    }
 
-        return issue;
+    /**
+     * Sets the maximum number of rows read or written by a single {@code batchGet} or
+     * {@code batchUpdate} request in {@link #updateStatusBulk(Map)}.
+     *
+     * @param batchChunkSize rows per batch request; must be positive
+     */
+    @Value("${sitracker.sheets.batch-chunk-size:500}")
+    public void setBatchChunkSize(int batchChunkSize) {
+        if (batchChunkSize <= 0) throw new IllegalArgumentException("batchChunkSize must be positive");
+        this.batchChunkSize = batchChunkSize;
     }
 
+    /**
+     * Returns the issues with the given status without downloading the whole sheet.
+     *
+     * @param status status to match
+     * @return matching issues in sheet order (may be empty)
+     * @throws IOException if Sheets API call fails
+     * @see #streamByStatus(Status)
+     */
     @Override
     public List<Issue> findByStatus(Status status) throws IOException {
-        List<Issue> all = findAll();
-        return all.stream().filter(i -> i.getStatus() == status).collect(Collectors.toList());
+        try (Stream<Issue> issues = streamByStatus(status)) {
+            return issues.collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
     }
 
+    /**
+     * Streams the issues with the given status without downloading the whole sheet.
+     *
+     * <p>Columns A (ID) and D (Status) are fetched eagerly with one {@code batchGet}; the id column
+     * also refreshes the row index. Matching rows are merged into runs of consecutive rows, which
+     * are read lazily with one {@code batchGet} per chunk of at most
+     * {@code sitracker.sheets.batch-chunk-size} ranges, so the transfer grows with the number of
+     * matches rather than the sheet size and only one chunk is held in memory at a time.
+     * A row whose status changed between the requests is left out.
+     *
+     * @param status status to match
+     * @return matching issues in sheet order
+     * @throws IOException if the column request fails
+     */
+    @Override
+    public Stream<Issue> streamByStatus(Status status) throws IOException {
+        BatchGetValuesResponse columns = execute("values.batchGet", sheets.spreadsheets().values().batchGet(spreadsheetId)
+                .setRanges(List.of(sheetName + "!A:A", sheetName + "!D:D")));
+        List<ValueRange> valueRanges = columns.getValueRanges() == null ? List.of() : columns.getValueRanges();
+        List<List<Object>> idColumn = valueRanges.size() > 0 ? valueRanges.get(0).getValues() : null;
+        List<List<Object>> statusColumn = valueRanges.size() > 1 ? valueRanges.get(1).getValues() : null;
+        countRows("status-columns", idColumn);
+
+        Map<String, Integer> index = new HashMap<>();
+        List<String> runs = new ArrayList<>();
+        int runStart = -1;
+        int rowCount = idColumn == null ? 0 : idColumn.size();
+        for (int i = 1; i <= rowCount; i++) {
+            boolean match = false;
+            if (i < rowCount) {
+                String id = getCell(idColumn.get(i), 0);
+                if (!id.isBlank()) {
+                    index.put(id, i + 1);
+                    String statusCell = statusColumn != null && i < statusColumn.size() ? getCell(statusColumn.get(i), 0) : "";
+                    match = IssueRowDecoder.status(statusCell) == status;
+                }
+            }
+            if (match && runStart < 0) {
+                runStart = i + 1;
+            } else if (!match && runStart > 0) {
+                runs.add(String.format("%s!A%d:F%d", sheetName, runStart, i));
+                runStart = -1;
+            }
+        }
+        replaceRowIndex(index);
+
+        int chunks = (runs.size() + batchChunkSize - 1) / batchChunkSize;
+        return IntStream.range(0, chunks)
+                .mapToObj(c -> runs.subList(c * batchChunkSize, Math.min((c + 1) * batchChunkSize, runs.size())))
+                .flatMap(chunk -> {
+                    try {
+                        BatchGetValuesResponse resp = execute("values.batchGet", sheets.spreadsheets().values().batchGet(spreadsheetId).setRanges(chunk));
+                        if (resp.getValueRanges() == null) return Stream.<ValueRange>empty();
+                        for (ValueRange range : resp.getValueRanges()) countRows("status-runs", range.getValues());
+                        return resp.getValueRanges().stream();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .filter(range -> range.getValues() != null)
+                .flatMap(range -> range.getValues().stream())
+                .map(new IssueRowDecoder()::decode)
+                .filter(issue -> !issue.getId().isBlank() && issue.getStatus() == status);
+    }
+
+    /**
+     * Reads all issues into a {@link IssueColumns columnar list}, which holds large sheets in a
+     * fraction of the memory of one object graph per issue.
+     */
     @Override
     public List<Issue> findAll() throws IOException {
+        try (Stream<Issue> issues = streamAll()) {
+            IssueColumns all = new IssueColumns(readWindowSize);
+            issues.forEach(all::add);
+            return all;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Streams all issues, fetching the sheet in windows of {@code sitracker.sheets.read-window-size}
+     * rows ({@code A2:F5001}, {@code A5002:F10001}, ...). A window is only requested once the
+     * previous one has been consumed, and rows are parsed as they are consumed, so memory use is
+     * bounded by the window size. Reading stops at the first window that is not full.
+     *
+     * @return stream of all issues in sheet order
+     * @throws IOException if the first window cannot be read
+     */
+    @Override
+    public Stream<Issue> streamAll() throws IOException {
+        Iterator<List<Object>> rows = new RowWindowIterator(readWindow(2));
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .map(new IssueRowDecoder()::decode);
+    }
+
+    /**
+     * Sets the number of rows fetched per request by {@link #streamAll()}.
+     *
+     * @param readWindowSize rows per window; must be positive
+     */
+    @Value("${sitracker.sheets.read-window-size:5000}")
+    public void setReadWindowSize(int readWindowSize) {
+        if (readWindowSize <= 0) throw new IllegalArgumentException("readWindowSize must be positive");
+        this.readWindowSize = readWindowSize;
+    }
+
+    /**
+     * Sets the registry call and row metrics are recorded in; by default they go to the global
+     * registry, which discards them unless a registry has been added to it.
+     *
+     * @param meterRegistry registry for the repository metrics
+     */
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns all issues together with the sheet row each one was read from.
+     *
+     * @return rows in sheet order (may be empty)
+     * @throws IOException if Sheets API call fails
+     */
+    public List<SheetRow> readRows() throws IOException {
         List<List<Object>> rows = readRawRows();
         if (rows == null || rows.size() <= 1) return Collections.emptyList();
-        return rows.stream()
-                .skip(1)
-                .map(this::parseRowToIssue)
-                .collect(Collectors.toList());
+        List<SheetRow> result = new ArrayList<>(rows.size() - 1);
+        Map<String, Integer> index = new HashMap<>();
+        IssueRowDecoder decoder = new IssueRowDecoder();
+        for (int i = 1; i < rows.size(); i++) {
+            Issue issue = decoder.decode(rows.get(i));
+            result.add(new SheetRow(i + 1, issue));
+            if (!issue.getId().isBlank()) index.put(issue.getId(), i + 1);
+        }
+        replaceRowIndex(index);
+        return result;
     }
 
     // ------------- helpers --------------
 
+    /**
+     * Executes one Sheets API call and records its duration.
+     *
+     * @param operation API method for the metric tag, e.g. {@code values.get}
+     * @param request   request to execute
+     * @return parsed response
+     * @throws IOException if the call fails
+     */
+    private <T> T execute(String operation, SheetsRequest<T> request) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T response = request.execute();
+            outcome = "success";
+            return response;
+        } finally {
+            sample.stop(Timer.builder(CALLS).tag("operation", operation).tag("outcome", outcome).register(meterRegistry));
+        }
+    }
+
+    private void countRows(String read, List<?> rows) {
+        if (rows == null || rows.isEmpty()) return;
+        Counter.builder(ROWS).tag("read", read).register(meterRegistry).increment(rows.size());
+    }
+
     /**
      * Reads all raw rows from the sheet (range A:F).
      *
@@ -156,101 +591,531 @@ public class GoogleSheetsIssueRepositoryImpl implements IssueRepository {
      * @throws IOException if Sheets API call fails
      */
     private List<List<Object>> readRawRows() throws IOException {
-        ValueRange resp = sheets.spreadsheets().values().get(spreadsheetId, sheetName + "!A:F").execute();
+        ValueRange resp = execute("values.get", sheets.spreadsheets().values().get(spreadsheetId, sheetName + "!A:F"));
+        countRows("all", resp.getValues());
         return resp.getValues();
     }
 
     /**
-     * Ensures the header row (A1:F1) exists and matches {@link #HEADER}.
+     * Reads one window of {@link #readWindowSize} rows.
      *
+     * @param firstRow sheet row number the window starts at
+     * @return rows of the window; empty past the end of the sheet
      * @throws IOException if Sheets API call fails
      */
-    private void ensureHeaderExists() throws IOException {
-        ValueRange resp = sheets.spreadsheets().values().get(spreadsheetId, sheetName + "!A1:F1").execute();
+    private List<List<Object>> readWindow(int firstRow) throws IOException {
+        String range = String.format("%s!A%d:F%d", sheetName, firstRow, firstRow + readWindowSize - 1);
+        List<List<Object>> rows = execute("values.get", sheets.spreadsheets().values().get(spreadsheetId, range)).getValues();
+        countRows("window", rows);
+        return rows == null ? List.of() : rows;
+    }
+
+    /**
+     * Iterates the raw rows of the sheet one window at a time.
+     */
+    private final class RowWindowIterator implements Iterator<List<Object>> {
+        private List<List<Object>> window;
+        private int windowStart = 2;
+        private int pos;
+
+        RowWindowIterator(List<List<Object>> firstWindow) {
+            this.window = firstWindow;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (pos < window.size()) return true;
+            if (window.size() < readWindowSize) return false;
+            windowStart += readWindowSize;
+            try {
+                window = readWindow(windowStart);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            pos = 0;
+            return !window.isEmpty();
+        }
+
+        @Override
+        public List<Object> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return window.get(pos++);
+        }
+    }
+
+    /**
+     * Rebuilds the id-to-row index from column A of the sheet.
+     *
+     * @throws IOException if Sheets API call fails
+     */
+    private void loadRowIndex() throws IOException {
+        ValueRange resp = execute("values.get", sheets.spreadsheets().values().get(spreadsheetId, sheetName + "!A:A"));
         List<List<Object>> rows = resp.getValues();
-        boolean ok = rows != null && !rows.isEmpty() && !rows.get(0).isEmpty() && "ID".equalsIgnoreCase(rows.get(0).get(0).toString());
-        if (!ok) {
-            ValueRange headerBody = new ValueRange().setValues(List.of(new ArrayList<>(HEADER)));
-            sheets.spreadsheets().values().update(spreadsheetId, sheetName + "!A1:F1", headerBody).setValueInputOption("RAW").execute();
+        countRows("row-index", rows);
+        Map<String, Integer> index = new HashMap<>();
+        if (rows != null) {
+            for (int i = 1; i < rows.size(); i++) {
+                String id = getCell(rows.get(i), 0);
+                if (!id.isBlank()) index.put(id, i + 1);
+            }
         }
+        replaceRowIndex(index);
     }
 
     /**
-     * Converts a raw row of sheet values into an {@link Issue}.
+     * Loads the row index unless it is already loaded; concurrent callers share one load.
      *
-     * @param row list of cell values (0–5 columns)
-     * @return parsed issue
+     * @return whether this call loaded the index
+     * @throws IOException if Sheets API call fails
      */
-    private Issue parseRowToIssue(List<Object> row) {
-        String id = getCell(row, 0);
-        String desc = getCell(row, 1);
-        String parent = getCell(row, 2);
-        String statusStr = getCell(row, 3);
-        String createdStr = getCell(row, 4);
-        String updatedStr = getCell(row, 5);
+    private boolean ensureRowIndexLoaded() throws IOException {
+        if (rowIndexLoaded) return false;
+        synchronized (indexLock) {
+            if (rowIndexLoaded) return false;
+            loadRowIndex();
+            return true;
+        }
+    }
 
-        Status status = Status.OPEN;
-        try { if (statusStr != null && !statusStr.isBlank()) status = Status.valueOf(statusStr.trim()); } catch (Exception ignored) {}
+    private void replaceRowIndex(Map<String, Integer> index) {
+        rowIndex = new ConcurrentHashMap<>(index);
+        rowIndexLoaded = true;
+    }
 
-        LocalDateTime created = parseDate(createdStr);
-        LocalDateTime updated = parseDate(updatedStr);
+    /**
+     * Locates the row of one issue, rebuilding a stale index once.
+     *
+     * @param id issue id
+     * @return current issue state and its row
+     * @throws IOException            if Sheets API call fails
+     * @throws NoSuchElementException if the issue cannot be found
+     */
+    private SheetRow locate(String id) throws IOException {
+        boolean reloaded = ensureRowIndexLoaded();
+        SheetRow row = readIndexedRow(id);
+        if (row == null && !reloaded) {
+            // the index may be stale (rows inserted or deleted by someone else), rebuild once
+            loadRowIndex();
+            row = readIndexedRow(id);
+        }
+        if (row == null) throw new NoSuchElementException("Issue not found: " + id);
+        return row;
+    }
 
-        Issue issue = new Issue();
-        issue.setId(id);
-        issue.setDescription(desc);
-        issue.setParentId(parent == null || parent.isBlank() ? null : parent);
-        issue.setStatus(status);
-        issue.setCreatedAt(created);
-        issue.setUpdatedAt(updated);
-        return issue;
+    /**
+     * Locates the rows of several issues, rebuilding a stale index once.
+     *
+     * @param ids issue ids
+     * @return current issue state and row of every id, in the iteration order of {@code ids}
+     * @throws IOException            if Sheets API call fails
+     * @throws NoSuchElementException if any of the issues cannot be found
+     */
+    private List<SheetRow> locateAll(Collection<String> ids) throws IOException {
+        boolean reloaded = ensureRowIndexLoaded();
+        List<SheetRow> rows = readIndexedRows(ids);
+        if (rows.size() < ids.size() && !reloaded) {
+            loadRowIndex();
+            rows = readIndexedRows(ids);
+        }
+        if (rows.size() < ids.size()) {
+            Set<String> missing = new LinkedHashSet<>(ids);
+            rows.forEach(r -> missing.remove(r.issue().getId()));
+            throw new NoSuchElementException("Issues not found: " + String.join(", ", missing));
+        }
+        return rows;
     }
 
     /**
-     * Safely extracts a string cell value from a row.
+     * Updates one issue with optimistic locking: checks the version before writing, confirms the
+     * write by reading the row back and retries on conflicts.
      *
-     * @param row row list
-     * @param idx cell index
-     * @return cell value as string, or empty string if not present
+     * @param id        issue id
+     * @param known     last known state and row of the issue, or {@code null} to use the row index
+     * @param newStatus new status
+     * @return updated issue and the row it was written to
+     * @throws IOException if Sheets API call fails, every attempt conflicted or the write landed in
+     *                     another issue's row
      */
-    private String getCell(List<Object> row, int idx) {
-        if (row == null || row.size() <= idx) return "";
-        Object v = row.get(idx);
-        return v == null ? "" : v.toString();
+    private SheetRow updateChecked(String id, SheetRow known, Status newStatus) throws IOException {
+        try (StripedLocks.Held held = issueLocks.lock(id)) {
+            boolean versionKnown = known != null;
+            LocalDateTime expected = versionKnown ? known.issue().getUpdatedAt() : null;
+            for (int attempt = 1; ; attempt++) {
+                SheetRow row = attempt == 1 && known != null && known.rowNumber() > 0 ? readRowAt(known.rowNumber(), id) : null;
+                if (row == null) row = locate(id);
+                LocalDateTime version = row.issue().getUpdatedAt();
+                if (!versionKnown || Objects.equals(version, expected)) {
+                    SheetRow written = writeStatus(row, newStatus);
+                    List<Object> cells = fetchRow(written.rowNumber(), true);
+                    if (!id.equals(getCell(cells, 0))) throw overwritten(written, cells);
+                    if (isConfirmed(written, cells)) return written;
+                    version = IssueRowDecoder.timestamp(getCell(cells, 5));
+                }
+                // another writer changed the row: base the next attempt on its version
+                if (attempt >= updateAttempts) throw conflict(List.of(id), attempt);
+                versionKnown = true;
+                expected = version;
+            }
+        }
     }
 
     /**
-     * Parses a date string into {@link LocalDateTime} using {@link #dtf}.
+     * Writes several rows with optimistic locking: only rows that still have their expected
+     * version are written, every write is confirmed by reading the rows back, and rows another
+     * writer changed are located, checked and written again until all are confirmed.
      *
-     * @param s date string, may be {@code null} or blank
-     * @return parsed {@link LocalDateTime}, or {@code null} if parse fails
+     * @param rows     current issue state and row of every issue to update, as just read
+     * @param expected {@code Updated at} version the update of an issue is based on; issues
+     *                 without an entry are based on the state in {@code rows}. Updated in place.
+     * @param changes  new status per issue id
+     * @return updated issues and their rows, in the order of {@code rows}
+     * @throws IOException if a Sheets API call fails, some rows conflicted on every attempt or
+     *                     writes landed in other issues' rows
      */
-    private LocalDateTime parseDate(String s) {
-        if (s == null || s.isBlank()) return null;
-        try { return LocalDateTime.parse(s, dtf); } catch (Exception ex) { return null; }
+    private List<SheetRow> writeChecked(List<SheetRow> rows, Map<String, LocalDateTime> expected,
+                                        Map<String, Status> changes) throws IOException {
+        Map<String, SheetRow> written = new HashMap<>();
+        List<SheetRow> pending = rows;
+        for (int attempt = 1; ; attempt++) {
+            List<SheetRow> unchanged = new ArrayList<>(pending.size());
+            List<String> conflicting = new ArrayList<>();
+            for (SheetRow row : pending) {
+                String id = row.issue().getId();
+                if (!expected.containsKey(id) || Objects.equals(expected.get(id), row.issue().getUpdatedAt())) {
+                    unchanged.add(row);
+                } else {
+                    conflicting.add(id);
+                    expected.put(id, row.issue().getUpdatedAt());
+                }
+            }
+
+            List<SheetRow> sent = writeStatuses(unchanged, changes);
+            List<List<Object>> current = fetchRows(sent.stream().map(SheetRow::rowNumber).toList(), true);
+            for (int i = 0; i < sent.size(); i++) {
+                SheetRow row = sent.get(i);
+                String id = row.issue().getId();
+                List<Object> cells = current.get(i);
+                if (!id.equals(getCell(cells, 0))) throw overwritten(row, cells);
+                if (isConfirmed(row, cells)) {
+                    written.put(id, row);
+                } else {
+                    conflicting.add(id);
+                    expected.put(id, IssueRowDecoder.timestamp(getCell(cells, 5)));
+                }
+            }
+            if (conflicting.isEmpty()) break;
+            if (attempt >= updateAttempts) throw conflict(conflicting, attempt);
+            pending = locateAll(conflicting);
+        }
+        return rows.stream().map(r -> written.get(r.issue().getId())).toList();
     }
 
     /**
-     * Generates the next sequential issue id with prefix {@code AD-}.
-     * Scans the sheet for the maximum numeric suffix and increments it.
+     * Writes the status and timestamp cells of one issue with the new status and {@code updatedAt}
+     * set to now.
      *
-     * @return next id string (e.g., {@code AD-1}, {@code AD-2}, …)
+     * @param row       issue to update and its row
+     * @param newStatus new status
+     * @return the updated issue and its row
      * @throws IOException if Sheets API call fails
      */
-    private String generateNextId() throws IOException {
-        List<List<Object>> rows = readRawRows();
-        int max = 0;
-        if (rows != null) {
-            for (int i = 1; i < rows.size(); i++) {
-                List<Object> row = rows.get(i);
-                if (!row.isEmpty()) {
-                    String id = row.get(0).toString();
-                    if (id != null && id.contains("-")) {
-                        String[] parts = id.split("-");
-                        try { int n = Integer.parseInt(parts[parts.length - 1]); max = Math.max(max, n); } catch (NumberFormatException ignore) {}
-                    }
-                }
+    private SheetRow writeStatus(SheetRow row, Status newStatus) throws IOException {
+        Issue issue = row.issue().withStatus(newStatus, LocalDateTime.now());
+
+        ValueRange body = new ValueRange().setValues(List.of(statusCells(issue)));
+        try {
+            execute("values.update", sheets.spreadsheets().values()
+                    .update(spreadsheetId, statusRange(row.rowNumber()), body)
+                    .setValueInputOption("RAW"));
+        } catch (GoogleJsonResponseException e) {
+            onWriteRejected(e);
+            throw e;
+        }
+        return new SheetRow(row.rowNumber(), issue);
+    }
+
+    /**
+     * Same as {@link #writeStatus(SheetRow, Status)} for several rows, with one
+     * {@code values().batchUpdate} request per chunk.
+     *
+     * @param rows    issues to update and their rows
+     * @param changes new status per issue id
+     * @return the updated issues and their rows, in the order of {@code rows}
+     * @throws IOException if a Sheets API call fails; chunks sent before the failure stay updated
+     */
+    private List<SheetRow> writeStatuses(List<SheetRow> rows, Map<String, Status> changes) throws IOException {
+        LocalDateTime now = LocalDateTime.now();
+        List<SheetRow> written = new ArrayList<>(rows.size());
+        for (int from = 0; from < rows.size(); from += batchChunkSize) {
+            List<SheetRow> chunk = rows.subList(from, Math.min(from + batchChunkSize, rows.size()));
+            List<ValueRange> data = new ArrayList<>(chunk.size());
+            for (SheetRow row : chunk) {
+                Issue issue = row.issue().withStatus(changes.get(row.issue().getId()), now);
+                written.add(new SheetRow(row.rowNumber(), issue));
+                data.add(new ValueRange()
+                        .setRange(statusRange(row.rowNumber()))
+                        .setValues(List.of(statusCells(issue))));
+            }
+            BatchUpdateValuesRequest body = new BatchUpdateValuesRequest()
+                    .setValueInputOption("RAW")
+                    .setData(data);
+            try {
+                execute("values.batchUpdate", sheets.spreadsheets().values().batchUpdate(spreadsheetId, body));
+            } catch (GoogleJsonResponseException e) {
+                onWriteRejected(e);
+                throw e;
             }
         }
-        return "AD-" + (max + 1);
+        return written;
+    }
+
+    /**
+     * Checks a row read back after a write that still holds the written issue: it must show the
+     * status and {@code Updated at} version that were written.
+     *
+     * @param written issue as written and its row
+     * @param cells   cells of that row as read back
+     * @return whether the write is confirmed
+     */
+    private boolean isConfirmed(SheetRow written, List<Object> cells) {
+        Issue issue = written.issue();
+        return IssueRowDecoder.status(getCell(cells, 3)) == issue.getStatus()
+                && Objects.equals(IssueRowDecoder.timestamp(getCell(cells, 5)), issue.getUpdatedAt());
+    }
+
+    /**
+     * Reports a write that landed in a row holding another issue, because rows moved between the
+     * version check and the write. The id cell is never written, so that issue only had its
+     * Status, Created at and Updated at cells replaced; their previous values are not known here.
+     *
+     * @param written issue as written and its row
+     * @param cells   cells of that row as read back, or {@code null} if the row is empty
+     * @return exception to throw
+     */
+    private IOException overwritten(SheetRow written, List<Object> cells) {
+        String found = getCell(cells, 0);
+        rowIndex.remove(written.issue().getId());
+        log.warn("Row {} held {} when the status of {} was written to it; check its Status, Created at and Updated at cells",
+                written.rowNumber(), found.isBlank() ? "no issue" : found, written.issue().getId());
+        return new IOException("Rows moved while " + written.issue().getId() + " was updated, its status was written to row "
+                + written.rowNumber() + (found.isBlank() ? "" : " of " + found) + " instead; check that row");
+    }
+
+    private IOException conflict(List<String> ids, int attempts) {
+        return new IOException("Issues kept changing under concurrent updates, gave up after "
+                + attempts + " attempts: " + String.join(", ", ids));
+    }
+
+    /**
+     * Reads the single row the index points to for the given id.
+     *
+     * @param id issue id
+     * @return the row, or {@code null} if the id is not indexed or the row no longer holds it
+     * @throws IOException if Sheets API call fails
+     */
+    private SheetRow readIndexedRow(String id) throws IOException {
+        Integer rowNumber = rowIndex.get(id);
+        if (rowNumber == null) return null;
+        SheetRow row = readRowAt(rowNumber, id);
+        if (row == null) rowIndex.remove(id);
+        return row;
+    }
+
+    /**
+     * Reads one row and checks it holds the given issue.
+     *
+     * @param rowNumber 1-based sheet row number
+     * @param id        issue id expected in the row
+     * @return the row, or {@code null} if it holds another issue or nothing
+     * @throws IOException if Sheets API call fails
+     */
+    private SheetRow readRowAt(int rowNumber, String id) throws IOException {
+        List<Object> cells = fetchRow(rowNumber, false);
+        if (cells == null || !id.equals(getCell(cells, 0))) return null;
+        return new SheetRow(rowNumber, new IssueRowDecoder().decode(cells));
+    }
+
+    /**
+     * Reads the rows the index points to for the given ids, with one {@code batchGet} per chunk.
+     *
+     * @param ids issue ids
+     * @return rows that still hold their indexed id, in the iteration order of {@code ids};
+     *         ids that are not indexed or whose row moved are left out and dropped from the index
+     * @throws IOException if Sheets API call fails
+     */
+    private List<SheetRow> readIndexedRows(Collection<String> ids) throws IOException {
+        List<String> indexed = new ArrayList<>(ids.size());
+        List<Integer> rowNumbers = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Integer rowNumber = rowIndex.get(id);
+            if (rowNumber != null) {
+                indexed.add(id);
+                rowNumbers.add(rowNumber);
+            }
+        }
+        List<SheetRow> result = readRowsAt(indexed, rowNumbers);
+        if (result.size() < indexed.size()) {
+            Set<String> moved = new HashSet<>(indexed);
+            result.forEach(r -> moved.remove(r.issue().getId()));
+            moved.forEach(rowIndex::remove);
+        }
+        return result;
+    }
+
+    /**
+     * Reads several rows and keeps those that hold the expected issue.
+     *
+     * @param ids        issue id expected in each row
+     * @param rowNumbers 1-based sheet row numbers, parallel to {@code ids}
+     * @return rows that hold their expected id, in the order of {@code ids}
+     * @throws IOException if Sheets API call fails
+     */
+    private List<SheetRow> readRowsAt(List<String> ids, List<Integer> rowNumbers) throws IOException {
+        List<List<Object>> rows = fetchRows(rowNumbers, false);
+        List<SheetRow> result = new ArrayList<>(ids.size());
+        IssueRowDecoder decoder = new IssueRowDecoder();
+        for (int i = 0; i < ids.size(); i++) {
+            List<Object> cells = rows.get(i);
+            if (cells != null && ids.get(i).equals(getCell(cells, 0))) {
+                result.add(new SheetRow(rowNumbers.get(i), decoder.decode(cells)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Fetches the cells of one row.
+     *
+     * @param rowNumber   1-based sheet row number
+     * @param unformatted whether to read the values as stored ({@code UNFORMATTED_VALUE}), as
+     *                    needed to compare them with values just written
+     * @return cells of the row, or {@code null} if it is empty
+     * @throws IOException if Sheets API call fails
+     */
+    private List<Object> fetchRow(int rowNumber, boolean unformatted) throws IOException {
+        String range = String.format("%s!A%d:F%d", sheetName, rowNumber, rowNumber);
+        Sheets.Spreadsheets.Values.Get get = sheets.spreadsheets().values().get(spreadsheetId, range);
+        if (unformatted) get = get.setValueRenderOption("UNFORMATTED_VALUE");
+        List<List<Object>> rows = execute("values.get", get).getValues();
+        return rows == null || rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * Fetches the cells of several rows with one {@code batchGet} per chunk.
+     *
+     * @param rowNumbers  1-based sheet row numbers
+     * @param unformatted whether to read the values as stored, see {@link #fetchRow(int, boolean)}
+     * @return cells of every row in the same order; {@code null} for empty rows
+     * @throws IOException if Sheets API call fails
+     */
+    private List<List<Object>> fetchRows(List<Integer> rowNumbers, boolean unformatted) throws IOException {
+        List<List<Object>> result = new ArrayList<>(rowNumbers.size());
+        for (int from = 0; from < rowNumbers.size(); from += batchChunkSize) {
+            List<Integer> chunk = rowNumbers.subList(from, Math.min(from + batchChunkSize, rowNumbers.size()));
+            List<String> ranges = new ArrayList<>(chunk.size());
+            for (int rowNumber : chunk) {
+                ranges.add(String.format("%s!A%d:F%d", sheetName, rowNumber, rowNumber));
+            }
+            Sheets.Spreadsheets.Values.BatchGet get = sheets.spreadsheets().values().batchGet(spreadsheetId).setRanges(ranges);
+            if (unformatted) get = get.setValueRenderOption("UNFORMATTED_VALUE");
+            BatchGetValuesResponse resp = execute("values.batchGet", get);
+            List<ValueRange> valueRanges = resp.getValueRanges() == null ? List.of() : resp.getValueRanges();
+            for (int i = 0; i < chunk.size(); i++) {
+                List<List<Object>> rows = i < valueRanges.size() ? valueRanges.get(i).getValues() : null;
+                result.add(rows == null || rows.isEmpty() ? null : rows.get(0));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Verifies the header row now, regardless of any earlier verification.
+     * Creates the header if it is missing.
+     *
+     * @throws IOException if Sheets API call fails
+     */
+    public void verifySchema() throws IOException {
+        synchronized (schemaLock) {
+            headerVerified = false;
+            ensureHeaderExists();
+        }
+    }
+
+    /**
+     * Ensures the header row (A1:F1) exists and matches {@link #HEADER}.
+     *
+     * <p>The check runs once; the result is remembered until a write is rejected
+     * (see {@link #onWriteRejected(GoogleJsonResponseException)}).
+     *
+     * @throws IOException if Sheets API call fails
+     */
+    private void ensureHeaderExists() throws IOException {
+        if (headerVerified) return;
+        synchronized (schemaLock) {
+            if (headerVerified) return;
+            ValueRange resp = execute("values.get", sheets.spreadsheets().values().get(spreadsheetId, sheetName + "!A1:F1"));
+            List<List<Object>> rows = resp.getValues();
+            boolean ok = rows != null && !rows.isEmpty() && !rows.get(0).isEmpty() && "ID".equalsIgnoreCase(rows.get(0).get(0).toString());
+            if (!ok) {
+                ValueRange headerBody = new ValueRange().setValues(List.of(new ArrayList<>(HEADER)));
+                execute("values.update", sheets.spreadsheets().values().update(spreadsheetId, sheetName + "!A1:F1", headerBody).setValueInputOption("RAW"));
+            }
+            headerVerified = true;
+        }
+    }
+
+    /**
+     * Forgets the header verification when a write fails with a request error (HTTP 400),
+     * which is how the Sheets API reports ranges that no longer match the sheet layout.
+     *
+     * @param e error returned by the Sheets API
+     */
+    private void onWriteRejected(GoogleJsonResponseException e) {
+        if (e.getStatusCode() == 400) headerVerified = false;
+    }
+
+    /**
+     * Converts an {@link Issue} into a row of sheet values in {@link #HEADER} order.
+     *
+     * @param issue issue to convert
+     * @return list of six cell values; missing values become empty strings
+     */
+    private List<Object> toRow(Issue issue) {
+        return List.of(
+                issue.getId(),
+                issue.getDescription(),
+                issue.getParentId() == null ? "" : issue.getParentId(),
+                issue.getStatus().name(),
+                issue.getCreatedAt() == null ? "" : issue.getCreatedAt().format(dtf),
+                issue.getUpdatedAt() == null ? "" : issue.getUpdatedAt().format(dtf)
+        );
+    }
+
+    /**
+     * Returns the cells an update writes: Status, Created at and Updated at. The id, description
+     * and parent cells are never rewritten by updates.
+     *
+     * @param issue issue to convert
+     * @return the last three cells of {@link #toRow(Issue)}
+     */
+    private List<Object> statusCells(Issue issue) {
+        return toRow(issue).subList(3, HEADER.size());
+    }
+
+    private String statusRange(int rowNumber) {
+        return String.format("%s!D%d:F%d", sheetName, rowNumber, rowNumber);
+    }
+
+    /**
+     * Safely extracts a string cell value from a row.
+     *
+     * @param row row list
+     * @param idx cell index
+     * @return cell value as string, or empty string if not present
+     */
+    private String getCell(List<Object> row, int idx) {
+        if (row == null || row.size() <= idx) return "";
+        Object v = row.get(idx);
+        return v == null ? "" : v.toString();
     }
 }
@@ -0,0 +1,301 @@
+package org.example.sitracker.repository;
+
+import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.Status;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Compact list of issues for bulk results and caches, stored column by column instead of as one
+ * object graph per issue:
+ * <ul>
+ *     <li>statuses as a {@code byte} per issue;</li>
+ *     <li>timestamps as epoch seconds (UTC) in {@code long} arrays, with an {@code int} array of
+ *     nanoseconds that is only allocated once a timestamp has a fraction of a second;</li>
+ *     <li>parent ids as {@code int} references into a pool holding each distinct parent id once;</li>
+ *     <li>sheet row numbers, if any were given, as {@code int}s;</li>
+ *     <li>an id lookup table of {@code int} slots, built on first lookup.</li>
+ * </ul>
+ * Parent ids are the only strings pooled: many issues share a parent, while ids are unique and
+ * descriptions rarely repeat, so those are kept as the strings they were given as.
+ * An {@link Issue} with six fields costs seven objects (the issue and two date, time and
+ * date-time triples) and 230 bytes besides its strings when held in a map; here it takes about 50,
+ * again not counting the strings.
+ *
+ * <p>{@link #get(int)} builds the issue on every call, so callers should keep the issues they
+ * use rather than hold on to this list for speed. The list can be appended to and its elements
+ * replaced, which is all sorting needs, but not shrunk. It is not thread-safe; use {@link #copy()}
+ * to hand out a snapshot.
+ */
+final class IssueColumns extends AbstractList<Issue> implements RandomAccess {
+    private static final Status[] STATUSES = Status.values();
+    private static final long NONE = Long.MIN_VALUE;
+    private static final int NO_PARENT = -1;
+
+    private int size;
+    private String[] ids;
+    private String[] descriptions;
+    private int[] parents;
+    private byte[] statuses;
+    private long[] createdSeconds;
+    private long[] updatedSeconds;
+    private int[] createdNanos;
+    private int[] updatedNanos;
+    private int[] rowNumbers;
+
+    private String[] parentPool;
+    private int parentCount;
+    private Map<String, Integer> parentCodes;
+
+    private int[] slots;
+
+    IssueColumns() {
+        this(16);
+    }
+
+    /**
+     * @param capacity number of issues to make room for up front
+     */
+    IssueColumns(int capacity) {
+        capacity = Math.max(capacity, 1);
+        ids = new String[capacity];
+        descriptions = new String[capacity];
+        parents = new int[capacity];
+        statuses = new byte[capacity];
+        createdSeconds = new long[capacity];
+        updatedSeconds = new long[capacity];
+        parentPool = new String[16];
+        parentCodes = new HashMap<>();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Issue get(int index) {
+        checkIndex(index);
+        int parent = parents[index];
+        byte status = statuses[index];
+        return new Issue(ids[index], descriptions[index], parent == NO_PARENT ? null : parentPool[parent],
+                status < 0 ? null : STATUSES[status],
+                time(createdSeconds, createdNanos, index), time(updatedSeconds, updatedNanos, index));
+    }
+
+    @Override
+    public boolean add(Issue issue) {
+        add(issue, -1);
+        return true;
+    }
+
+    /**
+     * Appends an issue together with the sheet row it was read from.
+     *
+     * @param issue     issue to append
+     * @param rowNumber 1-based sheet row number, or {@code -1} if unknown
+     */
+    void add(Issue issue, int rowNumber) {
+        if (size == ids.length) grow();
+        int index = size++;
+        write(index, issue, rowNumber);
+        if (slots != null) {
+            if (size * 2 > slots.length) slots = null;
+            else insertSlot(index);
+        }
+        modCount++;
+    }
+
+    @Override
+    public Issue set(int index, Issue issue) {
+        Issue previous = get(index);
+        write(index, issue, rowNumber(index));
+        if (!Objects.equals(previous.getId(), issue.getId())) slots = null;
+        return previous;
+    }
+
+    /**
+     * Stores a sheet row the way a map keyed by issue id would: an issue whose id is already
+     * present replaces it in place, others are appended.
+     *
+     * @param row issue and its sheet row
+     */
+    void put(SheetRow row) {
+        int index = positionOf(row.issue().getId());
+        if (index < 0) {
+            add(row.issue(), row.rowNumber());
+        } else {
+            write(index, row.issue(), row.rowNumber());
+        }
+    }
+
+    /**
+     * @param id issue id
+     * @return position of the first issue with that id, or {@code -1} if there is none
+     */
+    int positionOf(String id) {
+        if (id == null) return -1;
+        if (slots == null) buildSlots();
+        int mask = slots.length - 1;
+        for (int slot = spread(id.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot];
+            if (entry == 0) return -1;
+            if (id.equals(ids[entry - 1])) return entry - 1;
+        }
+    }
+
+    /**
+     * @param index position in this list
+     * @return sheet row number stored with the issue, or {@code -1} if unknown
+     */
+    int rowNumber(int index) {
+        checkIndex(index);
+        return rowNumbers == null ? -1 : rowNumbers[index];
+    }
+
+    /**
+     * Streams the issues with the given status. Statuses are compared column-wise, so only
+     * matching issues are built.
+     *
+     * @param status status to keep
+     * @return matching issues in list order
+     */
+    Stream<Issue> stream(Status status) {
+        byte code = (byte) status.ordinal();
+        return IntStream.range(0, size).filter(i -> statuses[i] == code).mapToObj(this::get);
+    }
+
+    /**
+     * @return an independent copy of this list, trimmed to its size
+     */
+    IssueColumns copy() {
+        IssueColumns copy = new IssueColumns(0);
+        copy.size = size;
+        copy.ids = Arrays.copyOf(ids, Math.max(size, 1));
+        copy.descriptions = Arrays.copyOf(descriptions, copy.ids.length);
+        copy.parents = Arrays.copyOf(parents, copy.ids.length);
+        copy.statuses = Arrays.copyOf(statuses, copy.ids.length);
+        copy.createdSeconds = Arrays.copyOf(createdSeconds, copy.ids.length);
+        copy.updatedSeconds = Arrays.copyOf(updatedSeconds, copy.ids.length);
+        if (createdNanos != null) copy.createdNanos = Arrays.copyOf(createdNanos, copy.ids.length);
+        if (updatedNanos != null) copy.updatedNanos = Arrays.copyOf(updatedNanos, copy.ids.length);
+        if (rowNumbers != null) copy.rowNumbers = Arrays.copyOf(rowNumbers, copy.ids.length);
+        copy.parentPool = Arrays.copyOf(parentPool, Math.max(parentCount, 1));
+        copy.parentCount = parentCount;
+        copy.parentCodes = new HashMap<>(parentCodes);
+        return copy;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(ids, 0, size, null);
+        Arrays.fill(descriptions, 0, size, null);
+        size = 0;
+        createdNanos = null;
+        updatedNanos = null;
+        rowNumbers = null;
+        Arrays.fill(parentPool, 0, parentCount, null);
+        parentCount = 0;
+        parentCodes.clear();
+        slots = null;
+        modCount++;
+    }
+
+    // ------------- helpers --------------
+
+    private void write(int index, Issue issue, int rowNumber) {
+        ids[index] = issue.getId();
+        descriptions[index] = issue.getDescription();
+        parents[index] = issue.getParentId() == null ? NO_PARENT : parentCode(issue.getParentId());
+        statuses[index] = issue.getStatus() == null ? -1 : (byte) issue.getStatus().ordinal();
+        createdNanos = writeTime(issue.getCreatedAt(), createdSeconds, createdNanos, index);
+        updatedNanos = writeTime(issue.getUpdatedAt(), updatedSeconds, updatedNanos, index);
+        if (rowNumber != -1 && rowNumbers == null) {
+            rowNumbers = new int[ids.length];
+            Arrays.fill(rowNumbers, 0, size, -1);
+        }
+        if (rowNumbers != null) rowNumbers[index] = rowNumber;
+    }
+
+    /**
+     * Stores a timestamp and returns the nanosecond column, allocating it on the first fraction.
+     */
+    private int[] writeTime(LocalDateTime time, long[] seconds, int[] nanos, int index) {
+        if (time == null) {
+            seconds[index] = NONE;
+        } else {
+            seconds[index] = time.toEpochSecond(ZoneOffset.UTC);
+            if (time.getNano() != 0 && nanos == null) nanos = new int[seconds.length];
+        }
+        if (nanos != null) nanos[index] = time == null ? 0 : time.getNano();
+        return nanos;
+    }
+
+    private static LocalDateTime time(long[] seconds, int[] nanos, int index) {
+        long s = seconds[index];
+        if (s == NONE) return null;
+        return LocalDateTime.ofEpochSecond(s, nanos == null ? 0 : nanos[index], ZoneOffset.UTC);
+    }
+
+    private int parentCode(String parentId) {
+        Integer code = parentCodes.get(parentId);
+        if (code != null) return code;
+        if (parentCount == parentPool.length) parentPool = Arrays.copyOf(parentPool, parentCount * 2);
+        parentPool[parentCount] = parentId;
+        parentCodes.put(parentId, parentCount);
+        return parentCount++;
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        parents = Arrays.copyOf(parents, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        createdSeconds = Arrays.copyOf(createdSeconds, capacity);
+        updatedSeconds = Arrays.copyOf(updatedSeconds, capacity);
+        if (createdNanos != null) createdNanos = Arrays.copyOf(createdNanos, capacity);
+        if (updatedNanos != null) updatedNanos = Arrays.copyOf(updatedNanos, capacity);
+        if (rowNumbers != null) rowNumbers = Arrays.copyOf(rowNumbers, capacity);
+    }
+
+    /**
+     * Builds the id lookup table: open addressing over a power-of-two table at most half full,
+     * each slot holding a position plus one, {@code 0} marking an empty slot.
+     */
+    private void buildSlots() {
+        int capacity = Integer.highestOneBit(Math.max(size, 8) * 4 - 1);
+        slots = new int[capacity];
+        for (int i = 0; i < size; i++) insertSlot(i);
+    }
+
+    private void insertSlot(int index) {
+        String id = ids[index];
+        if (id == null) return;
+        int mask = slots.length - 1;
+        for (int slot = spread(id.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot];
+            if (entry == 0) {
+                slots[slot] = index + 1;
+                return;
+            }
+            if (id.equals(ids[entry - 1])) return;
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+    }
+}
@@ -0,0 +1,241 @@
+package org.example.sitracker.repository;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.services.sheets.v4.Sheets;
+import com.google.api.services.sheets.v4.model.AddSheetRequest;
+import com.google.api.services.sheets.v4.model.AppendValuesResponse;
+import com.google.api.services.sheets.v4.model.BatchUpdateSpreadsheetRequest;
+import com.google.api.services.sheets.v4.model.Request;
+import com.google.api.services.sheets.v4.model.SheetProperties;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Allocates sequential issue ids with prefix {@code AD-} without scanning the Issues sheet
+ * for every new issue.
+ *
+ * <p>Ids are handed out from an in-memory block backed by an {@link AtomicLong}; the sheet is
+ * only contacted when the current block is used up. Blocks are reserved through a small
+ * metadata sheet named {@code IdBlocks}:
+ * <pre>
+ * row 1:  base | &lt;highest id number when the sheet was created&gt; | &lt;block size&gt;
+ * row n:  &lt;owner&gt; | &lt;reserved at&gt;          (one row per reserved block)
+ * </pre>
+ * Appends to a sheet are serialized by the Sheets API, so the row an appended reservation lands
+ * in is unique across processes. Row {@code n} owns the ids
+ * {@code base + (n - 2) * blockSize + 1 .. base + (n - 1) * blockSize}, so several CLI processes
+ * can create issues concurrently without ever receiving the same id.
+ *
+ * <p>The metadata sheet is created and seeded from the highest existing {@code AD-n} id on
+ * first use. The block size stored in it wins over the configured one, which is only used to
+ * initialise the sheet. Unused ids of a block are lost when the process exits and leave gaps in
+ * the numbering; a block size of {@code 1} keeps ids dense at the cost of one extra append for
+ * every new issue.
+ *
+ * <p>With a configured block size of {@code 0} no metadata sheet is used: the sequence is seeded
+ * once from the Issues sheet and ids are only unique within this process.
+ */
+public class IssueIdAllocator {
+    /** Prefix of every generated issue id. */
+    public static final String PREFIX = "AD-";
+
+    private final Sheets sheets;
+    private final String spreadsheetId;
+    private final String issuesSheet = "Issues";
+    private final String blocksSheet = "IdBlocks";
+    private final int configuredBlockSize;
+    private volatile Block current;
+    private long base;
+    private int blockSize;
+
+    /**
+     * Creates an allocator for the given spreadsheet.
+     *
+     * @param sheets        authenticated Google Sheets client
+     * @param spreadsheetId id of the spreadsheet where issues are stored
+     * @param blockSize     number of ids per reserved block when the metadata sheet is created;
+     *                      {@code 0} disables cross-process reservation
+     */
+    public IssueIdAllocator(Sheets sheets, String spreadsheetId, int blockSize) {
+        this.sheets = sheets;
+        this.spreadsheetId = spreadsheetId;
+        this.configuredBlockSize = blockSize;
+    }
+
+    /**
+     * Returns the next free issue id, reserving a new block first if needed.
+     *
+     * @return id string (e.g., {@code AD-7})
+     * @throws IOException if a block cannot be reserved
+     */
+    public String nextId() throws IOException {
+        while (true) {
+            Block block = current;
+            if (block != null) {
+                long n = block.next.getAndIncrement();
+                if (n <= block.end) return PREFIX + n;
+            }
+            synchronized (this) {
+                if (current == block) current = reserve(1);
+            }
+        }
+    }
+
+    /**
+     * Returns {@code count} free issue ids at once, reserving all missing blocks with a single
+     * Sheets call.
+     *
+     * @param count number of ids needed
+     * @return ids in ascending order
+     * @throws IOException if a block cannot be reserved
+     */
+    public synchronized List<String> nextIds(int count) throws IOException {
+        List<String> ids = new ArrayList<>(count);
+        Block block = current;
+        while (ids.size() < count) {
+            if (block != null) {
+                long n = block.next.getAndIncrement();
+                if (n <= block.end) {
+                    ids.add(PREFIX + n);
+                    continue;
+                }
+            }
+            block = reserve(count - ids.size());
+            current = block;
+        }
+        return ids;
+    }
+
+    // ------------- helpers --------------
+
+    /**
+     * Reserves enough consecutive ids for at least {@code count} issues.
+     *
+     * @param count minimum number of ids
+     * @return the reserved block
+     * @throws IOException if Sheets API call fails or the reservation cannot be interpreted
+     */
+    private Block reserve(int count) throws IOException {
+        if (configuredBlockSize <= 0) {
+            if (current == null) return new Block(maxIssueNumber() + 1, Long.MAX_VALUE);
+            throw new IllegalStateException("Issue id sequence exhausted");
+        }
+        loadBlocksHeader();
+        int blocks = (count + blockSize - 1) / blockSize;
+        String owner = ManagementFactory.getRuntimeMXBean().getName();
+        List<List<Object>> rows = new ArrayList<>(blocks);
+        for (int i = 0; i < blocks; i++) rows.add(List.of(owner, Instant.now().toString()));
+
+        AppendValuesResponse resp = sheets.spreadsheets().values()
+                .append(spreadsheetId, blocksSheet + "!A:B", new ValueRange().setValues(rows))
+                .setValueInputOption("RAW")
+                .execute();
+        String range = resp == null || resp.getUpdates() == null ? null : resp.getUpdates().getUpdatedRange();
+        int first = SheetRanges.firstRow(range);
+        int last = SheetRanges.lastRow(range);
+        if (first < 2 || last - first + 1 != blocks) {
+            throw new IOException("Unexpected id block reservation range: " + range);
+        }
+        return new Block(base + (long) (first - 2) * blockSize + 1, base + (long) (last - 1) * blockSize);
+    }
+
+    /**
+     * Reads base and block size from the metadata sheet once, creating and seeding the sheet if needed.
+     *
+     * <p>The seed row is appended rather than written to row 1, and row 1 is read back afterwards.
+     * When several processes start on an empty sheet at once, the first append becomes the header
+     * that all of them use, whatever block size each was configured with; the others each take a
+     * row that is then simply left unused as a reservation.
+     *
+     * @throws IOException if Sheets API call fails or the stored header is invalid
+     */
+    private void loadBlocksHeader() throws IOException {
+        if (blockSize > 0) return;
+        List<Object> header = readBlocksHeader();
+        if (header == null) {
+            ValueRange body = new ValueRange().setValues(List.of(List.of("base", maxIssueNumber(), configuredBlockSize)));
+            sheets.spreadsheets().values()
+                    .append(spreadsheetId, blocksSheet + "!A:C", body)
+                    .setValueInputOption("RAW")
+                    .execute();
+            header = readBlocksHeader();
+            if (header == null) throw new IOException("Missing header in " + blocksSheet + " after seeding it");
+        }
+        base = Long.parseLong(header.get(1).toString().trim());
+        blockSize = Integer.parseInt(header.get(2).toString().trim());
+        if (blockSize <= 0) throw new IOException("Invalid block size in " + blocksSheet + ": " + blockSize);
+    }
+
+    /**
+     * @return row 1 of the metadata sheet, or {@code null} if it is not filled in yet
+     * @throws IOException if Sheets API call fails
+     */
+    private List<Object> readBlocksHeader() throws IOException {
+        List<List<Object>> rows;
+        try {
+            rows = sheets.spreadsheets().values().get(spreadsheetId, blocksSheet + "!A1:C1").execute().getValues();
+        } catch (GoogleJsonResponseException e) {
+            if (e.getStatusCode() != 400) throw e;
+            // the range cannot be parsed because the sheet does not exist yet
+            createBlocksSheet();
+            return null;
+        }
+        return rows == null || rows.isEmpty() || rows.get(0).size() < 3 ? null : rows.get(0);
+    }
+
+    private void createBlocksSheet() throws IOException {
+        Request addSheet = new Request().setAddSheet(new AddSheetRequest()
+                .setProperties(new SheetProperties().setTitle(blocksSheet)));
+        try {
+            sheets.spreadsheets()
+                    .batchUpdate(spreadsheetId, new BatchUpdateSpreadsheetRequest().setRequests(List.of(addSheet)))
+                    .execute();
+        } catch (GoogleJsonResponseException e) {
+            // another process added the sheet since it was looked up; if it is still missing,
+            // seeding it fails with the same status
+            if (e.getStatusCode() != 400) throw e;
+        }
+    }
+
+    /**
+     * Scans column A of the Issues sheet for the maximum numeric id suffix.
+     *
+     * @return highest id number, or {@code 0} if there are no issues
+     * @throws IOException if Sheets API call fails
+     */
+    private long maxIssueNumber() throws IOException {
+        List<List<Object>> rows = sheets.spreadsheets().values().get(spreadsheetId, issuesSheet + "!A:A").execute().getValues();
+        long max = 0;
+        if (rows != null) {
+            for (int i = 1; i < rows.size(); i++) {
+                List<Object> row = rows.get(i);
+                if (!row.isEmpty()) {
+                    String id = row.get(0).toString();
+                    int dash = id.lastIndexOf('-');
+                    if (dash >= 0) {
+                        try { max = Math.max(max, Long.parseLong(id.substring(dash + 1))); } catch (NumberFormatException ignore) {}
+                    }
+                }
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Consecutive range of reserved id numbers; {@code next} may run past {@code end} once exhausted.
+     */
+    private static final class Block {
+        final AtomicLong next;
+        final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.sitracker.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.Status;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Converts {@link Issue}s to and from single-line JSON records.
+ *
+ * <p>Field names match the JSONL import format ({@code id}, {@code description}, {@code parentId},
+ * {@code status}, {@code createdAt}, {@code updatedAt}); {@code null} fields are omitted and
+ * timestamps use ISO-8601 local date-time.
+ */
+final class IssueJsonCodec {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final DateTimeFormatter DTF = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private IssueJsonCodec() {
+    }
+
+    /**
+     * Serializes an issue.
+     *
+     * @param issue issue to write
+     * @return JSON object without line breaks
+     */
+    static String toJson(Issue issue) {
+        ObjectNode node = MAPPER.createObjectNode();
+        putIfNotNull(node, "id", issue.getId());
+        putIfNotNull(node, "description", issue.getDescription());
+        putIfNotNull(node, "parentId", issue.getParentId());
+        if (issue.getStatus() != null) node.put("status", issue.getStatus().name());
+        if (issue.getCreatedAt() != null) node.put("createdAt", DTF.format(issue.getCreatedAt()));
+        if (issue.getUpdatedAt() != null) node.put("updatedAt", DTF.format(issue.getUpdatedAt()));
+        return node.toString();
+    }
+
+    /**
+     * Parses an issue written by {@link #toJson(Issue)}.
+     *
+     * @param json JSON object
+     * @return parsed issue
+     * @throws IOException if the record is not a valid issue
+     */
+    static Issue fromJson(String json) throws IOException {
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IOException("Invalid issue record: " + e.getOriginalMessage(), e);
+        }
+        if (node == null || !node.isObject()) throw new IOException("Invalid issue record: " + json);
+        try {
+            String status = text(node, "status");
+            String created = text(node, "createdAt");
+            String updated = text(node, "updatedAt");
+            return new Issue(text(node, "id"), text(node, "description"), text(node, "parentId"),
+                    status == null ? null : Status.valueOf(status),
+                    created == null ? null : LocalDateTime.parse(created, DTF),
+                    updated == null ? null : LocalDateTime.parse(updated, DTF));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IOException("Invalid issue record: " + e.getMessage(), e);
+        }
+    }
+
+    private static void putIfNotNull(ObjectNode node, String field, String value) {
+        if (value != null) node.put(field, value);
+    }
+
+    private static String text(JsonNode node, String field) {
+        return node.hasNonNull(field) ? node.get(field).asText() : null;
+    }
+}
@@ -1,9 +1,16 @@
 package org.example.sitracker.repository;
 
 import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.IssueHierarchy;
+import org.example.sitracker.domain.IssueQuery;
 import org.example.sitracker.domain.Status;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository abstraction for persisting and querying {@link Issue} entities.
@@ -21,6 +28,22 @@ public interface IssueRepository {
      */
     Issue save(Issue issue) throws IOException;
 
+    /**
+     * Saves several new issues. Implementations should write them in as few storage calls
+     * as possible; the default implementation saves them one by one.
+     *
+     * @param issues issues to save, in the order they should be stored
+     * @return saved issues with ids and timestamps populated, in the same order
+     * @throws IOException if persistence fails
+     */
+    default List<Issue> saveAll(Collection<Issue> issues) throws IOException {
+        List<Issue> saved = new ArrayList<>(issues.size());
+        for (Issue issue : issues) {
+            saved.add(save(issue));
+        }
+        return saved;
+    }
+
     /**
      * Updates the status of an existing issue.
      *
@@ -31,6 +54,22 @@ public interface IssueRepository {
      */
     Issue updateStatus(String id, Status newStatus) throws IOException;
 
+    /**
+     * Updates the status of several issues. Implementations should write them in as few storage
+     * calls as possible; the default implementation updates them one by one.
+     *
+     * @param changes new status per issue id
+     * @return updated issues in the iteration order of {@code changes}
+     * @throws IOException if persistence fails
+     */
+    default List<Issue> updateStatusBulk(Map<String, Status> changes) throws IOException {
+        List<Issue> updated = new ArrayList<>(changes.size());
+        for (Map.Entry<String, Status> change : changes.entrySet()) {
+            updated.add(updateStatus(change.getKey(), change.getValue()));
+        }
+        return updated;
+    }
+
     /**
      * Finds all issues with the given status.
      *
@@ -47,4 +86,60 @@ public interface IssueRepository {
      * @throws IOException if persistence fails
      */
     List<Issue> findAll() throws IOException;
+
+    /**
+     * Streams all issues with the given status. Implementations may fetch and parse issues lazily
+     * while the stream is consumed; the default implementation streams {@link #findByStatus(Status)}.
+     * Storage failures during consumption surface as {@link java.io.UncheckedIOException}.
+     *
+     * @param status status to match
+     * @return stream of issues in storage order
+     * @throws IOException if the first storage call fails
+     */
+    default Stream<Issue> streamByStatus(Status status) throws IOException {
+        return findByStatus(status).stream();
+    }
+
+    /**
+     * Streams all issues from storage. Implementations may fetch and parse issues lazily while
+     * the stream is consumed; the default implementation streams {@link #findAll()}.
+     * Storage failures during consumption surface as {@link java.io.UncheckedIOException}.
+     *
+     * @return stream of all issues in storage order
+     * @throws IOException if the first storage call fails
+     */
+    default Stream<Issue> streamAll() throws IOException {
+        return findAll().stream();
+    }
+
+    /**
+     * Streams the issues matching the filters of {@code query}, in storage order; its ordering and
+     * limit are left to the caller. The default implementation reads only the rows with the queried
+     * status when the query allows a single status (see {@link IssueQuery#singleStatus()}), otherwise
+     * all rows, and applies the compiled {@link IssueQuery#predicate()} in the same pass.
+     * Storage failures during consumption surface as {@link java.io.UncheckedIOException}.
+     *
+     * @param query filters to apply
+     * @return stream of matching issues in storage order
+     * @throws IOException if the first storage call fails
+     */
+    default Stream<Issue> streamMatching(IssueQuery query) throws IOException {
+        Optional<Status> status = query.singleStatus();
+        Stream<Issue> candidates = status.isPresent() ? streamByStatus(status.get()) : streamAll();
+        return candidates.filter(query.predicate());
+    }
+
+    /**
+     * Returns the parent/child index over all issues. Implementations that keep issues in memory
+     * should build it once per load and reuse it until the data changes; the default implementation
+     * builds it from one pass over {@link #streamAll()}.
+     *
+     * @return index of all issues in storage
+     * @throws IOException if persistence fails
+     */
+    default IssueHierarchy hierarchy() throws IOException {
+        try (Stream<Issue> all = streamAll()) {
+            return IssueHierarchy.of(all);
+        }
+    }
 }
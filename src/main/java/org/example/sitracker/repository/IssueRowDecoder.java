@@ -0,0 +1,160 @@
+package org.example.sitracker.repository;
+
+import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.Status;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes raw rows of the Issues sheet ({@code ID | Description | Parent ID | Status | Created at |
+ * Updated at}) into {@link Issue}s, with as little garbage per row as possible:
+ * <ul>
+ *     <li>cells are used as the strings the Sheets client parsed, not copied;</li>
+ *     <li>the status is matched against the precomputed {@link Status} names in place, ignoring
+ *     surrounding whitespace, instead of trimming and calling {@code Status.valueOf} inside a
+ *     try/catch;</li>
+ *     <li>timestamps in the form the repository writes, {@code yyyy-MM-ddTHH:mm[:ss[.fffffffff]]},
+ *     are parsed digit by digit; anything else falls back to
+ *     {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}, so both accept the same values;</li>
+ *     <li>parent ids repeat across all children of an issue, so each distinct parent id is kept
+ *     once and every child refers to the same string.</li>
+ * </ul>
+ *
+ * <p>A decoder holds its parent id pool and is not thread-safe. Use one per read, so the pool is
+ * discarded together with the rows it was built from.
+ */
+final class IssueRowDecoder {
+    private static final Status[] STATUSES = Status.values();
+    private static final String[] STATUS_NAMES = new String[STATUSES.length];
+
+    static {
+        for (int i = 0; i < STATUSES.length; i++) STATUS_NAMES[i] = STATUSES[i].name();
+    }
+
+    private final Map<String, String> parentIds = new HashMap<>();
+
+    /**
+     * Converts a raw row of sheet values into an {@link Issue}. Missing cells read as empty,
+     * a blank parent as none, a blank or unknown status as {@link Status#OPEN} and a blank or
+     * malformed timestamp as {@code null}.
+     *
+     * @param row list of cell values (0–6 columns)
+     * @return parsed issue
+     */
+    Issue decode(List<Object> row) {
+        int size = row == null ? 0 : row.size();
+        String parent = cell(row, size, 2);
+        return new Issue(
+                cell(row, size, 0),
+                cell(row, size, 1),
+                parent.isBlank() ? null : parentIds.computeIfAbsent(parent, p -> p),
+                status(cell(row, size, 3)),
+                timestamp(cell(row, size, 4)),
+                timestamp(cell(row, size, 5)));
+    }
+
+    /**
+     * Parses a status cell; blank or unknown values are read as {@link Status#OPEN}.
+     *
+     * @param s cell text, may be {@code null}
+     * @return parsed status
+     */
+    static Status status(String s) {
+        if (s == null) return Status.OPEN;
+        int start = 0;
+        int end = s.length();
+        while (start < end && s.charAt(start) <= ' ') start++;
+        while (end > start && s.charAt(end - 1) <= ' ') end--;
+        int length = end - start;
+        for (int i = 0; i < STATUS_NAMES.length; i++) {
+            String name = STATUS_NAMES[i];
+            if (name.length() == length && s.regionMatches(start, name, 0, length)) return STATUSES[i];
+        }
+        return Status.OPEN;
+    }
+
+    /**
+     * Parses an ISO-8601 local date-time such as {@code 2024-01-31T09:15:00}.
+     *
+     * @param s cell text, may be {@code null} or blank
+     * @return parsed timestamp, or {@code null} if blank or malformed
+     */
+    static LocalDateTime timestamp(String s) {
+        if (s == null || s.isBlank()) return null;
+        int length = s.length();
+        if (length >= 16 && s.charAt(4) == '-' && s.charAt(7) == '-' && s.charAt(10) == 'T' && s.charAt(13) == ':') {
+            int year = digits(s, 0, 4);
+            int month = digits(s, 5, 2);
+            int day = digits(s, 8, 2);
+            int hour = digits(s, 11, 2);
+            int minute = digits(s, 14, 2);
+            int second = 0;
+            int nanos = 0;
+            boolean valid = year >= 0 && month >= 0 && day >= 0 && hour >= 0 && minute >= 0;
+            if (valid && length > 16) {
+                second = length >= 19 && s.charAt(16) == ':' ? digits(s, 17, 2) : -1;
+                nanos = length == 19 ? 0 : length >= 21 && length <= 29 && s.charAt(19) == '.' ? fraction(s, 20, length) : -1;
+                valid = second >= 0 && nanos >= 0;
+            }
+            if (valid) {
+                if (month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                        || hour > 23 || minute > 59 || second > 59) {
+                    return null;
+                }
+                return LocalDateTime.of(year, month, day, hour, minute, second, nanos);
+            }
+        }
+        try {
+            return LocalDateTime.parse(s, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // ------------- helpers --------------
+
+    private static String cell(List<Object> row, int size, int idx) {
+        if (idx >= size) return "";
+        Object v = row.get(idx);
+        if (v instanceof String s) return s;
+        return v == null ? "" : v.toString();
+    }
+
+    /**
+     * @return the decimal value of {@code count} ASCII digits at {@code from}, or {@code -1} if
+     *         any of them is not a digit
+     */
+    private static int digits(String s, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) return -1;
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    /**
+     * @return the fraction of a second between {@code from} and {@code to} in nanoseconds, or
+     *         {@code -1} if it holds anything but digits
+     */
+    private static int fraction(String s, int from, int to) {
+        int nanos = digits(s, from, to - from);
+        if (nanos < 0) return -1;
+        for (int i = to - from; i < 9; i++) nanos *= 10;
+        return nanos;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> Year.isLeap(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+}
@@ -0,0 +1,350 @@
+package org.example.sitracker.repository;
+
+import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.Status;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link IssueRepository} backed by files in a local directory, for offline use and for
+ * automation that needs disk speed rather than Sheets round trips.
+ *
+ * <p>Layout of the store directory:
+ * <pre>
+ * issues.log   append-only log, one JSON issue record per line; the last record of an id wins
+ * issues.idx   checkpoint of the in-memory index: id, status and location of the latest record
+ * store.lock   held exclusively while the store is open
+ * </pre>
+ * Every save or status change appends a full record to the log. The index (id to latest record
+ * location and status, in creation order) is kept in memory; it is written to {@code issues.idx}
+ * on {@link #close()} and on open only the part of the log written after the checkpoint is
+ * replayed. A missing or unusable index file simply causes a full replay, and a partially written
+ * last record (e.g. after a crash) is cut off. Records are read from the log on demand, so memory
+ * use grows with the number of issues, not with their size.
+ *
+ * <p>New ids continue the {@code AD-n} sequence after the highest id in the store. Saving an issue
+ * with an id that already exists replaces it, like a status update does.
+ *
+ * <p>Concurrency: public operations are synchronized, and the store can only be opened by one
+ * process at a time. Writes reach the operating system before a method returns but are not forced
+ * to disk.
+ */
+public class LocalIssueRepository implements IssueRepository, Closeable {
+    static final String LOG_FILE = "issues.log";
+    static final String INDEX_FILE = "issues.idx";
+    static final String LOCK_FILE = "store.lock";
+    private static final String INDEX_MAGIC = "sitracker-index 1";
+
+    private final Path dir;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final FileChannel log;
+    private final Map<String, Entry> index = new LinkedHashMap<>();
+    private long logSize;
+    private long maxNumber;
+    private boolean indexDirty;
+
+    /**
+     * Opens (or creates) the store in the given directory.
+     *
+     * @param dir store directory; created if missing
+     * @throws IOException if the store cannot be opened or is in use by another process
+     */
+    public LocalIssueRepository(Path dir) throws IOException {
+        this.dir = dir;
+        Files.createDirectories(dir);
+        lockChannel = FileChannel.open(dir.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock acquired = null;
+        try {
+            try {
+                acquired = lockChannel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                // already open in this JVM
+            }
+            if (acquired == null) throw new IOException("Local store " + dir + " is in use by another process");
+            log = FileChannel.open(dir.resolve(LOG_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            lock = acquired;
+            load();
+        } catch (IOException | RuntimeException e) {
+            if (acquired != null) acquired.release();
+            lockChannel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized Issue save(Issue issue) throws IOException {
+        return saveAll(List.of(issue)).get(0);
+    }
+
+    /**
+     * Saves all issues with a single write to the log.
+     */
+    @Override
+    public synchronized List<Issue> saveAll(Collection<Issue> issues) throws IOException {
+        LocalDateTime now = LocalDateTime.now();
+        List<Issue> saved = new ArrayList<>(issues.size());
+        for (Issue issue : issues) {
+            if (issue.getId() == null || issue.getId().isBlank()) issue = issue.withId(IssueIdAllocator.PREFIX + (++maxNumber));
+            if (issue.getCreatedAt() == null) issue = issue.withCreatedAt(now);
+            if (issue.getStatus() == null) issue = issue.withStatus(Status.OPEN, issue.getUpdatedAt());
+            saved.add(issue);
+        }
+        append(saved);
+        return saved;
+    }
+
+    @Override
+    public synchronized Issue updateStatus(String id, Status newStatus) throws IOException {
+        Entry entry = index.get(id);
+        if (entry == null) throw new NoSuchElementException("Issue not found: " + id);
+        Issue issue = readRecord(entry).withStatus(newStatus, LocalDateTime.now());
+        append(List.of(issue));
+        return issue;
+    }
+
+    /**
+     * Updates all issues with a single write to the log; nothing is written if an id is unknown.
+     */
+    @Override
+    public synchronized List<Issue> updateStatusBulk(Map<String, Status> changes) throws IOException {
+        List<String> missing = changes.keySet().stream().filter(id -> !index.containsKey(id)).toList();
+        if (!missing.isEmpty()) throw new NoSuchElementException("Issues not found: " + String.join(", ", missing));
+        LocalDateTime now = LocalDateTime.now();
+        List<Issue> updated = new ArrayList<>(changes.size());
+        for (Map.Entry<String, Status> change : changes.entrySet()) {
+            updated.add(readRecord(index.get(change.getKey())).withStatus(change.getValue(), now));
+        }
+        append(updated);
+        return updated;
+    }
+
+    @Override
+    public List<Issue> findByStatus(Status status) throws IOException {
+        return collect(streamByStatus(status));
+    }
+
+    @Override
+    public List<Issue> findAll() throws IOException {
+        return collect(streamAll());
+    }
+
+    /**
+     * Streams matching issues in creation order; only their records are read from the log.
+     */
+    @Override
+    public synchronized Stream<Issue> streamByStatus(Status status) {
+        List<Entry> entries = index.values().stream().filter(e -> e.status() == status).toList();
+        return entries.stream().map(this::readRecordUnchecked);
+    }
+
+    /**
+     * Streams all issues in creation order, reading each record from the log as it is consumed.
+     */
+    @Override
+    public synchronized Stream<Issue> streamAll() {
+        return new ArrayList<>(index.values()).stream().map(this::readRecordUnchecked);
+    }
+
+    /**
+     * Writes the index checkpoint and releases the store.
+     *
+     * @throws IOException if the checkpoint cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!log.isOpen()) return;
+        try {
+            if (indexDirty) writeIndex();
+        } finally {
+            log.close();
+            lock.release();
+            lockChannel.close();
+        }
+    }
+
+    // ------------- helpers --------------
+
+    /**
+     * Appends records for the given issues with one write and points the index at them.
+     *
+     * @param issues issues to append
+     * @throws IOException if the write fails
+     */
+    private void append(List<Issue> issues) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<Entry> entries = new ArrayList<>(issues.size());
+        for (Issue issue : issues) {
+            byte[] record = IssueJsonCodec.toJson(issue).getBytes(StandardCharsets.UTF_8);
+            entries.add(new Entry(logSize + out.size(), record.length, issue.getStatus()));
+            out.write(record);
+            out.write('\n');
+        }
+        ByteBuffer buf = ByteBuffer.wrap(out.toByteArray());
+        long position = logSize;
+        while (buf.hasRemaining()) {
+            position += log.write(buf, position);
+        }
+        logSize = position;
+        for (int i = 0; i < issues.size(); i++) {
+            index(issues.get(i).getId(), entries.get(i));
+        }
+        indexDirty = true;
+    }
+
+    private void index(String id, Entry entry) {
+        index.put(id, entry);
+        if (id.startsWith(IssueIdAllocator.PREFIX)) {
+            try {
+                maxNumber = Math.max(maxNumber, Long.parseLong(id.substring(IssueIdAllocator.PREFIX.length())));
+            } catch (NumberFormatException ignored) {
+                // not a generated id
+            }
+        }
+    }
+
+    private Issue readRecord(Entry entry) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(entry.length());
+        long position = entry.offset();
+        while (buf.hasRemaining()) {
+            int n = log.read(buf, position);
+            if (n < 0) throw new IOException("Truncated record at offset " + entry.offset() + " in " + dir.resolve(LOG_FILE));
+            position += n;
+        }
+        return IssueJsonCodec.fromJson(new String(buf.array(), StandardCharsets.UTF_8));
+    }
+
+    private Issue readRecordUnchecked(Entry entry) {
+        try {
+            return readRecord(entry);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<Issue> collect(Stream<Issue> issues) throws IOException {
+        try {
+            return issues.collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Restores the index from the checkpoint and replays the rest of the log.
+     *
+     * @throws IOException if the log cannot be read
+     */
+    private void load() throws IOException {
+        long replayFrom = readIndex();
+        long size = log.size();
+        if (replayFrom > size) {
+            index.clear();
+            maxNumber = 0;
+            replayFrom = 0;
+        }
+        long offset = replayFrom;
+        long complete = replayFrom;
+        FileChannel replay = FileChannel.open(dir.resolve(LOG_FILE), StandardOpenOption.READ).position(replayFrom);
+        try (InputStream in = new BufferedInputStream(Channels.newInputStream(replay))) {
+            ByteArrayOutputStream record = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != -1) {
+                offset++;
+                if (b != '\n') {
+                    record.write(b);
+                    continue;
+                }
+                if (record.size() > 0) {
+                    Issue issue = IssueJsonCodec.fromJson(record.toString(StandardCharsets.UTF_8));
+                    index(issue.getId(), new Entry(complete, record.size(), issue.getStatus()));
+                    indexDirty = true;
+                }
+                record.reset();
+                complete = offset;
+            }
+        }
+        if (complete < size) {
+            // a record was only partially written, e.g. the process died mid-append
+            log.truncate(complete);
+        }
+        logSize = complete;
+    }
+
+    /**
+     * Loads the index checkpoint if it is present and well formed.
+     *
+     * @return log length covered by the checkpoint, or {@code 0} if it cannot be used
+     */
+    private long readIndex() {
+        Path file = dir.resolve(INDEX_FILE);
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String[] header = Objects.requireNonNullElse(in.readLine(), "").split(" ");
+            if (header.length != 4 || !INDEX_MAGIC.equals(header[0] + " " + header[1])) return 0;
+            long covered = Long.parseLong(header[2]);
+            long max = Long.parseLong(header[3]);
+            Map<String, Entry> entries = new LinkedHashMap<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] f = line.split("\t");
+                if (f.length != 4) throw new IOException("Malformed index line: " + line);
+                entries.put(f[0], new Entry(Long.parseLong(f[2]), Integer.parseInt(f[3]), Status.valueOf(f[1])));
+            }
+            index.putAll(entries);
+            maxNumber = max;
+            return covered;
+        } catch (IOException | RuntimeException e) {
+            // missing or damaged checkpoint: replay the whole log
+            index.clear();
+            maxNumber = 0;
+            return 0;
+        }
+    }
+
+    /**
+     * Writes the index checkpoint atomically.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    private void writeIndex() throws IOException {
+        Path file = dir.resolve(INDEX_FILE);
+        Path tmp = dir.resolve(INDEX_FILE + ".tmp");
+        try (var out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            out.write(INDEX_MAGIC + " " + logSize + " " + maxNumber);
+            out.newLine();
+            for (Map.Entry<String, Entry> e : index.entrySet()) {
+                Entry entry = e.getValue();
+                out.write(e.getKey() + "\t" + entry.status().name() + "\t" + entry.offset() + "\t" + entry.length());
+                out.newLine();
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        indexDirty = false;
+    }
+
+    /**
+     * Location and status of the latest record of an issue.
+     */
+    private record Entry(long offset, int length, Status status) {
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.sitracker.repository;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Helpers for reading row numbers out of A1 ranges reported by the Sheets API,
+ * such as {@code Issues!A7:F9}.
+ */
+final class SheetRanges {
+    private static final Pattern ROWS = Pattern.compile("![A-Z]+(\\d+)(?::[A-Z]+(\\d+))?");
+
+    private SheetRanges() {
+    }
+
+    /**
+     * Returns the first row of an A1 range.
+     *
+     * @param a1Range range reported by the Sheets API, may be {@code null}
+     * @return 1-based row number, or {@code -1} if it cannot be determined
+     */
+    static int firstRow(String a1Range) {
+        Matcher m = match(a1Range);
+        return m == null ? -1 : Integer.parseInt(m.group(1));
+    }
+
+    /**
+     * Returns the last row of an A1 range; for a single cell this equals {@link #firstRow(String)}.
+     *
+     * @param a1Range range reported by the Sheets API, may be {@code null}
+     * @return 1-based row number, or {@code -1} if it cannot be determined
+     */
+    static int lastRow(String a1Range) {
+        Matcher m = match(a1Range);
+        if (m == null) return -1;
+        return Integer.parseInt(m.group(2) != null ? m.group(2) : m.group(1));
+    }
+
+    private static Matcher match(String a1Range) {
+        if (a1Range == null) return null;
+        Matcher m = ROWS.matcher(a1Range);
+        return m.find() ? m : null;
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.sitracker.repository;
+
+import org.example.sitracker.domain.Issue;
+
+/**
+ * An {@link Issue} together with the 1-based sheet row it is stored in.
+ *
+ * <p>Row numbers include the header row, so the first issue lives in row {@code 2}.
+ * A row number of {@code -1} means the position is unknown.
+ *
+ * @param rowNumber 1-based sheet row number, or {@code -1} if unknown
+ * @param issue     issue stored in that row
+ */
+public record SheetRow(int rowNumber, Issue issue) {
+}
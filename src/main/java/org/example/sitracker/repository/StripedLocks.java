@@ -0,0 +1,92 @@
+package org.example.sitracker.repository;
+
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed number of {@link ReentrantLock}s, one of which is chosen for every key by its hash.
+ *
+ * <p>Operations on different keys rarely share a lock, so they can run in parallel, while memory
+ * use does not grow with the number of keys. Several keys are locked in ascending stripe order, so
+ * callers locking overlapping sets of keys cannot deadlock.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * try (StripedLocks.Held held = locks.lock(id)) {
+ *     // read-modify-write of the issue with this id
+ * }
+ * }</pre>
+ */
+final class StripedLocks {
+    private final ReentrantLock[] stripes;
+
+    /**
+     * Creates the locks.
+     *
+     * @param count number of stripes; must be positive
+     */
+    StripedLocks(int count) {
+        if (count <= 0) throw new IllegalArgumentException("count must be positive");
+        stripes = new ReentrantLock[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Acquires the lock of one key.
+     *
+     * @param key key to lock
+     * @return handle that releases the lock when closed
+     */
+    Held lock(String key) {
+        ReentrantLock stripe = stripes[stripeOf(key)];
+        stripe.lock();
+        return stripe::unlock;
+    }
+
+    /**
+     * Acquires the locks of all keys, in stripe order.
+     *
+     * @param keys keys to lock
+     * @return handle that releases all locks when closed
+     */
+    Held lockAll(Collection<String> keys) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (String key : keys) {
+            indexes.add(stripeOf(key));
+        }
+        int[] held = new int[indexes.size()];
+        int n = 0;
+        try {
+            for (int index : indexes) {
+                stripes[index].lock();
+                held[n++] = index;
+            }
+        } catch (RuntimeException | Error e) {
+            unlock(held, n);
+            throw e;
+        }
+        int count = n;
+        return () -> unlock(held, count);
+    }
+
+    private void unlock(int[] held, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            stripes[held[i]].unlock();
+        }
+    }
+
+    private int stripeOf(String key) {
+        return Math.floorMod(key.hashCode(), stripes.length);
+    }
+
+    /**
+     * Locks held by the caller; closing releases them.
+     */
+    interface Held extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
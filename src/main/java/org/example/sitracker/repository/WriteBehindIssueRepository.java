@@ -0,0 +1,556 @@
+package org.example.sitracker.repository;
+
+import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.IssueHierarchy;
+import org.example.sitracker.domain.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Write-behind decorator that acknowledges writes as soon as they are recorded in a local journal
+ * and sends them to the delegate repository in the background.
+ *
+ * <p>Every save and status change is appended to {@code writebehind.journal} in the configured
+ * directory and forced to disk before the call returns, so callers no longer wait for Sheets round
+ * trips. New issues get their id from the {@link IssueIdAllocator} up front, which only contacts the
+ * sheet when it needs a new id block. Journal lines:
+ * <pre>
+ * S {issue}                   create the issue (JSON record as in the local store)
+ * U {id, status, updatedAt}   change the status of an issue
+ * C n                         the first n queued operations have been written to the delegate
+ * </pre>
+ *
+ * <p>A flusher thread runs every {@code flushInterval} and coalesces everything queued since its last
+ * run: status changes of issues that are still queued are folded into their creation, new issues are
+ * sent with {@link IssueRepository#saveAll} in chunks of {@code batchSize}, and the remaining status
+ * changes with one {@link IssueRepository#updateStatusBulk} call, where the last change per issue wins.
+ * A failed flush is retried with exponential backoff, at most a minute apart, and its operations stay
+ * queued until they succeed. Status changes of unknown issues can never succeed; they are moved to
+ * {@code writebehind.failed} instead; that only happens to issues removed from storage after the change
+ * was acknowledged, since status changes of ids that are neither queued nor stored are rejected up front.
+ *
+ * <p>Reads flush the queue first, so they see every acknowledged write. Operations left in the journal
+ * by a previous process are queued again on start-up; new issues that already reached the delegate
+ * are recognized by id and not sent twice. The journal is truncated whenever the queue is empty.
+ * {@link #close()} makes a last flush attempt; whatever cannot be sent stays in the journal.
+ *
+ * <p>Status changes return the issue with its new status. While its creation is still queued, that is
+ * exactly the issue that will be written. Otherwise it is the issue as read from the delegate for the id
+ * check, with no update time: the delegate sets that when the change is written.
+ *
+ * <p>Concurrency: public write operations are synchronized. A flush holds the lock only while it takes
+ * and completes its batch, not while the delegate writes, so writes are acknowledged during a flush.
+ * The journal can only be used by one process at a time.
+ */
+public class WriteBehindIssueRepository implements IssueRepository, Closeable {
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindIssueRepository.class);
+    static final String JOURNAL_FILE = "writebehind.journal";
+    static final String FAILED_FILE = "writebehind.failed";
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(1);
+
+    private final IssueRepository delegate;
+    private final IssueIdAllocator idAllocator;
+    private final Path dir;
+    private final Duration flushInterval;
+    private final int batchSize;
+    private final Clock clock;
+    private final FileChannel journal;
+    private final FileLock lock;
+    private final ScheduledExecutorService flusher;
+    private final Object flushLock = new Object();
+    private final List<Op> queue = new ArrayList<>();
+    private final Map<String, Issue> queuedCreates = new HashMap<>();
+    private final Set<String> sent = new HashSet<>();
+    private long journalSize;
+    private boolean recovered;
+    private int failedAttempts;
+    private String lastError;
+    private Instant nextAttemptAt;
+    private int failed;
+
+    /**
+     * Opens (or creates) the journal in the given directory, queues the operations left in it and
+     * starts the flusher.
+     *
+     * @param delegate      repository the operations are written to
+     * @param idAllocator   source of ids for new issues
+     * @param dir           directory of the journal; created if missing
+     * @param flushInterval delay between background flushes; {@link Duration#ZERO} disables the flusher,
+     *                      so operations are only written by {@link #flush()}, reads and {@link #close()}
+     * @param batchSize     maximum number of new issues per {@code saveAll} call; must be positive
+     * @throws IOException if the journal cannot be read or is in use by another process
+     */
+    public WriteBehindIssueRepository(IssueRepository delegate, IssueIdAllocator idAllocator, Path dir,
+                                      Duration flushInterval, int batchSize) throws IOException {
+        this(delegate, idAllocator, dir, flushInterval, batchSize, Clock.systemUTC());
+    }
+
+    WriteBehindIssueRepository(IssueRepository delegate, IssueIdAllocator idAllocator, Path dir,
+                               Duration flushInterval, int batchSize, Clock clock) throws IOException {
+        if (batchSize <= 0) throw new IllegalArgumentException("batchSize must be positive");
+        this.delegate = delegate;
+        this.idAllocator = idAllocator;
+        this.dir = dir;
+        this.flushInterval = flushInterval;
+        this.batchSize = batchSize;
+        this.clock = clock;
+        Files.createDirectories(dir);
+        journal = FileChannel.open(dir.resolve(JOURNAL_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileLock acquired = null;
+        try {
+            try {
+                acquired = journal.tryLock();
+            } catch (OverlappingFileLockException e) {
+                // already open in this JVM
+            }
+            if (acquired == null) throw new IOException("Write-behind journal in " + dir + " is in use by another process");
+            lock = acquired;
+            recover();
+            failed = countLines(dir.resolve(FAILED_FILE));
+        } catch (IOException | RuntimeException e) {
+            journal.close();
+            throw e;
+        }
+        if (flushInterval.isZero()) {
+            flusher = null;
+        } else {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "sitracker-write-behind");
+                t.setDaemon(true);
+                return t;
+            });
+            long millis = flushInterval.toMillis();
+            flusher.scheduleWithFixedDelay(this::flushInBackground, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public synchronized Issue save(Issue issue) throws IOException {
+        return saveAll(List.of(issue)).get(0);
+    }
+
+    /**
+     * Allocates missing ids, journals all issues with a single forced write and returns them;
+     * they are written to the delegate by a later flush.
+     */
+    @Override
+    public synchronized List<Issue> saveAll(Collection<Issue> issues) throws IOException {
+        if (issues.isEmpty()) return Collections.emptyList();
+        long missingIds = issues.stream().filter(i -> i.getId() == null || i.getId().isBlank()).count();
+        Iterator<String> ids = idAllocator.nextIds((int) missingIds).iterator();
+        LocalDateTime now = LocalDateTime.now();
+        Instant queuedAt = clock.instant();
+        List<Issue> saved = new ArrayList<>(issues.size());
+        List<Op> ops = new ArrayList<>(issues.size());
+        for (Issue issue : issues) {
+            if (issue.getId() == null || issue.getId().isBlank()) issue = issue.withId(ids.next());
+            if (issue.getCreatedAt() == null) issue = issue.withCreatedAt(now);
+            if (issue.getStatus() == null) issue = issue.withStatus(Status.OPEN, issue.getUpdatedAt());
+            saved.add(issue);
+            ops.add(new Op(Op.CREATE, issue, queuedAt));
+        }
+        enqueue(ops);
+        return saved;
+    }
+
+    @Override
+    public synchronized Issue updateStatus(String id, Status newStatus) throws IOException {
+        return updateStatusBulk(Map.of(id, newStatus)).get(0);
+    }
+
+    /**
+     * Checks that every issue exists, then journals all status changes with a single forced write;
+     * they are written to the delegate by a later flush. Issues whose creation is not queued are
+     * looked up with one {@code streamAll()} read of the delegate, which a caching delegate serves
+     * from memory.
+     *
+     * @throws NoSuchElementException if an issue is neither queued nor stored; nothing is journaled then
+     */
+    @Override
+    public synchronized List<Issue> updateStatusBulk(Map<String, Status> changes) throws IOException {
+        Map<String, Issue> stored = storedIssues(changes.keySet());
+        LocalDateTime now = LocalDateTime.now();
+        Instant queuedAt = clock.instant();
+        List<Op> ops = new ArrayList<>(changes.size());
+        List<Issue> updated = new ArrayList<>(changes.size());
+        for (Map.Entry<String, Status> change : changes.entrySet()) {
+            String id = change.getKey();
+            Issue queued = queuedCreates.get(id);
+            ops.add(new Op(Op.UPDATE, new Issue(id, null, null, change.getValue(), null, now), queuedAt));
+            updated.add(queued != null ? queued.withStatus(change.getValue(), now) : stored.get(id).withStatus(change.getValue(), null));
+        }
+        enqueue(ops);
+        return updated;
+    }
+
+    @Override
+    public List<Issue> findByStatus(Status status) throws IOException {
+        flush();
+        return delegate.findByStatus(status);
+    }
+
+    @Override
+    public List<Issue> findAll() throws IOException {
+        flush();
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<Issue> streamByStatus(Status status) throws IOException {
+        flush();
+        return delegate.streamByStatus(status);
+    }
+
+    @Override
+    public Stream<Issue> streamAll() throws IOException {
+        flush();
+        return delegate.streamAll();
+    }
+
+    @Override
+    public IssueHierarchy hierarchy() throws IOException {
+        flush();
+        return delegate.hierarchy();
+    }
+
+    /**
+     * Writes all queued operations to the delegate now, regardless of any retry backoff.
+     *
+     * @return number of journaled operations that were written
+     * @throws IOException if the delegate fails; the operations stay queued and are retried later
+     */
+    public int flush() throws IOException {
+        synchronized (flushLock) {
+            List<Op> batch;
+            boolean checkSent;
+            synchronized (this) {
+                batch = new ArrayList<>(queue);
+                checkSent = recovered;
+            }
+            if (batch.isEmpty()) return 0;
+            try {
+                write(batch, checkSent);
+                synchronized (this) {
+                    complete(batch.size());
+                }
+            } catch (IOException | RuntimeException e) {
+                synchronized (this) {
+                    failedAttempts++;
+                    lastError = e.getMessage();
+                    nextAttemptAt = clock.instant().plus(backoff(failedAttempts));
+                }
+                throw e;
+            }
+            return batch.size();
+        }
+    }
+
+    /**
+     * Returns the current state of the queue.
+     *
+     * @return queue snapshot
+     */
+    public synchronized WriteBehindStatus status() {
+        Instant oldest = queue.isEmpty() ? null : queue.get(0).queuedAt();
+        return new WriteBehindStatus(queue.size(), oldest, failedAttempts, lastError, nextAttemptAt, failed,
+                dir.resolve(FAILED_FILE));
+    }
+
+    /**
+     * Stops the flusher, makes a last attempt to write the queue and releases the journal.
+     * Operations that cannot be written stay in the journal for the next start.
+     *
+     * @throws IOException if the journal cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (flusher != null) flusher.shutdown();
+        try {
+            flush();
+        } catch (IOException | RuntimeException e) {
+            log.warn("{} queued writes stay in {}: {}", status().pending(), dir.resolve(JOURNAL_FILE), e.getMessage());
+        } finally {
+            synchronized (this) {
+                journal.close();
+            }
+        }
+    }
+
+    // ------------- helpers --------------
+
+    /**
+     * Reads the issues among {@code ids} whose creation is not queued from the delegate.
+     *
+     * @param ids ids of the issues to look up
+     * @return stored issues by id
+     * @throws NoSuchElementException if any of them is not stored
+     * @throws IOException            if the delegate cannot be read
+     */
+    private Map<String, Issue> storedIssues(Set<String> ids) throws IOException {
+        Set<String> wanted = new HashSet<>(ids);
+        wanted.removeAll(queuedCreates.keySet());
+        if (wanted.isEmpty()) return Map.of();
+        Map<String, Issue> stored;
+        try (Stream<Issue> all = delegate.streamAll()) {
+            stored = all.filter(i -> wanted.contains(i.getId())).collect(Collectors.toMap(Issue::getId, i -> i, (a, b) -> a));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        List<String> missing = ids.stream().filter(wanted::contains).filter(id -> !stored.containsKey(id)).toList();
+        if (missing.size() == 1) throw new NoSuchElementException("Issue not found: " + missing.get(0));
+        if (!missing.isEmpty()) throw new NoSuchElementException("Issues not found: " + String.join(", ", missing));
+        return stored;
+    }
+
+    /**
+     * Journals the operations with one forced write and queues them.
+     *
+     * @param ops operations to queue
+     * @throws IOException if the journal cannot be written; nothing is queued then
+     */
+    private void enqueue(List<Op> ops) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (Op op : ops) {
+            lines.append(op.type()).append(' ').append(IssueJsonCodec.toJson(op.issue())).append('\n');
+        }
+        appendToJournal(lines.toString());
+        for (Op op : ops) {
+            queue.add(op);
+            remember(op);
+        }
+    }
+
+    /**
+     * Keeps the latest state of issues whose creation is still queued.
+     */
+    private void remember(Op op) {
+        Issue issue = op.issue();
+        if (op.type() == Op.CREATE) {
+            queuedCreates.put(issue.getId(), issue);
+        } else {
+            queuedCreates.computeIfPresent(issue.getId(),
+                    (id, queued) -> queued.withStatus(issue.getStatus(), issue.getUpdatedAt()));
+        }
+    }
+
+    /**
+     * Coalesces a batch of operations and writes it to the delegate.
+     *
+     * @param batch     operations in the order they were queued
+     * @param checkSent whether new issues may already be stored by a previous process
+     * @throws IOException if the delegate fails
+     */
+    private void write(List<Op> batch, boolean checkSent) throws IOException {
+        Map<String, Issue> creates = new LinkedHashMap<>();
+        Set<String> folded = new HashSet<>();
+        Map<String, Status> updates = new LinkedHashMap<>();
+        for (Op op : batch) {
+            Issue issue = op.issue();
+            Issue created = creates.get(issue.getId());
+            if (op.type() == Op.CREATE) {
+                creates.put(issue.getId(), issue);
+            } else if (created != null) {
+                creates.put(issue.getId(), created.withStatus(issue.getStatus(), issue.getUpdatedAt()));
+                folded.add(issue.getId());
+            } else {
+                updates.put(issue.getId(), issue.getStatus());
+            }
+        }
+
+        if (checkSent) {
+            // the previous process may have written these issues without recording it in the journal
+            Set<String> stored = Set.of();
+            if (!creates.isEmpty()) {
+                try (Stream<Issue> all = delegate.streamAll()) {
+                    stored = all.map(Issue::getId).filter(creates::containsKey).collect(Collectors.toSet());
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }
+            synchronized (this) {
+                sent.addAll(stored);
+                recovered = false;
+            }
+        }
+
+        List<Issue> pending = new ArrayList<>(creates.size());
+        synchronized (this) {
+            for (Issue issue : creates.values()) {
+                if (!sent.contains(issue.getId())) {
+                    pending.add(issue);
+                } else if (folded.contains(issue.getId())) {
+                    // created by an earlier attempt, without the status changes folded in since
+                    updates.put(issue.getId(), issue.getStatus());
+                }
+            }
+        }
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<Issue> chunk = pending.subList(from, Math.min(from + batchSize, pending.size()));
+            delegate.saveAll(chunk);
+            synchronized (this) {
+                chunk.forEach(i -> sent.add(i.getId()));
+            }
+        }
+
+        if (updates.isEmpty()) return;
+        try {
+            delegate.updateStatusBulk(updates);
+        } catch (NoSuchElementException e) {
+            // some issues do not exist: update the others one by one and set the unknown ones aside
+            for (Map.Entry<String, Status> update : updates.entrySet()) {
+                try {
+                    delegate.updateStatus(update.getKey(), update.getValue());
+                } catch (NoSuchElementException missing) {
+                    setAside(update.getKey(), update.getValue(), missing.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks the first {@code count} queued operations as written.
+     *
+     * @param count number of written operations
+     * @throws IOException if the journal cannot be updated; the operations stay queued then
+     */
+    private void complete(int count) throws IOException {
+        List<Op> done = queue.subList(0, count);
+        if (count == queue.size()) {
+            journal.truncate(0);
+            journalSize = 0;
+        } else {
+            appendToJournal("C " + count + "\n");
+        }
+        for (Op op : done) {
+            if (op.type() == Op.CREATE) {
+                queuedCreates.remove(op.issue().getId());
+                sent.remove(op.issue().getId());
+            }
+        }
+        done.clear();
+        failedAttempts = 0;
+        lastError = null;
+        nextAttemptAt = null;
+    }
+
+    private void flushInBackground() {
+        synchronized (this) {
+            if (nextAttemptAt != null && clock.instant().isBefore(nextAttemptAt)) return;
+        }
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("Write-behind flush failed, {} operations stay queued: {}", status().pending(), e.getMessage());
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration base = flushInterval.isZero() ? Duration.ofSeconds(1) : flushInterval;
+        Duration delay = base.multipliedBy(1L << Math.min(attempts - 1, 16));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private void setAside(String id, Status status, String reason) throws IOException {
+        String line = "U " + id + " " + status + "\t" + reason + System.lineSeparator();
+        Files.writeString(dir.resolve(FAILED_FILE), line, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        log.warn("Status change of {} to {} set aside in {}: {}", id, status, dir.resolve(FAILED_FILE), reason);
+        synchronized (this) {
+            failed++;
+        }
+    }
+
+    private void appendToJournal(String lines) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(lines.getBytes(StandardCharsets.UTF_8));
+        long position = journalSize;
+        while (buf.hasRemaining()) {
+            position += journal.write(buf, position);
+        }
+        journal.force(false);
+        journalSize = position;
+    }
+
+    /**
+     * Queues the operations of the journal that were not written yet and cuts off a partially
+     * written last line.
+     *
+     * @throws IOException if the journal cannot be read or contains an invalid line
+     */
+    private void recover() throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(Math.toIntExact(journal.size()));
+        while (buf.hasRemaining() && journal.read(buf, buf.position()) >= 0) {
+            // the journal only holds unwritten operations, so it is small enough to read at once
+        }
+        byte[] bytes = buf.array();
+        Instant now = clock.instant();
+        int complete = 0;
+        for (int i = 0; i < buf.position(); i++) {
+            if (bytes[i] != '\n') continue;
+            if (i > complete) replay(new String(bytes, complete, i - complete, StandardCharsets.UTF_8), now);
+            complete = i + 1;
+        }
+        if (queue.isEmpty()) {
+            complete = 0;
+        }
+        if (complete < bytes.length) {
+            // nothing left to write, or the last line was only partially written
+            journal.truncate(complete);
+        }
+        journalSize = complete;
+        queue.forEach(this::remember);
+        recovered = !queue.isEmpty();
+    }
+
+    private void replay(String line, Instant queuedAt) throws IOException {
+        if (line.length() < 2 || line.charAt(1) != ' ') throw new IOException("Invalid journal line: " + line);
+        String payload = line.substring(2);
+        switch (line.charAt(0)) {
+            case Op.CREATE, Op.UPDATE -> queue.add(new Op(line.charAt(0), IssueJsonCodec.fromJson(payload), queuedAt));
+            case 'C' -> {
+                try {
+                    queue.subList(0, Math.min(Integer.parseInt(payload.trim()), queue.size())).clear();
+                } catch (NumberFormatException e) {
+                    throw new IOException("Invalid journal line: " + line, e);
+                }
+            }
+            default -> throw new IOException("Invalid journal line: " + line);
+        }
+    }
+
+    private static int countLines(Path file) throws IOException {
+        if (!Files.exists(file)) return 0;
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            return (int) lines.filter(l -> !l.isBlank()).count();
+        }
+    }
+
+    /**
+     * A journaled operation: creation of an issue or a status change.
+     */
+    private record Op(char type, Issue issue, Instant queuedAt) {
+        static final char CREATE = 'S';
+        static final char UPDATE = 'U';
+    }
+}
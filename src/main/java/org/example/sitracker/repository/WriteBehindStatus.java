@@ -0,0 +1,19 @@
+package org.example.sitracker.repository;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Snapshot of the queue of a {@link WriteBehindIssueRepository}.
+ *
+ * @param pending        operations acknowledged but not yet written to storage
+ * @param oldestQueuedAt when the oldest pending operation was queued, or {@code null} if none is pending
+ * @param failedAttempts flush attempts that failed since the last successful flush
+ * @param lastError      message of the last failed flush, or {@code null}
+ * @param nextAttemptAt  earliest time of the next background flush after a failure, or {@code null}
+ * @param failed         operations that can never succeed (e.g. unknown issue ids) and were set aside
+ * @param failedFile     file the set-aside operations are written to
+ */
+public record WriteBehindStatus(int pending, Instant oldestQueuedAt, int failedAttempts, String lastError,
+                                Instant nextAttemptAt, int failed, Path failedFile) {
+}
@@ -1,17 +1,25 @@
 package org.example.sitracker.service;
 
 import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.IssueHierarchy;
+import org.example.sitracker.domain.IssueQuery;
 import org.example.sitracker.domain.Status;
+import org.example.sitracker.repository.WriteBehindStatus;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Service interface for managing {@link Issue} objects.
  *
  * <p>Provides higher-level operations on issues:
  * <ul>
- *     <li>Create new issues</li>
- *     <li>Update the status of existing issues</li>
- *     <li>List issues by their {@link Status}</li>
+ *     <li>Create new issues, one at a time or in bulk</li>
+ *     <li>Update the status of existing issues, one at a time or in bulk</li>
+ *     <li>List issues by their {@link Status}, or query them by several fields</li>
+ *     <li>Walk the parent/child hierarchy of issues</li>
+ *     <li>Flush and inspect writes queued by the optional write-behind mode</li>
  * </ul>
  *
  * <p>Implementations delegate persistence to an {@link org.example.sitracker.repository.IssueRepository}.
@@ -28,16 +36,50 @@ public interface IssueService {
      */
     Issue createIssue(String description, String parentId);
 
+    /**
+     * Creates several issues at once, e.g. when importing from another tracker.
+     *
+     * <p>Each draft carries at least a description; id, parent id, status and timestamps are kept
+     * when present and otherwise populated by the repository.
+     *
+     * @param drafts issues to create, in the order they should be stored
+     * @return created issues in the same order
+     * @throws RuntimeException if persistence fails
+     */
+    List<Issue> createIssues(List<Issue> drafts);
+
     /**
      * Updates the status of an existing issue.
      *
      * @param issueId   id of the issue to update
      * @param newStatus new status to set
      * @return updated issue
-     * @throws IllegalArgumentException if the issue id cannot be found or persistence fails
+     * @throws IllegalArgumentException if the issue id cannot be found
+     * @throws RuntimeException         if persistence fails, e.g. because the update kept
+     *                                  conflicting with other writers
      */
     Issue updateIssueStatus(String issueId, Status newStatus);
 
+    /**
+     * Updates the status of several issues at once.
+     *
+     * @param changes new status per issue id
+     * @return updated issues in the iteration order of {@code changes}
+     * @throws IllegalArgumentException if any issue id cannot be found; nothing is updated then
+     * @throws RuntimeException         if persistence fails
+     */
+    List<Issue> updateIssueStatusBulk(Map<String, Status> changes);
+
+    /**
+     * Moves every issue that currently has {@code currentStatus} to {@code newStatus}.
+     *
+     * @param currentStatus status of the issues to update; must not be {@code null}
+     * @param newStatus     new status to set
+     * @return updated issues (may be empty)
+     * @throws RuntimeException if persistence fails
+     */
+    List<Issue> updateIssueStatusWhere(Status currentStatus, Status newStatus);
+
     /**
      * Lists all issues with the given status.
      *
@@ -46,4 +88,78 @@ public interface IssueService {
      * @throws RuntimeException if persistence fails
      */
     List<Issue> listIssuesByStatus(Status status);
+
+    /**
+     * Streams the issues matching {@code query}, ordered and limited as the query specifies.
+     * All filters are evaluated in one pass over storage; a query for a single status reads only
+     * the rows with that status.
+     *
+     * @param query filters, ordering and limit; must not be {@code null}
+     * @return stream of issues; should be consumed once and closed
+     * @throws RuntimeException if persistence fails
+     */
+    Stream<Issue> queryIssues(IssueQuery query);
+
+    /**
+     * Returns the parent/child index over all issues, built in one pass over storage.
+     *
+     * @return hierarchy of all issues
+     * @throws RuntimeException if persistence fails
+     */
+    IssueHierarchy hierarchy();
+
+    /**
+     * Lists the direct children of an issue.
+     *
+     * @param issueId id of the parent issue
+     * @return children in storage order (may be empty)
+     * @throws IllegalArgumentException if the issue id cannot be found
+     * @throws RuntimeException         if persistence fails
+     */
+    List<Issue> childrenOf(String issueId);
+
+    /**
+     * Lists all issues below an issue, depth first.
+     *
+     * @param issueId id of the top issue
+     * @return descendants, each followed by its own descendants (may be empty)
+     * @throws IllegalArgumentException if the issue id cannot be found
+     * @throws RuntimeException         if persistence fails
+     */
+    List<Issue> descendantsOf(String issueId);
+
+    /**
+     * Lists the parent chain of an issue, nearest parent first.
+     *
+     * @param issueId id of the issue
+     * @return ancestors (may be empty)
+     * @throws IllegalArgumentException if the issue id cannot be found
+     * @throws RuntimeException         if persistence fails
+     */
+    List<Issue> ancestorsOf(String issueId);
+
+    /**
+     * Counts the statuses of all issues below an issue.
+     *
+     * @param issueId id of the top issue
+     * @return number of descendants per status, with every status present
+     * @throws IllegalArgumentException if the issue id cannot be found
+     * @throws RuntimeException         if persistence fails
+     */
+    Map<Status, Integer> statusRollup(String issueId);
+
+    /**
+     * Writes all queued writes to storage now, when write-behind mode is enabled.
+     *
+     * @return number of queued operations written; {@code 0} if nothing was queued or write-behind is off
+     * @throws RuntimeException if storage fails; the writes stay queued
+     */
+    int flushPendingWrites();
+
+    /**
+     * Describes the writes queued by write-behind mode.
+     *
+     * @return queue state, or empty if write-behind mode is off and writes go straight to storage
+     */
+    Optional<WriteBehindStatus> pendingWrites();
 }
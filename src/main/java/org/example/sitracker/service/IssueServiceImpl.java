@@ -1,12 +1,31 @@
 package org.example.sitracker.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.IssueHierarchy;
+import org.example.sitracker.domain.IssueQuery;
 import org.example.sitracker.domain.Status;
 import org.example.sitracker.repository.IssueRepository;
+import org.example.sitracker.repository.WriteBehindIssueRepository;
+import org.example.sitracker.repository.WriteBehindStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Default implementation of {@link IssueService} backed by an {@link IssueRepository}.
@@ -14,49 +33,264 @@ import java.util.List;
  * <p>This service creates, updates, and queries issues, delegating all persistence
  * operations to the repository. It wraps low-level exceptions into more user-friendly
  * runtime exceptions.
+ *
+ * <p>Every operation is timed in {@code sitracker.service.operations}, tagged with the method name
+ * and its outcome ({@code success} or {@code error}). Methods returning a stream are timed until
+ * the stream is closed, so the time includes consuming it; the outcome is {@code error} if opening
+ * the stream or fetching any of its elements failed.
  */
 @Service
 public class IssueServiceImpl implements IssueService {
     private static final Logger log = LoggerFactory.getLogger(IssueServiceImpl.class);
+    static final String OPERATIONS = "sitracker.service.operations";
     private final IssueRepository issueRepository;
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
 
     public IssueServiceImpl(IssueRepository issueRepository) {
         this.issueRepository = issueRepository;
     }
 
+    /**
+     * Sets the registry operation timings are recorded in; by default they go to the global
+     * registry, which discards them unless a registry has been added to it.
+     *
+     * @param meterRegistry registry for the service metrics
+     */
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @Override
     public Issue createIssue(String description, String parentId) {
-        Issue issue = new Issue();
-        issue.setDescription(description);
-        issue.setParentId(parentId);
-        try{
-            issueRepository.save(issue);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to save issue: " + e.getMessage(), e);
-        }
-        return issue;
+        return timed("createIssue", () -> {
+            try{
+                return issueRepository.save(new Issue(description, parentId));
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to save issue: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    @Override
+    public List<Issue> createIssues(List<Issue> drafts) {
+        return timed("createIssues", () -> {
+            try {
+                return issueRepository.saveAll(drafts);
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to save issues: " + e.getMessage(), e);
+            }
+        });
     }
 
     @Override
     public Issue updateIssueStatus(String issueId, Status newStatus) {
-        try{
-            log.info("Update issue service");
-            return issueRepository.updateStatus(issueId, newStatus);
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Issue not found");
-        }
+        return timed("updateIssueStatus", () -> {
+            try{
+                log.info("Update issue service");
+                return issueRepository.updateStatus(issueId, newStatus);
+            } catch (NoSuchElementException e) {
+                throw new IllegalArgumentException(e.getMessage(), e);
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to update issue: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    @Override
+    public List<Issue> updateIssueStatusBulk(Map<String, Status> changes) {
+        return timed("updateIssueStatusBulk", () -> {
+            try {
+                return issueRepository.updateStatusBulk(changes);
+            } catch (NoSuchElementException e) {
+                throw new IllegalArgumentException(e.getMessage(), e);
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to update issues: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    @Override
+    public List<Issue> updateIssueStatusWhere(Status currentStatus, Status newStatus) {
+        if (currentStatus == null) throw new IllegalArgumentException("Invalid status");
+        return timed("updateIssueStatusWhere", () -> {
+            try {
+                Map<String, Status> changes = new LinkedHashMap<>();
+                for (Issue issue : issueRepository.findByStatus(currentStatus)) {
+                    changes.put(issue.getId(), newStatus);
+                }
+                return changes.isEmpty() ? List.<Issue>of() : issueRepository.updateStatusBulk(changes);
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to update issues: " + e.getMessage(), e);
+            }
+        });
     }
 
     @Override
     public List<Issue> listIssuesByStatus(Status status) {
+        return timed("listIssuesByStatus", () -> {
+            try {
+                if (status != null) {
+                    return issueRepository.findByStatus(status);
+                } else {
+                    throw new IllegalArgumentException("Invalid status");
+                }
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to list issues: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    @Override
+    public Stream<Issue> queryIssues(IssueQuery query) {
+        if (query == null) throw new IllegalArgumentException("Invalid query");
+        return timedStream("queryIssues", () -> {
+            try {
+                return query.select(issueRepository.streamMatching(query));
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to list issues: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    @Override
+    public IssueHierarchy hierarchy() {
+        return timed("hierarchy", () -> {
+            try {
+                return issueRepository.hierarchy();
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to read issue hierarchy: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    @Override
+    public List<Issue> childrenOf(String issueId) {
+        return inHierarchy(h -> h.children(issueId));
+    }
+
+    @Override
+    public List<Issue> descendantsOf(String issueId) {
+        return inHierarchy(h -> h.descendants(issueId));
+    }
+
+    @Override
+    public List<Issue> ancestorsOf(String issueId) {
+        return inHierarchy(h -> h.ancestors(issueId));
+    }
+
+    @Override
+    public Map<Status, Integer> statusRollup(String issueId) {
+        return inHierarchy(h -> h.rollup(issueId));
+    }
+
+    @Override
+    public int flushPendingWrites() {
+        if (!(issueRepository instanceof WriteBehindIssueRepository writeBehind)) return 0;
+        return timed("flushPendingWrites", () -> {
+            try {
+                return writeBehind.flush();
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to flush pending writes: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    @Override
+    public Optional<WriteBehindStatus> pendingWrites() {
+        if (!(issueRepository instanceof WriteBehindIssueRepository writeBehind)) return Optional.empty();
+        return Optional.of(writeBehind.status());
+    }
+
+    private <T> T timed(String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = call.get();
+            outcome = "success";
+            return result;
+        } finally {
+            stop(sample, operation, outcome);
+        }
+    }
+
+    private <T> Stream<T> timedStream(String operation, Supplier<Stream<T>> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Stream<T> stream;
+        try {
+            stream = call.get();
+        } catch (RuntimeException e) {
+            stop(sample, operation, "error");
+            throw e;
+        }
+        FailureTracking<T> elements = new FailureTracking<>(stream.spliterator());
+        return StreamSupport.stream(elements, false)
+                .onClose(stream::close)
+                .onClose(() -> stop(sample, operation, elements.failed ? "error" : "success"));
+    }
+
+    private void stop(Timer.Sample sample, String operation, String outcome) {
+        sample.stop(Timer.builder(OPERATIONS).tag("operation", operation).tag("outcome", outcome).register(meterRegistry));
+    }
+
+    private <T> T inHierarchy(Function<IssueHierarchy, T> lookup) {
+        IssueHierarchy hierarchy = hierarchy();
         try {
-            if (status != null) {
-                return issueRepository.findByStatus(status);
-            } else {
-                throw new IllegalArgumentException("Invalid status");
+            return lookup.apply(hierarchy);
+        } catch (NoSuchElementException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Passes the elements of a stream on and remembers whether producing one of them failed.
+     */
+    private static final class FailureTracking<T> implements Spliterator<T> {
+        private final Spliterator<T> source;
+        private volatile boolean failed;
+
+        FailureTracking(Spliterator<T> source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                return source.tryAdvance(action);
+            } catch (RuntimeException | Error e) {
+                failed = true;
+                throw e;
             }
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to list issues: " + e.getMessage(), e);
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            try {
+                source.forEachRemaining(action);
+            } catch (RuntimeException | Error e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics();
+        }
+
+        @Override
+        public Comparator<? super T> getComparator() {
+            return source.getComparator();
         }
     }
 }
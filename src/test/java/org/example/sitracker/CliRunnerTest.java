@@ -1,6 +1,7 @@
 package org.example.sitracker;
 
 import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.IssueQuery;
 import org.example.sitracker.domain.Status;
 import org.example.sitracker.service.IssueService;
 import org.junit.jupiter.api.Test;
@@ -8,6 +9,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 /**
@@ -36,8 +40,7 @@ class CliRunnerTest {
     @Test
     void run_createCommand_invokesCreateIssue() {
         // arrange: stub service to return an Issue when createIssue is called (optional)
-        Issue stub = new Issue();
-        stub.setId("AD-1");
+        Issue stub = new Issue("AD-1", null, null, null, null, null);
         when(issueService.createIssue("from-cli", null)).thenReturn(stub);
 
         // act: simulate "create -d from-cli"
@@ -51,9 +54,7 @@ class CliRunnerTest {
     @Test
     void run_updateCommand_invokesUpdateIssueStatus() {
         // arrange
-        Issue updated = new Issue();
-        updated.setId("AD-2");
-        updated.setStatus(Status.CLOSED);
+        Issue updated = new Issue("AD-2", null, null, Status.CLOSED, null, null);
         when(issueService.updateIssueStatus("AD-2", Status.CLOSED)).thenReturn(updated);
 
         // act: simulate `update AD-2 -s DONE`
@@ -65,15 +66,33 @@ class CliRunnerTest {
     }
 
     @Test
-    void run_listCommand_invokesListIssuesByStatus() {
+    void run_listCommand_invokesQueryIssues() {
         // arrange
-        when(issueService.listIssuesByStatus(Status.OPEN)).thenReturn(java.util.List.of());
+        when(issueService.queryIssues(any())).thenReturn(java.util.stream.Stream.empty());
 
         // act: simulate `list -s OPEN`
         cliRunner.run("list", "-s", "OPEN");
 
-        // assert
-        verify(issueService, times(1)).listIssuesByStatus(Status.OPEN);
+        // assert: one query restricted to OPEN
+        ArgumentCaptor<IssueQuery> query = ArgumentCaptor.forClass(IssueQuery.class);
+        verify(issueService, times(1)).queryIssues(query.capture());
+        assertEquals(java.util.Set.of(Status.OPEN), query.getValue().getStatuses());
         verifyNoMoreInteractions(issueService);
     }
+
+    @Test
+    void runWithoutContext_handlesHelpAndParseErrors() {
+        assertEquals(OptionalInt.of(0), CliRunner.runWithoutContext("--help"));
+        assertEquals(OptionalInt.of(0), CliRunner.runWithoutContext("-h", "list"));
+        assertEquals(OptionalInt.of(2), CliRunner.runWithoutContext("list", "-s", "NOPE"));
+        assertEquals(OptionalInt.of(2), CliRunner.runWithoutContext("frobnicate"));
+    }
+
+    @Test
+    void runWithoutContext_leavesRunnableCommandsToApplication() {
+        assertTrue(CliRunner.runWithoutContext().isEmpty());
+        assertTrue(CliRunner.runWithoutContext("list", "-s", "OPEN").isEmpty());
+        assertTrue(CliRunner.runWithoutContext("update", "AD-1", "-s", "CLOSED").isEmpty());
+        assertTrue(CliRunner.runWithoutContext("daemon", "--port", "0").isEmpty());
+    }
 }
@@ -1,13 +1,26 @@
 package org.example.sitracker;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
 class SiTrackerApplicationTests {
 
+    @Autowired
+    ConfigurableApplicationContext context;
+
     @Test
     void contextLoads() {
     }
 
+    @Test
+    void sheetsClient_isNotCreatedUntilRepositoryIsUsed() {
+        assertTrue(context.containsBean("sheetsService"));
+        assertFalse(context.getBeanFactory().containsSingleton("sheetsService"));
+        assertFalse(context.getBeanFactory().containsSingleton("issueRepository"));
+    }
 }
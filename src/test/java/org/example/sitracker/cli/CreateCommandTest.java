@@ -16,9 +16,7 @@ class CreateCommandTest {
     @Test
     void createCommand_callsService_and_printsResult() {
         IssueService svc = mock(IssueService.class);
-        Issue stub = new Issue();
-        stub.setId("AD-1");
-        stub.setDescription("cli test");
+        Issue stub = new Issue("AD-1", "cli test", null, null, null, null);
         when(svc.createIssue("cli test", null)).thenReturn(stub);
 
         PrintStream originalOut = System.out;
@@ -0,0 +1,45 @@
+package org.example.sitracker.cli;
+
+import org.example.sitracker.repository.WriteBehindStatus;
+import org.example.sitracker.service.IssueService;
+import org.junit.jupiter.api.Test;
+import picocli.CommandLine;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlushCommandTest {
+
+    @Test
+    void flushCommand_flushesQueue_andPrintsCount() {
+        IssueService svc = mock(IssueService.class);
+        when(svc.pendingWrites()).thenReturn(Optional.of(new WriteBehindStatus(2, null, 0, null, null, 0, null)));
+        when(svc.flushPendingWrites()).thenReturn(2);
+
+        StringWriter out = new StringWriter();
+        CommandLine cmdLine = new CommandLine(new FlushCommand(svc));
+        cmdLine.setOut(new PrintWriter(out));
+
+        assertEquals(0, cmdLine.execute());
+        assertTrue(out.toString().contains("Flushed 2 queued writes"), out.toString());
+        verify(svc).flushPendingWrites();
+    }
+
+    @Test
+    void flushCommand_withoutWriteBehind_saysSo() {
+        IssueService svc = mock(IssueService.class);
+        when(svc.pendingWrites()).thenReturn(Optional.empty());
+
+        StringWriter out = new StringWriter();
+        CommandLine cmdLine = new CommandLine(new FlushCommand(svc));
+        cmdLine.setOut(new PrintWriter(out));
+
+        assertEquals(0, cmdLine.execute());
+        assertTrue(out.toString().contains("disabled"), out.toString());
+        verify(svc, never()).flushPendingWrites();
+    }
+}
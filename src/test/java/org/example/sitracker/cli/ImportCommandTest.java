@@ -0,0 +1,206 @@
+package org.example.sitracker.cli;
+
+import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.Status;
+import org.example.sitracker.service.IssueService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import picocli.CommandLine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ImportCommand and the IssueFileReader it uses.
+ */
+class ImportCommandTest {
+
+    private final PrintStream originalOut = System.out;
+    private ByteArrayOutputStream outBaos;
+    private IssueService svc;
+
+    @BeforeEach
+    void setUp() {
+        outBaos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(outBaos));
+        svc = mock(IssueService.class);
+        // echo drafts back with generated ids, continuing the sequence across batches
+        AtomicInteger lastId = new AtomicInteger(100);
+        when(svc.createIssues(anyList())).thenAnswer(inv -> {
+            List<Issue> drafts = inv.getArgument(0);
+            List<Issue> saved = new ArrayList<>();
+            for (Issue d : drafts) {
+                saved.add(d.withId("AD-" + lastId.incrementAndGet()));
+            }
+            return saved;
+        });
+    }
+
+    @AfterEach
+    void restoreStreams() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    void csv_isImportedInBatches_withQuotedFields(@TempDir Path tmp) throws Exception {
+        Path csv = tmp.resolve("issues.csv");
+        Files.writeString(csv, "ID,Description,Parent ID,Status\n"
+                + ",\"first, with comma\",,OPEN\n"
+                + ",\"second \"\"quoted\"\"\",AD-1,in_progress\r\n"
+                + ",\"multi\nline\",,\n");
+
+        int exit = new CommandLine(new ImportCommand(svc)).execute(csv.toString(), "--batch-size", "2");
+
+        assertEquals(0, exit);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Issue>> batches = ArgumentCaptor.forClass(List.class);
+        verify(svc, times(2)).createIssues(batches.capture());
+        List<Issue> first = batches.getAllValues().get(0);
+        assertEquals(2, first.size());
+        assertEquals("first, with comma", first.get(0).getDescription());
+        assertEquals("second \"quoted\"", first.get(1).getDescription());
+        assertEquals("AD-1", first.get(1).getParentId());
+        assertEquals(Status.IN_PROGRESS, first.get(1).getStatus());
+        Issue third = batches.getAllValues().get(1).get(0);
+        assertEquals("multi\nline", third.getDescription());
+        assertNull(third.getStatus());
+        assertTrue(outBaos.toString().contains("Imported 3 issues"));
+    }
+
+    @Test
+    void jsonl_isImported_keepingTimestamps_butNotIds(@TempDir Path tmp) throws Exception {
+        Path jsonl = tmp.resolve("issues.jsonl");
+        Files.writeString(jsonl, """
+                {"id":"OLD-7","description":"from old tracker","status":"CLOSED","createdAt":"2024-03-01T10:15:00"}
+
+                {"description":"no id"}
+                """);
+
+        int exit = new CommandLine(new ImportCommand(svc)).execute(jsonl.toString());
+
+        assertEquals(0, exit);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Issue>> batch = ArgumentCaptor.forClass(List.class);
+        verify(svc, times(1)).createIssues(batch.capture());
+        Issue old = batch.getValue().get(0);
+        assertNull(old.getId());
+        assertEquals(Status.CLOSED, old.getStatus());
+        assertEquals(2024, old.getCreatedAt().getYear());
+        assertEquals("no id", batch.getValue().get(1).getDescription());
+    }
+
+    @Test
+    void invalidRecord_reportsLineAndStops(@TempDir Path tmp) throws Exception {
+        Path jsonl = tmp.resolve("issues.jsonl");
+        Files.writeString(jsonl, "{\"description\":\"ok\",\"status\":\"DONE\"}\n");
+        PrintStream originalErr = System.err;
+        ByteArrayOutputStream errBaos = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(errBaos));
+        try {
+            new CommandLine(new ImportCommand(svc)).execute(jsonl.toString());
+        } finally {
+            System.setErr(originalErr);
+        }
+
+        assertTrue(errBaos.toString().contains("Line 1: unknown status DONE"));
+        verify(svc, never()).createIssues(anyList());
+    }
+
+    @Test
+    void createFromFile_delegatesToImport(@TempDir Path tmp) throws Exception {
+        Path csv = tmp.resolve("issues.csv");
+        Files.writeString(csv, "description\none\ntwo\n");
+
+        int exit = new CommandLine(new CreateCommand(svc)).execute("--from-file", csv.toString());
+
+        assertEquals(0, exit);
+        verify(svc, times(1)).createIssues(anyList());
+        verify(svc, never()).createIssue(any(), any());
+        assertTrue(outBaos.toString().contains("Imported 2 issues"));
+    }
+
+    @Test
+    void createFromFile_rejectsParentOption(@TempDir Path tmp) throws Exception {
+        Path csv = tmp.resolve("issues.csv");
+        Files.writeString(csv, "description\none\n");
+
+        int exit = new CommandLine(new CreateCommand(svc)).execute("--from-file", csv.toString(), "-p", "AD-1");
+
+        assertNotEquals(0, exit);
+        verifyNoInteractions(svc);
+    }
+
+    @Test
+    void exportedSheet_isImportedUnderNewIds_withParentsRemapped(@TempDir Path tmp) throws Exception {
+        Path csv = tmp.resolve("Issues.csv");
+        Files.writeString(csv, "ID,Description,Parent ID,Status,Created At,Updated At\n"
+                + "AD-1,root,,OPEN,2024-01-01T10:00:00,\n"
+                + "AD-2,child,AD-1,CLOSED,2024-01-02T10:00:00,2024-01-03T10:00:00\n"
+                + "AD-3,sibling,AD-1,OPEN,2024-01-02T11:00:00,\n"
+                + "AD-4,grandchild,AD-2,OPEN,2024-01-04T10:00:00,\n"
+                + "AD-5,elsewhere,AD-9,OPEN,2024-01-05T10:00:00,\n");
+
+        int exit = new CommandLine(new ImportCommand(svc)).execute(csv.toString());
+
+        assertEquals(0, exit);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Issue>> batches = ArgumentCaptor.forClass(List.class);
+        // children of a record in the open batch start a new one, so the parent's id is known
+        verify(svc, times(3)).createIssues(batches.capture());
+        List<Issue> drafts = batches.getAllValues().stream().flatMap(List::stream).toList();
+        assertEquals(List.of("root", "child", "sibling", "grandchild", "elsewhere"),
+                drafts.stream().map(Issue::getDescription).toList());
+        assertTrue(drafts.stream().allMatch(d -> d.getId() == null));
+        // root became AD-101 and child AD-102; AD-9 is not in the file and stays as it is
+        assertEquals(Arrays.asList(null, "AD-101", "AD-101", "AD-102", "AD-9"),
+                drafts.stream().map(Issue::getParentId).toList());
+        assertEquals(Status.CLOSED, drafts.get(1).getStatus());
+        assertTrue(outBaos.toString().contains("Imported 5 issues"));
+    }
+
+    @Test
+    void duplicateId_isRejected(@TempDir Path tmp) throws Exception {
+        Path jsonl = tmp.resolve("issues.jsonl");
+        Files.writeString(jsonl, "{\"id\":\"AD-1\",\"description\":\"a\"}\n{\"id\":\"AD-1\",\"description\":\"b\"}\n");
+        PrintStream originalErr = System.err;
+        ByteArrayOutputStream errBaos = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(errBaos));
+        try {
+            new CommandLine(new ImportCommand(svc)).execute(jsonl.toString());
+        } finally {
+            System.setErr(originalErr);
+        }
+
+        assertTrue(errBaos.toString().contains("Line 2: duplicate id AD-1"));
+        verify(svc, never()).createIssues(anyList());
+    }
+
+    @Test
+    void parentAfterChild_isRejected(@TempDir Path tmp) throws Exception {
+        Path csv = tmp.resolve("issues.csv");
+        Files.writeString(csv, "id,description,parentId\nAD-2,child,AD-1\nAD-1,root,\n");
+        PrintStream originalErr = System.err;
+        ByteArrayOutputStream errBaos = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(errBaos));
+        try {
+            new CommandLine(new ImportCommand(svc)).execute(csv.toString());
+        } finally {
+            System.setErr(originalErr);
+        }
+
+        assertTrue(errBaos.toString().contains("Issue AD-1 must come before the issues that have it as parent"));
+        verify(svc, never()).createIssues(anyList());
+    }
+}
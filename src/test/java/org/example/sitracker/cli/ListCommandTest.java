@@ -1,14 +1,19 @@
 package org.example.sitracker.cli;
 
 import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.IssueQuery;
 import org.example.sitracker.domain.Status;
 import org.example.sitracker.service.IssueService;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import picocli.CommandLine;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
-import java.util.List;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -18,9 +23,9 @@ class ListCommandTest {
     @Test
     void listCommand_printsIssues() {
         IssueService svc = mock(IssueService.class);
-        Issue i1 = new Issue(); i1.setId("AD-1"); i1.setDescription("one"); i1.setStatus(Status.OPEN);
-        Issue i2 = new Issue(); i2.setId("AD-2"); i2.setDescription("two"); i2.setStatus(Status.OPEN);
-        when(svc.listIssuesByStatus(Status.OPEN)).thenReturn(List.of(i1, i2));
+        Issue i1 = new Issue("AD-1", "one", null, Status.OPEN, null, null);
+        Issue i2 = new Issue("AD-2", "two", null, Status.OPEN, null, null);
+        when(svc.queryIssues(any())).thenReturn(Stream.of(i1, i2));
 
         PrintStream originalOut = System.out;
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
@@ -34,9 +39,47 @@ class ListCommandTest {
 
             String out = baos.toString();
             assertTrue(out.contains("AD-1") && out.contains("AD-2"));
-            verify(svc).listIssuesByStatus(Status.OPEN);
+            ArgumentCaptor<IssueQuery> query = ArgumentCaptor.forClass(IssueQuery.class);
+            verify(svc).queryIssues(query.capture());
+            assertEquals(Set.of(Status.OPEN), query.getValue().getStatuses());
         } finally {
             System.setOut(originalOut);
         }
     }
+
+    @Test
+    void listCommand_combinesOptionsIntoOneQuery() {
+        IssueService svc = mock(IssueService.class);
+        when(svc.queryIssues(any())).thenReturn(Stream.empty());
+        StringWriter out = new StringWriter();
+        CommandLine cmdLine = new CommandLine(new ListCommand(svc));
+        cmdLine.setOut(new PrintWriter(out));
+
+        int exitCode = cmdLine.execute("-s", "OPEN", "-s", "CLOSED", "--parent", "AD-1",
+                "--where", "description~login", "--sort", "updated:desc", "--limit", "5");
+
+        assertEquals(0, exitCode);
+        ArgumentCaptor<IssueQuery> captor = ArgumentCaptor.forClass(IssueQuery.class);
+        verify(svc).queryIssues(captor.capture());
+        IssueQuery query = captor.getValue();
+        assertEquals(Set.of(Status.OPEN, Status.CLOSED), query.getStatuses());
+        assertEquals("AD-1", query.getParentId());
+        assertEquals(5, query.getLimit());
+        assertEquals(new IssueQuery.Order(IssueQuery.SortField.UPDATED, true), query.getOrdering().get(0));
+        Issue match = new Issue(null, "Login fails", "AD-1", Status.CLOSED, null, null);
+        assertTrue(query.matches(match));
+        assertTrue(out.toString().contains("No matching issues"));
+    }
+
+    @Test
+    void listCommand_rejectsMalformedQuery() {
+        IssueService svc = mock(IssueService.class);
+        CommandLine cmdLine = new CommandLine(new ListCommand(svc));
+        cmdLine.setErr(new PrintWriter(new StringWriter()));
+
+        int exitCode = cmdLine.execute("--where", "priority=high");
+
+        assertNotEquals(0, exitCode);
+        verifyNoInteractions(svc);
+    }
 }
@@ -0,0 +1,68 @@
+package org.example.sitracker.cli;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.sitracker.service.IssueService;
+import org.junit.jupiter.api.Test;
+import picocli.CommandLine;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsSummaryTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final StringWriter out = new StringWriter();
+    private final StringWriter err = new StringWriter();
+
+    private CommandLine commandLine(IssueService svc) {
+        CommandLine root = new CommandLine(new RootCommand());
+        root.addSubcommand("list", new ListCommand(svc));
+        root.setExecutionStrategy(new MetricsSummary(registry));
+        root.setOut(new PrintWriter(out));
+        root.setErr(new PrintWriter(err));
+        return root;
+    }
+
+    @Test
+    void metricsOption_printsApplicationMetersToErrorOutput_afterCommand() {
+        IssueService svc = mock(IssueService.class);
+        when(svc.queryIssues(any())).thenReturn(Stream.empty());
+        registry.timer("sitracker.sheets.requests", "operation", "values.get", "status", "200").record(250, TimeUnit.MILLISECONDS);
+        DistributionSummary.builder("sitracker.sheets.response.size").baseUnit("bytes").tag("operation", "values.get")
+                .register(registry).record(2048);
+        registry.counter("sitracker.sheets.rows", "read", "window").increment(10);
+        registry.counter("jvm.other").increment();
+
+        int exitCode = commandLine(svc).execute("list", "--metrics");
+
+        assertEquals(0, exitCode);
+        assertTrue(out.toString().contains("No matching issues"));
+        String[] lines = err.toString().split("\\R");
+        assertEquals("Metrics:", lines[0]);
+        assertEquals(4, lines.length);
+        assertTrue(lines[1].startsWith("  sitracker.sheets.requests{operation=values.get,status=200}"));
+        assertTrue(lines[1].endsWith("count=1  total=250.0ms  mean=250.0ms  max=250.0ms"), lines[1]);
+        assertTrue(lines[2].contains("sitracker.sheets.response.size{operation=values.get}"));
+        assertTrue(lines[2].endsWith("count=1  total=2048 bytes  mean=2048 bytes  max=2048 bytes"), lines[2]);
+        assertTrue(lines[3].endsWith("count=10"));
+        assertFalse(err.toString().contains("jvm.other"));
+    }
+
+    @Test
+    void withoutMetricsOption_nothingIsPrinted() {
+        IssueService svc = mock(IssueService.class);
+        when(svc.queryIssues(any())).thenReturn(Stream.empty());
+        registry.counter("sitracker.sheets.rows", "read", "window").increment();
+
+        assertEquals(0, commandLine(svc).execute("list"));
+
+        assertEquals("", err.toString());
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.sitracker.cli;
+
+import org.example.sitracker.repository.WriteBehindStatus;
+import org.example.sitracker.service.IssueService;
+import org.junit.jupiter.api.Test;
+import picocli.CommandLine;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatusCommandTest {
+
+    @Test
+    void statusCommand_printsBacklogAndLastError() {
+        IssueService svc = mock(IssueService.class);
+        Instant queuedAt = Instant.parse("2024-05-01T10:00:00Z");
+        when(svc.pendingWrites()).thenReturn(Optional.of(new WriteBehindStatus(
+                3, queuedAt, 2, "quota exceeded", queuedAt.plusSeconds(4), 1, Path.of("writebehind.failed"))));
+
+        StringWriter out = new StringWriter();
+        CommandLine cmdLine = new CommandLine(new StatusCommand(svc));
+        cmdLine.setOut(new PrintWriter(out));
+
+        assertEquals(0, cmdLine.execute());
+        String printed = out.toString();
+        assertTrue(printed.contains("Queued writes: 3 (oldest queued at 2024-05-01T10:00:00Z)"), printed);
+        assertTrue(printed.contains("quota exceeded"), printed);
+        assertTrue(printed.contains("Set aside: 1"), printed);
+        verify(svc, never()).flushPendingWrites();
+    }
+}
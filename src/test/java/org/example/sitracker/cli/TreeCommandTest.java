@@ -0,0 +1,58 @@
+package org.example.sitracker.cli;
+
+import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.IssueHierarchy;
+import org.example.sitracker.domain.Status;
+import org.example.sitracker.service.IssueService;
+import org.junit.jupiter.api.Test;
+import picocli.CommandLine;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeCommandTest {
+
+    private static Issue issue(String id, String parentId, Status status) {
+        return new Issue(id, "issue " + id, parentId, status, null, null);
+    }
+
+    @Test
+    void treeCommand_printsIndentedSubtreeWithRollups() {
+        IssueService svc = mock(IssueService.class);
+        when(svc.hierarchy()).thenReturn(IssueHierarchy.of(Stream.of(
+                issue("AD-1", null, Status.OPEN),
+                issue("AD-2", "AD-1", Status.CLOSED),
+                issue("AD-3", "AD-2", Status.OPEN))));
+        StringWriter out = new StringWriter();
+        CommandLine cmdLine = new CommandLine(new TreeCommand(svc));
+        cmdLine.setOut(new PrintWriter(out));
+
+        int exitCode = cmdLine.execute("AD-2", "--ancestors");
+
+        assertEquals(0, exitCode);
+        String[] lines = out.toString().split("\\R");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("AD-1 [OPEN]"));
+        assertTrue(lines[0].contains("OPEN 1, IN_PROGRESS 0, CLOSED 1"));
+        assertTrue(lines[1].startsWith("  AD-2 [CLOSED]"));
+        assertTrue(lines[2].startsWith("    AD-3 [OPEN] issue AD-3"));
+        verify(svc, times(1)).hierarchy();
+    }
+
+    @Test
+    void treeCommand_unknownIssue_printsError() {
+        IssueService svc = mock(IssueService.class);
+        when(svc.hierarchy()).thenReturn(IssueHierarchy.of(Stream.empty()));
+        StringWriter err = new StringWriter();
+        CommandLine cmdLine = new CommandLine(new TreeCommand(svc));
+        cmdLine.setErr(new PrintWriter(err));
+
+        cmdLine.execute("AD-9");
+
+        assertTrue(err.toString().contains("Issue not found: AD-9"));
+    }
+}
@@ -2,6 +2,7 @@ package org.example.sitracker.cli;
 
 import org.example.sitracker.domain.Issue;
 import org.example.sitracker.domain.Status;
+import org.example.sitracker.repository.WriteBehindStatus;
 import org.example.sitracker.service.IssueService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +11,10 @@ import picocli.CommandLine;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -43,10 +48,7 @@ class UpdateCommandTest {
     void run_success_printsUpdatedIssueToStdout() {
         // Arrange
         IssueService svc = mock(IssueService.class);
-        Issue updated = new Issue();
-        updated.setId("AD-1");
-        updated.setStatus(Status.CLOSED);
-        updated.setDescription("some description");
+        Issue updated = new Issue("AD-1", "some description", null, Status.CLOSED, null, null);
         when(svc.updateIssueStatus("AD-1", Status.CLOSED)).thenReturn(updated);
 
 
@@ -81,4 +83,57 @@ class UpdateCommandTest {
         String out = outBaos.toString();
         assertFalse(out.contains("Updated issue:"), "Stdout should not contain success message on failure: " + out);
     }
+
+    @Test
+    void run_withSeveralIds_usesBulkUpdate() {
+        IssueService svc = mock(IssueService.class);
+        when(svc.updateIssueStatusBulk(anyMap())).thenReturn(List.of(issue("AD-1"), issue("AD-2")));
+
+        int exit = new CommandLine(new UpdateCommand(svc)).execute("AD-1", "AD-2", "--set", "CLOSED");
+
+        assertEquals(0, exit);
+        verify(svc).updateIssueStatusBulk(Map.of("AD-1", Status.CLOSED, "AD-2", Status.CLOSED));
+        verify(svc, never()).updateIssueStatus(anyString(), any());
+        assertTrue(outBaos.toString().contains("Updated 2 issues"));
+    }
+
+    @Test
+    void run_withWhere_updatesMatchingIssues() {
+        IssueService svc = mock(IssueService.class);
+        when(svc.updateIssueStatusWhere(Status.IN_PROGRESS, Status.CLOSED)).thenReturn(List.of(issue("AD-3")));
+
+        int exit = new CommandLine(new UpdateCommand(svc)).execute("--where", "status=in_progress", "--set", "CLOSED");
+
+        assertEquals(0, exit);
+        assertTrue(outBaos.toString().contains("Updated issue: AD-3 -> CLOSED"));
+        assertTrue(outBaos.toString().contains("Updated 1 issues"));
+    }
+
+    @Test
+    void run_inWriteBehindMode_reportsUpdatesAsQueued() {
+        IssueService svc = mock(IssueService.class);
+        when(svc.pendingWrites()).thenReturn(Optional.of(new WriteBehindStatus(0, null, 0, null, null, 0, Path.of("failed"))));
+        when(svc.updateIssueStatusBulk(anyMap())).thenReturn(List.of(issue("AD-1"), issue("AD-2")));
+
+        int exit = new CommandLine(new UpdateCommand(svc)).execute("AD-1", "AD-2", "--set", "CLOSED");
+
+        assertEquals(0, exit);
+        assertTrue(outBaos.toString().contains("Queued update: AD-1 -> CLOSED"));
+        assertTrue(outBaos.toString().contains("Queued 2 updates"));
+        assertFalse(outBaos.toString().contains("Updated"));
+    }
+
+    @Test
+    void run_withIdsAndWhere_isRejected() {
+        IssueService svc = mock(IssueService.class);
+
+        int exit = new CommandLine(new UpdateCommand(svc)).execute("AD-1", "--where", "status=OPEN", "-s", "CLOSED");
+
+        assertNotEquals(0, exit);
+        verifyNoInteractions(svc);
+    }
+
+    private static Issue issue(String id) {
+        return new Issue(id, null, null, Status.CLOSED, null, null);
+    }
 }
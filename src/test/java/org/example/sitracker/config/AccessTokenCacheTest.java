@@ -0,0 +1,67 @@
+package org.example.sitracker.config;
+
+import com.google.auth.oauth2.AccessToken;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Date;
+import java.util.Optional;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AccessTokenCache.
+ */
+class AccessTokenCacheTest {
+
+    @TempDir
+    Path dir;
+
+    static final byte[] KEY = "private-key-bytes".getBytes(StandardCharsets.UTF_8);
+    static final String IDENTITY = "sa@project.iam.gserviceaccount.com spreadsheets";
+
+    @Test
+    void write_thenRead_returnsTokenWithExpiry_andStoresItEncrypted() throws Exception {
+        AccessTokenCache cache = new AccessTokenCache(dir.resolve("nested"), KEY, IDENTITY);
+        Date expiry = new Date(1_900_000_000_000L);
+
+        cache.write(new AccessToken("ya29.secret-token", expiry));
+        Optional<AccessToken> read = new AccessTokenCache(dir.resolve("nested"), KEY, IDENTITY).read();
+
+        assertTrue(read.isPresent());
+        assertEquals("ya29.secret-token", read.get().getTokenValue());
+        assertEquals(expiry, read.get().getExpirationTime());
+        String stored = new String(Files.readAllBytes(cache.file()), StandardCharsets.ISO_8859_1);
+        assertFalse(stored.contains("secret-token"));
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(cache.file())));
+        }
+    }
+
+    @Test
+    void read_withAnotherKey_orDamagedFile_isEmpty() throws Exception {
+        AccessTokenCache cache = new AccessTokenCache(dir, KEY, IDENTITY);
+        cache.write(new AccessToken("token", new Date(1_900_000_000_000L)));
+
+        assertTrue(new AccessTokenCache(dir, "other-key".getBytes(StandardCharsets.UTF_8), IDENTITY).read().isEmpty());
+
+        byte[] data = Files.readAllBytes(cache.file());
+        data[data.length - 1] ^= 1;
+        Files.write(cache.file(), data);
+        assertTrue(cache.read().isEmpty());
+    }
+
+    @Test
+    void accounts_useSeparateFiles() {
+        AccessTokenCache first = new AccessTokenCache(dir, KEY, IDENTITY);
+        AccessTokenCache second = new AccessTokenCache(dir, KEY, "other@project.iam.gserviceaccount.com spreadsheets");
+        first.write(new AccessToken("token", new Date(1_900_000_000_000L)));
+
+        assertNotEquals(first.file(), second.file());
+        assertTrue(second.read().isEmpty());
+        assertTrue(new AccessTokenCache(dir, KEY, IDENTITY).read().isPresent());
+    }
+}
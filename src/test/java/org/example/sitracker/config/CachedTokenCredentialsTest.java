@@ -0,0 +1,78 @@
+package org.example.sitracker.config;
+
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CachedTokenCredentials.
+ * The service account credentials are mocked; each new instance stands for a new process.
+ */
+class CachedTokenCredentialsTest {
+
+    static final URI SHEETS = URI.create("https://sheets.googleapis.com/");
+
+    @TempDir
+    Path dir;
+
+    GoogleCredentials source;
+    AccessTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        source = mock(GoogleCredentials.class);
+        cache = new AccessTokenCache(dir, "key".getBytes(StandardCharsets.UTF_8), "sa@example.com spreadsheets");
+    }
+
+    @Test
+    void laterProcesses_reuseCachedToken_withoutTokenExchange() throws Exception {
+        when(source.refreshAccessToken()).thenReturn(new AccessToken("t1", inMinutes(60)));
+
+        CachedTokenCredentials first = new CachedTokenCredentials(source, cache, Clock.systemUTC());
+        assertEquals(List.of("Bearer t1"), first.getRequestMetadata(SHEETS).get("Authorization"));
+        CachedTokenCredentials second = new CachedTokenCredentials(source, cache, Clock.systemUTC());
+        assertEquals(List.of("Bearer t1"), second.getRequestMetadata(SHEETS).get("Authorization"));
+
+        verify(source, times(1)).refreshAccessToken();
+    }
+
+    @Test
+    void tokenNearExpiry_isReplaced_andCacheUpdated() throws Exception {
+        cache.write(new AccessToken("old", inMinutes(5)));
+        when(source.refreshAccessToken()).thenReturn(new AccessToken("new", inMinutes(60)));
+
+        CachedTokenCredentials credentials = new CachedTokenCredentials(source, cache, Clock.systemUTC());
+
+        assertEquals(List.of("Bearer new"), credentials.getRequestMetadata(SHEETS).get("Authorization"));
+        assertEquals("new", cache.read().orElseThrow().getTokenValue());
+    }
+
+    @Test
+    void backgroundRefresh_isDueJustInsideRefreshMargin() {
+        Instant now = Instant.parse("2030-01-01T00:00:00Z");
+        cache.write(new AccessToken("t1", Date.from(now.plus(Duration.ofMinutes(60)))));
+
+        CachedTokenCredentials credentials = new CachedTokenCredentials(source, cache, Clock.fixed(now, ZoneOffset.UTC));
+
+        assertEquals(Duration.ofMinutes(60).minus(CachedTokenCredentials.REFRESH_MARGIN).plusSeconds(1),
+                credentials.nextRefreshDelay());
+        verifyNoInteractions(source);
+    }
+
+    private static Date inMinutes(int minutes) {
+        return new Date(System.currentTimeMillis() + Duration.ofMinutes(minutes).toMillis());
+    }
+}
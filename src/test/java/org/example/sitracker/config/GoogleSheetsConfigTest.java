@@ -8,6 +8,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -88,4 +89,21 @@ class GoogleSheetsConfigTest {
         assertTrue(cause instanceof IllegalStateException);
         assertTrue(cause.getMessage().contains("Google credentials not found"));
     }
+
+    /**
+     * sitracker.http.transport selects the JDK transport by default name and rejects unknown names.
+     */
+    @Test
+    void newTransport_selectsConfiguredTransport() throws Exception {
+        GoogleSheetsConfig cfg = new GoogleSheetsConfig();
+        setPrivateField(cfg, "connectTimeout", Duration.ofSeconds(10));
+        setPrivateField(cfg, "http2", true);
+
+        setPrivateField(cfg, "httpTransport", "jdk");
+        assertInstanceOf(JdkHttpTransport.class, cfg.newTransport());
+
+        setPrivateField(cfg, "httpTransport", "apache");
+        IllegalStateException e = assertThrows(IllegalStateException.class, cfg::newTransport);
+        assertTrue(e.getMessage().contains("apache"));
+    }
 }
@@ -0,0 +1,129 @@
+package org.example.sitracker.config;
+
+import com.google.api.client.http.ByteArrayContent;
+import com.google.api.client.http.GZipEncoding;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.HttpResponse;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests JdkHttpTransport against a local HTTP server.
+ */
+class JdkHttpTransportTest {
+
+    HttpServer server;
+    String baseUrl;
+    final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    final List<String> requestBodies = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/values", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            try (InputStream in = exchange.getRequestBody()) {
+                byte[] body = in.readAllBytes();
+                if ("gzip".equals(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+                    body = new GZIPInputStream(new ByteArrayInputStream(body)).readAllBytes();
+                }
+                requestBodies.add(exchange.getRequestMethod() + " " + exchange.getRequestHeaders().getFirst("Content-Type")
+                        + " " + new String(body, StandardCharsets.UTF_8));
+            }
+            ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+                gzip.write("{\"values\":[[\"AD-1\"]]}".getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, gzipped.size());
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(gzipped.toByteArray());
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.createContext("/stalled", exchange -> {
+            exchange.sendResponseHeaders(200, 10);
+            OutputStream out = exchange.getResponseBody();
+            out.write("{\"v".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void requests_reuseOneConnection_andPassGzipBothWays() throws Exception {
+        HttpRequestFactory factory = JdkHttpTransport.create(Duration.ofSeconds(5), false).createRequestFactory();
+
+        for (int i = 0; i < 3; i++) {
+            HttpRequest request = factory.buildPostRequest(new GenericUrl(baseUrl + "/values"),
+                    ByteArrayContent.fromString("application/json", "{\"n\":" + i + "}"));
+            request.setEncoding(new GZipEncoding());
+            HttpResponse response = request.execute();
+            assertEquals(200, response.getStatusCode());
+            assertEquals("{\"values\":[[\"AD-1\"]]}", response.parseAsString());
+        }
+
+        assertEquals(1, clientPorts.size(), "keep-alive connection should be reused");
+        assertEquals("POST application/json {\"n\":2}", requestBodies.get(2));
+    }
+
+    @Test
+    void readTimeout_appliesPerRequest() throws Exception {
+        HttpRequest request = JdkHttpTransport.create(Duration.ofSeconds(5), false).createRequestFactory()
+                .buildGetRequest(new GenericUrl(baseUrl + "/slow"));
+        request.setReadTimeout(200);
+
+        assertThrows(HttpTimeoutException.class, request::execute);
+    }
+
+    @Test
+    void readTimeout_appliesToResponseBody() throws Exception {
+        HttpRequest request = JdkHttpTransport.create(Duration.ofSeconds(5), false).createRequestFactory()
+                .buildGetRequest(new GenericUrl(baseUrl + "/stalled"));
+        request.setReadTimeout(200);
+        HttpResponse response = request.execute();
+
+        assertThrows(HttpTimeoutException.class, response::parseAsString);
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.sitracker.config;
+
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import org.example.sitracker.cli.CreateCommand;
+import org.example.sitracker.cli.UpdateCommand;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NativeHints.
+ */
+class NativeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void registersCommandsWithTheirFields_andNestedArgGroups() throws Exception {
+        new NativeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection().onField(UpdateCommand.class.getDeclaredField("status")).test(hints));
+        Class<?> source = Class.forName(CreateCommand.class.getName() + "$Source");
+        assertTrue(RuntimeHintsPredicates.reflection().onType(source).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of("picocli.CommandLine$AutoHelpMixin")).test(hints));
+    }
+
+    @Test
+    void registersGoogleJsonModels_andVersionResources() throws Exception {
+        new NativeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection().onField(ValueRange.class.getDeclaredField("values")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(GoogleJsonError.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("com/google/api/client/http/google-http-client.properties").test(hints));
+    }
+}
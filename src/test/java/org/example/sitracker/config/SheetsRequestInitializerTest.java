@@ -0,0 +1,207 @@
+package org.example.sitracker.config;
+
+import com.google.api.client.http.ByteArrayContent;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.client.util.NanoClock;
+import com.google.api.client.util.Sleeper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SheetsRequestInitializer.
+ * Requests go to a mock transport that answers with scripted status codes; sleeping only
+ * advances a fake clock, so the tests run instantly.
+ */
+class SheetsRequestInitializerTest {
+
+    private static final String VALUES_URL = "https://sheets.googleapis.com/v4/spreadsheets/s1/values/Issues!A1:F1";
+    private static final String APPEND_URL = "https://sheets.googleapis.com/v4/spreadsheets/s1/values/Issues!A:F:append";
+
+    private final Deque<MockLowLevelHttpResponse> responses = new ArrayDeque<>();
+    private final List<MockLowLevelHttpRequest> sent = new ArrayList<>();
+    private final List<Long> sleeps = new ArrayList<>();
+    private long nanos;
+    private final NanoClock clock = () -> nanos;
+    private final Sleeper sleeper = millis -> {
+        sleeps.add(millis);
+        nanos += millis * 1_000_000;
+    };
+
+    private final HttpTransport transport = new MockHttpTransport() {
+        @Override
+        public LowLevelHttpRequest buildRequest(String method, String url) {
+            return new MockLowLevelHttpRequest(url) {
+                @Override
+                public LowLevelHttpResponse execute() {
+                    sent.add(this);
+                    return responses.isEmpty() ? status(200) : responses.poll();
+                }
+            };
+        }
+    };
+
+    @Test
+    void rateLimitedAndFailedReads_areRetriedWithJitteredBackoff() throws Exception {
+        responses.add(status(429).addHeader("Retry-After", "3"));
+        responses.add(status(503));
+        HttpRequestFactory factory = factory(0, 1, Duration.ofSeconds(60));
+
+        assertEquals(200, factory.buildGetRequest(new GenericUrl(VALUES_URL)).execute().getStatusCode());
+
+        assertEquals(3, sent.size());
+        assertEquals(3000, sleeps.get(0), "Retry-After outweighs the first backoff");
+        assertTrue(sleeps.get(1) >= 500 && sleeps.get(1) <= 1500, "second backoff is 1 s ± 50%: " + sleeps.get(1));
+    }
+
+    @Test
+    void appends_areRetriedOnlyWhenRateLimited() throws Exception {
+        HttpRequestFactory factory = factory(0, 1, Duration.ofSeconds(60));
+
+        responses.add(status(500));
+        HttpResponseException e = assertThrows(HttpResponseException.class, () -> append(factory).execute());
+        assertEquals(500, e.getStatusCode());
+        assertEquals(1, sent.size());
+
+        responses.add(status(429));
+        assertEquals(200, append(factory).execute().getStatusCode());
+        assertEquals(3, sent.size());
+    }
+
+    @Test
+    void retries_stopAfterMaxRetryTime() {
+        for (int i = 0; i < 20; i++) responses.add(status(503));
+        HttpRequestFactory factory = factory(0, 1, Duration.ofSeconds(5));
+
+        HttpResponseException e = assertThrows(HttpResponseException.class,
+                () -> factory.buildGetRequest(new GenericUrl(VALUES_URL)).execute());
+
+        assertEquals(503, e.getStatusCode());
+        assertTrue(sent.size() > 2 && sent.size() < 10, "attempts: " + sent.size());
+        // the last wait is cut short so that the retries end at the limit
+        assertEquals(5000, sleeps.stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    void maxRetryTime_countsFromFirstFailure_notFromWhenRequestWasBuilt() throws Exception {
+        for (int i = 0; i < 20; i++) responses.add(status(503));
+        HttpRequest request = factory(0, 1, Duration.ofSeconds(5)).buildGetRequest(new GenericUrl(VALUES_URL));
+        nanos += 4_000_000_000L; // e.g. waiting for the rate limit or credentials
+
+        assertThrows(HttpResponseException.class, request::execute);
+
+        assertEquals(5000, sleeps.stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    void retryAfterBeyondMaxRetryTime_isNotWaitedFor() {
+        responses.add(status(429).addHeader("Retry-After", "90"));
+        HttpRequestFactory factory = factory(0, 1, Duration.ofSeconds(60));
+
+        HttpResponseException e = assertThrows(HttpResponseException.class,
+                () -> factory.buildGetRequest(new GenericUrl(VALUES_URL)).execute());
+
+        assertEquals(429, e.getStatusCode());
+        assertEquals(1, sent.size());
+        assertTrue(sleeps.isEmpty(), "slept " + sleeps);
+    }
+
+    @Test
+    void requests_areThrottledToConfiguredRate_afterBurst() throws Exception {
+        HttpRequestFactory factory = factory(60, 2, Duration.ofSeconds(60));
+
+        for (int i = 0; i < 5; i++) factory.buildGetRequest(new GenericUrl(VALUES_URL)).execute();
+
+        // two requests pass at once, then one per second
+        assertEquals(3, sleeps.size());
+        sleeps.forEach(wait -> assertTrue(wait >= 990 && wait <= 1010, "wait " + wait));
+    }
+
+    @Test
+    void credentialsRunFirst_andTimeoutsAreSet() throws Exception {
+        SheetsRequestInitializer initializer = new SheetsRequestInitializer(
+                request -> request.setInterceptor(r -> r.getHeaders().setAuthorization("Bearer token")),
+                0, 1, Duration.ofSeconds(7), Duration.ofSeconds(9), Duration.ofSeconds(60), sleeper, clock);
+        HttpRequest request = transport.createRequestFactory(initializer).buildGetRequest(new GenericUrl(VALUES_URL));
+
+        request.execute();
+
+        assertEquals(7000, request.getConnectTimeout());
+        assertEquals(9000, request.getReadTimeout());
+        assertEquals("Bearer token", sent.get(0).getFirstHeaderValue("Authorization"));
+    }
+
+    @Test
+    void isIdempotent_excludesAppendsAndSpreadsheetBatchUpdates() throws Exception {
+        HttpRequestFactory factory = transport.createRequestFactory();
+        ByteArrayContent body = ByteArrayContent.fromString("application/json", "{}");
+
+        assertFalse(SheetsRequestInitializer.isIdempotent(factory.buildPostRequest(new GenericUrl(APPEND_URL), body)));
+        assertFalse(SheetsRequestInitializer.isIdempotent(factory.buildPostRequest(
+                new GenericUrl("https://sheets.googleapis.com/v4/spreadsheets/s1:batchUpdate"), body)));
+        assertTrue(SheetsRequestInitializer.isIdempotent(factory.buildPostRequest(
+                new GenericUrl("https://sheets.googleapis.com/v4/spreadsheets/s1/values:batchUpdate"), body)));
+    }
+
+    @Test
+    void attemptsRetriesAndBodySizes_areRecordedPerOperation() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SheetsRequestInitializer initializer = new SheetsRequestInitializer(null, 0, 1,
+                Duration.ofSeconds(10), Duration.ofSeconds(30), Duration.ofSeconds(60), sleeper, clock);
+        initializer.setMeterRegistry(registry);
+        responses.add(status(429).addHeader("Retry-After", "2"));
+        responses.add(status(200).addHeader("Content-Length", "2"));
+
+        append(transport.createRequestFactory(initializer)).execute();
+
+        assertEquals(1, registry.get(SheetsRequestInitializer.REQUESTS)
+                .tags("operation", "values.append", "status", "429").timer().count());
+        assertEquals(1, registry.get(SheetsRequestInitializer.REQUESTS)
+                .tags("operation", "values.append", "status", "200").timer().count());
+        assertEquals(1, registry.get(SheetsRequestInitializer.RETRIES)
+                .tags("operation", "values.append", "status", "429").counter().count());
+        assertEquals(2, registry.get(SheetsRequestInitializer.REQUEST_SIZE).tag("operation", "values.append").summary().count());
+        assertEquals(4, registry.get(SheetsRequestInitializer.REQUEST_SIZE).summary().totalAmount());
+        assertEquals(2, registry.get(SheetsRequestInitializer.RESPONSE_SIZE).summary().totalAmount());
+    }
+
+    @Test
+    void operation_namesTheSheetsApiMethod() {
+        assertEquals("values.get", SheetsRequestInitializer.operation("GET", "/v4/spreadsheets/s1/values/Issues!A:F"));
+        assertEquals("values.update", SheetsRequestInitializer.operation("PUT", "/v4/spreadsheets/s1/values/Issues!D2:F2"));
+        assertEquals("values.append", SheetsRequestInitializer.operation("POST", "/v4/spreadsheets/s1/values/Issues!A:F:append"));
+        assertEquals("values.batchGet", SheetsRequestInitializer.operation("GET", "/v4/spreadsheets/s1/values:batchGet"));
+        assertEquals("values.batchUpdate", SheetsRequestInitializer.operation("POST", "/v4/spreadsheets/s1/values:batchUpdate"));
+        assertEquals("spreadsheets.batchUpdate", SheetsRequestInitializer.operation("POST", "/v4/spreadsheets/s1:batchUpdate"));
+        assertEquals("other", SheetsRequestInitializer.operation("POST", "/token"));
+    }
+
+    // ------------- helpers --------------
+
+    private HttpRequestFactory factory(int requestsPerMinute, int burst, Duration maxRetryTime) {
+        return transport.createRequestFactory(new SheetsRequestInitializer(null, requestsPerMinute, burst,
+                Duration.ofSeconds(10), Duration.ofSeconds(30), maxRetryTime, sleeper, clock));
+    }
+
+    private static HttpRequest append(HttpRequestFactory factory) throws Exception {
+        return factory.buildPostRequest(new GenericUrl(APPEND_URL), ByteArrayContent.fromString("application/json", "{}"));
+    }
+
+    private static MockLowLevelHttpResponse status(int code) {
+        return new MockLowLevelHttpResponse().setStatusCode(code).setContent("{}");
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.sitracker.daemon;
+
+import org.example.sitracker.cli.ImportCommand;
+import org.example.sitracker.cli.ListCommand;
+import org.example.sitracker.cli.RootCommand;
+import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.Status;
+import org.example.sitracker.service.IssueService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import picocli.CommandLine;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests DaemonServer together with DaemonClient over a real loopback connection.
+ */
+class DaemonServerTest {
+
+    @TempDir
+    Path tmp;
+
+    IssueService svc;
+    DaemonServer server;
+    Path endpointFile;
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        svc = mock(IssueService.class);
+        endpointFile = tmp.resolve("daemon.properties");
+        server = new DaemonServer(() -> {
+            CommandLine root = new CommandLine(new RootCommand());
+            root.addSubcommand("list", new ListCommand(svc));
+            root.addSubcommand("import", new ImportCommand(svc));
+            return root;
+        }, 0, endpointFile, 2, () -> "sitracker_service_operations_seconds_count 3\n",
+                Map.of("sitracker.spreadsheet.id", "sheet-1", "SITRACKER_BACKEND", "sheets")::get);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    void command_runsInDaemon_andStreamsOutputAndExitCode() {
+        Issue issue = new Issue("AD-1", null, null, Status.OPEN, null, null);
+        when(svc.queryIssues(any())).thenReturn(Stream.of(issue));
+
+        OptionalInt exit = run("list", "-s", "OPEN");
+
+        assertEquals(OptionalInt.of(0), exit);
+        assertTrue(out.toString().contains("AD-1"));
+        assertEquals(OptionalInt.of(2), run("list", "-s", "NOPE"));
+        assertTrue(err.toString().contains("NOPE"));
+    }
+
+    @Test
+    void relativePaths_areResolvedAgainstClientDirectory() throws Exception {
+        Files.writeString(tmp.resolve("issues.csv"), "description\none\n");
+        when(svc.createIssues(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        assertEquals(OptionalInt.of(0), run("import", "issues.csv"));
+        assertTrue(out.toString().contains("Imported 1 issues"), out.toString());
+    }
+
+    @Test
+    void wrongToken_orStoppedDaemon_leaveCommandToCaller() throws Exception {
+        new DaemonEndpoint(server.port(), "not-the-token").write(endpointFile);
+        assertTrue(run("list", "-s", "OPEN").isEmpty());
+
+        server.stop();
+        assertFalse(Files.exists(endpointFile));
+        assertTrue(run("list", "-s", "OPEN").isEmpty());
+        verifyNoInteractions(svc);
+    }
+
+    @Test
+    void differentConfiguration_leavesCommandToCaller() {
+        when(svc.queryIssues(any())).thenReturn(Stream.empty());
+
+        assertTrue(runWith(Map.of("sitracker.spreadsheet.id", "sheet-2"), "list", "-s", "OPEN").isEmpty());
+        assertTrue(runWith(Map.of("GOOGLE_APPLICATION_CREDENTIALS", "/tmp/other.json"), "list", "-s", "OPEN").isEmpty());
+        verifyNoInteractions(svc);
+        assertEquals(OptionalInt.of(0), runWith(Map.of("sitracker.spreadsheet.id", "sheet-1", "SITRACKER_BACKEND", "sheets"),
+                "list", "-s", "OPEN"));
+    }
+
+    @Test
+    void overridingProperties_selectApplicationConfigurationOnly() {
+        Map<String, String> properties = DaemonClient.overridingProperties(
+                Map.of("sitracker.spreadsheet.id", "s", "spring.profiles.active", "p", "sitracker.daemon.file", "f", "user.home", "h"),
+                Map.of("SITRACKER_BACKEND", "local", "SITRACKER_DAEMON_FILE", "f", "GOOGLE_APPLICATION_CREDENTIALS", "c", "HOME", "h"));
+
+        assertEquals(Map.of("sitracker.spreadsheet.id", "s", "spring.profiles.active", "p",
+                "SITRACKER_BACKEND", "local", "GOOGLE_APPLICATION_CREDENTIALS", "c"), properties);
+    }
+
+    @Test
+    void metrics_areServedWithoutToken_inPrometheusFormat() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        URI uri = URI.create("http://127.0.0.1:" + server.port() + "/metrics");
+
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> post = client.send(HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/plain; version=0.0.4"));
+        assertEquals("sitracker_service_operations_seconds_count 3\n", response.body());
+        assertEquals(405, post.statusCode());
+    }
+
+    private OptionalInt run(String... args) {
+        return new DaemonClient(endpointFile).tryRun(args, tmp, new PrintStream(out, true), new PrintStream(err, true));
+    }
+
+    private OptionalInt runWith(Map<String, String> properties, String... args) {
+        return new DaemonClient(endpointFile, properties).tryRun(args, tmp, new PrintStream(out, true), new PrintStream(err, true));
+    }
+}
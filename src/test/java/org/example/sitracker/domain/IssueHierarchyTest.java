@@ -0,0 +1,75 @@
+package org.example.sitracker.domain;
+
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IssueHierarchyTest {
+
+    private static Issue issue(String id, String parentId, Status status) {
+        return new Issue(id, null, parentId, status, null, null);
+    }
+
+    @Test
+    void of_buildsChildrenDescendantsAndAncestors() {
+        Issue epic = issue("AD-1", null, Status.OPEN);
+        Issue story = issue("AD-2", "AD-1", Status.IN_PROGRESS);
+        Issue task = issue("AD-3", "AD-2", Status.CLOSED);
+        Issue other = issue("AD-4", "AD-1", Status.CLOSED);
+        Issue orphan = issue("AD-5", "AD-99", Status.OPEN);
+
+        IssueHierarchy h = IssueHierarchy.of(Stream.of(epic, story, task, other, orphan));
+
+        assertEquals(List.of(epic, orphan), h.roots());
+        assertEquals(List.of(story, other), h.children("AD-1"));
+        assertEquals(List.of(story, task, other), h.descendants("AD-1"));
+        assertEquals(List.of(story, epic), h.ancestors("AD-3"));
+        assertTrue(h.children("AD-3").isEmpty());
+        assertTrue(h.cyclic().isEmpty());
+    }
+
+    @Test
+    void rollup_countsStatusesOfWholeSubtree() {
+        IssueHierarchy h = IssueHierarchy.of(Stream.of(
+                issue("AD-1", null, Status.OPEN),
+                issue("AD-2", "AD-1", Status.IN_PROGRESS),
+                issue("AD-3", "AD-2", Status.CLOSED),
+                issue("AD-4", "AD-2", Status.CLOSED)));
+
+        assertEquals(0, h.rollup("AD-1").get(Status.OPEN));
+        assertEquals(1, h.rollup("AD-1").get(Status.IN_PROGRESS));
+        assertEquals(2, h.rollup("AD-1").get(Status.CLOSED));
+        assertEquals(2, h.rollup("AD-2").get(Status.CLOSED));
+        assertEquals(0, h.rollup("AD-4").get(Status.CLOSED));
+    }
+
+    @Test
+    void cycles_areDetected_andTraversalsTerminate() {
+        IssueHierarchy h = IssueHierarchy.of(Stream.of(
+                issue("AD-1", "AD-3", Status.OPEN),
+                issue("AD-2", "AD-1", Status.OPEN),
+                issue("AD-3", "AD-2", Status.OPEN),
+                issue("AD-4", "AD-3", Status.CLOSED),
+                issue("AD-5", "AD-5", Status.OPEN),
+                issue("AD-6", null, Status.OPEN)));
+
+        assertEquals(Set.of("AD-1", "AD-2", "AD-3", "AD-5"), h.cyclic());
+        assertEquals(List.of("AD-6"), h.roots().stream().map(Issue::getId).toList());
+        assertEquals(List.of("AD-2", "AD-3", "AD-4"), h.descendants("AD-1").stream().map(Issue::getId).toList());
+        assertEquals(List.of("AD-3", "AD-2"), h.ancestors("AD-1").stream().map(Issue::getId).toList());
+        assertEquals(2, h.rollup("AD-1").get(Status.OPEN));
+        assertTrue(h.descendants("AD-5").isEmpty());
+    }
+
+    @Test
+    void unknownIds_areRejected() {
+        IssueHierarchy h = IssueHierarchy.of(Stream.of(issue("AD-1", null, Status.OPEN)));
+
+        assertThrows(NoSuchElementException.class, () -> h.children("AD-2"));
+        assertThrows(NoSuchElementException.class, () -> h.rollup(null));
+        assertTrue(h.get("AD-2").isEmpty());
+    }
+}
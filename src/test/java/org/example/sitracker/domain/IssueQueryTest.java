@@ -0,0 +1,86 @@
+package org.example.sitracker.domain;
+
+import org.junit.jupiter.api.Test;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IssueQueryTest {
+
+    private static Issue issue(String id, Status status, String parentId, String description, LocalDateTime createdAt) {
+        return new Issue(id, description, parentId, status, createdAt, createdAt);
+    }
+
+    @Test
+    void where_combinesAllTermsIntoOnePredicate() {
+        IssueQuery query = IssueQuery.builder()
+                .where("status=OPEN,IN_PROGRESS and parent=AD-1 description~\"LOGIN page\" created>=2024-01-01 created<=2024-01-31")
+                .build();
+
+        assertTrue(query.matches(issue("AD-2", Status.OPEN, "AD-1", "Fix login Page layout", LocalDateTime.of(2024, 1, 31, 23, 59))));
+        assertFalse(query.matches(issue("AD-3", Status.CLOSED, "AD-1", "Fix login page", LocalDateTime.of(2024, 1, 10, 0, 0))));
+        assertFalse(query.matches(issue("AD-4", Status.OPEN, "AD-9", "Fix login page", LocalDateTime.of(2024, 1, 10, 0, 0))));
+        assertFalse(query.matches(issue("AD-5", Status.OPEN, "AD-1", "Fix logout", LocalDateTime.of(2024, 1, 10, 0, 0))));
+        assertFalse(query.matches(issue("AD-6", Status.OPEN, "AD-1", "Fix login page", LocalDateTime.of(2024, 2, 1, 0, 0))));
+        assertFalse(query.matches(issue("AD-7", Status.OPEN, "AD-1", "Fix login page", null)));
+    }
+
+    @Test
+    void where_supportsRegexAndExclusiveDateTimeBounds() {
+        IssueQuery query = IssueQuery.builder()
+                .where("description~/time-?out/ updated>2024-01-01T10:00 updated<2024-01-02")
+                .build();
+
+        assertTrue(query.matches(issue("AD-1", Status.OPEN, null, "API timeout", LocalDateTime.of(2024, 1, 1, 10, 1))));
+        assertFalse(query.matches(issue("AD-2", Status.OPEN, null, "API time-out", LocalDateTime.of(2024, 1, 1, 10, 0))));
+        assertFalse(query.matches(issue("AD-3", Status.OPEN, null, "API time-out", LocalDateTime.of(2024, 1, 2, 0, 0))));
+    }
+
+    @Test
+    void where_rejectsUnknownFieldsAndOperators() {
+        assertThrows(IllegalArgumentException.class, () -> IssueQuery.builder().where("priority=high"));
+        assertThrows(IllegalArgumentException.class, () -> IssueQuery.builder().where("status~OPEN"));
+        assertThrows(IllegalArgumentException.class, () -> IssueQuery.builder().where("status=DONE"));
+        assertThrows(IllegalArgumentException.class, () -> IssueQuery.builder().where("created>=yesterday"));
+        assertThrows(IllegalArgumentException.class, () -> IssueQuery.builder().where("description~\"open"));
+    }
+
+    @Test
+    void singleStatus_isOnlyPresentForExactlyOneStatus() {
+        assertEquals(Optional.of(Status.OPEN), IssueQuery.builder().status(Status.OPEN).build().singleStatus());
+        assertTrue(IssueQuery.builder().status(Status.OPEN, Status.CLOSED).build().singleStatus().isEmpty());
+        assertTrue(IssueQuery.builder().status(Status.values()).build().getStatuses().isEmpty());
+        assertTrue(IssueQuery.all().singleStatus().isEmpty());
+    }
+
+    @Test
+    void select_ordersByNumericIdAndKeepsOnlyTheLimit() {
+        IssueQuery query = IssueQuery.builder()
+                .orderBy(IssueQuery.Order.parse("-id"))
+                .limit(2)
+                .build();
+        Issue a = issue("AD-2", Status.OPEN, null, "a", null);
+        Issue b = issue("AD-10", Status.OPEN, null, "b", null);
+        Issue c = issue("AD-9", Status.OPEN, null, "c", null);
+
+        assertEquals(List.of(b, c), query.select(Stream.of(a, b, c)).toList());
+    }
+
+    @Test
+    void select_withoutOrdering_keepsStorageOrderAndStopsAtLimit() {
+        IssueQuery query = IssueQuery.builder().limit(1).build();
+        Issue a = issue("AD-2", Status.OPEN, null, "a", null);
+        Issue b = issue("AD-1", Status.OPEN, null, "b", null);
+
+        assertEquals(List.of(a), query.select(Stream.of(a, b)).toList());
+    }
+
+    @Test
+    void orderParse_rejectsUnknownFieldOrDirection() {
+        assertEquals(new IssueQuery.Order(IssueQuery.SortField.CREATED, false), IssueQuery.Order.parse("created:asc"));
+        assertThrows(IllegalArgumentException.class, () -> IssueQuery.Order.parse("priority"));
+        assertThrows(IllegalArgumentException.class, () -> IssueQuery.Order.parse("id:up"));
+    }
+}
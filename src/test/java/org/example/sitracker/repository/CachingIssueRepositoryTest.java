@@ -0,0 +1,191 @@
+package org.example.sitracker.repository;
+
+import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CachingIssueRepository.
+ * The Sheets-backed delegate is mocked, so the tests only verify how often it is consulted.
+ */
+@ExtendWith(MockitoExtension.class)
+class CachingIssueRepositoryTest {
+
+    @Mock
+    GoogleSheetsIssueRepositoryImpl delegate;
+
+    MutableClock clock;
+    CachingIssueRepository cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        cache = new CachingIssueRepository(delegate, Duration.ofMinutes(5), clock);
+    }
+
+    @Test
+    void reads_loadSheetOnlyOnce_withinTtl() throws Exception {
+        when(delegate.readRows()).thenReturn(List.of(
+                new SheetRow(2, issue("AD-1", Status.OPEN)),
+                new SheetRow(3, issue("AD-2", Status.CLOSED))));
+
+        assertEquals(2, cache.findAll().size());
+        List<Issue> closed = cache.findByStatus(Status.CLOSED);
+
+        assertEquals(1, closed.size());
+        assertEquals("AD-2", closed.get(0).getId());
+        verify(delegate, times(1)).readRows();
+    }
+
+    @Test
+    void reads_resyncAfterTtlExpires() throws Exception {
+        when(delegate.readRows()).thenReturn(List.of(new SheetRow(2, issue("AD-1", Status.OPEN))));
+
+        cache.findAll();
+        clock.advance(Duration.ofMinutes(6));
+        cache.findAll();
+
+        verify(delegate, times(2)).readRows();
+    }
+
+    @Test
+    void updateStatus_whenWarm_writesKnownRowWithoutReading() throws Exception {
+        when(delegate.readRows()).thenReturn(List.of(
+                new SheetRow(2, issue("AD-1", Status.OPEN)),
+                new SheetRow(3, issue("AD-2", Status.OPEN))));
+        when(delegate.updateStatusAt(any(SheetRow.class), eq(Status.CLOSED))).thenAnswer(inv -> {
+            SheetRow row = inv.getArgument(0);
+            return new SheetRow(row.rowNumber(), row.issue().withStatus(Status.CLOSED, null));
+        });
+        cache.findAll();
+
+        Issue updated = cache.updateStatus("AD-2", Status.CLOSED);
+
+        assertEquals(Status.CLOSED, updated.getStatus());
+        verify(delegate).updateStatusAt(argThat(r -> r.rowNumber() == 3), eq(Status.CLOSED));
+        verify(delegate, never()).updateStatus(anyString(), any());
+        assertEquals(1, cache.findByStatus(Status.CLOSED).size());
+        verify(delegate, times(1)).readRows();
+    }
+
+    @Test
+    void updateStatus_whenCold_delegatesWithoutLoading() throws Exception {
+        Issue updated = issue("AD-1", Status.CLOSED);
+        when(delegate.updateStatus("AD-1", Status.CLOSED)).thenReturn(updated);
+
+        assertSame(updated, cache.updateStatus("AD-1", Status.CLOSED));
+        verify(delegate, never()).readRows();
+    }
+
+    @Test
+    void findByStatus_whenCold_usesFilteredReadWithoutLoading() throws Exception {
+        when(delegate.findByStatus(Status.CLOSED)).thenReturn(List.of(issue("AD-7", Status.CLOSED)));
+
+        assertEquals(1, cache.findByStatus(Status.CLOSED).size());
+        verify(delegate, never()).readRows();
+    }
+
+    @Test
+    void streamAll_whenCold_streamsFromDelegateWithoutLoading() throws Exception {
+        when(delegate.streamAll()).thenReturn(java.util.stream.Stream.of(issue("AD-1", Status.OPEN)));
+
+        assertEquals(1, cache.streamAll().count());
+        verify(delegate, never()).readRows();
+    }
+
+    @Test
+    void save_whenWarm_addsAppendedRowToCache() throws Exception {
+        when(delegate.readRows()).thenReturn(List.of(new SheetRow(2, issue("AD-1", Status.OPEN))));
+        when(delegate.append(any(Issue.class))).thenAnswer(inv -> {
+            Issue i = inv.getArgument(0);
+            return new SheetRow(3, i.withId("AD-2").withStatus(Status.OPEN, null));
+        });
+        cache.findAll();
+
+        cache.save(new Issue("new", null));
+
+        assertEquals(2, cache.findByStatus(Status.OPEN).size());
+        verify(delegate, times(1)).readRows();
+    }
+
+    @Test
+    void findAll_returnsSnapshot_unaffectedByLaterWrites() throws Exception {
+        when(delegate.readRows()).thenReturn(List.of(new SheetRow(2, issue("AD-1", Status.OPEN))));
+        when(delegate.updateStatusAt(any(SheetRow.class), eq(Status.CLOSED))).thenAnswer(inv -> {
+            SheetRow row = inv.getArgument(0);
+            return new SheetRow(row.rowNumber(), row.issue().withStatus(Status.CLOSED, null));
+        });
+        List<Issue> before = cache.findAll();
+
+        cache.updateStatus("AD-1", Status.CLOSED);
+
+        assertEquals(Status.OPEN, before.get(0).getStatus());
+        assertEquals(Status.CLOSED, cache.findAll().get(0).getStatus());
+        assertEquals(issue("AD-1", Status.OPEN), before.get(0));
+    }
+
+    @Test
+    void hierarchy_isBuiltOncePerLoad_andRebuiltAfterWrites() throws Exception {
+        Issue child = new Issue("AD-2", "desc AD-2", "AD-1", Status.OPEN, null, null);
+        when(delegate.readRows()).thenReturn(List.of(
+                new SheetRow(2, issue("AD-1", Status.OPEN)), new SheetRow(3, child)));
+        when(delegate.updateStatusAt(any(SheetRow.class), eq(Status.CLOSED))).thenAnswer(inv -> {
+            SheetRow row = inv.getArgument(0);
+            return new SheetRow(row.rowNumber(), row.issue().withStatus(Status.CLOSED, null));
+        });
+
+        assertSame(cache.hierarchy(), cache.hierarchy());
+        assertEquals(1, cache.hierarchy().rollup("AD-1").get(Status.OPEN));
+
+        cache.updateStatus("AD-2", Status.CLOSED);
+
+        assertEquals(1, cache.hierarchy().rollup("AD-1").get(Status.CLOSED));
+        verify(delegate, times(1)).readRows();
+    }
+
+    private static Issue issue(String id, Status status) {
+        return new Issue(id, "desc " + id, null, status, null, null);
+    }
+
+    /**
+     * Clock whose time only moves when the test advances it.
+     */
+    static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package org.example.sitracker.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.api.client.http.HttpRequestInitializer;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.services.sheets.v4.Sheets;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Embedded HTTP server that speaks the Sheets v4 REST API for an {@link InMemorySheets}.
+ *
+ * <p>Unlike {@link InMemorySheets#client()}, requests leave the process: a {@link Sheets} client
+ * built with {@link #client()} has its root URL pointed at {@link #rootUrl()} and sends real HTTP
+ * over loopback, with the client's gzip request bodies and connection handling. That makes request
+ * counts, payload sizes and latency behaviour measurable end to end without Google.
+ *
+ * <p>Faults can be injected while the server runs:
+ * <ul>
+ *     <li>{@link #setLatency(Duration, Duration)} delays every response by a base time plus a
+ *     random jitter. Delays happen outside the grid lock, so concurrent requests overlap the way
+ *     they do against the real API.</li>
+ *     <li>{@link #throttleNext(int)} answers the next requests with HTTP 429
+ *     {@code RESOURCE_EXHAUSTED}, and {@link #setThrottleRate(double)} answers a random share of
+ *     all requests that way. {@link #setRetryAfterSeconds(int)} adds a {@code Retry-After} header.</li>
+ * </ul>
+ * Throttled requests never reach the grid and are not counted by {@link InMemorySheets#requestCount(String)};
+ * {@link #throttledCount()} counts them instead. Randomness is seeded, so runs are repeatable.
+ */
+public class FakeSheetsServer implements AutoCloseable {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final InMemorySheets sheets;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "fake-sheets");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Random random = new Random(42);
+
+    private volatile long latencyNanos;
+    private volatile long jitterNanos;
+    private volatile double throttleRate;
+    private volatile int retryAfterSeconds = -1;
+    private final AtomicInteger throttleNext = new AtomicInteger();
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong throttledCount = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+
+    /**
+     * Starts a server for the spreadsheet on a free loopback port.
+     *
+     * @param sheets spreadsheet to serve
+     * @throws IOException if the server cannot bind
+     */
+    public FakeSheetsServer(InMemorySheets sheets) throws IOException {
+        this.sheets = sheets;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::exchange);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * @return root URL to pass to {@link Sheets.Builder#setRootUrl(String)}, ending in {@code /}
+     */
+    public String rootUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    /**
+     * @return spreadsheet id requests must address
+     */
+    public String spreadsheetId() {
+        return sheets.spreadsheetId();
+    }
+
+    /**
+     * @return the served spreadsheet, for seeding rows and reading per-operation request counts
+     */
+    public InMemorySheets sheets() {
+        return sheets;
+    }
+
+    /**
+     * @return a Sheets client without request policy that sends its requests to this server
+     */
+    public Sheets client() {
+        return client(null);
+    }
+
+    /**
+     * @param initializer request initializer to install, e.g. a
+     *                    {@link org.example.sitracker.config.SheetsRequestInitializer} to exercise
+     *                    retries and rate limiting; may be {@code null}
+     * @return a Sheets client that sends its requests to this server
+     */
+    public Sheets client(HttpRequestInitializer initializer) {
+        return new Sheets.Builder(new NetHttpTransport(), JacksonFactory.getDefaultInstance(), initializer)
+                .setRootUrl(rootUrl())
+                .setApplicationName("SiTracker")
+                .build();
+    }
+
+    /**
+     * Delays every response by {@code latency} plus a uniformly random share of {@code jitter}.
+     *
+     * @param latency base delay per request
+     * @param jitter  maximum extra delay per request
+     */
+    public void setLatency(Duration latency, Duration jitter) {
+        this.latencyNanos = latency.toNanos();
+        this.jitterNanos = jitter.toNanos();
+    }
+
+    /**
+     * Answers the next {@code requests} requests with HTTP 429, in addition to any already pending.
+     *
+     * @param requests number of requests to throttle
+     */
+    public void throttleNext(int requests) {
+        throttleNext.addAndGet(requests);
+    }
+
+    /**
+     * @param rate share of requests answered with HTTP 429, from {@code 0} (none) to {@code 1} (all)
+     */
+    public void setThrottleRate(double rate) {
+        if (rate < 0 || rate > 1) throw new IllegalArgumentException("rate must be between 0 and 1");
+        this.throttleRate = rate;
+    }
+
+    /**
+     * @param seconds value of the {@code Retry-After} header on 429 responses; negative for none
+     */
+    public void setRetryAfterSeconds(int seconds) {
+        this.retryAfterSeconds = seconds;
+    }
+
+    /**
+     * @return requests received, throttled ones included
+     */
+    public long requestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * @return requests answered with HTTP 429
+     */
+    public long throttledCount() {
+        return throttledCount.get();
+    }
+
+    /**
+     * @return request body bytes received, as sent on the wire (compressed if the client gzipped them)
+     */
+    public long bytesReceived() {
+        return bytesReceived.get();
+    }
+
+    /**
+     * @return response body bytes sent
+     */
+    public long bytesSent() {
+        return bytesSent.get();
+    }
+
+    /**
+     * Forgets all counted requests and bytes, here and in the spreadsheet.
+     */
+    public void resetCounts() {
+        requestCount.set(0);
+        throttledCount.set(0);
+        bytesReceived.set(0);
+        bytesSent.set(0);
+        sheets.resetRequestCounts();
+    }
+
+    /**
+     * Stops the server, aborting requests still being answered.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // ------------- helpers --------------
+
+    private void exchange(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requestCount.incrementAndGet();
+            byte[] raw = exchange.getRequestBody().readAllBytes();
+            bytesReceived.addAndGet(raw.length);
+            delay();
+
+            if (shouldThrottle()) {
+                throttledCount.incrementAndGet();
+                if (retryAfterSeconds >= 0) {
+                    exchange.getResponseHeaders().set("Retry-After", Integer.toString(retryAfterSeconds));
+                }
+                respond(exchange, 429, rateLimitError());
+                return;
+            }
+
+            String body = decodeBody(exchange, raw);
+            String uri = exchange.getRequestURI().getRawPath();
+            if (exchange.getRequestURI().getRawQuery() != null) uri += "?" + exchange.getRequestURI().getRawQuery();
+            // the client tunnels PATCH and long GETs through POST with this header
+            String method = exchange.getRequestHeaders().getFirst("X-HTTP-Method-Override");
+            if (method == null) method = exchange.getRequestMethod();
+            InMemorySheets.Response response = sheets.handle(method, uri,
+                    exchange.getRequestHeaders().getFirst("Content-Type"), body);
+            respond(exchange, response.status(), response.body());
+        }
+    }
+
+    private void delay() throws IOException {
+        long nanos = latencyNanos;
+        long jitter = jitterNanos;
+        if (jitter > 0) {
+            synchronized (random) {
+                nanos += (long) (random.nextDouble() * jitter);
+            }
+        }
+        if (nanos <= 0) return;
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while delaying the response", e);
+        }
+    }
+
+    private boolean shouldThrottle() {
+        if (throttleNext.getAndUpdate(n -> n > 0 ? n - 1 : 0) > 0) return true;
+        double rate = throttleRate;
+        if (rate <= 0) return false;
+        synchronized (random) {
+            return random.nextDouble() < rate;
+        }
+    }
+
+    private static String decodeBody(HttpExchange exchange, byte[] raw) throws IOException {
+        if (raw.length == 0) return null;
+        if ("gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(raw))) {
+                raw = in.readAllBytes();
+            }
+        }
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+        bytesSent.addAndGet(bytes.length);
+    }
+
+    private static String rateLimitError() {
+        String message = "Quota exceeded for quota metric 'Read requests' and limit 'Read requests per minute per user'";
+        ObjectNode out = JSON.createObjectNode();
+        ObjectNode error = out.putObject("error");
+        error.put("code", 429);
+        error.put("message", message);
+        error.put("status", "RESOURCE_EXHAUSTED");
+        ObjectNode detail = error.putArray("errors").addObject();
+        detail.put("message", message);
+        detail.put("domain", "global");
+        detail.put("reason", "rateLimitExceeded");
+        return out.toString();
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.sitracker.repository;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.services.sheets.v4.Sheets;
+import org.example.sitracker.config.SheetsRequestInitializer;
+import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs GoogleSheetsIssueRepositoryImpl over HTTP against FakeSheetsServer, with the client's root URL
+ * pointed at the loopback server, and checks the injected latency and rate limiting.
+ */
+class FakeSheetsServerTest {
+
+    FakeSheetsServer server;
+    GoogleSheetsIssueRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        InMemorySheets sheets = new InMemorySheets("Issues");
+        sheets.addRows("Issues", InMemorySheetsTest.TWO_ISSUES);
+        server = new FakeSheetsServer(sheets);
+        repository = repository(server.client());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void repository_readsAndWritesOverHttp_andRequestsAreCounted() throws Exception {
+        assertEquals("AD-3", repository.save(new Issue("Third", null)).getId());
+        repository.updateStatusBulk(Map.of("AD-1", Status.CLOSED));
+        List<Issue> all = repository.findAll();
+
+        assertEquals(List.of("AD-1", "AD-2", "AD-3"), all.stream().map(Issue::getId).toList());
+        assertEquals(Status.CLOSED, all.get(0).getStatus());
+        assertEquals(1, server.sheets().requestCount("values.append"));
+        assertEquals(1, server.sheets().requestCount("values.batchUpdate"));
+        assertTrue(server.requestCount() >= 4);
+        assertTrue(server.bytesReceived() > 0);
+        assertTrue(server.bytesSent() > 0);
+    }
+
+    @Test
+    void throttledRequest_failsWith429_withoutRetryPolicy() {
+        server.throttleNext(1);
+
+        GoogleJsonResponseException e = assertThrows(GoogleJsonResponseException.class, () -> repository.findAll());
+
+        assertEquals(429, e.getStatusCode());
+        assertEquals("rateLimitExceeded", e.getDetails().getErrors().get(0).getReason());
+        assertEquals(1, server.throttledCount());
+        assertEquals(0, server.sheets().requestCount("values.get"));
+    }
+
+    @Test
+    void throttledRequest_isRetriedBySheetsRequestInitializer() throws Exception {
+        Sheets client = server.client(new SheetsRequestInitializer(null, 0, 1,
+                Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofSeconds(10)));
+        repository = repository(client);
+        server.throttleNext(1);
+
+        List<Issue> all = repository.findAll();
+
+        assertEquals(2, all.size());
+        assertEquals(1, server.throttledCount());
+        assertEquals(2, server.requestCount());
+        assertEquals(1, server.sheets().requestCount("values.get"));
+    }
+
+    @Test
+    void latency_delaysEveryResponse() throws Exception {
+        server.setLatency(Duration.ofMillis(100), Duration.ZERO);
+
+        long start = System.nanoTime();
+        repository.findAll();
+
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(100).toNanos());
+    }
+
+    private GoogleSheetsIssueRepositoryImpl repository(Sheets client) {
+        return new GoogleSheetsIssueRepositoryImpl(client, server.spreadsheetId(),
+                new IssueIdAllocator(client, server.spreadsheetId(), 0));
+    }
+}
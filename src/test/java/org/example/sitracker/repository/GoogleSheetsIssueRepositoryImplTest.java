@@ -1,6 +1,11 @@
 package org.example.sitracker.repository;
 
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
 import com.google.api.services.sheets.v4.Sheets;
+import com.google.api.services.sheets.v4.model.BatchGetValuesResponse;
+import com.google.api.services.sheets.v4.model.BatchUpdateValuesRequest;
 import com.google.api.services.sheets.v4.model.ValueRange;
 import org.example.sitracker.domain.Issue;
 import org.example.sitracker.domain.Status;
@@ -9,9 +14,22 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -60,8 +78,8 @@ class GoogleSheetsIssueRepositoryImplTest {
         // default: map get(spreadsheetId, anything) to either header or all depending on range string.
         // We'll override in individual tests where needed.
 
-        // create repo instance
-        repo = new GoogleSheetsIssueRepositoryImpl(sheets, spreadsheetId);
+        // create repo instance; block size 0 seeds ids from the Issues sheet without the IdBlocks sheet
+        repo = new GoogleSheetsIssueRepositoryImpl(sheets, spreadsheetId, new IssueIdAllocator(sheets, spreadsheetId, 0));
     }
 
     @Test
@@ -71,9 +89,9 @@ class GoogleSheetsIssueRepositoryImplTest {
         when(values.get(eq(spreadsheetId), eq("Issues!A1:F1"))).thenReturn(getHeaderRequest);
         when(getHeaderRequest.execute()).thenReturn(emptyHeader);
 
-        // Simulate reading all rows for generateNextId -> only header present (so AD-1)
+        // Simulate reading column A to seed the id sequence -> only header present (so AD-1)
         ValueRange onlyHeader = new ValueRange().setValues(List.of(List.of("ID"))); // one row (header)
-        when(values.get(eq(spreadsheetId), eq("Issues!A:F"))).thenReturn(getAllRequest);
+        when(values.get(eq(spreadsheetId), eq("Issues!A:A"))).thenReturn(getAllRequest);
         when(getAllRequest.execute()).thenReturn(onlyHeader);
 
         // prepare append/update request chaining
@@ -89,9 +107,7 @@ class GoogleSheetsIssueRepositoryImplTest {
         ArgumentCaptor<ValueRange> appendBodyCaptor = ArgumentCaptor.forClass(ValueRange.class);
 
         // Act: save a new issue (no id)
-        Issue in = new Issue();
-        in.setDescription("Test issue from unit");
-        in.setParentId(null);
+        Issue in = new Issue("Test issue from unit", null);
 
         Issue saved = repo.save(in);
 
@@ -136,7 +152,7 @@ class GoogleSheetsIssueRepositoryImplTest {
         existing.add(List.of("AD-1", "one", "", "OPEN", "2025-01-01T00:00:00"));
         existing.add(List.of("AD-5", "two", "", "OPEN", "2025-01-02T00:00:00"));
         ValueRange all = new ValueRange().setValues(existing);
-        when(values.get(eq(spreadsheetId), eq("Issues!A:F"))).thenReturn(getAllRequest);
+        when(values.get(eq(spreadsheetId), eq("Issues!A:A"))).thenReturn(getAllRequest);
         when(getAllRequest.execute()).thenReturn(all);
 
         when(values.append(eq(spreadsheetId), eq("Issues!A:F"), any(ValueRange.class))).thenReturn(appendRequest);
@@ -144,28 +160,74 @@ class GoogleSheetsIssueRepositoryImplTest {
         when(appendRequest.execute()).thenReturn(null);
 
         // Act
-        Issue i = new Issue();
-        i.setDescription("New issue");
-        Issue saved = repo.save(i);
+        Issue saved = repo.save(new Issue("New issue", null));
 
         // Next id should be AD-6 (max was 5)
         assertEquals("AD-6", saved.getId());
     }
 
+    @Test
+    void saveAll_allocatesIdsOnce_andAppendsInChunks() throws Exception {
+        ValueRange header = new ValueRange().setValues(List.of(List.of("ID")));
+        when(values.get(eq(spreadsheetId), eq("Issues!A1:F1"))).thenReturn(getHeaderRequest);
+        when(getHeaderRequest.execute()).thenReturn(header);
+        ValueRange ids = new ValueRange().setValues(List.of(List.of("ID"), List.of("AD-3")));
+        when(values.get(eq(spreadsheetId), eq("Issues!A:A"))).thenReturn(getAllRequest);
+        when(getAllRequest.execute()).thenReturn(ids);
+
+        when(values.append(eq(spreadsheetId), eq("Issues!A:F"), any(ValueRange.class))).thenReturn(appendRequest);
+        when(appendRequest.setValueInputOption(anyString())).thenReturn(appendRequest);
+        when(appendRequest.execute()).thenReturn(null);
+
+        repo.setAppendChunkSize(2);
+        List<Issue> drafts = new ArrayList<>();
+        for (int n = 0; n < 5; n++) {
+            drafts.add(new Issue("bulk " + n, null));
+        }
+        drafts.set(2, drafts.get(2).withId("KEEP-1"));
+
+        List<Issue> saved = repo.saveAll(drafts);
+
+        assertEquals(List.of("AD-4", "AD-5", "KEEP-1", "AD-6", "AD-7"), saved.stream().map(Issue::getId).toList());
+        assertTrue(saved.stream().allMatch(i -> i.getStatus() == Status.OPEN && i.getCreatedAt() != null));
+        ArgumentCaptor<ValueRange> bodies = ArgumentCaptor.forClass(ValueRange.class);
+        verify(values, times(3)).append(eq(spreadsheetId), eq("Issues!A:F"), bodies.capture());
+        assertEquals(List.of(2, 2, 1), bodies.getAllValues().stream().map(b -> b.getValues().size()).toList());
+        verify(getAllRequest, times(1)).execute();
+        verify(getHeaderRequest, times(1)).execute();
+    }
+
+    @Test
+    void save_verifiesHeaderOnce_untilWriteIsRejected() throws Exception {
+        ValueRange header = new ValueRange().setValues(List.of(List.of("ID")));
+        when(values.get(eq(spreadsheetId), eq("Issues!A1:F1"))).thenReturn(getHeaderRequest);
+        when(getHeaderRequest.execute()).thenReturn(header);
+
+        when(values.append(eq(spreadsheetId), eq("Issues!A:F"), any(ValueRange.class))).thenReturn(appendRequest);
+        when(appendRequest.setValueInputOption(anyString())).thenReturn(appendRequest);
+        GoogleJsonResponseException badRange = new GoogleJsonResponseException(
+                new HttpResponseException.Builder(400, "Bad Request", new HttpHeaders()), null);
+        when(appendRequest.execute()).thenReturn(null).thenReturn(null).thenThrow(badRange).thenReturn(null);
+
+        repo.save(withId("AD-1"));
+        repo.save(withId("AD-2"));
+        verify(getHeaderRequest, times(1)).execute();
+
+        // a rejected write invalidates the memoized check, so the next save verifies again
+        assertThrows(GoogleJsonResponseException.class, () -> repo.save(withId("AD-3")));
+        repo.save(withId("AD-3"));
+        verify(getHeaderRequest, times(2)).execute();
+    }
+
     @Test
     void updateStatus_updatesCorrectRowAndUsesCorrectRange() throws Exception {
-        // Prepare readRawRows return: header + one row AD-2
-        List<List<Object>> rows = new ArrayList<>();
-        rows.add(List.of("ID"));
-        rows.add(List.of("AD-2", "desc", "", "OPEN", "2025-01-01T00:00:00")); // row index 1 -> sheet row 2
-        ValueRange all = new ValueRange().setValues(rows);
-        when(values.get(eq(spreadsheetId), eq("Issues!A:F"))).thenReturn(getAllRequest);
-        when(getAllRequest.execute()).thenReturn(all);
+        // Prepare column A for the row index: header + one row AD-2 (sheet row 2)
+        ValueRange ids = new ValueRange().setValues(List.of(List.of("ID"), List.of("AD-2")));
+        when(values.get(eq(spreadsheetId), eq("Issues!A:A"))).thenReturn(getAllRequest);
+        when(getAllRequest.execute()).thenReturn(ids);
 
-        // update request behavior
-        when(values.update(eq(spreadsheetId), eq("Issues!A2:F2"), any(ValueRange.class))).thenReturn(updateRequest);
-        when(updateRequest.setValueInputOption(anyString())).thenReturn(updateRequest);
-        when(updateRequest.execute()).thenReturn(null);
+        // only the target row is fetched, before the write and to confirm it
+        List<Object> row = stubRow(2, () -> { }, "AD-2", "desc", "", "OPEN", "2025-01-01T00:00:00");
 
         // Act
         Issue updated = repo.updateStatus("AD-2", Status.CLOSED);
@@ -173,9 +235,49 @@ class GoogleSheetsIssueRepositoryImplTest {
         // Assert
         assertNotNull(updated);
         assertEquals("AD-2", updated.getId());
+        assertEquals("desc", updated.getDescription());
         assertEquals(Status.CLOSED, updated.getStatus());
-        // verify update called for the correct sheet range
-        verify(values).update(eq(spreadsheetId), eq("Issues!A2:F2"), any(ValueRange.class));
+        // only the status and timestamp cells are written and the full sheet was never read
+        verify(values).update(eq(spreadsheetId), eq("Issues!D2:F2"), any(ValueRange.class));
+        assertEquals(List.of("AD-2", "desc", "", "CLOSED", "2025-01-01T00:00:00"), row.subList(0, 5));
+        verify(values, never()).get(spreadsheetId, "Issues!A:F");
+    }
+
+    @Test
+    void updateStatus_secondCall_reusesRowIndex() throws Exception {
+        ValueRange ids = new ValueRange().setValues(List.of(List.of("ID"), List.of("AD-1"), List.of("AD-2")));
+        when(values.get(eq(spreadsheetId), eq("Issues!A:A"))).thenReturn(getAllRequest);
+        when(getAllRequest.execute()).thenReturn(ids);
+
+        stubRow(3, () -> { }, "AD-2", "desc", "", "OPEN");
+
+        repo.updateStatus("AD-2", Status.IN_PROGRESS);
+        repo.updateStatus("AD-2", Status.CLOSED);
+
+        // column A is fetched once; afterwards the index answers the lookup
+        verify(getAllRequest, times(1)).execute();
+        verify(values, times(2)).update(eq(spreadsheetId), eq("Issues!D3:F3"), any(ValueRange.class));
+    }
+
+    @Test
+    void updateStatus_whenIndexIsStale_reloadsIndexOnce() throws Exception {
+        // first index load says AD-2 is in row 2, after a concurrent insert it moved to row 3
+        ValueRange before = new ValueRange().setValues(List.of(List.of("ID"), List.of("AD-2")));
+        ValueRange after = new ValueRange().setValues(List.of(List.of("ID"), List.of("AD-9"), List.of("AD-2")));
+        when(values.get(eq(spreadsheetId), eq("Issues!A:A"))).thenReturn(getAllRequest);
+        when(getAllRequest.execute()).thenReturn(before, after);
+
+        List<Object> row2 = stubRow(2, () -> { }, "AD-2", "desc", "", "OPEN");
+        List<Object> row3 = stubRow(3, () -> { });
+
+        repo.updateStatus("AD-2", Status.IN_PROGRESS);
+        shiftDown(row2, row3, "AD-9", "other", "", "OPEN");
+        repo.updateStatus("AD-2", Status.CLOSED);
+
+        verify(getAllRequest, times(2)).execute();
+        verify(values).update(eq(spreadsheetId), eq("Issues!D3:F3"), any(ValueRange.class));
+        assertEquals("CLOSED", row3.get(3));
+        assertEquals("OPEN", row2.get(3));
     }
 
     @Test
@@ -184,12 +286,104 @@ class GoogleSheetsIssueRepositoryImplTest {
         List<List<Object>> rows = new ArrayList<>();
         rows.add(List.of("ID"));
         ValueRange all = new ValueRange().setValues(rows);
-        when(values.get(eq(spreadsheetId), eq("Issues!A:F"))).thenReturn(getAllRequest);
+        when(values.get(eq(spreadsheetId), eq("Issues!A:A"))).thenReturn(getAllRequest);
         when(getAllRequest.execute()).thenReturn(all);
 
         assertThrows(NoSuchElementException.class, () -> repo.updateStatus("MISSING", Status.CLOSED));
     }
 
+    @Test
+    void updateStatusBulk_readsAndWritesRowsInBatches() throws Exception {
+        repo.setOptimisticLocking(true);
+        ValueRange ids = new ValueRange().setValues(List.of(List.of("ID"), List.of("AD-1"), List.of("AD-2"), List.of("AD-3")));
+        when(values.get(eq(spreadsheetId), eq("Issues!A:A"))).thenReturn(getAllRequest);
+        when(getAllRequest.execute()).thenReturn(ids);
+
+        Map<Integer, List<Object>> rows = new HashMap<>();
+        rows.put(2, new ArrayList<>(List.of("AD-1", "one", "", "OPEN", "", "")));
+        rows.put(4, new ArrayList<>(List.of("AD-3", "three", "", "OPEN", "", "")));
+        Sheets.Spreadsheets.Values.BatchGet batchGet = stubBatchRows(rows);
+
+        Map<String, Status> changes = new LinkedHashMap<>();
+        changes.put("AD-1", Status.CLOSED);
+        changes.put("AD-3", Status.IN_PROGRESS);
+        List<Issue> updated = repo.updateStatusBulk(changes);
+
+        assertEquals(List.of(Status.CLOSED, Status.IN_PROGRESS), updated.stream().map(Issue::getStatus).toList());
+        // one batchGet before and one after the write
+        ArgumentCaptor<List<String>> ranges = ArgumentCaptor.forClass(List.class);
+        verify(batchGet, times(2)).setRanges(ranges.capture());
+        assertEquals(List.of("Issues!A2:F2", "Issues!A4:F4"), ranges.getAllValues().get(0));
+        assertEquals(ranges.getAllValues().get(0), ranges.getAllValues().get(1));
+        ArgumentCaptor<BatchUpdateValuesRequest> body = ArgumentCaptor.forClass(BatchUpdateValuesRequest.class);
+        verify(values, times(1)).batchUpdate(eq(spreadsheetId), body.capture());
+        assertEquals("RAW", body.getValue().getValueInputOption());
+        verify(batchGet, times(1)).setValueRenderOption("UNFORMATTED_VALUE");
+        assertEquals(List.of("Issues!D2:F2", "Issues!D4:F4"),
+                body.getValue().getData().stream().map(ValueRange::getRange).toList());
+        assertEquals("CLOSED", rows.get(2).get(3));
+        assertEquals("IN_PROGRESS", rows.get(4).get(3));
+        verify(values, never()).update(anyString(), anyString(), any(ValueRange.class));
+    }
+
+    @Test
+    void updateStatusBulk_whenAnyIdMissing_writesNothing() throws Exception {
+        ValueRange ids = new ValueRange().setValues(List.of(List.of("ID"), List.of("AD-1")));
+        when(values.get(eq(spreadsheetId), eq("Issues!A:A"))).thenReturn(getAllRequest);
+        when(getAllRequest.execute()).thenReturn(ids);
+        Sheets.Spreadsheets.Values.BatchGet batchGet = mock(Sheets.Spreadsheets.Values.BatchGet.class);
+        lenient().when(values.batchGet(spreadsheetId)).thenReturn(batchGet);
+        lenient().when(batchGet.setRanges(anyList())).thenReturn(batchGet);
+        lenient().when(batchGet.execute()).thenReturn(new BatchGetValuesResponse().setValueRanges(List.of(
+                new ValueRange().setValues(List.of(List.of("AD-1", "one", "", "OPEN"))))));
+
+        NoSuchElementException e = assertThrows(NoSuchElementException.class,
+                () -> repo.updateStatusBulk(Map.of("AD-1", Status.CLOSED, "AD-9", Status.CLOSED)));
+        assertTrue(e.getMessage().contains("AD-9"));
+        verify(values, never()).batchUpdate(anyString(), any(BatchUpdateValuesRequest.class));
+    }
+
+    @Test
+    void findByStatus_readsIdAndStatusColumns_thenOnlyMatchingRowRuns() throws Exception {
+        Sheets.Spreadsheets.Values.BatchGet batchGet = mock(Sheets.Spreadsheets.Values.BatchGet.class);
+        when(values.batchGet(spreadsheetId)).thenReturn(batchGet);
+        when(batchGet.setRanges(anyList())).thenReturn(batchGet);
+        // rows 2..6: CLOSED, CLOSED, OPEN, (blank = OPEN), CLOSED
+        ValueRange idColumn = new ValueRange().setValues(List.of(
+                List.of("ID"), List.of("AD-1"), List.of("AD-2"), List.of("AD-3"), List.of("AD-4"), List.of("AD-5")));
+        ValueRange statusColumn = new ValueRange().setValues(List.of(
+                List.of("Status"), List.of("CLOSED"), List.of("CLOSED"), List.of("OPEN"), List.of(), List.of("CLOSED")));
+        when(batchGet.execute()).thenReturn(
+                new BatchGetValuesResponse().setValueRanges(List.of(idColumn, statusColumn)),
+                new BatchGetValuesResponse().setValueRanges(List.of(
+                        new ValueRange().setValues(List.of(
+                                List.of("AD-1", "one", "", "CLOSED"),
+                                List.of("AD-2", "two", "", "CLOSED"))),
+                        new ValueRange().setValues(List.of(List.of("AD-5", "five", "", "CLOSED"))))));
+
+        List<Issue> closed = repo.findByStatus(Status.CLOSED);
+
+        assertEquals(List.of("AD-1", "AD-2", "AD-5"), closed.stream().map(Issue::getId).toList());
+        ArgumentCaptor<List<String>> ranges = ArgumentCaptor.forClass(List.class);
+        verify(batchGet, times(2)).setRanges(ranges.capture());
+        assertEquals(List.of("Issues!A:A", "Issues!D:D"), ranges.getAllValues().get(0));
+        assertEquals(List.of("Issues!A2:F3", "Issues!A6:F6"), ranges.getAllValues().get(1));
+        verify(values, never()).get(spreadsheetId, "Issues!A:F");
+    }
+
+    @Test
+    void findByStatus_withoutMatches_readsNoRows() throws Exception {
+        Sheets.Spreadsheets.Values.BatchGet batchGet = mock(Sheets.Spreadsheets.Values.BatchGet.class);
+        when(values.batchGet(spreadsheetId)).thenReturn(batchGet);
+        when(batchGet.setRanges(anyList())).thenReturn(batchGet);
+        when(batchGet.execute()).thenReturn(new BatchGetValuesResponse().setValueRanges(List.of(
+                new ValueRange().setValues(List.of(List.of("ID"), List.of("AD-1"))),
+                new ValueRange().setValues(List.of(List.of("Status"), List.of("OPEN"))))));
+
+        assertTrue(repo.findByStatus(Status.CLOSED).isEmpty());
+        verify(batchGet, times(1)).execute();
+    }
+
     @Test
     void findAll_parsesRowsIntoIssues() throws Exception {
         // header + two rows
@@ -197,8 +391,8 @@ class GoogleSheetsIssueRepositoryImplTest {
         rows.add(List.of("ID"));
         rows.add(List.of("AD-1", "desc1", "", "OPEN", "2025-01-01T10:00:00", "2025-01-01T11:00:00"));
         rows.add(List.of("AD-2", "desc2", "AD-1", "IN_PROGRESS", "2025-01-02T10:00:00", "2025-01-02T11:00:00"));
-        ValueRange all = new ValueRange().setValues(rows);
-        when(values.get(eq(spreadsheetId), eq("Issues!A:F"))).thenReturn(getAllRequest);
+        ValueRange all = new ValueRange().setValues(rows.subList(1, rows.size()));
+        when(values.get(eq(spreadsheetId), eq("Issues!A2:F5001"))).thenReturn(getAllRequest);
         when(getAllRequest.execute()).thenReturn(all);
 
         List<Issue> allIssues = repo.findAll();
@@ -212,4 +406,306 @@ class GoogleSheetsIssueRepositoryImplTest {
         assertEquals("AD-1", b.getParentId());
         assertEquals(Status.IN_PROGRESS, b.getStatus());
     }
+
+    @Test
+    void streamAll_fetchesFixedWindowsLazily() throws Exception {
+        repo.setReadWindowSize(2);
+        Sheets.Spreadsheets.Values.Get window2 = mock(Sheets.Spreadsheets.Values.Get.class);
+        Sheets.Spreadsheets.Values.Get window3 = mock(Sheets.Spreadsheets.Values.Get.class);
+        when(values.get(eq(spreadsheetId), eq("Issues!A2:F3"))).thenReturn(getAllRequest);
+        when(getAllRequest.execute()).thenReturn(new ValueRange().setValues(List.of(
+                List.of("AD-1", "one", "", "OPEN"), List.of("AD-2", "two", "", "OPEN"))));
+        when(values.get(eq(spreadsheetId), eq("Issues!A4:F5"))).thenReturn(window2);
+        when(window2.execute()).thenReturn(new ValueRange().setValues(List.of(
+                List.of("AD-3", "three", "", "CLOSED"), List.of("AD-4", "four", "", "OPEN"))));
+        when(values.get(eq(spreadsheetId), eq("Issues!A6:F7"))).thenReturn(window3);
+        when(window3.execute()).thenReturn(new ValueRange());
+
+        // consuming the first window does not fetch the next one
+        assertEquals("AD-1", repo.streamAll().findFirst().orElseThrow().getId());
+        verify(values, never()).get(spreadsheetId, "Issues!A4:F5");
+
+        List<String> ids = repo.streamAll().map(Issue::getId).toList();
+        assertEquals(List.of("AD-1", "AD-2", "AD-3", "AD-4"), ids);
+        verify(window3, times(1)).execute();
+    }
+
+    private static Issue withId(String id) {
+        return new Issue(id, "desc " + id, null, null, null, null);
+    }
+
+    /**
+     * Concurrency test against a stubbed Sheets client: eight threads update eight different issues.
+     * The first call for each issue waits until all eight are in flight, which only happens if
+     * updates of different issues overlap. Then all threads update one issue, whose calls are
+     * counted while they run and must never overlap.
+     */
+    @Test
+    void updateStatus_ofDifferentIssues_runsInParallel_butSameIssueIsSerialized() throws Exception {
+        int issueCount = 8;
+        CountDownLatch allInFlight = new CountDownLatch(issueCount);
+        Set<String> started = ConcurrentHashMap.newKeySet();
+        AtomicInteger overlapping = new AtomicInteger();
+        Map<String, AtomicInteger> inFlightPerIssue = new ConcurrentHashMap<>();
+        AtomicInteger peakPerIssue = new AtomicInteger();
+
+        List<List<Object>> idColumn = new ArrayList<>();
+        idColumn.add(List.of("ID"));
+        for (int i = 1; i <= issueCount; i++) {
+            String id = "AD-" + i;
+            idColumn.add(List.of(id));
+            inFlightPerIssue.put(id, new AtomicInteger());
+            Runnable call = () -> {
+                peakPerIssue.accumulateAndGet(inFlightPerIssue.get(id).incrementAndGet(), Math::max);
+                try {
+                    if (started.add(id)) {
+                        allInFlight.countDown();
+                        if (allInFlight.await(10, TimeUnit.SECONDS)) overlapping.incrementAndGet();
+                    } else {
+                        Thread.sleep(2); // widens the window in which a second call for the issue would overlap
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inFlightPerIssue.get(id).decrementAndGet();
+            };
+
+            stubRow(i + 1, call, id, "issue " + id, "", "OPEN");
+        }
+        when(values.get(spreadsheetId, "Issues!A:A")).thenReturn(getAllRequest);
+        when(getAllRequest.execute()).thenReturn(new ValueRange().setValues(idColumn));
+
+        ExecutorService pool = Executors.newFixedThreadPool(issueCount);
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for (int i = 1; i <= issueCount; i++) {
+                String id = "AD-" + i;
+                done.add(pool.submit(() -> repo.updateStatus(id, Status.IN_PROGRESS)));
+            }
+            for (Future<?> f : done) f.get();
+            assertEquals(issueCount, overlapping.get(), "updates of different issues should all be in flight at once");
+
+            // all threads on one issue: its read-modify-write cycles must not interleave
+            done.clear();
+            for (int t = 0; t < issueCount * 4; t++) {
+                done.add(pool.submit(() -> repo.updateStatus("AD-1", Status.CLOSED)));
+            }
+            for (Future<?> f : done) f.get();
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, peakPerIssue.get(), "calls for one issue must never overlap");
+        verify(getAllRequest, times(1)).execute();
+    }
+
+    @Test
+    void updateStatus_whenAnotherWriterChangesRowBeforeReadBack_writesAgain() throws Exception {
+        repo.setOptimisticLocking(true);
+        when(values.get(eq(spreadsheetId), eq("Issues!A:A"))).thenReturn(getAllRequest);
+        when(getAllRequest.execute()).thenReturn(new ValueRange().setValues(List.of(List.of("ID"), List.of("AD-2"))));
+        List<List<Object>> cells = new ArrayList<>();
+        AtomicInteger interference = new AtomicInteger(1);
+        cells.add(stubRow(2, () -> otherWriter(cells.get(0), interference), "AD-2", "desc", "", "OPEN"));
+
+        Issue updated = repo.updateStatus("AD-2", Status.CLOSED);
+
+        assertEquals(Status.CLOSED, updated.getStatus());
+        assertEquals("CLOSED", cells.get(0).get(3));
+        verify(values, times(2)).update(eq(spreadsheetId), eq("Issues!D2:F2"), any(ValueRange.class));
+    }
+
+    @Test
+    void updateStatus_whenRowKeepsChanging_givesUpAfterConfiguredAttempts() throws Exception {
+        repo.setOptimisticLocking(true);
+        repo.setUpdateAttempts(2);
+        when(values.get(eq(spreadsheetId), eq("Issues!A:A"))).thenReturn(getAllRequest);
+        when(getAllRequest.execute()).thenReturn(new ValueRange().setValues(List.of(List.of("ID"), List.of("AD-2"))));
+        List<List<Object>> cells = new ArrayList<>();
+        AtomicInteger interference = new AtomicInteger(Integer.MAX_VALUE);
+        cells.add(stubRow(2, () -> otherWriter(cells.get(0), interference), "AD-2", "desc", "", "OPEN"));
+
+        IOException e = assertThrows(IOException.class, () -> repo.updateStatus("AD-2", Status.CLOSED));
+
+        assertTrue(e.getMessage().contains("AD-2"));
+        verify(values, times(2)).update(eq(spreadsheetId), eq("Issues!D2:F2"), any(ValueRange.class));
+    }
+
+    @Test
+    void updateStatusAt_whenRowMoved_locatesIssueThroughIndex() throws Exception {
+        repo.setOptimisticLocking(true);
+        when(values.get(eq(spreadsheetId), eq("Issues!A:A"))).thenReturn(getAllRequest);
+        when(getAllRequest.execute()).thenReturn(new ValueRange().setValues(
+                List.of(List.of("ID"), List.of("AD-9"), List.of("AD-2"))));
+        List<Object> row2 = stubRow(2, () -> { }, "AD-9", "other", "", "OPEN");
+        List<Object> row3 = stubRow(3, () -> { }, "AD-2", "desc", "", "OPEN");
+        Issue cached = new Issue("AD-2", null, null, Status.OPEN, null, null);
+
+        SheetRow updated = repo.updateStatusAt(new SheetRow(2, cached), Status.CLOSED);
+
+        assertEquals(3, updated.rowNumber());
+        assertEquals("desc", updated.issue().getDescription());
+        assertEquals("CLOSED", row3.get(3));
+        assertEquals("OPEN", row2.get(3));
+        verify(values, never()).update(eq(spreadsheetId), eq("Issues!D2:F2"), any(ValueRange.class));
+    }
+
+    @Test
+    void updateStatus_whenWriteLandsInAnotherIssuesRow_failsWithoutRetrying() throws Exception {
+        repo.setOptimisticLocking(true);
+        when(values.get(eq(spreadsheetId), eq("Issues!A:A"))).thenReturn(getAllRequest);
+        when(getAllRequest.execute()).thenReturn(new ValueRange().setValues(List.of(List.of("ID"), List.of("AD-2"))));
+        List<List<Object>> rows = new ArrayList<>();
+        AtomicInteger calls = new AtomicInteger();
+        // another process inserts a row above AD-2 while it is written, so row 2 holds AD-9 when read back
+        rows.add(stubRow(2, () -> {
+            if (calls.incrementAndGet() == 2) shiftDown(rows.get(0), rows.get(1), "AD-9", "other", "", "OPEN");
+        }, "AD-2", "desc", "", "OPEN"));
+        rows.add(stubRow(3, () -> { }));
+
+        IOException e = assertThrows(IOException.class, () -> repo.updateStatus("AD-2", Status.CLOSED));
+
+        assertTrue(e.getMessage().contains("row 2 of AD-9"), e.getMessage());
+        verify(values, times(1)).update(eq(spreadsheetId), eq("Issues!D2:F2"), any(ValueRange.class));
+    }
+
+    @Test
+    void updateStatusAt_whenRowChangedSinceItWasCached_checksAgainBeforeWriting() throws Exception {
+        repo.setOptimisticLocking(true);
+        when(values.get(eq(spreadsheetId), eq("Issues!A:A"))).thenReturn(getAllRequest);
+        when(getAllRequest.execute()).thenReturn(new ValueRange().setValues(List.of(List.of("ID"), List.of("AD-2"))));
+        List<Object> row = stubRow(2, () -> { }, "AD-2", "desc", "", "IN_PROGRESS", "", "2024-05-01T10:00:00");
+        Issue cached = new Issue("AD-2", "desc", null, Status.OPEN, null, null);
+
+        SheetRow updated = repo.updateStatusAt(new SheetRow(2, cached), Status.CLOSED);
+
+        assertEquals(Status.CLOSED, updated.issue().getStatus());
+        assertEquals("CLOSED", row.get(3));
+        verify(values, times(1)).update(eq(spreadsheetId), eq("Issues!D2:F2"), any(ValueRange.class));
+        // version check of the cached row, version check of the row as read, read-back
+        verify(values, times(3)).get(spreadsheetId, "Issues!A2:F2");
+    }
+
+    @Test
+    void updateStatus_withoutOptimisticLocking_readsOnceAndWritesRaw() throws Exception {
+        when(values.get(eq(spreadsheetId), eq("Issues!A:A"))).thenReturn(getAllRequest);
+        when(getAllRequest.execute()).thenReturn(new ValueRange().setValues(List.of(List.of("ID"), List.of("AD-2"))));
+        List<Object> row = stubRow(2, () -> { }, "AD-2", "desc", "", "OPEN");
+
+        repo.updateStatus("AD-2", Status.CLOSED);
+
+        assertEquals("CLOSED", row.get(3));
+        verify(values, times(1)).get(spreadsheetId, "Issues!A2:F2");
+        verify(values, times(1)).update(eq(spreadsheetId), eq("Issues!D2:F2"), any(ValueRange.class));
+    }
+
+    @Test
+    void updateStatusAt_withoutOptimisticLocking_writesWithoutReading() throws Exception {
+        List<Object> row = stubRow(2, () -> { }, "AD-2", "desc", "", "OPEN");
+        Issue cached = new Issue("AD-2", "desc", null, Status.OPEN, null, null);
+
+        SheetRow updated = repo.updateStatusAt(new SheetRow(2, cached), Status.CLOSED);
+
+        assertEquals(2, updated.rowNumber());
+        assertEquals(Status.CLOSED, updated.issue().getStatus());
+        assertEquals(Status.OPEN, cached.getStatus());
+        assertEquals("CLOSED", row.get(3));
+        verify(values, never()).get(anyString(), anyString());
+    }
+
+    // ------------- helpers --------------
+
+    /**
+     * Stubs the single-row read and the status write of one sheet row. The row is backed by a
+     * mutable list of its six cells, so a write is visible to the read-back that follows it.
+     *
+     * @param rowNumber 1-based sheet row number
+     * @param onCall    run on every read and write, e.g. to simulate latency
+     * @param cells     initial cells; missing trailing cells are empty
+     * @return the live cells of the row
+     */
+    private List<Object> stubRow(int rowNumber, Runnable onCall, Object... cells) throws IOException {
+        List<Object> row = Collections.synchronizedList(new ArrayList<>(List.of(cells)));
+        while (row.size() < 6) row.add("");
+        Sheets.Spreadsheets.Values.Get get = mock(Sheets.Spreadsheets.Values.Get.class);
+        lenient().when(values.get(spreadsheetId, "Issues!A" + rowNumber + ":F" + rowNumber)).thenReturn(get);
+        lenient().when(get.setValueRenderOption("UNFORMATTED_VALUE")).thenReturn(get);
+        lenient().when(get.execute()).thenAnswer(inv -> {
+            onCall.run();
+            synchronized (row) {
+                return new ValueRange().setValues(List.of(new ArrayList<>(row)));
+            }
+        });
+        Sheets.Spreadsheets.Values.Update update = mock(Sheets.Spreadsheets.Values.Update.class);
+        lenient().when(values.update(eq(spreadsheetId), eq("Issues!D" + rowNumber + ":F" + rowNumber), any(ValueRange.class)))
+                .thenAnswer(inv -> {
+                    writeStatusCells(row, inv.<ValueRange>getArgument(2).getValues().get(0));
+                    return update;
+                });
+        lenient().when(update.setValueInputOption("RAW")).thenReturn(update);
+        lenient().when(update.execute()).thenAnswer(inv -> {
+            onCall.run();
+            return null;
+        });
+        return row;
+    }
+
+    /**
+     * Stubs {@code batchGet} and {@code batchUpdate} over the given rows.
+     *
+     * @param rows live cells per 1-based sheet row number
+     * @return the stubbed batchGet request, to verify the requested ranges
+     */
+    private Sheets.Spreadsheets.Values.BatchGet stubBatchRows(Map<Integer, List<Object>> rows) throws IOException {
+        Sheets.Spreadsheets.Values.BatchGet batchGet = mock(Sheets.Spreadsheets.Values.BatchGet.class);
+        List<String> requested = new ArrayList<>();
+        when(values.batchGet(spreadsheetId)).thenReturn(batchGet);
+        when(batchGet.setRanges(anyList())).thenAnswer(inv -> {
+            requested.clear();
+            requested.addAll(inv.getArgument(0));
+            return batchGet;
+        });
+        lenient().when(batchGet.setValueRenderOption("UNFORMATTED_VALUE")).thenReturn(batchGet);
+        when(batchGet.execute()).thenAnswer(inv -> new BatchGetValuesResponse().setValueRanges(requested.stream()
+                .map(range -> new ValueRange().setValues(List.of(new ArrayList<>(rows.get(SheetRanges.firstRow(range))))))
+                .toList()));
+        Sheets.Spreadsheets.Values.BatchUpdate batchUpdate = mock(Sheets.Spreadsheets.Values.BatchUpdate.class);
+        when(values.batchUpdate(eq(spreadsheetId), any(BatchUpdateValuesRequest.class))).thenAnswer(inv -> {
+            for (ValueRange data : inv.<BatchUpdateValuesRequest>getArgument(1).getData()) {
+                writeStatusCells(rows.get(SheetRanges.firstRow(data.getRange())), data.getValues().get(0));
+            }
+            return batchUpdate;
+        });
+        return batchGet;
+    }
+
+    private static void writeStatusCells(List<Object> row, List<Object> written) {
+        synchronized (row) {
+            for (int i = 0; i < written.size(); i++) row.set(3 + i, written.get(i));
+        }
+    }
+
+    /**
+     * Simulates another process that rewrites the row right after this repository wrote it,
+     * as long as {@code times} is positive.
+     */
+    private static void otherWriter(List<Object> row, AtomicInteger times) {
+        synchronized (row) {
+            if ("CLOSED".equals(row.get(3)) && times.getAndDecrement() > 0) {
+                row.set(3, "IN_PROGRESS");
+                row.set(5, "2099-01-01T00:00:00");
+            }
+        }
+    }
+
+    /**
+     * Simulates a row inserted above {@code upper} by another process.
+     */
+    private static void shiftDown(List<Object> upper, List<Object> lower, Object... inserted) {
+        List<Object> moved = new ArrayList<>(upper);
+        lower.clear();
+        lower.addAll(moved);
+        upper.clear();
+        upper.addAll(List.of(inserted));
+        while (upper.size() < 6) upper.add("");
+    }
 }
@@ -0,0 +1,418 @@
+package org.example.sitracker.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.services.sheets.v4.Sheets;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Deterministic in-memory stand-in for a Google Sheets spreadsheet.
+ *
+ * <p>It answers the Sheets v4 requests the repository and the id allocator send —
+ * {@code values.get}, {@code values.batchGet}, {@code values.append}, {@code values.update},
+ * {@code values.batchUpdate} and {@code spreadsheets.batchUpdate} with {@code addSheet} — over a grid
+ * of string cells per sheet, with the JSON bodies and error shapes of the real API: values are
+ * returned formatted (as strings), trailing empty cells and rows are left out, and a range naming an
+ * unknown sheet is rejected with HTTP 400.
+ *
+ * <p>{@link #client()} returns a real {@link Sheets} client whose transport calls {@link #handle}
+ * in process, so requests go through the same URL building and JSON (de)serialization as in
+ * production, without a network. Every request is counted per operation.
+ */
+public class InMemorySheets {
+
+    static final String SPREADSHEET_ID = "in-memory";
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Pattern CELL_RANGE = Pattern.compile("([A-Z]*)(\\d*)(?::([A-Z]*)(\\d*))?");
+
+    private final String spreadsheetId;
+    private final Map<String, List<List<String>>> grids = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> requests = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a spreadsheet with the given sheets, all empty.
+     *
+     * @param sheetNames names of the sheets that exist initially, e.g. {@code Issues}
+     */
+    public InMemorySheets(String... sheetNames) {
+        this.spreadsheetId = SPREADSHEET_ID;
+        for (String name : sheetNames) grids.put(name, new ArrayList<>());
+    }
+
+    /**
+     * @return id requests must address
+     */
+    public String spreadsheetId() {
+        return spreadsheetId;
+    }
+
+    /**
+     * @return a Sheets client that sends its requests to this spreadsheet in process
+     */
+    public Sheets client() {
+        MockHttpTransport transport = new MockHttpTransport() {
+            @Override
+            public LowLevelHttpRequest buildRequest(String method, String url) {
+                return new MockLowLevelHttpRequest(url) {
+                    @Override
+                    public LowLevelHttpResponse execute() throws IOException {
+                        Response response = handle(method, getUrl(), getContentType(), getContentAsString());
+                        return new MockLowLevelHttpResponse()
+                                .setStatusCode(response.status())
+                                .setContentType("application/json; charset=UTF-8")
+                                .setContent(response.body());
+                    }
+                };
+            }
+        };
+        return new Sheets.Builder(transport, JacksonFactory.getDefaultInstance(), null)
+                .setApplicationName("SiTracker")
+                .build();
+    }
+
+    /**
+     * Appends rows to a sheet directly, without counting a request.
+     *
+     * @param sheet sheet name; created if missing
+     * @param rows  rows to add below the last non-empty row; cells are stored as strings
+     */
+    public synchronized void addRows(String sheet, List<? extends List<?>> rows) {
+        List<List<String>> grid = grids.computeIfAbsent(sheet, s -> new ArrayList<>());
+        trimEmptyRows(grid);
+        for (List<?> row : rows) {
+            List<String> cells = new ArrayList<>(row.size());
+            for (Object cell : row) cells.add(cell == null ? "" : cell.toString());
+            grid.add(cells);
+        }
+    }
+
+    /**
+     * @param sheet sheet name
+     * @return copy of the sheet's rows, or an empty list if the sheet does not exist
+     */
+    public synchronized List<List<String>> rows(String sheet) {
+        List<List<String>> grid = grids.getOrDefault(sheet, List.of());
+        List<List<String>> copy = new ArrayList<>(grid.size());
+        for (List<String> row : grid) copy.add(new ArrayList<>(row));
+        return copy;
+    }
+
+    /**
+     * @param operation API method, e.g. {@code values.get} or {@code values.batchUpdate}
+     * @return number of requests of that method handled so far
+     */
+    public long requestCount(String operation) {
+        AtomicLong count = requests.get(operation);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * @return requests handled so far per API method
+     */
+    public Map<String, Long> requestCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        requests.forEach((op, count) -> counts.put(op, count.get()));
+        return counts;
+    }
+
+    /**
+     * Forgets all counted requests.
+     */
+    public void resetRequestCounts() {
+        requests.clear();
+    }
+
+    /**
+     * Handles one Sheets v4 HTTP request. A form-encoded body holds the query parameters of a GET
+     * the client sent as POST because its URL was too long.
+     *
+     * @param method      HTTP method
+     * @param url         full request URL, including the query string
+     * @param contentType content type of the body, or {@code null}
+     * @param body        request body, or {@code null}/empty for none
+     * @return HTTP status and JSON body of the response
+     */
+    public Response handle(String method, String url, String contentType, String body) {
+        if (contentType != null && contentType.startsWith("application/x-www-form-urlencoded")) {
+            url = url + (url.indexOf('?') < 0 ? "?" : "&") + body;
+            body = null;
+        }
+        try {
+            return dispatch(method, url, body);
+        } catch (BadRequest e) {
+            return error(400, "INVALID_ARGUMENT", e.getMessage());
+        } catch (IOException e) {
+            return error(400, "INVALID_ARGUMENT", "Invalid JSON payload received. " + e.getMessage());
+        }
+    }
+
+    /**
+     * Operation name of a request, as used by {@link #requestCount(String)}.
+     *
+     * @param method HTTP method
+     * @param url    request URL
+     * @return API method name, or {@code null} if the request is not a Sheets v4 request
+     */
+    public static String operation(String method, String url) {
+        String path = path(url);
+        int marker = path.indexOf("/v4/spreadsheets/");
+        if (marker < 0) return null;
+        String rest = path.substring(marker + "/v4/spreadsheets/".length());
+        int slash = rest.indexOf('/');
+        if (slash < 0) return rest.endsWith(":batchUpdate") ? "spreadsheets.batchUpdate" : "spreadsheets.get";
+        String values = rest.substring(slash + 1);
+        if (values.equals("values:batchGet")) return "values.batchGet";
+        if (values.equals("values:batchUpdate")) return "values.batchUpdate";
+        if (values.endsWith(":append")) return "values.append";
+        return method.equals("PUT") ? "values.update" : "values.get";
+    }
+
+    // ------------- helpers --------------
+
+    private synchronized Response dispatch(String method, String url, String body) throws IOException {
+        String operation = operation(method, url);
+        if (operation == null) return error(404, "NOT_FOUND", "Unknown path: " + path(url));
+        requests.computeIfAbsent(operation, op -> new AtomicLong()).incrementAndGet();
+
+        String rest = path(url).substring(path(url).indexOf("/v4/spreadsheets/") + "/v4/spreadsheets/".length());
+        String id = rest.split("[/:]", 2)[0];
+        if (!id.equals(spreadsheetId)) return error(404, "NOT_FOUND", "Requested entity was not found.");
+        Map<String, List<String>> query = query(url);
+        JsonNode json = body == null || body.isBlank() ? JSON.createObjectNode() : JSON.readTree(body);
+
+        ObjectNode out = JSON.createObjectNode();
+        out.put("spreadsheetId", spreadsheetId);
+        switch (operation) {
+            case "values.get" -> {
+                out.setAll(read(decode(rest.substring(rest.indexOf("/values/") + "/values/".length()))));
+            }
+            case "values.batchGet" -> {
+                ArrayNode ranges = out.putArray("valueRanges");
+                for (String range : query.getOrDefault("ranges", List.of())) ranges.add(read(range));
+            }
+            case "values.update" -> {
+                String range = decode(rest.substring(rest.indexOf("/values/") + "/values/".length()));
+                out.setAll(write(range, json.path("values")));
+            }
+            case "values.batchUpdate" -> {
+                ArrayNode responses = out.putArray("responses");
+                int rows = 0;
+                int cells = 0;
+                for (JsonNode data : json.path("data")) {
+                    ObjectNode written = write(data.path("range").asText(), data.path("values"));
+                    rows += written.path("updatedRows").asInt();
+                    cells += written.path("updatedCells").asInt();
+                    responses.add(written);
+                }
+                out.put("totalUpdatedRows", rows);
+                out.put("totalUpdatedCells", cells);
+            }
+            case "values.append" -> {
+                String raw = rest.substring(rest.indexOf("/values/") + "/values/".length());
+                String range = decode(raw.substring(0, raw.length() - ":append".length()));
+                out.put("tableRange", range);
+                out.set("updates", append(range, json.path("values")));
+            }
+            case "spreadsheets.batchUpdate" -> {
+                ArrayNode replies = out.putArray("replies");
+                for (JsonNode request : json.path("requests")) {
+                    String title = request.path("addSheet").path("properties").path("title").asText(null);
+                    if (title == null) throw new BadRequest("Only addSheet requests are supported");
+                    if (grids.containsKey(title)) {
+                        throw new BadRequest("Invalid requests[0].addSheet: A sheet with the name \"" + title + "\" already exists.");
+                    }
+                    grids.put(title, new ArrayList<>());
+                    ObjectNode reply = replies.addObject();
+                    reply.putObject("addSheet").putObject("properties").put("title", title);
+                }
+            }
+            default -> {
+                return error(404, "NOT_FOUND", "Unsupported method: " + operation);
+            }
+        }
+        return new Response(200, out.toString());
+    }
+
+    private ObjectNode read(String a1) {
+        Range r = Range.parse(a1, grids);
+        List<List<String>> grid = grids.get(r.sheet());
+        ObjectNode out = JSON.createObjectNode();
+        out.put("range", a1);
+        out.put("majorDimension", "ROWS");
+        int lastRow = Math.min(r.endRow(), grid.size());
+        List<List<String>> rows = new ArrayList<>();
+        for (int row = r.startRow(); row <= lastRow; row++) {
+            List<String> cells = grid.get(row - 1);
+            int lastCol = Math.min(r.endCol(), cells.size());
+            while (lastCol >= r.startCol() && cells.get(lastCol - 1).isEmpty()) lastCol--;
+            rows.add(lastCol < r.startCol() ? List.of() : cells.subList(r.startCol() - 1, lastCol));
+        }
+        while (!rows.isEmpty() && rows.get(rows.size() - 1).isEmpty()) rows.remove(rows.size() - 1);
+        if (!rows.isEmpty()) out.set("values", JSON.valueToTree(rows));
+        return out;
+    }
+
+    private ObjectNode write(String a1, JsonNode values) {
+        Range r = Range.parse(a1, grids);
+        List<List<String>> grid = grids.get(r.sheet());
+        int rows = 0;
+        int width = 0;
+        int cells = 0;
+        for (JsonNode row : values) {
+            int cols = 0;
+            for (JsonNode cell : row) {
+                if (!cell.isNull()) {
+                    set(grid, r.startRow() + rows, r.startCol() + cols, cell.asText());
+                    cells++;
+                }
+                cols++;
+            }
+            width = Math.max(width, cols);
+            rows++;
+        }
+        ObjectNode out = JSON.createObjectNode();
+        out.put("spreadsheetId", spreadsheetId);
+        out.put("updatedRange", Range.format(r.sheet(), r.startCol(), r.startRow(),
+                r.startCol() + Math.max(width, 1) - 1, r.startRow() + Math.max(rows, 1) - 1));
+        out.put("updatedRows", rows);
+        out.put("updatedColumns", width);
+        out.put("updatedCells", cells);
+        return out;
+    }
+
+    /**
+     * Appends below the last non-empty row of the sheet, like the API does for a table that
+     * starts at the top of the range.
+     */
+    private ObjectNode append(String a1, JsonNode values) {
+        Range r = Range.parse(a1, grids);
+        List<List<String>> grid = grids.get(r.sheet());
+        trimEmptyRows(grid);
+        int firstRow = grid.size() + 1;
+        return write(Range.format(r.sheet(), r.startCol(), firstRow, r.startCol(), firstRow), values);
+    }
+
+    private static void set(List<List<String>> grid, int row, int col, String value) {
+        while (grid.size() < row) grid.add(new ArrayList<>());
+        List<String> cells = grid.get(row - 1);
+        while (cells.size() < col) cells.add("");
+        cells.set(col - 1, value);
+    }
+
+    private static void trimEmptyRows(List<List<String>> grid) {
+        while (!grid.isEmpty() && grid.get(grid.size() - 1).stream().allMatch(String::isEmpty)) {
+            grid.remove(grid.size() - 1);
+        }
+    }
+
+    private static Response error(int status, String reason, String message) {
+        ObjectNode out = JSON.createObjectNode();
+        ObjectNode error = out.putObject("error");
+        error.put("code", status);
+        error.put("message", message);
+        error.put("status", reason);
+        ObjectNode detail = error.putArray("errors").addObject();
+        detail.put("message", message);
+        detail.put("domain", "global");
+        detail.put("reason", status == 400 ? "badRequest" : "notFound");
+        return new Response(status, out.toString());
+    }
+
+    private static String path(String url) {
+        int scheme = url.indexOf("://");
+        int start = scheme < 0 ? 0 : url.indexOf('/', scheme + 3);
+        if (start < 0) return "/";
+        int q = url.indexOf('?', start);
+        return q < 0 ? url.substring(start) : url.substring(start, q);
+    }
+
+    private static Map<String, List<String>> query(String url) {
+        Map<String, List<String>> params = new HashMap<>();
+        int q = url.indexOf('?');
+        if (q < 0) return params;
+        for (String pair : url.substring(q + 1).split("&")) {
+            if (pair.isEmpty()) continue;
+            int eq = pair.indexOf('=');
+            String key = decode(eq < 0 ? pair : pair.substring(0, eq));
+            String value = eq < 0 ? "" : decode(pair.substring(eq + 1));
+            params.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+        }
+        return params;
+    }
+
+    private static String decode(String s) {
+        return URLDecoder.decode(s.replace("+", "%2B"), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * HTTP status and JSON body of a response.
+     *
+     * @param status HTTP status code
+     * @param body   JSON response body
+     */
+    public record Response(int status, String body) {
+    }
+
+    /**
+     * A1 range resolved to 1-based, inclusive row and column bounds.
+     */
+    private record Range(String sheet, int startCol, int startRow, int endCol, int endRow) {
+
+        static Range parse(String a1, Map<String, List<List<String>>> grids) {
+            int bang = a1.lastIndexOf('!');
+            String sheet = bang < 0 ? a1 : a1.substring(0, bang);
+            if (sheet.length() >= 2 && sheet.startsWith("'") && sheet.endsWith("'")) {
+                sheet = sheet.substring(1, sheet.length() - 1);
+            }
+            if (!grids.containsKey(sheet)) throw new BadRequest("Unable to parse range: " + a1);
+            if (bang < 0) return new Range(sheet, 1, 1, Integer.MAX_VALUE, Integer.MAX_VALUE);
+            Matcher m = CELL_RANGE.matcher(a1.substring(bang + 1).toUpperCase(Locale.ROOT));
+            if (!m.matches()) throw new BadRequest("Unable to parse range: " + a1);
+            int startCol = m.group(1).isEmpty() ? 1 : column(m.group(1));
+            int startRow = m.group(2).isEmpty() ? 1 : Integer.parseInt(m.group(2));
+            boolean single = m.group(3) == null && m.group(4) == null;
+            int endCol = single ? startCol : m.group(3).isEmpty() ? Integer.MAX_VALUE : column(m.group(3));
+            int endRow = single && !m.group(2).isEmpty() ? startRow
+                    : m.group(4) == null || m.group(4).isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(m.group(4));
+            return new Range(sheet, startCol, startRow, endCol, endRow);
+        }
+
+        static String format(String sheet, int startCol, int startRow, int endCol, int endRow) {
+            return sheet + "!" + letters(startCol) + startRow + ":" + letters(endCol) + endRow;
+        }
+
+        private static int column(String letters) {
+            int col = 0;
+            for (int i = 0; i < letters.length(); i++) col = col * 26 + (letters.charAt(i) - 'A' + 1);
+            return col;
+        }
+
+        private static String letters(int col) {
+            StringBuilder sb = new StringBuilder();
+            for (int c = col; c > 0; c = (c - 1) / 26) sb.insert(0, (char) ('A' + (c - 1) % 26));
+            return sb.toString();
+        }
+    }
+
+    private static final class BadRequest extends RuntimeException {
+        BadRequest(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.sitracker.repository;
+
+import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs GoogleSheetsIssueRepositoryImpl through the real Sheets client against InMemorySheets,
+ * so the stand-in used by the benchmarks is known to answer the requests the repository sends.
+ */
+class InMemorySheetsTest {
+
+    static final List<List<String>> TWO_ISSUES = List.of(
+            List.of("ID", "Description", "Parent ID", "Status", "Created at", "Updated at"),
+            List.of("AD-1", "One", "", "OPEN", "2024-01-01T09:00:00", ""),
+            List.of("AD-2", "Two", "AD-1", "OPEN", "2024-01-01T09:01:00", ""));
+
+    InMemorySheets sheets;
+    GoogleSheetsIssueRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        sheets = new InMemorySheets("Issues");
+        repository = new GoogleSheetsIssueRepositoryImpl(sheets.client(), sheets.spreadsheetId(),
+                new IssueIdAllocator(sheets.client(), sheets.spreadsheetId(), 0));
+    }
+
+    @Test
+    void save_writesHeaderAndRow_andFindAllReadsThemBack() throws Exception {
+        Issue saved = repository.save(new Issue("First", null));
+
+        assertEquals("AD-1", saved.getId());
+        List<List<String>> rows = sheets.rows("Issues");
+        assertEquals(2, rows.size());
+        assertEquals("ID", rows.get(0).get(0));
+        assertEquals(List.of("AD-1", "First"), rows.get(1).subList(0, 2));
+
+        List<Issue> all = repository.findAll();
+        assertEquals(1, all.size());
+        assertEquals("First", all.get(0).getDescription());
+        assertEquals(Status.OPEN, all.get(0).getStatus());
+    }
+
+    @Test
+    void updateStatusBulk_rewritesCellsInOneBatch() throws Exception {
+        sheets.addRows("Issues", TWO_ISSUES);
+        sheets.resetRequestCounts();
+
+        List<Issue> updated = repository.updateStatusBulk(Map.of("AD-1", Status.CLOSED, "AD-2", Status.IN_PROGRESS));
+
+        assertEquals(2, updated.size());
+        assertEquals(1, sheets.requestCount("values.batchUpdate"));
+        assertEquals("CLOSED", sheets.rows("Issues").get(1).get(3));
+        assertEquals("IN_PROGRESS", sheets.rows("Issues").get(2).get(3));
+        assertEquals(List.of("AD-1"), repository.findByStatus(Status.CLOSED).stream().map(Issue::getId).toList());
+    }
+
+    @Test
+    void unknownSheet_isReportedAsBadRequest() {
+        InMemorySheets.Response response = sheets.handle("GET",
+                "https://sheets.googleapis.com/v4/spreadsheets/" + sheets.spreadsheetId() + "/values/Missing!A1:F",
+                null, null);
+
+        assertEquals(400, response.status());
+        assertTrue(response.body().contains("Unable to parse range"));
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.sitracker.repository;
+
+import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.Status;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IssueColumnsTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 31, 9, 15);
+
+    @Test
+    void get_returnsIssuesAsAdded() {
+        Issue full = new Issue("AD-2", "Child", "AD-1", Status.IN_PROGRESS, T0, T0.plusNanos(500_000_000));
+        Issue empty = new Issue(null, null, null, null, null, null);
+        Issue old = new Issue("AD-3", "Old", null, Status.CLOSED, LocalDateTime.of(1900, 1, 1, 0, 0), null);
+        IssueColumns columns = new IssueColumns(1);
+
+        columns.addAll(List.of(full, empty, old));
+
+        assertEquals(List.of(full, empty, old), columns);
+        assertEquals(-1, columns.rowNumber(0));
+    }
+
+    @Test
+    void parentIds_areStoredOnce() {
+        IssueColumns columns = new IssueColumns();
+        columns.add(new Issue("AD-2", "a", new String("AD-1"), Status.OPEN, T0, null));
+        columns.add(new Issue("AD-3", "b", new String("AD-1"), Status.OPEN, T0, null));
+
+        assertSame(columns.get(0).getParentId(), columns.get(1).getParentId());
+    }
+
+    @Test
+    void put_replacesIssueWithSameId_andAppendsOthers() {
+        IssueColumns columns = new IssueColumns();
+        for (int i = 1; i <= 20; i++) columns.put(new SheetRow(i + 1, issue("AD-" + i, Status.OPEN)));
+
+        columns.put(new SheetRow(6, issue("AD-5", Status.CLOSED)));
+        columns.put(new SheetRow(22, issue("AD-21", Status.OPEN)));
+
+        assertEquals(21, columns.size());
+        assertEquals(4, columns.positionOf("AD-5"));
+        assertEquals(Status.CLOSED, columns.get(4).getStatus());
+        assertEquals(20, columns.positionOf("AD-21"));
+        assertEquals(22, columns.rowNumber(20));
+        assertEquals(-1, columns.positionOf("AD-99"));
+        assertEquals(-1, columns.positionOf(null));
+    }
+
+    @Test
+    void stream_filtersOnStatus() {
+        IssueColumns columns = new IssueColumns();
+        columns.add(issue("AD-1", Status.OPEN));
+        columns.add(issue("AD-2", Status.CLOSED));
+        columns.add(issue("AD-3", Status.OPEN));
+
+        assertEquals(List.of("AD-1", "AD-3"), columns.stream(Status.OPEN).map(Issue::getId).collect(toList()));
+    }
+
+    @Test
+    void sort_reordersAndKeepsIdLookupCurrent() {
+        IssueColumns columns = new IssueColumns();
+        columns.add(issue("AD-2", Status.OPEN));
+        columns.add(issue("AD-1", Status.CLOSED));
+        assertEquals(0, columns.positionOf("AD-2"));
+
+        columns.sort(Comparator.comparing(Issue::getId));
+
+        assertEquals(List.of("AD-1", "AD-2"), columns.stream().map(Issue::getId).collect(toList()));
+        assertEquals(Status.CLOSED, columns.get(0).getStatus());
+        assertEquals(1, columns.positionOf("AD-2"));
+    }
+
+    @Test
+    void copy_isIndependentOfLaterWrites() {
+        IssueColumns columns = new IssueColumns();
+        columns.put(new SheetRow(2, issue("AD-1", Status.OPEN)));
+
+        IssueColumns copy = columns.copy();
+        columns.put(new SheetRow(2, issue("AD-1", Status.CLOSED)));
+        columns.put(new SheetRow(3, issue("AD-2", Status.OPEN)));
+        copy.add(issue("AD-3", Status.OPEN));
+
+        assertEquals(List.of(issue("AD-1", Status.OPEN), issue("AD-3", Status.OPEN)), copy);
+        assertEquals(2, copy.rowNumber(0));
+        assertEquals(2, columns.size());
+    }
+
+    @Test
+    void clear_emptiesList() {
+        IssueColumns columns = new IssueColumns();
+        columns.put(new SheetRow(2, new Issue("AD-2", "a", "AD-1", Status.OPEN, T0.plusNanos(1), null)));
+
+        columns.clear();
+        columns.add(issue("AD-3", Status.OPEN));
+
+        assertEquals(List.of(issue("AD-3", Status.OPEN)), columns);
+        assertEquals(-1, columns.positionOf("AD-2"));
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.get(1));
+    }
+
+    // ------------- helpers --------------
+
+    private static Issue issue(String id, Status status) {
+        return new Issue(id, "Issue " + id, null, status, T0, T0);
+    }
+}
@@ -0,0 +1,166 @@
+package org.example.sitracker.repository;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.services.sheets.v4.Sheets;
+import com.google.api.services.sheets.v4.model.AppendValuesResponse;
+import com.google.api.services.sheets.v4.model.BatchUpdateSpreadsheetRequest;
+import com.google.api.services.sheets.v4.model.UpdateValuesResponse;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for IssueIdAllocator.
+ * The Sheets client chain is mocked so the tests run offline.
+ */
+@ExtendWith(MockitoExtension.class)
+class IssueIdAllocatorTest {
+
+    @Mock
+    Sheets sheets;
+
+    @Mock
+    Sheets.Spreadsheets spreadsheets;
+
+    @Mock
+    Sheets.Spreadsheets.Values values;
+
+    @Mock
+    Sheets.Spreadsheets.Values.Get getIdsRequest;
+
+    @Mock
+    Sheets.Spreadsheets.Values.Get getBlocksHeaderRequest;
+
+    @Mock
+    Sheets.Spreadsheets.Values.Append appendRequest;
+
+    final String spreadsheetId = "spreadsheet-123";
+
+    @BeforeEach
+    void setUp() {
+        when(sheets.spreadsheets()).thenReturn(spreadsheets);
+        when(spreadsheets.values()).thenReturn(values);
+    }
+
+    @Test
+    void localMode_seedsOnceFromIssuesSheet() throws Exception {
+        ValueRange ids = new ValueRange().setValues(List.of(List.of("ID"), List.of("AD-1"), List.of("AD-5"), List.of("legacy")));
+        when(values.get(spreadsheetId, "Issues!A:A")).thenReturn(getIdsRequest);
+        when(getIdsRequest.execute()).thenReturn(ids);
+
+        IssueIdAllocator allocator = new IssueIdAllocator(sheets, spreadsheetId, 0);
+
+        assertEquals("AD-6", allocator.nextId());
+        assertEquals("AD-7", allocator.nextId());
+        verify(getIdsRequest, times(1)).execute();
+    }
+
+    @Test
+    void blockMode_handsOutIdsFromReservedRowWithoutFurtherIo() throws Exception {
+        // base 5, block size 10; our reservation lands in row 4 => third block => ids 26..35
+        ValueRange header = new ValueRange().setValues(List.of(List.of("base", "5", "10")));
+        when(values.get(spreadsheetId, "IdBlocks!A1:C1")).thenReturn(getBlocksHeaderRequest);
+        when(getBlocksHeaderRequest.execute()).thenReturn(header);
+        when(values.append(eq(spreadsheetId), eq("IdBlocks!A:B"), any(ValueRange.class))).thenReturn(appendRequest);
+        when(appendRequest.setValueInputOption(anyString())).thenReturn(appendRequest);
+        when(appendRequest.execute()).thenReturn(appended("IdBlocks!A4:B4"));
+
+        IssueIdAllocator allocator = new IssueIdAllocator(sheets, spreadsheetId, 3);
+
+        assertEquals("AD-26", allocator.nextId());
+        assertEquals("AD-27", allocator.nextId());
+        verify(appendRequest, times(1)).execute();
+        verify(getBlocksHeaderRequest, times(1)).execute();
+        verify(values, never()).get(spreadsheetId, "Issues!A:A");
+    }
+
+    @Test
+    void blockMode_reservesNextBlockWhenExhausted() throws Exception {
+        ValueRange header = new ValueRange().setValues(List.of(List.of("base", "0", "1")));
+        when(values.get(spreadsheetId, "IdBlocks!A1:C1")).thenReturn(getBlocksHeaderRequest);
+        when(getBlocksHeaderRequest.execute()).thenReturn(header);
+        when(values.append(eq(spreadsheetId), eq("IdBlocks!A:B"), any(ValueRange.class))).thenReturn(appendRequest);
+        when(appendRequest.setValueInputOption(anyString())).thenReturn(appendRequest);
+        when(appendRequest.execute()).thenReturn(appended("IdBlocks!A2:B2"), appended("IdBlocks!A5:B5"));
+
+        IssueIdAllocator allocator = new IssueIdAllocator(sheets, spreadsheetId, 1);
+
+        assertEquals("AD-1", allocator.nextId());
+        // rows 3 and 4 were taken by other processes in between
+        assertEquals("AD-4", allocator.nextId());
+        verify(getBlocksHeaderRequest, times(1)).execute();
+    }
+
+    @Test
+    void blockMode_initialisesEmptyBlocksSheetFromIssues() throws Exception {
+        when(values.get(spreadsheetId, "IdBlocks!A1:C1")).thenReturn(getBlocksHeaderRequest);
+        when(getBlocksHeaderRequest.execute()).thenReturn(new ValueRange(),
+                new ValueRange().setValues(List.of(List.of("base", "9", "20"))));
+        when(values.get(spreadsheetId, "Issues!A:A")).thenReturn(getIdsRequest);
+        when(getIdsRequest.execute()).thenReturn(new ValueRange().setValues(List.of(List.of("ID"), List.of("AD-9"))));
+        when(values.append(eq(spreadsheetId), anyString(), any(ValueRange.class))).thenReturn(appendRequest);
+        when(appendRequest.setValueInputOption(anyString())).thenReturn(appendRequest);
+        when(appendRequest.execute()).thenReturn(appended("IdBlocks!A1:C1"), appended("IdBlocks!A2:B2"));
+
+        IssueIdAllocator allocator = new IssueIdAllocator(sheets, spreadsheetId, 20);
+
+        assertEquals("AD-10", allocator.nextId());
+        ArgumentCaptor<ValueRange> header = ArgumentCaptor.forClass(ValueRange.class);
+        verify(values).append(eq(spreadsheetId), eq("IdBlocks!A:C"), header.capture());
+        assertEquals(List.of("base", 9L, 20), header.getValue().getValues().get(0));
+        verify(values, never()).update(anyString(), anyString(), any(ValueRange.class));
+    }
+
+    @Test
+    void blockMode_usesHeaderOfProcessThatSeededFirst() throws Exception {
+        // another process seeded the sheet with base 3 and block size 50 between our read and our
+        // append, so our seed row became row 2 and our reservation row 3 => ids 54..103
+        when(values.get(spreadsheetId, "IdBlocks!A1:C1")).thenReturn(getBlocksHeaderRequest);
+        when(getBlocksHeaderRequest.execute()).thenReturn(new ValueRange(),
+                new ValueRange().setValues(List.of(List.of("base", "3", "50"))));
+        when(values.get(spreadsheetId, "Issues!A:A")).thenReturn(getIdsRequest);
+        when(getIdsRequest.execute()).thenReturn(new ValueRange().setValues(List.of(List.of("ID"), List.of("AD-9"))));
+        when(values.append(eq(spreadsheetId), anyString(), any(ValueRange.class))).thenReturn(appendRequest);
+        when(appendRequest.setValueInputOption(anyString())).thenReturn(appendRequest);
+        when(appendRequest.execute()).thenReturn(appended("IdBlocks!A2:C2"), appended("IdBlocks!A3:B3"));
+
+        IssueIdAllocator allocator = new IssueIdAllocator(sheets, spreadsheetId, 20);
+
+        assertEquals("AD-54", allocator.nextId());
+    }
+
+    @Test
+    void blockMode_toleratesBlocksSheetCreatedByAnotherProcess() throws Exception {
+        GoogleJsonResponseException badRequest = new GoogleJsonResponseException(
+                new HttpResponseException.Builder(400, "Bad Request", new HttpHeaders()), null);
+        Sheets.Spreadsheets.BatchUpdate addSheetRequest = mock(Sheets.Spreadsheets.BatchUpdate.class);
+        when(spreadsheets.batchUpdate(eq(spreadsheetId), any(BatchUpdateSpreadsheetRequest.class))).thenReturn(addSheetRequest);
+        when(addSheetRequest.execute()).thenThrow(badRequest);
+        when(values.get(spreadsheetId, "IdBlocks!A1:C1")).thenReturn(getBlocksHeaderRequest);
+        when(getBlocksHeaderRequest.execute()).thenThrow(badRequest)
+                .thenReturn(new ValueRange().setValues(List.of(List.of("base", "0", "5"))));
+        when(values.get(spreadsheetId, "Issues!A:A")).thenReturn(getIdsRequest);
+        when(getIdsRequest.execute()).thenReturn(new ValueRange());
+        when(values.append(eq(spreadsheetId), anyString(), any(ValueRange.class))).thenReturn(appendRequest);
+        when(appendRequest.setValueInputOption(anyString())).thenReturn(appendRequest);
+        when(appendRequest.execute()).thenReturn(appended("IdBlocks!A2:C2"), appended("IdBlocks!A3:B3"));
+
+        IssueIdAllocator allocator = new IssueIdAllocator(sheets, spreadsheetId, 20);
+
+        assertEquals("AD-6", allocator.nextId());
+    }
+
+    private static AppendValuesResponse appended(String range) {
+        return new AppendValuesResponse().setUpdates(new UpdateValuesResponse().setUpdatedRange(range));
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.sitracker.repository;
+
+import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.Status;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IssueRowDecoderTest {
+
+    private final IssueRowDecoder decoder = new IssueRowDecoder();
+
+    @Test
+    void decode_readsAllColumns() {
+        Issue issue = decoder.decode(List.of("AD-2", "Child", "AD-1", "IN_PROGRESS",
+                "2024-01-31T09:15:00", "2024-02-01T10:00:30.5"));
+
+        assertEquals(new Issue("AD-2", "Child", "AD-1", Status.IN_PROGRESS,
+                LocalDateTime.of(2024, 1, 31, 9, 15), LocalDateTime.of(2024, 2, 1, 10, 0, 30, 500_000_000)), issue);
+    }
+
+    @Test
+    void decode_missingAndBlankCells_readAsDefaults() {
+        Issue issue = decoder.decode(new ArrayList<>(Arrays.asList("AD-1", null, " ")));
+
+        assertEquals(new Issue("AD-1", "", null, Status.OPEN, null, null), issue);
+        assertEquals(new Issue("", "", null, Status.OPEN, null, null), decoder.decode(null));
+    }
+
+    @Test
+    void decode_nonStringCells_areConvertedToText() {
+        Issue issue = decoder.decode(List.of("AD-1", new BigDecimal("42"), ""));
+
+        assertEquals("42", issue.getDescription());
+    }
+
+    @Test
+    void decode_sharesOneStringPerParentId() {
+        Issue first = decoder.decode(List.of("AD-2", "a", new String("AD-1")));
+        Issue second = decoder.decode(List.of("AD-3", "b", new String("AD-1")));
+
+        assertSame(first.getParentId(), second.getParentId());
+    }
+
+    @Test
+    void status_matchesNamesIgnoringSurroundingWhitespace_andDefaultsToOpen() {
+        assertEquals(Status.CLOSED, IssueRowDecoder.status("CLOSED"));
+        assertEquals(Status.IN_PROGRESS, IssueRowDecoder.status(" IN_PROGRESS\t"));
+        assertEquals(Status.OPEN, IssueRowDecoder.status("closed"));
+        assertEquals(Status.OPEN, IssueRowDecoder.status("CLOSEDX"));
+        assertEquals(Status.OPEN, IssueRowDecoder.status("  "));
+        assertEquals(Status.OPEN, IssueRowDecoder.status(null));
+    }
+
+    @Test
+    void timestamp_acceptsExactlyWhatIsoLocalDateTimeAccepts() {
+        String[] values = {
+                "2024-01-31T09:15", "2024-01-31T09:15:07", "2024-01-31T09:15:07.1", "2024-01-31T09:15:07.123456789",
+                "2024-02-29T00:00", "2023-02-29T00:00", "2024-04-31T00:00", "2024-13-01T00:00", "2024-01-01T24:00",
+                "2024-01-01T09:60", "2024-01-01T09:00:60", "2024-01-01t09:00", "+12024-01-01T09:00",
+                "2024-01-01T09:00:00.1234567890", "2024-01-01T09:00:0", "2024-1-01T09:00", " 2024-01-01T09:00",
+                "2024-01-01", "not a date", "", null
+        };
+        for (String value : values) {
+            assertEquals(iso(value), IssueRowDecoder.timestamp(value), String.valueOf(value));
+        }
+    }
+
+    // ------------- helpers --------------
+
+    private static LocalDateTime iso(String s) {
+        if (s == null || s.isBlank()) return null;
+        try {
+            return LocalDateTime.parse(s, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.sitracker.repository;
+
+import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.Status;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LocalIssueRepository, run against a temporary directory.
+ */
+class LocalIssueRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void save_generatesIds_andIssuesSurviveReopen() throws Exception {
+        try (LocalIssueRepository repo = new LocalIssueRepository(dir)) {
+            Issue saved = repo.save(draft("first"));
+            assertEquals("AD-1", saved.getId());
+            assertEquals(Status.OPEN, saved.getStatus());
+            assertNotNull(saved.getCreatedAt());
+            repo.saveAll(List.of(draft("second"), draft("third")));
+        }
+
+        try (LocalIssueRepository repo = new LocalIssueRepository(dir)) {
+            assertEquals(List.of("first", "second", "third"),
+                    repo.findAll().stream().map(Issue::getDescription).toList());
+            assertEquals("AD-4", repo.save(draft("fourth")).getId());
+        }
+    }
+
+    @Test
+    void updateStatus_appendsNewVersion_andKeepsCreationOrder() throws Exception {
+        try (LocalIssueRepository repo = new LocalIssueRepository(dir)) {
+            repo.saveAll(List.of(draft("one"), draft("two"), draft("three")));
+            Issue updated = repo.updateStatus("AD-1", Status.CLOSED);
+            assertEquals(Status.CLOSED, updated.getStatus());
+            assertNotNull(updated.getUpdatedAt());
+            repo.updateStatusBulk(Map.of("AD-3", Status.CLOSED));
+
+            assertEquals(List.of("AD-1", "AD-3"), repo.findByStatus(Status.CLOSED).stream().map(Issue::getId).toList());
+            assertEquals(List.of("AD-1", "AD-2", "AD-3"), repo.findAll().stream().map(Issue::getId).toList());
+        }
+        assertEquals(5, Files.readAllLines(dir.resolve(LocalIssueRepository.LOG_FILE)).size());
+    }
+
+    @Test
+    void updates_withUnknownIds_writeNothing() throws Exception {
+        try (LocalIssueRepository repo = new LocalIssueRepository(dir)) {
+            repo.save(draft("one"));
+            assertThrows(NoSuchElementException.class, () -> repo.updateStatus("AD-9", Status.CLOSED));
+            assertThrows(NoSuchElementException.class,
+                    () -> repo.updateStatusBulk(Map.of("AD-1", Status.CLOSED, "AD-9", Status.CLOSED)));
+            assertEquals(Status.OPEN, repo.findAll().get(0).getStatus());
+        }
+    }
+
+    @Test
+    void reopen_replaysLogWrittenAfterCheckpoint_andDropsTornRecord() throws Exception {
+        try (LocalIssueRepository repo = new LocalIssueRepository(dir)) {
+            repo.save(draft("checkpointed"));
+        }
+        // records appended after the checkpoint, the last one cut off mid-write
+        Files.writeString(dir.resolve(LocalIssueRepository.LOG_FILE),
+                "{\"id\":\"AD-7\",\"description\":\"unindexed\",\"status\":\"IN_PROGRESS\"}\n{\"id\":\"AD-8\",\"desc",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (LocalIssueRepository repo = new LocalIssueRepository(dir)) {
+            assertEquals(List.of("AD-1", "AD-7"), repo.findAll().stream().map(Issue::getId).toList());
+            assertEquals("AD-8", repo.save(draft("next")).getId());
+        }
+        List<String> log = Files.readAllLines(dir.resolve(LocalIssueRepository.LOG_FILE));
+        assertEquals(3, log.size());
+        assertTrue(log.get(2).contains("\"next\""));
+    }
+
+    @Test
+    void damagedIndex_fallsBackToFullReplay() throws Exception {
+        try (LocalIssueRepository repo = new LocalIssueRepository(dir)) {
+            repo.saveAll(List.of(draft("one"), draft("two")));
+        }
+        Files.writeString(dir.resolve(LocalIssueRepository.INDEX_FILE), "garbage");
+
+        try (LocalIssueRepository repo = new LocalIssueRepository(dir)) {
+            assertEquals(2, repo.findAll().size());
+        }
+    }
+
+    @Test
+    void secondOpen_whileStoreIsInUse_fails() throws Exception {
+        try (LocalIssueRepository repo = new LocalIssueRepository(dir)) {
+            IOException e = assertThrows(IOException.class, () -> new LocalIssueRepository(dir));
+            assertTrue(e.getMessage().contains("in use"));
+        }
+    }
+
+    private static Issue draft(String description) {
+        return new Issue(description, null);
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.sitracker.repository;
+
+import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WriteBehindIssueRepository with the background flusher disabled.
+ */
+class WriteBehindIssueRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    IssueIdAllocator ids;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ids = mock(IssueIdAllocator.class);
+        when(ids.nextIds(0)).thenReturn(List.of());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void writes_areAcknowledgedFromJournal_andFlushedCoalesced() throws Exception {
+        IssueRepository delegate = mock(IssueRepository.class);
+        when(ids.nextIds(2)).thenReturn(List.of("AD-1", "AD-2"));
+        when(delegate.streamAll()).thenReturn(Stream.of(draft("seven").withId("AD-7")));
+
+        try (WriteBehindIssueRepository repo = open(delegate)) {
+            List<Issue> saved = repo.saveAll(List.of(draft("one"), draft("two")));
+            assertEquals(List.of("AD-1", "AD-2"), saved.stream().map(Issue::getId).toList());
+            Issue closed = repo.updateStatus("AD-2", Status.CLOSED);
+            assertEquals("two", closed.getDescription());
+            assertEquals(Status.CLOSED, closed.getStatus());
+            verifyNoInteractions(delegate);
+            Issue started = repo.updateStatus("AD-7", Status.IN_PROGRESS);
+            assertEquals("seven", started.getDescription());
+            assertEquals(Status.IN_PROGRESS, started.getStatus());
+            assertNull(started.getUpdatedAt());
+
+            verify(delegate).streamAll();
+            assertEquals(4, Files.readAllLines(dir.resolve(WriteBehindIssueRepository.JOURNAL_FILE)).size());
+            assertEquals(4, repo.status().pending());
+
+            assertEquals(4, repo.flush());
+
+            ArgumentCaptor<List<Issue>> created = ArgumentCaptor.forClass(List.class);
+            verify(delegate).saveAll(created.capture());
+            assertEquals(List.of(Status.OPEN, Status.CLOSED), created.getValue().stream().map(Issue::getStatus).toList());
+            verify(delegate).updateStatusBulk(Map.of("AD-7", Status.IN_PROGRESS));
+            verifyNoMoreInteractions(delegate);
+            assertEquals(0, repo.status().pending());
+            assertEquals(0, Files.size(dir.resolve(WriteBehindIssueRepository.JOURNAL_FILE)));
+        }
+    }
+
+    @Test
+    void reopen_resendsUnflushedWrites_butNotIssuesAlreadyStored() throws Exception {
+        IssueRepository failing = mock(IssueRepository.class);
+        when(failing.saveAll(anyCollection())).thenThrow(new IOException("quota exceeded"));
+        when(ids.nextIds(2)).thenReturn(List.of("AD-1", "AD-2"));
+
+        WriteBehindIssueRepository repo = open(failing);
+        repo.saveAll(List.of(draft("one"), draft("two")));
+        assertThrows(IOException.class, repo::flush);
+        WriteBehindStatus status = repo.status();
+        assertEquals(2, status.pending());
+        assertEquals(1, status.failedAttempts());
+        assertEquals("quota exceeded", status.lastError());
+        assertNotNull(status.nextAttemptAt());
+        repo.close();
+
+        try (LocalIssueRepository store = new LocalIssueRepository(dir.resolve("store"))) {
+            store.save(draft("one").withId("AD-1")); // written before the previous process died
+            try (WriteBehindIssueRepository reopened = open(store)) {
+                assertEquals(2, reopened.status().pending());
+                assertEquals(List.of("AD-1", "AD-2"), reopened.findAll().stream().map(Issue::getId).toList());
+                assertEquals(0, reopened.status().pending());
+            }
+        }
+    }
+
+    @Test
+    void statusChangesOfUnknownIssues_areRejectedBeforeJournaling() throws Exception {
+        try (LocalIssueRepository store = new LocalIssueRepository(dir.resolve("store"));
+             WriteBehindIssueRepository repo = open(store)) {
+            store.save(draft("one").withId("AD-1"));
+
+            Map<String, Status> changes = new LinkedHashMap<>();
+            changes.put("AD-1", Status.CLOSED);
+            changes.put("AD-9", Status.CLOSED);
+            NoSuchElementException ex = assertThrows(NoSuchElementException.class, () -> repo.updateStatusBulk(changes));
+
+            assertEquals("Issue not found: AD-9", ex.getMessage());
+            assertEquals(0, repo.status().pending());
+            assertEquals(List.of(), repo.findByStatus(Status.CLOSED));
+        }
+    }
+
+    @Test
+    void statusChangesOfIssuesRemovedBeforeFlush_areSetAside() throws Exception {
+        IssueRepository delegate = mock(IssueRepository.class);
+        when(delegate.streamAll()).thenReturn(Stream.of(draft("one").withId("AD-1"), draft("nine").withId("AD-9")));
+        when(delegate.updateStatusBulk(anyMap())).thenThrow(new NoSuchElementException("Issues not found: AD-9"));
+        when(delegate.updateStatus("AD-9", Status.CLOSED)).thenThrow(new NoSuchElementException("Issue not found: AD-9"));
+
+        try (WriteBehindIssueRepository repo = open(delegate)) {
+            Map<String, Status> changes = new LinkedHashMap<>();
+            changes.put("AD-1", Status.CLOSED);
+            changes.put("AD-9", Status.CLOSED);
+            repo.updateStatusBulk(changes);
+            repo.flush();
+
+            verify(delegate).updateStatus("AD-1", Status.CLOSED);
+            WriteBehindStatus status = repo.status();
+            assertEquals(0, status.pending());
+            assertEquals(1, status.failed());
+            assertTrue(Files.readString(status.failedFile()).contains("AD-9"));
+        }
+    }
+
+    @Test
+    void journal_canOnlyBeOpenedOnce() throws Exception {
+        try (WriteBehindIssueRepository repo = open(mock(IssueRepository.class))) {
+            assertThrows(IOException.class, () -> open(mock(IssueRepository.class)));
+        }
+    }
+
+    private WriteBehindIssueRepository open(IssueRepository delegate) throws IOException {
+        return new WriteBehindIssueRepository(delegate, ids, dir, Duration.ZERO, 500);
+    }
+
+    private static Issue draft(String description) {
+        return new Issue(description, null);
+    }
+}
@@ -1,8 +1,13 @@
 package org.example.sitracker.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.example.sitracker.domain.Issue;
+import org.example.sitracker.domain.IssueHierarchy;
+import org.example.sitracker.domain.IssueQuery;
 import org.example.sitracker.domain.Status;
 import org.example.sitracker.repository.IssueRepository;
+import org.example.sitracker.repository.WriteBehindIssueRepository;
+import org.example.sitracker.repository.WriteBehindStatus;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -10,7 +15,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -33,8 +44,7 @@ class IssueServiceImplTest {
         // simulate repo populating an ID on save
         doAnswer(inv -> {
             Issue i = inv.getArgument(0);
-            i.setId("AD-1");
-            return i;
+            return i.withId("AD-1");
         }).when(repo).save(any(Issue.class));
 
         // act
@@ -65,12 +75,23 @@ class IssueServiceImplTest {
         assertNotNull(ex.getCause());
     }
 
+    @Test
+    void createIssues_savesAllDraftsInOneRepositoryCall() throws Exception {
+        Issue a = new Issue("a", null);
+        Issue b = new Issue("b", null);
+        when(repo.saveAll(List.of(a, b))).thenReturn(List.of(a, b));
+
+        List<Issue> created = service.createIssues(List.of(a, b));
+
+        assertEquals(2, created.size());
+        verify(repo, times(1)).saveAll(List.of(a, b));
+        verify(repo, never()).save(any());
+    }
+
     @Test
     void updateIssueStatus_success_returnsUpdatedIssue() throws Exception {
         // arrange
-        Issue returned = new Issue();
-        returned.setId("AD-2");
-        returned.setStatus(Status.IN_PROGRESS);
+        Issue returned = new Issue("AD-2", null, null, Status.IN_PROGRESS, null, null);
         when(repo.updateStatus("AD-2", Status.IN_PROGRESS)).thenReturn(returned);
 
         // act
@@ -83,11 +104,58 @@ class IssueServiceImplTest {
         verify(repo).updateStatus("AD-2", Status.IN_PROGRESS);
     }
 
+    @Test
+    void updateIssueStatus_unknownId_isReportedAsNotFound() throws Exception {
+        NoSuchElementException missing = new NoSuchElementException("Issue not found: AD-9");
+        when(repo.updateStatus("AD-9", Status.CLOSED)).thenThrow(missing);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> service.updateIssueStatus("AD-9", Status.CLOSED));
+
+        assertEquals("Issue not found: AD-9", ex.getMessage());
+        assertSame(missing, ex.getCause());
+    }
+
+    @Test
+    void updateIssueStatus_conflict_isReportedAsFailure_notAsMissingIssue() throws Exception {
+        IOException conflict = new IOException("Issues kept changing under concurrent updates, gave up after 3 attempts: AD-2");
+        when(repo.updateStatus("AD-2", Status.CLOSED)).thenThrow(conflict);
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> service.updateIssueStatus("AD-2", Status.CLOSED));
+
+        assertFalse(ex instanceof IllegalArgumentException);
+        assertTrue(ex.getMessage().startsWith("Failed to update issue: Issues kept changing"), ex.getMessage());
+        assertSame(conflict, ex.getCause());
+    }
+
+    @Test
+    void updateIssueStatusWhere_updatesAllMatchingIssuesInOneBulkCall() throws Exception {
+        Issue a = new Issue("AD-1", null, null, null, null, null);
+        Issue b = new Issue("AD-4", null, null, null, null, null);
+        when(repo.findByStatus(Status.IN_PROGRESS)).thenReturn(List.of(a, b));
+        when(repo.updateStatusBulk(anyMap())).thenReturn(List.of(a, b));
+
+        List<Issue> updated = service.updateIssueStatusWhere(Status.IN_PROGRESS, Status.CLOSED);
+
+        assertEquals(2, updated.size());
+        verify(repo).updateStatusBulk(Map.of("AD-1", Status.CLOSED, "AD-4", Status.CLOSED));
+        verify(repo, never()).updateStatus(anyString(), any());
+    }
+
+    @Test
+    void updateIssueStatusBulk_whenIssueMissing_throwsIllegalArgument() throws Exception {
+        when(repo.updateStatusBulk(anyMap())).thenThrow(new NoSuchElementException("Issues not found: AD-9"));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> service.updateIssueStatusBulk(Map.of("AD-9", Status.CLOSED)));
+        assertEquals("Issues not found: AD-9", ex.getMessage());
+    }
+
     @Test
     void listIssuesByStatus_returnsListFromRepository() throws Exception {
         // arrange
-        Issue i1 = new Issue(); i1.setId("AD-1"); i1.setStatus(Status.OPEN);
-        Issue i2 = new Issue(); i2.setId("AD-2"); i2.setStatus(Status.OPEN);
+        Issue i1 = new Issue("AD-1", null, null, Status.OPEN, null, null);
+        Issue i2 = new Issue("AD-2", null, null, Status.OPEN, null, null);
         when(repo.findByStatus(Status.OPEN)).thenReturn(List.of(i1, i2));
 
         // act
@@ -108,4 +176,126 @@ class IssueServiceImplTest {
                 () -> service.listIssuesByStatus(Status.OPEN));
         assertTrue(ex.getMessage().contains("Failed to list issues"));
     }
+
+    @Test
+    void queryIssues_ordersAndLimitsMatchesFromRepository() throws Exception {
+        IssueQuery query = IssueQuery.builder()
+                .status(Status.OPEN)
+                .orderBy(IssueQuery.SortField.CREATED, true)
+                .limit(2)
+                .build();
+        Issue a = new Issue("AD-1", null, null, null, LocalDateTime.of(2024, 1, 1, 0, 0), null);
+        Issue b = new Issue("AD-2", null, null, null, LocalDateTime.of(2024, 3, 1, 0, 0), null);
+        Issue c = new Issue("AD-3", null, null, null, LocalDateTime.of(2024, 2, 1, 0, 0), null);
+        when(repo.streamMatching(query)).thenReturn(Stream.of(a, b, c));
+
+        List<Issue> result;
+        try (Stream<Issue> issues = service.queryIssues(query)) {
+            result = issues.toList();
+        }
+
+        assertEquals(List.of(b, c), result);
+    }
+
+    @Test
+    void queryIssues_whenRepoThrows_wrappedInRuntimeException() throws Exception {
+        when(repo.streamMatching(any())).thenThrow(new IOException("api error"));
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> service.queryIssues(IssueQuery.all()));
+        assertTrue(ex.getMessage().contains("Failed to list issues"));
+    }
+
+    @Test
+    void hierarchyLookups_useOneIndexFromRepository_andRejectUnknownIds() throws Exception {
+        Issue epic = new Issue("AD-1", null, null, Status.OPEN, null, null);
+        Issue story = new Issue("AD-2", null, "AD-1", Status.CLOSED, null, null);
+        when(repo.hierarchy()).thenReturn(IssueHierarchy.of(Stream.of(epic, story)));
+
+        assertEquals(List.of(story), service.childrenOf("AD-1"));
+        assertEquals(List.of(epic), service.ancestorsOf("AD-2"));
+        assertEquals(1, service.statusRollup("AD-1").get(Status.CLOSED));
+        assertThrows(IllegalArgumentException.class, () -> service.descendantsOf("AD-9"));
+    }
+
+    @Test
+    void pendingWrites_withoutWriteBehind_isEmpty_andFlushIsNoOp() {
+        assertTrue(service.pendingWrites().isEmpty());
+        assertEquals(0, service.flushPendingWrites());
+        verifyNoInteractions(repo);
+    }
+
+    @Test
+    void flushPendingWrites_delegatesToWriteBehindRepository() throws Exception {
+        WriteBehindIssueRepository writeBehind = mock(WriteBehindIssueRepository.class);
+        WriteBehindStatus status = new WriteBehindStatus(0, null, 0, null, null, 0, null);
+        when(writeBehind.flush()).thenReturn(3).thenThrow(new IOException("offline"));
+        when(writeBehind.status()).thenReturn(status);
+        IssueServiceImpl writeBehindService = new IssueServiceImpl(writeBehind);
+
+        assertEquals(3, writeBehindService.flushPendingWrites());
+        assertEquals(status, writeBehindService.pendingWrites().orElseThrow());
+        RuntimeException ex = assertThrows(RuntimeException.class, writeBehindService::flushPendingWrites);
+        assertTrue(ex.getMessage().contains("offline"));
+    }
+
+    @Test
+    void operations_areTimedWithOutcome_andStreamsUntilClosed() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        service.setMeterRegistry(registry);
+        when(repo.findByStatus(Status.OPEN)).thenReturn(List.of());
+        when(repo.updateStatus("AD-9", Status.CLOSED)).thenThrow(new NoSuchElementException("AD-9"));
+        when(repo.streamMatching(any())).thenReturn(Stream.empty());
+
+        service.listIssuesByStatus(Status.OPEN);
+        assertThrows(IllegalArgumentException.class, () -> service.updateIssueStatus("AD-9", Status.CLOSED));
+        Stream<Issue> issues = service.queryIssues(IssueQuery.all());
+        assertNull(registry.find(IssueServiceImpl.OPERATIONS).tag("operation", "queryIssues").timer());
+        issues.close();
+
+        assertEquals(1, registry.get(IssueServiceImpl.OPERATIONS)
+                .tags("operation", "listIssuesByStatus", "outcome", "success").timer().count());
+        assertEquals(1, registry.get(IssueServiceImpl.OPERATIONS)
+                .tags("operation", "updateIssueStatus", "outcome", "error").timer().count());
+        assertEquals(1, registry.get(IssueServiceImpl.OPERATIONS)
+                .tags("operation", "queryIssues", "outcome", "success").timer().count());
+    }
+
+    @Test
+    void streamFailingWhileConsumed_isTimedAsError_andRepositoryStreamIsClosed() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        service.setMeterRegistry(registry);
+        Issue issue = new Issue("AD-1", null, null, Status.OPEN, null, null);
+        AtomicInteger fetched = new AtomicInteger();
+        Runnable repositoryClosed = mock(Runnable.class);
+        // the second element comes from a read window that fails
+        when(repo.streamMatching(any())).thenReturn(Stream.generate(() -> {
+            if (fetched.incrementAndGet() > 1) throw new UncheckedIOException(new IOException("read window failed"));
+            return issue;
+        }).limit(3).onClose(repositoryClosed));
+
+        try (Stream<Issue> issues = service.queryIssues(IssueQuery.all())) {
+            assertThrows(UncheckedIOException.class, () -> issues.forEach(i -> { }));
+        }
+
+        verify(repositoryClosed).run();
+        assertEquals(1, registry.get(IssueServiceImpl.OPERATIONS)
+                .tags("operation", "queryIssues", "outcome", "error").timer().count());
+        assertNull(registry.find(IssueServiceImpl.OPERATIONS).tags("outcome", "success").timer());
+    }
+
+    @Test
+    void updateIssueStatusWhere_isTimedAsOneOperation() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        service.setMeterRegistry(registry);
+        Issue issue = new Issue("AD-1", null, null, Status.OPEN, null, null);
+        when(repo.findByStatus(Status.OPEN)).thenReturn(List.of(issue));
+        when(repo.updateStatusBulk(anyMap())).thenReturn(List.of(issue.withStatus(Status.CLOSED, null)));
+
+        service.updateIssueStatusWhere(Status.OPEN, Status.CLOSED);
+
+        assertEquals(1, registry.find(IssueServiceImpl.OPERATIONS).timers().size());
+        assertEquals(1, registry.get(IssueServiceImpl.OPERATIONS)
+                .tags("operation", "updateIssueStatusWhere", "outcome", "success").timer().count());
+    }
 }